@@ -17,10 +17,12 @@ import org.apache.mesos.Protos;
 import org.apache.mesos.SchedulerDriver;
 import org.junit.After;
 import org.junit.Assert;
+import org.junit.Assume;
 import org.junit.Test;
 import org.mockito.Mockito;
 
 import java.io.File;
+import java.time.Duration;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -700,6 +702,24 @@ public class ServiceTest {
         new ServiceTestRunner().run();
     }
 
+    /**
+     * Validates that the default service spec deploys against a simulated cluster with many agents. This takes a while
+     * and runs the scheduler with all of its threads, so it's only run when the {@code loadSimulation} system property
+     * is set to {@code true}.
+     */
+    @Test
+    public void testLoadSimulation() throws Exception {
+        Assume.assumeTrue(Boolean.getBoolean("loadSimulation"));
+        LoadSimulationResult result = new LoadSimulator()
+                .setOptions("hello.count", "5", "world.count", "5")
+                .setAgentCount(50)
+                .setOfferRate(10, 10)
+                .setTaskLaunchDelayMs(10)
+                .setTimeout(Duration.ofMinutes(1))
+                .run();
+        Assert.assertTrue(result.toString(), result.isDeployComplete());
+    }
+
     private static Map<String, String> toMap(String... keyVals) {
         Map<String, String> map = new HashMap<>();
         if (keyVals.length % 2 != 0) {
@@ -11,6 +11,7 @@ import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
 import javax.ws.rs.GET;
 import javax.ws.rs.PathParam;
+import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Response;
 import java.util.Optional;
 
@@ -27,10 +28,13 @@ public class BrokerResource {
         this.kafkaZkClient = kafkaZkClient;
     }
 
+    /**
+     * @param fresh whether to read from ZooKeeper rather than from the scheduler's metadata cache
+     */
     @GET
-    public Response listBrokers() {
+    public Response listBrokers(@QueryParam("fresh") boolean fresh) {
         try {
-            return ResponseUtils.jsonOkResponse(kafkaZkClient.listBrokers());
+            return ResponseUtils.jsonOkResponse(kafkaZkClient.listBrokers(fresh));
         } catch (Exception ex) {
             log.error("Failed to fetch broker ids with exception:", ex);
             return Response.serverError().build();
@@ -39,9 +43,9 @@ public class BrokerResource {
 
     @GET
     @Path("/{id}")
-    public Response getBroker(@PathParam("id") String id) {
+    public Response getBroker(@PathParam("id") String id, @QueryParam("fresh") boolean fresh) {
         try {
-            Optional<JSONObject> optionalBroker = kafkaZkClient.getBroker(id);
+            Optional<JSONObject> optionalBroker = kafkaZkClient.getBroker(id, fresh);
             if (!optionalBroker.isPresent()) {
                 return Response.status(Response.Status.NOT_FOUND).build();
             }
@@ -1,9 +1,11 @@
 package com.mesosphere.sdk.kafka.api;
 
+import com.google.common.annotations.VisibleForTesting;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.apache.curator.framework.CuratorFramework;
 import org.apache.curator.framework.CuratorFrameworkFactory;
+import org.apache.curator.framework.recipes.cache.ChildData;
 import org.apache.curator.retry.ExponentialBackoffRetry;
 import org.apache.zookeeper.KeeperException;
 
@@ -13,6 +15,7 @@ import org.json.JSONObject;
 import java.util.Collections;
 import java.util.Optional;
 import java.util.List;
+import java.util.Map;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.stream.Collectors;
@@ -20,6 +23,11 @@ import java.util.stream.StreamSupport;
 
 /**
  * Read-only interface for retrieving information from ZooKeeper for Kafka brokers and topics.
+ * See {@link KafkaZKTopicAdmin} for making changes to topics.
+ *
+ * If the metadata cache is enabled, reads are served from watch-backed in-memory copies of the broker and topic nodes
+ * while those copies are current, see {@link KafkaZKMetadataCache}. Reads with {@code fresh} set always go to
+ * ZooKeeper.
  */
 public class KafkaZKClient {
     private static final Logger log = LoggerFactory.getLogger(KafkaZKClient.class);
@@ -33,23 +41,73 @@ public class KafkaZKClient {
     private static final String PROTOCOL_NAME_TLS = "SSL";
 
     private final CuratorFramework zkClient;
+    private final Optional<KafkaZKMetadataCache> brokersCache;
+    private final Optional<KafkaZKMetadataCache> topicsCache;
 
     /**
      * @param kafkaConnectString the ZK URI being used by kafka, of the form "host:port/path/to/node",
      *      e.g. "mesos.master:2181/dcos-service-path__to__kafka"
      */
     public KafkaZKClient(String kafkaConnectString) {
-        log.info("Zookeeper Client URI: {}", kafkaConnectString);
-        this.zkClient = CuratorFrameworkFactory.builder()
+        this(kafkaConnectString, false);
+    }
+
+    /**
+     * @param kafkaConnectString the ZK URI being used by kafka, of the form "host:port/path/to/node",
+     *      e.g. "mesos.master:2181/dcos-service-path__to__kafka"
+     * @param enableMetadataCache whether broker and topic reads should be served from an in-memory cache
+     */
+    public KafkaZKClient(String kafkaConnectString, boolean enableMetadataCache) {
+        this(createCurator(kafkaConnectString), enableMetadataCache);
+        log.info("Zookeeper Client URI: {}, metadata cache enabled: {}", kafkaConnectString, enableMetadataCache);
+    }
+
+    @VisibleForTesting
+    KafkaZKClient(CuratorFramework zkClient, boolean enableMetadataCache) {
+        this.zkClient = zkClient;
+        if (enableMetadataCache) {
+            this.brokersCache = Optional.of(startCache(zkClient, IDS_PATH, "brokers"));
+            this.topicsCache = Optional.of(startCache(zkClient, TOPICS_PATH, "topics"));
+        } else {
+            this.brokersCache = Optional.empty();
+            this.topicsCache = Optional.empty();
+        }
+    }
+
+    private static CuratorFramework createCurator(String kafkaConnectString) {
+        CuratorFramework zkClient = CuratorFrameworkFactory.builder()
                 .connectString(kafkaConnectString)
                 .retryPolicy(new ExponentialBackoffRetry(POLL_DELAY_MS, CURATOR_MAX_RETRIES))
                 .build();
-        this.zkClient.start();
+        zkClient.start();
+        return zkClient;
+    }
+
+    private static KafkaZKMetadataCache startCache(CuratorFramework zkClient, String path, String name) {
+        try {
+            return new KafkaZKMetadataCache(zkClient, path, name).start();
+        } catch (Exception e) {
+            throw new IllegalStateException(String.format("Failed to start cache of %s", path), e);
+        }
+    }
+
+    /**
+     * Returns the underlying connection, for sharing with {@link KafkaZKTopicAdmin}.
+     */
+    CuratorFramework getCurator() {
+        return zkClient;
     }
 
     public JSONArray listBrokers() throws Exception {
+        return listBrokers(false);
+    }
+
+    /**
+     * @param fresh whether to read from ZooKeeper even if the metadata cache is current
+     */
+    public JSONArray listBrokers(boolean fresh) throws Exception {
         try {
-            return new JSONArray(zkClient.getChildren().forPath(IDS_PATH));
+            return new JSONArray(getChildren(brokersCache, IDS_PATH, fresh));
         } catch (KeeperException.NoNodeException e) {
             log.info("List path: " + IDS_PATH
                     + " doesn't exist, returning empty brokers list. Kafka not running yet?", e);
@@ -58,17 +116,31 @@ public class KafkaZKClient {
     }
 
     public Optional<JSONObject> getBroker(String id) throws Exception {
-        List<String> ids = zkClient.getChildren().forPath(IDS_PATH);
+        return getBroker(id, false);
+    }
+
+    /**
+     * @param fresh whether to read from ZooKeeper even if the metadata cache is current
+     */
+    public Optional<JSONObject> getBroker(String id, boolean fresh) throws Exception {
+        List<String> ids = getChildren(brokersCache, IDS_PATH, fresh);
         if (!ids.contains(id)) {
             return Optional.empty();
         }
         return Optional.of(new JSONObject(new String(
-                zkClient.getData().forPath(IDS_PATH + "/" + id), StandardCharsets.UTF_8)));
+                getData(brokersCache, IDS_PATH + "/" + id, fresh), StandardCharsets.UTF_8)));
     }
 
     public JSONArray listTopics() throws Exception {
+        return listTopics(false);
+    }
+
+    /**
+     * @param fresh whether to read from ZooKeeper even if the metadata cache is current
+     */
+    public JSONArray listTopics(boolean fresh) throws Exception {
         try {
-            return new JSONArray(zkClient.getChildren().forPath(TOPICS_PATH));
+            return new JSONArray(getChildren(topicsCache, TOPICS_PATH, fresh));
         } catch (KeeperException.NoNodeException e) {
             log.info("List path: " + TOPICS_PATH
                     + " doesn't exist, returning empty topics list. Kafka not running yet?", e);
@@ -77,12 +149,19 @@ public class KafkaZKClient {
     }
 
     public JSONObject getTopic(String topicName) throws Exception {
+        return getTopic(topicName, false);
+    }
+
+    /**
+     * @param fresh whether to read from ZooKeeper even if the metadata cache is current
+     */
+    public JSONObject getTopic(String topicName, boolean fresh) throws Exception {
         String partitionsNode = TOPICS_PATH + "/" + topicName + "/partitions";
-        List<String> partitionIdList = zkClient.getChildren().forPath(partitionsNode);
+        List<String> partitionIdList = getChildren(topicsCache, partitionsNode, fresh);
         List<JSONObject> partitions = new ArrayList<JSONObject>();
         for (String partitionId : partitionIdList) {
             JSONObject state = new JSONObject(new String(
-                    zkClient.getData().forPath(partitionsNode + "/" + partitionId + "/state"),
+                    getData(topicsCache, partitionsNode + "/" + partitionId + "/state", fresh),
                     StandardCharsets.UTF_8));
             partitions.add((new JSONObject()).put(partitionId, state));
         }
@@ -110,9 +189,9 @@ public class KafkaZKClient {
     private List<String> getBrokerEndpoints(final String protocolName) throws Exception {
         final List<String> endpoints = new ArrayList<>();
 
-        final List<String> ids = zkClient.getChildren().forPath(IDS_PATH);
+        final List<String> ids = getChildren(brokersCache, IDS_PATH, false);
         for (String id : ids) {
-            byte[] bytes = zkClient.getData().forPath(IDS_PATH + "/" + id);
+            byte[] bytes = getData(brokersCache, IDS_PATH + "/" + id, false);
             JSONObject broker = new JSONObject(new String(bytes, StandardCharsets.UTF_8));
             final String mappedProtocolName = broker
                     .getJSONObject("listener_security_protocol_map")
@@ -128,4 +207,36 @@ public class KafkaZKClient {
 
         return endpoints;
     }
+
+    private List<String> getChildren(Optional<KafkaZKMetadataCache> cache, String path, boolean fresh)
+            throws Exception {
+        if (useCache(cache, fresh)) {
+            Map<String, ChildData> children = cache.get().getChildren(path);
+            if (children == null) {
+                throw new KeeperException.NoNodeException(path);
+            }
+            return new ArrayList<>(children.keySet());
+        }
+        return zkClient.getChildren().forPath(path);
+    }
+
+    private byte[] getData(Optional<KafkaZKMetadataCache> cache, String path, boolean fresh) throws Exception {
+        if (useCache(cache, fresh)) {
+            ChildData data = cache.get().getData(path);
+            if (data == null) {
+                throw new KeeperException.NoNodeException(path);
+            }
+            return data.getData();
+        }
+        return zkClient.getData().forPath(path);
+    }
+
+    private static boolean useCache(Optional<KafkaZKMetadataCache> cache, boolean fresh) {
+        if (!cache.isPresent()) {
+            return false;
+        }
+        boolean useCache = !fresh && cache.get().isCurrent();
+        cache.get().recordRead(useCache);
+        return useCache;
+    }
 }
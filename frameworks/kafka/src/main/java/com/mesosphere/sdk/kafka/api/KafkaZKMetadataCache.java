@@ -0,0 +1,121 @@
+package com.mesosphere.sdk.kafka.api;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.mesosphere.sdk.scheduler.Metrics;
+import org.apache.curator.framework.CuratorFramework;
+import org.apache.curator.framework.recipes.cache.ChildData;
+import org.apache.curator.framework.recipes.cache.TreeCache;
+import org.apache.curator.framework.recipes.cache.TreeCacheEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watch-backed in-memory copy of a ZooKeeper subtree written by Kafka, e.g. {@code /brokers/ids}. Reads are served
+ * from memory while the cache is current, i.e. once its initial load has completed and while its ZooKeeper connection
+ * is up. Otherwise callers are expected to read from ZooKeeper directly.
+ *
+ * The following metrics are registered under {@code kafka.zk_cache.<name>}:
+ * <ul>
+ * <li>{@code current}: 1 if reads are being served from memory, otherwise 0</li>
+ * <li>{@code ms_since_update}: time since the cache last received a change</li>
+ * <li>{@code ms_disconnected}: time since the connection was lost, or 0 if connected</li>
+ * <li>{@code cache_reads} and {@code direct_reads}: rates of reads served from memory and from ZooKeeper</li>
+ * </ul>
+ */
+class KafkaZKMetadataCache {
+    private static final Logger log = LoggerFactory.getLogger(KafkaZKMetadataCache.class);
+
+    private final String name;
+    private final TreeCache treeCache;
+
+    private volatile boolean initialized = false;
+    private volatile boolean connected = true;
+    private volatile long lastUpdateNanos = System.nanoTime();
+    private volatile long disconnectedNanos = 0;
+
+    KafkaZKMetadataCache(CuratorFramework zkClient, String path, String name) {
+        this.name = name;
+        this.treeCache = new TreeCache(zkClient, path);
+        this.treeCache.getListenable().addListener((client, event) -> onEvent(event));
+    }
+
+    KafkaZKMetadataCache start() throws Exception {
+        MetricRegistry registry = Metrics.getRegistry();
+        registerGauge(registry, "current", () -> isCurrent() ? 1 : 0);
+        registerGauge(registry, "ms_since_update", () -> toMillisSince(lastUpdateNanos));
+        registerGauge(registry, "ms_disconnected", () -> connected ? 0 : toMillisSince(disconnectedNanos));
+        treeCache.start();
+        return this;
+    }
+
+    /**
+     * Returns whether reads may be served from this cache.
+     */
+    boolean isCurrent() {
+        return initialized && connected;
+    }
+
+    /**
+     * Returns the cached children of the provided path, or {@code null} if the node doesn't exist.
+     */
+    Map<String, ChildData> getChildren(String path) {
+        return treeCache.getCurrentChildren(path);
+    }
+
+    /**
+     * Returns the cached data of the provided path, or {@code null} if the node doesn't exist.
+     */
+    ChildData getData(String path) {
+        return treeCache.getCurrentData(path);
+    }
+
+    void recordRead(boolean fromCache) {
+        Metrics.getRegistry().meter(getMetricName(fromCache ? "cache_reads" : "direct_reads")).mark();
+    }
+
+    private void onEvent(TreeCacheEvent event) {
+        switch (event.getType()) {
+            case INITIALIZED:
+                log.info("Initial load of {} cache complete", name);
+                initialized = true;
+                lastUpdateNanos = System.nanoTime();
+                break;
+            case CONNECTION_SUSPENDED:
+            case CONNECTION_LOST:
+                if (connected) {
+                    log.warn("Lost connection for {} cache, reading from ZooKeeper until reconnected", name);
+                    disconnectedNanos = System.nanoTime();
+                    connected = false;
+                }
+                break;
+            case CONNECTION_RECONNECTED:
+                // The cache refreshes all of its nodes upon reconnecting, so it's treated as current again.
+                log.info("Reconnected {} cache", name);
+                connected = true;
+                lastUpdateNanos = System.nanoTime();
+                break;
+            default:
+                lastUpdateNanos = System.nanoTime();
+                break;
+        }
+    }
+
+    private <T> void registerGauge(MetricRegistry registry, String metric, Gauge<T> gauge) {
+        String metricName = getMetricName(metric);
+        // Replace any gauge left by a previous instance:
+        registry.remove(metricName);
+        registry.register(metricName, gauge);
+    }
+
+    private String getMetricName(String metric) {
+        return MetricRegistry.name("kafka", "zk_cache", name, metric);
+    }
+
+    private static long toMillisSince(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - nanos);
+    }
+}
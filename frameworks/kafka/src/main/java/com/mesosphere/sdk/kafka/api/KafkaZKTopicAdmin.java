@@ -0,0 +1,372 @@
+package com.mesosphere.sdk.kafka.api;
+
+import com.google.common.annotations.VisibleForTesting;
+import org.apache.curator.framework.CuratorFramework;
+import org.apache.curator.framework.api.transaction.CuratorTransactionBridge;
+import org.apache.zookeeper.KeeperException;
+import org.apache.zookeeper.data.Stat;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Manages Kafka topics by writing topic configs and partition assignments directly to ZooKeeper, as Kafka's own
+ * {@code kafka-topics.sh} tool does, but over the existing {@link KafkaZKClient} connection rather than by launching
+ * a JVM per operation. The Kafka controller picks up the changes and applies them to the brokers.
+ *
+ * Results have the same form as those of {@link com.mesosphere.sdk.kafka.cmd.CmdExecutor}, with messages matching
+ * the tool's output. Invalid requests are reported in the result message rather than as exceptions, again matching
+ * the tool.
+ */
+public class KafkaZKTopicAdmin {
+    private static final Logger log = LoggerFactory.getLogger(KafkaZKTopicAdmin.class);
+
+    private static final String IDS_PATH = "/brokers/ids";
+    private static final String TOPICS_PATH = "/brokers/topics";
+    private static final String TOPIC_CONFIGS_PATH = "/config/topics";
+    private static final String DELETE_TOPICS_PATH = "/admin/delete_topics";
+
+    private static final int MAX_TOPIC_NAME_LENGTH = 249;
+    private static final Pattern LEGAL_TOPIC_NAME = Pattern.compile("[a-zA-Z0-9._-]+");
+    private static final Set<String> INTERNAL_TOPICS =
+            new HashSet<>(Arrays.asList("__consumer_offsets", "__transaction_state"));
+    private static final byte[] EMPTY_TOPIC_CONFIG =
+            "{\"version\":1,\"config\":{}}".getBytes(StandardCharsets.UTF_8);
+
+    private static final String ERROR_PREFIX = "Error while executing topic command : ";
+
+    private final CuratorFramework zkClient;
+    private final Random random;
+
+    public KafkaZKTopicAdmin(KafkaZKClient kafkaZkClient) {
+        this(kafkaZkClient.getCurator(), new Random());
+    }
+
+    @VisibleForTesting
+    KafkaZKTopicAdmin(CuratorFramework zkClient, Random random) {
+        this.zkClient = zkClient;
+        this.random = random;
+    }
+
+    public JSONObject createTopic(String name, int partitionCount, int replicationFactor) throws Exception {
+        ensurePath(TOPICS_PATH);
+        ensurePath(TOPIC_CONFIGS_PATH);
+        return toResult(createTopic(getBrokerIds(), getTopicNames(), name, partitionCount, replicationFactor));
+    }
+
+    /**
+     * Creates the topics in the provided list, each of the form {@code {"name": ..., "partitions": ...,
+     * "replication": ...}}. Returns an object containing the result of each topic's creation, keyed by topic name.
+     */
+    public JSONObject createTopics(JSONArray topics) throws Exception {
+        ensurePath(TOPICS_PATH);
+        ensurePath(TOPIC_CONFIGS_PATH);
+        // Shared across the batch, so that each creation doesn't need to fetch them again:
+        List<Integer> brokerIds = getBrokerIds();
+        Set<String> topicNames = getTopicNames();
+
+        JSONObject results = new JSONObject();
+        for (int i = 0; i < topics.length(); ++i) {
+            JSONObject topic = topics.getJSONObject(i);
+            String name = topic.optString("name");
+            String message;
+            try {
+                message = createTopic(
+                        brokerIds, topicNames, name, topic.getInt("partitions"), topic.getInt("replication"));
+            } catch (JSONException e) {
+                message = toErrorMessage(String.format("Invalid request for topic '%s': %s", name, e.getMessage()));
+            }
+            results.put(name, toResult(message));
+        }
+        return results;
+    }
+
+    public JSONObject deleteTopic(String name) throws Exception {
+        if (INTERNAL_TOPICS.contains(name)) {
+            return toResult(toErrorMessage(String.format(
+                    "Topic %s is a kafka internal topic and is not allowed to be marked for deletion.", name)));
+        }
+        if (zkClient.checkExists().forPath(getTopicPath(name)) == null) {
+            return toResult(toErrorMessage(String.format("Topic %s does not exist on ZK path %s", name, TOPICS_PATH)));
+        }
+        try {
+            zkClient.create().creatingParentsIfNeeded().forPath(DELETE_TOPICS_PATH + "/" + name, new byte[0]);
+        } catch (KeeperException.NodeExistsException e) {
+            return toResult(String.format("Output: Topic %s is already marked for deletion.%n", name));
+        }
+        log.info("Marked topic {} for deletion", name);
+        return toResult(String.format("Output: Topic %s is marked for deletion.%n" +
+                "Note: This will have no impact if delete.topic.enable is not set to true.%n", name));
+    }
+
+    /**
+     * Increases the number of partitions of the provided topic to the provided count.
+     */
+    public JSONObject addPartitions(String name, int partitionCount) throws Exception {
+        return toResult(addPartitions(getBrokerIds(), name, partitionCount));
+    }
+
+    /**
+     * Increases the number of partitions of the topics in the provided list, each of the form
+     * {@code {"name": ..., "partitions": ...}}. Returns an object containing the result for each topic, keyed by
+     * topic name.
+     */
+    public JSONObject addPartitions(JSONArray topics) throws Exception {
+        List<Integer> brokerIds = getBrokerIds();
+
+        JSONObject results = new JSONObject();
+        for (int i = 0; i < topics.length(); ++i) {
+            JSONObject topic = topics.getJSONObject(i);
+            String name = topic.optString("name");
+            String message;
+            try {
+                message = addPartitions(brokerIds, name, topic.getInt("partitions"));
+            } catch (JSONException e) {
+                message = toErrorMessage(String.format("Invalid request for topic '%s': %s", name, e.getMessage()));
+            }
+            results.put(name, toResult(message));
+        }
+        return results;
+    }
+
+    private String createTopic(
+            List<Integer> brokerIds,
+            Set<String> topicNames,
+            String name,
+            int partitionCount,
+            int replicationFactor) throws Exception {
+        String error = validateTopicName(name, topicNames);
+        if (error == null) {
+            error = validateAssignment(brokerIds, partitionCount, replicationFactor);
+        }
+        if (error != null) {
+            return toErrorMessage(error);
+        }
+
+        int startIndex = random.nextInt(brokerIds.size());
+        Map<Integer, List<Integer>> assignment = assignReplicas(
+                brokerIds, partitionCount, replicationFactor, startIndex, random.nextInt(brokerIds.size()), 0);
+
+        String configPath = TOPIC_CONFIGS_PATH + "/" + name;
+        // The topic config is written before the partition assignment which triggers the topic's creation. A config
+        // may have been left behind by an earlier topic of the same name, in which case it's replaced.
+        CuratorTransactionBridge configOp = zkClient.checkExists().forPath(configPath) == null
+                ? zkClient.inTransaction().create().forPath(configPath, EMPTY_TOPIC_CONFIG)
+                : zkClient.inTransaction().setData().forPath(configPath, EMPTY_TOPIC_CONFIG);
+        try {
+            configOp.and()
+                    .create().forPath(getTopicPath(name), toAssignmentData(assignment))
+                    .and().commit();
+        } catch (KeeperException.NodeExistsException e) {
+            return toErrorMessage(String.format("Topic '%s' already exists.", name));
+        }
+        topicNames.add(name);
+        log.info("Created topic {} with partition assignment {}", name, assignment);
+        return String.format("Output: Created topic \"%s\".%n", name);
+    }
+
+    private String addPartitions(List<Integer> brokerIds, String name, int partitionCount) throws Exception {
+        String topicPath = getTopicPath(name);
+        Stat stat = new Stat();
+        JSONObject existingData;
+        try {
+            existingData = new JSONObject(new String(
+                    zkClient.getData().storingStatIn(stat).forPath(topicPath), StandardCharsets.UTF_8));
+        } catch (KeeperException.NoNodeException e) {
+            return toErrorMessage(String.format("Topic %s does not exist", name));
+        }
+
+        JSONObject existingPartitions = existingData.getJSONObject("partitions");
+        int existingCount = existingPartitions.length();
+        if (partitionCount <= existingCount) {
+            return toErrorMessage(String.format(
+                    "The number of partitions for a topic can only be increased. " +
+                            "Topic %s currently has %d partitions, %d would not be an increase.",
+                    name, existingCount, partitionCount));
+        }
+
+        Map<Integer, List<Integer>> assignment = new TreeMap<>();
+        for (String partition : existingPartitions.keySet()) {
+            JSONArray replicas = existingPartitions.getJSONArray(partition);
+            List<Integer> replicaIds = new ArrayList<>();
+            for (int i = 0; i < replicas.length(); ++i) {
+                replicaIds.add(replicas.getInt(i));
+            }
+            assignment.put(Integer.parseInt(partition), replicaIds);
+        }
+
+        // Like Kafka, match the replication factor of partition 0, and start assigning from its leader.
+        List<Integer> partitionZeroReplicas = assignment.get(0);
+        String error = validateAssignment(brokerIds, partitionCount - existingCount, partitionZeroReplicas.size());
+        if (error != null) {
+            return toErrorMessage(error);
+        }
+        int startIndex = 0;
+        for (int i = 0; i < brokerIds.size(); ++i) {
+            if (brokerIds.get(i) >= partitionZeroReplicas.get(0)) {
+                startIndex = i;
+                break;
+            }
+        }
+        assignment.putAll(assignReplicas(
+                brokerIds,
+                partitionCount - existingCount,
+                partitionZeroReplicas.size(),
+                startIndex,
+                startIndex,
+                existingCount));
+
+        try {
+            // Fails if the assignment was modified since it was read above:
+            zkClient.setData().withVersion(stat.getVersion()).forPath(topicPath, toAssignmentData(assignment));
+        } catch (KeeperException.BadVersionException e) {
+            return toErrorMessage(String.format("Topic %s was modified concurrently, please retry", name));
+        }
+        log.info("Increased partitions of topic {} from {} to {}: {}", name, existingCount, partitionCount, assignment);
+        return String.format("Output: WARNING: If partitions are increased for a topic that has a key, " +
+                "the partition logic or ordering of the messages will be affected%nAdding partitions succeeded!%n");
+    }
+
+    /**
+     * Assigns replicas to brokers in the same way as Kafka's {@code AdminUtils.assignReplicasToBrokers()} (without
+     * rack awareness): the first replica of each partition is assigned round-robin from the start index, and the
+     * remaining replicas follow it at a shift which increases each time the partitions wrap around the brokers.
+     *
+     * @param brokerIds the sorted list of broker ids
+     */
+    @VisibleForTesting
+    static Map<Integer, List<Integer>> assignReplicas(
+            List<Integer> brokerIds,
+            int partitionCount,
+            int replicationFactor,
+            int startIndex,
+            int replicaShift,
+            int startPartitionId) {
+        Map<Integer, List<Integer>> assignment = new TreeMap<>();
+        int brokerCount = brokerIds.size();
+        int nextReplicaShift = replicaShift;
+        for (int partitionId = startPartitionId; partitionId < startPartitionId + partitionCount; ++partitionId) {
+            if (partitionId > 0 && partitionId % brokerCount == 0) {
+                ++nextReplicaShift;
+            }
+            int firstReplicaIndex = (partitionId + startIndex) % brokerCount;
+            List<Integer> replicas = new ArrayList<>();
+            replicas.add(brokerIds.get(firstReplicaIndex));
+            for (int j = 0; j < replicationFactor - 1; ++j) {
+                int shift = 1 + (nextReplicaShift + j) % (brokerCount - 1);
+                replicas.add(brokerIds.get((firstReplicaIndex + shift) % brokerCount));
+            }
+            assignment.put(partitionId, replicas);
+        }
+        return assignment;
+    }
+
+    private static String validateTopicName(String name, Set<String> topicNames) {
+        if (name == null || name.isEmpty()) {
+            return "Topic name is illegal, it can't be empty";
+        }
+        if (name.equals(".") || name.equals("..")) {
+            return "Topic name cannot be \".\" or \"..\"";
+        }
+        if (name.length() > MAX_TOPIC_NAME_LENGTH) {
+            return String.format(
+                    "Topic name is illegal, it can't be longer than %d characters, topic name: %s",
+                    MAX_TOPIC_NAME_LENGTH, name);
+        }
+        if (!LEGAL_TOPIC_NAME.matcher(name).matches()) {
+            return String.format("Topic name \"%s\" is illegal, it contains a character other than " +
+                    "ASCII alphanumerics, '.', '_' and '-'", name);
+        }
+        if (topicNames.contains(name)) {
+            return String.format("Topic '%s' already exists.", name);
+        }
+        // Kafka's metric names don't distinguish '.' from '_', so topics which only differ by these may not coexist.
+        String collidingName = name.replace('.', '_');
+        List<String> collisions = topicNames.stream()
+                .filter(topicName -> topicName.replace('.', '_').equals(collidingName))
+                .collect(Collectors.toList());
+        if (!collisions.isEmpty()) {
+            return String.format("Topic '%s' collides with existing topics: %s", name, String.join(", ", collisions));
+        }
+        return null;
+    }
+
+    private static String validateAssignment(List<Integer> brokerIds, int partitionCount, int replicationFactor) {
+        if (partitionCount <= 0) {
+            return "Number of partitions must be larger than 0.";
+        }
+        if (replicationFactor <= 0) {
+            return "Replication factor must be larger than 0.";
+        }
+        if (replicationFactor > brokerIds.size()) {
+            return String.format("Replication factor: %d larger than available brokers: %d.",
+                    replicationFactor, brokerIds.size());
+        }
+        return null;
+    }
+
+    private List<Integer> getBrokerIds() throws Exception {
+        try {
+            return zkClient.getChildren().forPath(IDS_PATH).stream()
+                    .map(Integer::parseInt)
+                    .sorted()
+                    .collect(Collectors.toList());
+        } catch (KeeperException.NoNodeException e) {
+            return new ArrayList<>();
+        }
+    }
+
+    private Set<String> getTopicNames() throws Exception {
+        return new HashSet<>(zkClient.getChildren().forPath(TOPICS_PATH));
+    }
+
+    private void ensurePath(String path) throws Exception {
+        if (zkClient.checkExists().forPath(path) == null) {
+            try {
+                zkClient.create().creatingParentsIfNeeded().forPath(path, new byte[0]);
+            } catch (KeeperException.NodeExistsException e) {
+                // Created concurrently, e.g. by Kafka.
+            }
+        }
+    }
+
+    private static byte[] toAssignmentData(Map<Integer, List<Integer>> assignment) {
+        Map<String, List<Integer>> partitions = new HashMap<>();
+        for (Map.Entry<Integer, List<Integer>> entry : assignment.entrySet()) {
+            partitions.put(String.valueOf(entry.getKey()), entry.getValue());
+        }
+        return new JSONObject()
+                .put("version", 1)
+                .put("partitions", partitions)
+                .toString()
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String getTopicPath(String name) {
+        return TOPICS_PATH + "/" + name;
+    }
+
+    private static String toErrorMessage(String error) {
+        log.warn(error);
+        return String.format("Output: %s%s%n", ERROR_PREFIX, error);
+    }
+
+    private static JSONObject toResult(String message) {
+        return new JSONObject().put("message", message);
+    }
+}
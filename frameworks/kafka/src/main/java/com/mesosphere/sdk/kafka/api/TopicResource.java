@@ -8,14 +8,18 @@ import org.json.JSONArray;
 import org.json.JSONObject;
 
 import javax.ws.rs.*;
+import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Topic Resource executing commands through command executor.
  * Kafka package should also be deployed with framework to enable Kafka commands.
+ * If a {@link KafkaZKTopicAdmin} is provided, topic creation, deletion, and partition changes are instead written
+ * directly to ZooKeeper.
  */
 
 @Path("/v1/topics")
@@ -24,16 +28,25 @@ public class TopicResource {
 
     private final KafkaZKClient kafkaZkClient;
     private final CmdExecutor cmdExecutor;
+    private final Optional<KafkaZKTopicAdmin> topicAdmin;
 
     public TopicResource(CmdExecutor cmdExecutor, KafkaZKClient kafkaZkClient) {
+        this(cmdExecutor, kafkaZkClient, Optional.empty());
+    }
+
+    public TopicResource(CmdExecutor cmdExecutor, KafkaZKClient kafkaZkClient, Optional<KafkaZKTopicAdmin> topicAdmin) {
         this.kafkaZkClient = kafkaZkClient;
         this.cmdExecutor = cmdExecutor;
+        this.topicAdmin = topicAdmin;
     }
 
+    /**
+     * @param fresh whether to read from ZooKeeper rather than from the scheduler's metadata cache
+     */
     @GET
-    public Response topics() {
+    public Response topics(@QueryParam("fresh") boolean fresh) {
         try {
-            return ResponseUtils.jsonOkResponse(kafkaZkClient.listTopics());
+            return ResponseUtils.jsonOkResponse(kafkaZkClient.listTopics(fresh));
         } catch (Exception ex) {
             log.error("Failed to fetch topics with exception: " + ex);
             return Response.serverError().build();
@@ -42,9 +55,9 @@ public class TopicResource {
 
     @GET
     @Path("/{name}")
-    public Response getTopic(@PathParam("name") String topicName) {
+    public Response getTopic(@PathParam("name") String topicName, @QueryParam("fresh") boolean fresh) {
         try {
-            return ResponseUtils.jsonOkResponse(kafkaZkClient.getTopic(topicName));
+            return ResponseUtils.jsonOkResponse(kafkaZkClient.getTopic(topicName, fresh));
         } catch (Exception ex) {
             log.error("Failed to fetch topic: " + topicName + " with exception: " + ex);
             return Response.serverError().build();
@@ -60,13 +73,66 @@ public class TopicResource {
         try {
             int partCount = Integer.parseInt(partitionCount);
             int replFactor = Integer.parseInt(replicationFactor);
-            return ResponseUtils.jsonOkResponse(cmdExecutor.createTopic(name, partCount, replFactor));
+            return ResponseUtils.jsonOkResponse(topicAdmin.isPresent()
+                    ? topicAdmin.get().createTopic(name, partCount, replFactor)
+                    : cmdExecutor.createTopic(name, partCount, replFactor));
         } catch (Exception ex) {
             log.error("Failed to create topic: " + name + " with exception: " + ex);
             return Response.serverError().build();
         }
     }
 
+    /**
+     * Creates multiple topics in one request. The body is a list of {@code {"name": ..., "partitions": ...,
+     * "replication": ...}} objects, and the response contains the result for each topic, keyed by topic name.
+     */
+    @POST
+    @Consumes(MediaType.APPLICATION_JSON)
+    public Response createTopics(String body) {
+        try {
+            JSONArray topics = new JSONArray(body);
+            if (topicAdmin.isPresent()) {
+                return ResponseUtils.jsonOkResponse(topicAdmin.get().createTopics(topics));
+            }
+            JSONObject results = new JSONObject();
+            for (int i = 0; i < topics.length(); ++i) {
+                JSONObject topic = topics.getJSONObject(i);
+                results.put(topic.getString("name"), cmdExecutor.createTopic(
+                        topic.getString("name"), topic.getInt("partitions"), topic.getInt("replication")));
+            }
+            return ResponseUtils.jsonOkResponse(results);
+        } catch (Exception ex) {
+            log.error("Failed to create topics with exception: " + ex);
+            return Response.serverError().build();
+        }
+    }
+
+    /**
+     * Increases the partition counts of multiple topics in one request. The body is a list of {@code {"name": ...,
+     * "partitions": ...}} objects, and the response contains the result for each topic, keyed by topic name.
+     */
+    @POST
+    @Path("/partitions")
+    @Consumes(MediaType.APPLICATION_JSON)
+    public Response addPartitions(String body) {
+        try {
+            JSONArray topics = new JSONArray(body);
+            if (topicAdmin.isPresent()) {
+                return ResponseUtils.jsonOkResponse(topicAdmin.get().addPartitions(topics));
+            }
+            JSONObject results = new JSONObject();
+            for (int i = 0; i < topics.length(); ++i) {
+                JSONObject topic = topics.getJSONObject(i);
+                List<String> cmds = Arrays.asList("--partitions", String.valueOf(topic.getInt("partitions")));
+                results.put(topic.getString("name"), cmdExecutor.alterTopic(topic.getString("name"), cmds));
+            }
+            return ResponseUtils.jsonOkResponse(results);
+        } catch (Exception ex) {
+            log.error("Failed to alter topic partitions with exception: " + ex);
+            return Response.serverError().build();
+        }
+    }
+
     @GET
     @Path("/unavailable_partitions")
     public Response unavailablePartitions() {
@@ -115,8 +181,12 @@ public class TopicResource {
                         break;
                     }
                     case "partitions": {
-                        cmds = Arrays.asList("--partitions", partitions);
-                        result = cmdExecutor.alterTopic(topicName, cmds);
+                        if (topicAdmin.isPresent()) {
+                            result = topicAdmin.get().addPartitions(topicName, Integer.parseInt(partitions));
+                        } else {
+                            cmds = Arrays.asList("--partitions", partitions);
+                            result = cmdExecutor.alterTopic(topicName, cmds);
+                        }
                         break;
                     }
                     default: {
@@ -137,7 +207,9 @@ public class TopicResource {
     @Path("/{name}")
     public Response deleteTopic(@PathParam("name") String name) {
         try {
-            JSONObject result = cmdExecutor.deleteTopic(name);
+            JSONObject result = topicAdmin.isPresent()
+                    ? topicAdmin.get().deleteTopic(name)
+                    : cmdExecutor.deleteTopic(name);
             String message = result.getString("message");
             Response.Status status;
             if (message.contains("This will have no impact if delete.topic.enable is not set to true")) {
@@ -4,6 +4,7 @@ import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Optional;
 
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
@@ -13,6 +14,7 @@ import com.mesosphere.sdk.curator.CuratorUtils;
 import com.mesosphere.sdk.http.types.EndpointProducer;
 import com.mesosphere.sdk.kafka.api.BrokerResource;
 import com.mesosphere.sdk.kafka.api.KafkaZKClient;
+import com.mesosphere.sdk.kafka.api.KafkaZKTopicAdmin;
 import com.mesosphere.sdk.kafka.api.TopicResource;
 import com.mesosphere.sdk.kafka.cmd.CmdExecutor;
 import com.mesosphere.sdk.scheduler.DefaultScheduler;
@@ -29,6 +31,15 @@ import com.mesosphere.sdk.specification.yaml.RawServiceSpec;
 public class Main {
     private static final Logger LOGGER = LoggerFactory.getLogger(Main.class);
     private static final String KAFKA_ZK_URI_ENV = "KAFKA_ZOOKEEPER_URI";
+    /**
+     * When set to "zookeeper", topic changes are written directly to ZooKeeper rather than via kafka-topics.sh.
+     */
+    private static final String KAFKA_TOPIC_ADMIN_ENV = "KAFKA_TOPIC_ADMIN";
+    private static final String KAFKA_TOPIC_ADMIN_ZOOKEEPER = "zookeeper";
+    /**
+     * When set to "true", broker and topic reads are served from a watch-backed in-memory cache of Kafka's ZK nodes.
+     */
+    private static final String KAFKA_METADATA_CACHE_ENV = "KAFKA_METADATA_CACHE";
 
     public static void main(String[] args) throws Exception {
         if (args.length != 1) {
@@ -67,12 +78,19 @@ public class Main {
     }
 
     private static Collection<Object> getResources(String kafkaZookeeperUri) {
-        KafkaZKClient kafkaZKClient = new KafkaZKClient(kafkaZookeeperUri);
+        KafkaZKClient kafkaZKClient = new KafkaZKClient(
+                kafkaZookeeperUri, Boolean.parseBoolean(System.getenv(KAFKA_METADATA_CACHE_ENV)));
         final Collection<Object> apiResources = new ArrayList<>();
         apiResources.add(new BrokerResource(kafkaZKClient));
+        Optional<KafkaZKTopicAdmin> topicAdmin =
+                KAFKA_TOPIC_ADMIN_ZOOKEEPER.equalsIgnoreCase(System.getenv(KAFKA_TOPIC_ADMIN_ENV))
+                        ? Optional.of(new KafkaZKTopicAdmin(kafkaZKClient))
+                        : Optional.empty();
+        LOGGER.info("Topic changes will be made via: {}", topicAdmin.isPresent() ? "zookeeper" : "kafka-topics.sh");
         apiResources.add(new TopicResource(
                 new CmdExecutor(kafkaZKClient, kafkaZookeeperUri, System.getenv("KAFKA_VERSION_PATH")),
-                kafkaZKClient));
+                kafkaZKClient,
+                topicAdmin));
         return apiResources;
     }
 }
@@ -0,0 +1,177 @@
+package com.mesosphere.sdk.kafka.api;
+
+import com.mesosphere.sdk.scheduler.Metrics;
+import org.apache.curator.framework.CuratorFramework;
+import org.apache.curator.framework.CuratorFrameworkFactory;
+import org.apache.curator.retry.RetryOneTime;
+import org.apache.curator.test.TestingServer;
+import org.apache.zookeeper.KeeperException;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.Assert.*;
+
+public class KafkaZKClientTest {
+    private static final String BROKER_0 = "{\"listener_security_protocol_map\":{\"PLAINTEXT\":\"PLAINTEXT\"}," +
+            "\"endpoints\":[\"PLAINTEXT://host0:1025\"]}";
+    private static final String BROKER_1 = "{\"listener_security_protocol_map\":{\"PLAINTEXT\":\"PLAINTEXT\"}," +
+            "\"endpoints\":[\"PLAINTEXT://host1:1025\"]}";
+    private static final String PARTITION_STATE = "{\"leader\":0,\"isr\":[0]}";
+
+    private static TestingServer testZk;
+
+    private CuratorFramework curator;
+
+    @BeforeClass
+    public static void beforeAll() throws Exception {
+        testZk = new TestingServer();
+    }
+
+    @AfterClass
+    public static void afterAll() throws Exception {
+        testZk.close();
+    }
+
+    @Before
+    public void beforeEach() throws Exception {
+        curator = CuratorFrameworkFactory.newClient(testZk.getConnectString(), new RetryOneTime(1));
+        curator.start();
+        if (curator.checkExists().forPath("/brokers") != null) {
+            curator.delete().deletingChildrenIfNeeded().forPath("/brokers");
+        }
+        create("/brokers/ids/0", BROKER_0);
+        create("/brokers/topics/topic1/partitions/0/state", PARTITION_STATE);
+        create("/brokers/topics/topic1/partitions/1/state", PARTITION_STATE);
+    }
+
+    @After
+    public void afterEach() {
+        curator.close();
+    }
+
+    @Test
+    public void testUncachedReads() throws Exception {
+        KafkaZKClient client = new KafkaZKClient(curator, false);
+        checkReads(client);
+    }
+
+    @Test
+    public void testCachedReads() throws Exception {
+        KafkaZKClient client = new KafkaZKClient(curator, true);
+        waitFor(() -> getGauge("brokers", "current") == 1 && getGauge("topics", "current") == 1);
+
+        long cacheReads = getMeterCount("topics", "cache_reads");
+        long directReads = getMeterCount("topics", "direct_reads");
+        checkReads(client);
+        assertTrue(getMeterCount("topics", "cache_reads") > cacheReads);
+        assertEquals(directReads, getMeterCount("topics", "direct_reads"));
+    }
+
+    @Test
+    public void testCachedReadsFollowChanges() throws Exception {
+        KafkaZKClient client = new KafkaZKClient(curator, true);
+        waitFor(() -> getGauge("brokers", "current") == 1 && getGauge("topics", "current") == 1);
+
+        create("/brokers/ids/1", BROKER_1);
+        create("/brokers/topics/topic2/partitions/0/state", PARTITION_STATE);
+        curator.delete().deletingChildrenIfNeeded().forPath("/brokers/topics/topic1/partitions/1");
+
+        waitFor(() -> getBrokerCount(client) == 2);
+        assertEquals(Arrays.asList("host0:1025", "host1:1025"), sorted(client.getBrokerEndpoints()));
+        waitFor(() -> getTopicPartitionCount(client, "topic1") == 1);
+        assertEquals(1, client.getTopic("topic2").getJSONArray("partitions").length());
+    }
+
+    @Test
+    public void testFreshReads() throws Exception {
+        KafkaZKClient client = new KafkaZKClient(curator, true);
+        waitFor(() -> getGauge("brokers", "current") == 1);
+
+        long directReads = getMeterCount("brokers", "direct_reads");
+        // Written and read back immediately, without waiting for the cache to see it:
+        create("/brokers/ids/1", BROKER_1);
+        assertTrue(client.getBroker("1", true).isPresent());
+        assertEquals(2, client.listBrokers(true).length());
+        assertTrue(getMeterCount("brokers", "direct_reads") > directReads);
+    }
+
+    @Test(expected = KeeperException.NoNodeException.class)
+    public void testCachedMissingTopic() throws Exception {
+        KafkaZKClient client = new KafkaZKClient(curator, true);
+        waitFor(() -> getGauge("topics", "current") == 1);
+        client.getTopic("missing");
+    }
+
+    private static void checkReads(KafkaZKClient client) throws Exception {
+        assertEquals(new JSONArray().put("0").toString(), client.listBrokers().toString());
+        Optional<JSONObject> broker = client.getBroker("0");
+        assertTrue(broker.isPresent());
+        assertEquals(new JSONObject(BROKER_0).toString(), broker.get().toString());
+        assertFalse(client.getBroker("1").isPresent());
+        assertEquals(Arrays.asList("host0:1025"), client.getBrokerEndpoints());
+
+        assertEquals(new JSONArray().put("topic1").toString(), client.listTopics().toString());
+        JSONArray partitions = client.getTopic("topic1").getJSONArray("partitions");
+        assertEquals(2, partitions.length());
+        for (int i = 0; i < partitions.length(); ++i) {
+            JSONObject partition = partitions.getJSONObject(i);
+            String partitionId = partition.keys().next();
+            assertEquals(0, partition.getJSONObject(partitionId).getInt("leader"));
+        }
+    }
+
+    private void create(String path, String data) throws Exception {
+        curator.create().creatingParentsIfNeeded().forPath(path, data.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static int getBrokerCount(KafkaZKClient client) {
+        try {
+            return client.listBrokers().length();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static int getTopicPartitionCount(KafkaZKClient client, String topic) {
+        try {
+            return client.getTopic(topic).getJSONArray("partitions").length();
+        } catch (Exception e) {
+            // The partition may be listed while its removal is still being applied to the cache.
+            return -1;
+        }
+    }
+
+    private static List<String> sorted(List<String> list) {
+        list.sort(String::compareTo);
+        return list;
+    }
+
+    private static long getGauge(String cache, String metric) {
+        return ((Number) Metrics.getRegistry().getGauges()
+                .get(String.format("kafka.zk_cache.%s.%s", cache, metric))
+                .getValue()).longValue();
+    }
+
+    private static long getMeterCount(String cache, String metric) {
+        return Metrics.getRegistry().meter(String.format("kafka.zk_cache.%s.%s", cache, metric)).getCount();
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (!condition.getAsBoolean()) {
+            assertTrue("Timed out waiting for cache", System.currentTimeMillis() < deadline);
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.mesosphere.sdk.kafka.api;
+
+import org.apache.curator.framework.CuratorFramework;
+import org.apache.curator.framework.CuratorFrameworkFactory;
+import org.apache.curator.retry.RetryOneTime;
+import org.apache.curator.test.TestingServer;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class KafkaZKTopicAdminTest {
+    private static final List<Integer> BROKER_IDS = Arrays.asList(0, 1, 2);
+
+    private static TestingServer testZk;
+
+    private CuratorFramework curator;
+    private KafkaZKTopicAdmin topicAdmin;
+
+    @BeforeClass
+    public static void beforeAll() throws Exception {
+        testZk = new TestingServer();
+    }
+
+    @AfterClass
+    public static void afterAll() throws Exception {
+        testZk.close();
+    }
+
+    @Before
+    public void beforeEach() throws Exception {
+        curator = CuratorFrameworkFactory.newClient(testZk.getConnectString(), new RetryOneTime(1));
+        curator.start();
+        if (curator.checkExists().forPath("/brokers") != null) {
+            curator.delete().deletingChildrenIfNeeded().forPath("/brokers");
+        }
+        if (curator.checkExists().forPath("/admin") != null) {
+            curator.delete().deletingChildrenIfNeeded().forPath("/admin");
+        }
+        for (Integer id : BROKER_IDS) {
+            curator.create().creatingParentsIfNeeded().forPath("/brokers/ids/" + id, new byte[0]);
+        }
+        topicAdmin = new KafkaZKTopicAdmin(curator, new Random(0));
+    }
+
+    @After
+    public void afterEach() {
+        curator.close();
+    }
+
+    @Test
+    public void testAssignReplicas() {
+        Map<Integer, List<Integer>> assignment = KafkaZKTopicAdmin.assignReplicas(BROKER_IDS, 6, 2, 0, 0, 0);
+        assertEquals(Arrays.asList(0, 1), assignment.get(0));
+        assertEquals(Arrays.asList(1, 2), assignment.get(1));
+        assertEquals(Arrays.asList(2, 0), assignment.get(2));
+        // Followers are shifted once the partitions wrap around the brokers:
+        assertEquals(Arrays.asList(0, 2), assignment.get(3));
+        assertEquals(Arrays.asList(1, 0), assignment.get(4));
+        assertEquals(Arrays.asList(2, 1), assignment.get(5));
+    }
+
+    @Test
+    public void testAssignReplicasFromPartition() {
+        Map<Integer, List<Integer>> assignment = KafkaZKTopicAdmin.assignReplicas(BROKER_IDS, 2, 3, 1, 1, 4);
+        assertEquals(2, assignment.size());
+        assertEquals(Arrays.asList(2, 1, 0), assignment.get(4));
+        assertEquals(Arrays.asList(0, 2, 1), assignment.get(5));
+    }
+
+    @Test
+    public void testCreateTopic() throws Exception {
+        JSONObject result = topicAdmin.createTopic("topic1", 3, 2);
+        assertTrue(result.getString("message").contains("Created topic \"topic1\"."));
+
+        JSONObject partitions = getTopicData("topic1").getJSONObject("partitions");
+        assertEquals(3, partitions.length());
+        for (String partition : partitions.keySet()) {
+            JSONArray replicas = partitions.getJSONArray(partition);
+            assertEquals(2, replicas.length());
+            assertNotEquals(replicas.getInt(0), replicas.getInt(1));
+        }
+        assertNotNull(curator.checkExists().forPath("/config/topics/topic1"));
+    }
+
+    @Test
+    public void testCreateTopicInvalid() throws Exception {
+        assertError(topicAdmin.createTopic("topic1", 3, 4), "larger than available brokers");
+        assertError(topicAdmin.createTopic("topic1", 0, 1), "Number of partitions must be larger than 0");
+        assertError(topicAdmin.createTopic("topic/1", 1, 1), "is illegal");
+        assertNull(curator.checkExists().forPath("/brokers/topics/topic1"));
+    }
+
+    @Test
+    public void testCreateTopicExists() throws Exception {
+        topicAdmin.createTopic("topic.1", 1, 1);
+        assertError(topicAdmin.createTopic("topic.1", 1, 1), "already exists");
+        assertError(topicAdmin.createTopic("topic_1", 1, 1), "collides with existing topics");
+    }
+
+    @Test
+    public void testCreateTopics() throws Exception {
+        JSONArray request = new JSONArray()
+                .put(new JSONObject().put("name", "topic1").put("partitions", 2).put("replication", 3))
+                .put(new JSONObject().put("name", "topic2").put("partitions", 1).put("replication", 1))
+                .put(new JSONObject().put("name", "topic1").put("partitions", 1).put("replication", 1))
+                .put(new JSONObject().put("name", "topic3").put("partitions", 1));
+        JSONObject results = topicAdmin.createTopics(request);
+
+        assertTrue(results.getJSONObject("topic2").getString("message").contains("Created topic"));
+        // The repeated topic1 replaces the successful result of the first:
+        assertError(results.getJSONObject("topic1"), "already exists");
+        assertError(results.getJSONObject("topic3"), "Invalid request");
+        assertEquals(2, getTopicData("topic1").getJSONObject("partitions").length());
+        assertNull(curator.checkExists().forPath("/brokers/topics/topic3"));
+    }
+
+    @Test
+    public void testAddPartitions() throws Exception {
+        topicAdmin.createTopic("topic1", 2, 2);
+        JSONObject existing = getTopicData("topic1").getJSONObject("partitions");
+
+        JSONObject result = topicAdmin.addPartitions("topic1", 5);
+        assertTrue(result.getString("message").contains("Adding partitions succeeded!"));
+
+        JSONObject partitions = getTopicData("topic1").getJSONObject("partitions");
+        assertEquals(5, partitions.length());
+        // Existing assignments are unchanged:
+        assertEquals(existing.getJSONArray("0").toString(), partitions.getJSONArray("0").toString());
+        assertEquals(existing.getJSONArray("1").toString(), partitions.getJSONArray("1").toString());
+        for (String partition : partitions.keySet()) {
+            assertEquals(2, partitions.getJSONArray(partition).length());
+        }
+    }
+
+    @Test
+    public void testAddPartitionsInvalid() throws Exception {
+        topicAdmin.createTopic("topic1", 2, 1);
+        assertError(topicAdmin.addPartitions("topic1", 2), "can only be increased");
+        assertError(topicAdmin.addPartitions("topic2", 2), "does not exist");
+    }
+
+    @Test
+    public void testAddPartitionsBatch() throws Exception {
+        topicAdmin.createTopic("topic1", 1, 1);
+        topicAdmin.createTopic("topic2", 1, 1);
+        JSONArray request = new JSONArray()
+                .put(new JSONObject().put("name", "topic1").put("partitions", 3))
+                .put(new JSONObject().put("name", "topic2").put("partitions", 1));
+        JSONObject results = topicAdmin.addPartitions(request);
+
+        assertTrue(results.getJSONObject("topic1").getString("message").contains("Adding partitions succeeded!"));
+        assertError(results.getJSONObject("topic2"), "can only be increased");
+        assertEquals(3, getTopicData("topic1").getJSONObject("partitions").length());
+    }
+
+    @Test
+    public void testDeleteTopic() throws Exception {
+        topicAdmin.createTopic("topic1", 1, 1);
+
+        JSONObject result = topicAdmin.deleteTopic("topic1");
+        assertTrue(result.getString("message").startsWith("Output: Topic topic1 is marked for deletion"));
+        assertNotNull(curator.checkExists().forPath("/admin/delete_topics/topic1"));
+
+        result = topicAdmin.deleteTopic("topic1");
+        assertTrue(result.getString("message").contains("is already marked for deletion"));
+    }
+
+    @Test
+    public void testDeleteTopicInvalid() throws Exception {
+        assertError(topicAdmin.deleteTopic("topic1"), "does not exist");
+        assertError(topicAdmin.deleteTopic("__consumer_offsets"), "kafka internal topic");
+        assertNull(curator.checkExists().forPath("/admin/delete_topics"));
+    }
+
+    private JSONObject getTopicData(String name) throws Exception {
+        return new JSONObject(new String(
+                curator.getData().forPath("/brokers/topics/" + name), StandardCharsets.UTF_8));
+    }
+
+    private static void assertError(JSONObject result, String expectedContent) {
+        String message = result.getString("message");
+        assertTrue(message, message.startsWith("Output: Error while executing topic command : "));
+        assertTrue(message, message.contains(expectedContent));
+    }
+}
@@ -0,0 +1,74 @@
+package com.mesosphere.sdk.benchmarks;
+
+import com.mesosphere.sdk.dcos.Capabilities;
+import com.mesosphere.sdk.dcos.DcosVersion;
+import com.mesosphere.sdk.offer.CommonIdUtils;
+import com.mesosphere.sdk.offer.taskdata.TaskLabelWriter;
+import com.mesosphere.sdk.testutils.OfferTestUtils;
+import com.mesosphere.sdk.testutils.TaskTestUtils;
+import org.apache.mesos.Protos;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Builds the synthetic tasks and offers which are shared across benchmarks.
+ */
+final class BenchmarkFixtures {
+
+    static final int HOST_COUNT = 100;
+    static final int ZONE_COUNT = 3;
+
+    private BenchmarkFixtures() {
+        // do not instantiate
+    }
+
+    /**
+     * Avoids querying the cluster for its version, which {@link Capabilities#getInstance()} would otherwise do.
+     */
+    static void overrideCapabilities() {
+        Capabilities.overrideCapabilities(new Capabilities(new DcosVersion("1.11.0")));
+    }
+
+    /**
+     * Returns an offer on the host with the provided index, where hosts are spread evenly across {@link #ZONE_COUNT}
+     * zones.
+     */
+    static Protos.Offer getHostOffer(int hostIndex) {
+        return OfferTestUtils.getEmptyOfferBuilder()
+                .setHostname(getHostname(hostIndex))
+                .setDomain(getDomain(hostIndex))
+                .build();
+    }
+
+    /**
+     * Returns the provided number of tasks, each of which has been launched on one of {@link #HOST_COUNT} hosts.
+     */
+    static List<Protos.TaskInfo> getLaunchedTasks(int taskCount) {
+        List<Protos.TaskInfo> tasks = new ArrayList<>();
+        for (int i = 0; i < taskCount; ++i) {
+            Protos.Offer offer = getHostOffer(i % HOST_COUNT);
+            Protos.TaskInfo.Builder taskBuilder = TaskTestUtils.getTaskInfo(Collections.emptyList()).toBuilder();
+            String taskName = String.format("pod-%d-task", i);
+            taskBuilder.setName(taskName).setTaskId(CommonIdUtils.toTaskId(taskName));
+            taskBuilder.setLabels(new TaskLabelWriter(taskBuilder)
+                    .setHostname(offer)
+                    .setZone(offer.getDomain().getFaultDomain().getZone())
+                    .toProto());
+            tasks.add(taskBuilder.build());
+        }
+        return tasks;
+    }
+
+    private static String getHostname(int hostIndex) {
+        return String.format("host-%d.example.com", hostIndex);
+    }
+
+    private static Protos.DomainInfo getDomain(int hostIndex) {
+        Protos.DomainInfo.FaultDomain.Builder faultDomain = Protos.DomainInfo.FaultDomain.newBuilder();
+        faultDomain.getRegionBuilder().setName("region-1");
+        faultDomain.getZoneBuilder().setName(String.format("zone-%d", hostIndex % ZONE_COUNT));
+        return Protos.DomainInfo.newBuilder().setFaultDomain(faultDomain).build();
+    }
+}
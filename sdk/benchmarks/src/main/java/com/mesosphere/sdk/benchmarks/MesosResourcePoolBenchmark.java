@@ -0,0 +1,114 @@
+package com.mesosphere.sdk.benchmarks;
+
+import com.mesosphere.sdk.offer.Constants;
+import com.mesosphere.sdk.offer.MesosResourcePool;
+import com.mesosphere.sdk.testutils.OfferTestUtils;
+import com.mesosphere.sdk.testutils.ResourceTestUtils;
+import com.mesosphere.sdk.testutils.TestConstants;
+import org.apache.mesos.Protos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks constructing a {@link MesosResourcePool} from an offer, and consuming all of the offer's resources from
+ * it. The offer contains an even mix of reserved cpus, reserved mem, unreserved cpus, and unreserved mount volumes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MesosResourcePoolBenchmark {
+
+    private static final Optional<String> ROLE = Optional.of(TestConstants.ROLE);
+    private static final double DISK_SIZE = 100;
+
+    @Param({"10", "100", "1000"})
+    public int resourceCount;
+
+    private Protos.Offer offer;
+    private List<String> reservedCpuIds;
+    private List<String> reservedMemIds;
+    private int unreservedCpuCount;
+    private int mountVolumeCount;
+
+    @Setup
+    public void setup() {
+        BenchmarkFixtures.overrideCapabilities();
+        reservedCpuIds = new ArrayList<>();
+        reservedMemIds = new ArrayList<>();
+        unreservedCpuCount = 0;
+        mountVolumeCount = 0;
+        List<Protos.Resource> resources = new ArrayList<>();
+        for (int i = 0; i < resourceCount; ++i) {
+            switch (i % 4) {
+                case 0:
+                    String cpuId = String.format("cpus-%d", i);
+                    reservedCpuIds.add(cpuId);
+                    resources.add(ResourceTestUtils.getReservedCpus(1.0, cpuId));
+                    break;
+                case 1:
+                    String memId = String.format("mem-%d", i);
+                    reservedMemIds.add(memId);
+                    resources.add(ResourceTestUtils.getReservedMem(1.0, memId));
+                    break;
+                case 2:
+                    ++unreservedCpuCount;
+                    resources.add(ResourceTestUtils.getUnreservedCpus(1.0));
+                    break;
+                default:
+                    ++mountVolumeCount;
+                    resources.add(ResourceTestUtils.getUnreservedMountVolume(DISK_SIZE));
+                    break;
+            }
+        }
+        offer = OfferTestUtils.getOffer(resources);
+    }
+
+    @Benchmark
+    public MesosResourcePool construct() {
+        return new MesosResourcePool(offer, ROLE);
+    }
+
+    @Benchmark
+    public void constructAndConsume(Blackhole blackhole) {
+        MesosResourcePool pool = new MesosResourcePool(offer, ROLE);
+        Protos.Value one = getScalar(1.0);
+        for (String id : reservedCpuIds) {
+            blackhole.consume(pool.consumeReserved("cpus", one, id));
+        }
+        for (String id : reservedMemIds) {
+            blackhole.consume(pool.consumeReserved("mem", one, id));
+        }
+        for (int i = 0; i < unreservedCpuCount; ++i) {
+            blackhole.consume(pool.consumeReservableMerged("cpus", one, Constants.ANY_ROLE));
+        }
+        Protos.Value diskSize = getScalar(DISK_SIZE);
+        for (int i = 0; i < mountVolumeCount; ++i) {
+            blackhole.consume(pool.consumeAtomic("disk", diskSize));
+        }
+    }
+
+    private static Protos.Value getScalar(double value) {
+        return Protos.Value.newBuilder()
+                .setType(Protos.Value.Type.SCALAR)
+                .setScalar(Protos.Value.Scalar.newBuilder().setValue(value))
+                .build();
+    }
+}
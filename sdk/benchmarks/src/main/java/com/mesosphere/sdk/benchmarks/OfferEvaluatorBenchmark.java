@@ -0,0 +1,84 @@
+package com.mesosphere.sdk.benchmarks;
+
+import com.mesosphere.sdk.offer.OfferRecommendation;
+import com.mesosphere.sdk.offer.evaluate.OfferEvaluator;
+import com.mesosphere.sdk.offer.history.OfferOutcomeTracker;
+import com.mesosphere.sdk.scheduler.plan.PodInstanceRequirement;
+import com.mesosphere.sdk.scheduler.plan.PodInstanceRequirementTestUtils;
+import com.mesosphere.sdk.state.StateStore;
+import com.mesosphere.sdk.storage.MemPersister;
+import com.mesosphere.sdk.storage.PersisterCache;
+import com.mesosphere.sdk.testutils.OfferTestUtils;
+import com.mesosphere.sdk.testutils.ResourceTestUtils;
+import com.mesosphere.sdk.testutils.SchedulerConfigTestUtils;
+import com.mesosphere.sdk.testutils.TestConstants;
+import org.apache.mesos.Protos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link OfferEvaluator#evaluate} for a single-task pod against a service with many deployed tasks. Only
+ * the last offer has enough resources, so that the full pipeline runs against every offer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OfferEvaluatorBenchmark {
+
+    @Param({"10", "1000"})
+    public int taskCount;
+
+    @Param({"1", "10", "100"})
+    public int offerCount;
+
+    private OfferEvaluator evaluator;
+    private PodInstanceRequirement podInstanceRequirement;
+    private List<Protos.Offer> offers;
+
+    @Setup
+    public void setup() throws Exception {
+        BenchmarkFixtures.overrideCapabilities();
+        StateStore stateStore = new StateStore(new PersisterCache(new MemPersister()));
+        stateStore.storeFrameworkId(TestConstants.FRAMEWORK_ID);
+        stateStore.storeTasks(BenchmarkFixtures.getLaunchedTasks(taskCount));
+
+        evaluator = new OfferEvaluator(
+                stateStore,
+                new OfferOutcomeTracker(),
+                TestConstants.SERVICE_NAME,
+                UUID.randomUUID(),
+                SchedulerConfigTestUtils.getTestSchedulerConfig(),
+                true);
+        podInstanceRequirement = PodInstanceRequirementTestUtils.getCpuRequirement(1.0);
+
+        offers = new ArrayList<>();
+        for (int i = 0; i < offerCount; ++i) {
+            double cpus = i == offerCount - 1 ? 2.0 : 0.5;
+            offers.add(OfferTestUtils.getCompleteOffer(ResourceTestUtils.getUnreservedCpus(cpus)).toBuilder()
+                    .setId(Protos.OfferID.newBuilder().setValue(String.format("offer-%d", i)))
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public List<OfferRecommendation> evaluate() throws Exception {
+        return evaluator.evaluate(podInstanceRequirement, offers);
+    }
+}
@@ -0,0 +1,126 @@
+package com.mesosphere.sdk.benchmarks;
+
+import com.mesosphere.sdk.offer.evaluate.EvaluationOutcome;
+import com.mesosphere.sdk.offer.evaluate.placement.AndRule;
+import com.mesosphere.sdk.offer.evaluate.placement.MarathonConstraintParser;
+import com.mesosphere.sdk.offer.evaluate.placement.MaxPerHostnameRule;
+import com.mesosphere.sdk.offer.evaluate.placement.PlacementContext;
+import com.mesosphere.sdk.offer.evaluate.placement.PlacementRule;
+import com.mesosphere.sdk.offer.evaluate.placement.RoundRobinByZoneRule;
+import com.mesosphere.sdk.specification.PodInstance;
+import com.mesosphere.sdk.testutils.PodTestUtils;
+import org.apache.mesos.Protos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link PlacementRule#filter} against a service with many deployed tasks, both with the tallies shared via
+ * a {@link PlacementContext} (as done by the offer evaluator) and with the tasks passed directly.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlacementRuleBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    public int taskCount;
+
+    /**
+     * The number of nested {@link AndRule}s, or of constraints in the Marathon constraint string.
+     */
+    @Param({"1", "4", "16"})
+    public int ruleDepth;
+
+    private PodInstance podInstance;
+    private List<Protos.TaskInfo> tasks;
+    private Protos.Offer offer;
+    private PlacementContext context;
+
+    private PlacementRule maxPerHostnameRule;
+    private PlacementRule roundRobinByZoneRule;
+    private PlacementRule andRule;
+    private PlacementRule marathonRule;
+
+    @Setup
+    public void setup() throws Exception {
+        BenchmarkFixtures.overrideCapabilities();
+        podInstance = PodTestUtils.getPodInstance(0);
+        tasks = BenchmarkFixtures.getLaunchedTasks(taskCount);
+        offer = BenchmarkFixtures.getHostOffer(0);
+        context = PlacementContext.create(podInstance, tasks);
+
+        // Passes as long as each host has fewer tasks than the limit:
+        int tasksPerHost = (taskCount + BenchmarkFixtures.HOST_COUNT - 1) / BenchmarkFixtures.HOST_COUNT;
+        maxPerHostnameRule = new MaxPerHostnameRule(tasksPerHost + 1);
+        roundRobinByZoneRule = new RoundRobinByZoneRule(BenchmarkFixtures.ZONE_COUNT);
+
+        PlacementRule rule = new AndRule(maxPerHostnameRule, roundRobinByZoneRule);
+        for (int i = 1; i < ruleDepth; ++i) {
+            rule = new AndRule(new MaxPerHostnameRule(tasksPerHost + 1), rule);
+        }
+        andRule = rule;
+
+        List<String> constraints = new ArrayList<>();
+        for (int i = 0; i < ruleDepth; ++i) {
+            constraints.add(i % 2 == 0
+                    ? String.format("[\"hostname\", \"MAX_PER\", \"%d\"]", tasksPerHost + 1)
+                    : String.format("[\"rack-id\", \"GROUP_BY\", \"%d\"]", BenchmarkFixtures.ZONE_COUNT));
+        }
+        marathonRule = MarathonConstraintParser.parse(
+                podInstance.getPod().getType(), String.format("[%s]", String.join(", ", constraints)));
+    }
+
+    @Benchmark
+    public EvaluationOutcome maxPerHostname() {
+        return maxPerHostnameRule.filter(offer, context);
+    }
+
+    @Benchmark
+    public EvaluationOutcome maxPerHostnameWithoutContext() {
+        return maxPerHostnameRule.filter(offer, podInstance, tasks);
+    }
+
+    @Benchmark
+    public EvaluationOutcome roundRobinByZone() {
+        return roundRobinByZoneRule.filter(offer, context);
+    }
+
+    @Benchmark
+    public EvaluationOutcome roundRobinByZoneWithoutContext() {
+        return roundRobinByZoneRule.filter(offer, podInstance, tasks);
+    }
+
+    @Benchmark
+    public EvaluationOutcome and() {
+        return andRule.filter(offer, context);
+    }
+
+    @Benchmark
+    public EvaluationOutcome marathonConstraints() {
+        return marathonRule.filter(offer, context);
+    }
+
+    /**
+     * Includes the construction of the {@link PlacementContext}, which is done once per pod instance per offer cycle.
+     */
+    @Benchmark
+    public EvaluationOutcome andWithContextCreation() {
+        return andRule.filter(offer, PlacementContext.create(podInstance, tasks));
+    }
+}
@@ -0,0 +1,81 @@
+package com.mesosphere.sdk.benchmarks;
+
+import com.mesosphere.sdk.scheduler.plan.DefaultPhase;
+import com.mesosphere.sdk.scheduler.plan.DefaultPlan;
+import com.mesosphere.sdk.scheduler.plan.ParentElement;
+import com.mesosphere.sdk.scheduler.plan.Phase;
+import com.mesosphere.sdk.scheduler.plan.Plan;
+import com.mesosphere.sdk.scheduler.plan.Status;
+import com.mesosphere.sdk.scheduler.plan.StatusCache;
+import com.mesosphere.sdk.scheduler.plan.Step;
+import com.mesosphere.sdk.scheduler.plan.TestStep;
+import com.mesosphere.sdk.scheduler.plan.strategy.SerialStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link ParentElement#getStatus()} for a serial plan which is halfway through its deployment, both when
+ * the plan's cached status is current and when it must be recomputed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlanStatusBenchmark {
+
+    @Param({"1", "10"})
+    public int phaseCount;
+
+    @Param({"10", "100", "1000"})
+    public int stepCount;
+
+    private Plan plan;
+
+    @Setup
+    public void setup() {
+        List<Phase> phases = new ArrayList<>();
+        for (int i = 0; i < phaseCount; ++i) {
+            List<Step> steps = new ArrayList<>();
+            for (int j = 0; j < stepCount; ++j) {
+                TestStep step = new TestStep(String.format("step-%d-%d", i, j), null);
+                if (i < phaseCount / 2 || (i == phaseCount / 2 && j < stepCount / 2)) {
+                    step.setStatus(Status.COMPLETE);
+                }
+                steps.add(step);
+            }
+            phases.add(new DefaultPhase(
+                    String.format("phase-%d", i), steps, new SerialStrategy<>(), Collections.emptyList()));
+        }
+        plan = new DefaultPlan("deploy", phases);
+    }
+
+    @Benchmark
+    public Status getStatus() {
+        return plan.getStatus();
+    }
+
+    /**
+     * Recomputes the status of the plan and all of its phases, as occurs after a strategy is interrupted or resumed.
+     */
+    @Benchmark
+    public Status getStatusInvalidated() {
+        StatusCache.invalidateAll();
+        return plan.getStatus();
+    }
+}
@@ -0,0 +1,74 @@
+package com.mesosphere.sdk.benchmarks;
+
+import com.mesosphere.sdk.state.StateStore;
+import com.mesosphere.sdk.storage.MemPersister;
+import com.mesosphere.sdk.storage.PersisterCache;
+import com.mesosphere.sdk.testutils.TaskTestUtils;
+import org.apache.mesos.Protos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks reading all tasks and statuses from a {@link StateStore} backed by a {@link PersisterCache}, both when the
+ * store is unchanged between reads and when a status has been written since the previous read.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StateStoreBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int taskCount;
+
+    private StateStore stateStore;
+    private Protos.TaskInfo updatedTask;
+    private Protos.TaskStatus updatedStatus;
+
+    @Setup
+    public void setup() throws Exception {
+        stateStore = new StateStore(new PersisterCache(new MemPersister()));
+        List<Protos.TaskInfo> tasks = BenchmarkFixtures.getLaunchedTasks(taskCount);
+        stateStore.storeTasks(tasks);
+        for (Protos.TaskInfo task : tasks) {
+            stateStore.storeStatus(
+                    task.getName(), TaskTestUtils.generateStatus(task.getTaskId(), Protos.TaskState.TASK_RUNNING));
+        }
+        updatedTask = tasks.get(0);
+        updatedStatus = TaskTestUtils.generateStatus(updatedTask.getTaskId(), Protos.TaskState.TASK_RUNNING);
+    }
+
+    @Benchmark
+    public Collection<Protos.TaskInfo> fetchTasks() throws Exception {
+        return stateStore.fetchTasks();
+    }
+
+    @Benchmark
+    public Collection<Protos.TaskStatus> fetchStatuses() throws Exception {
+        return stateStore.fetchStatuses();
+    }
+
+    /**
+     * Includes a status update before each read, as occurs throughout a deployment.
+     */
+    @Benchmark
+    public Collection<Protos.TaskStatus> fetchStatusesAfterUpdate() throws Exception {
+        stateStore.storeStatus(updatedTask.getName(), updatedStatus);
+        return stateStore.fetchStatuses();
+    }
+}
@@ -0,0 +1,60 @@
+package com.mesosphere.sdk.benchmarks;
+
+import com.mesosphere.sdk.specification.yaml.TemplateUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link TemplateUtils#renderMustache} against a config template resembling those rendered for each task,
+ * with one line per parameter and a conditional section for every tenth parameter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TemplateRenderBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int paramCount;
+
+    private String template;
+    private Map<String, String> values;
+
+    @Setup
+    public void setup() {
+        StringBuilder templateBuilder = new StringBuilder();
+        values = new HashMap<>();
+        for (int i = 0; i < paramCount; ++i) {
+            if (i % 10 == 0) {
+                String flag = String.format("FLAG_%d", i);
+                templateBuilder.append(String.format("{{#%s}}\nsection.%d.enabled = true\n{{/%s}}\n", flag, i, flag));
+                values.put(flag, i % 20 == 0 ? "true" : "false");
+            }
+            String param = String.format("PARAM_%d", i);
+            templateBuilder.append(String.format("setting.%d = {{%s}}\n", i, param));
+            values.put(param, String.format("value-%d", i));
+        }
+        template = templateBuilder.toString();
+    }
+
+    @Benchmark
+    public String renderMustache() {
+        return TemplateUtils.renderMustache("benchmark", template, values, new ArrayList<>());
+    }
+}
@@ -11,9 +11,15 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Each {@link CheckHandler} is responsible for executing a single HealthCheck defined for a TaskInfo.
@@ -27,8 +33,11 @@ public class CheckHandler {
 
     private final Protos.HealthCheck healthCheck;
     private final ScheduledExecutorService scheduledExecutorService;
+    private final Optional<Executor> checkExecutor;
     private final CheckRunner healthCheckRunner;
+    private final CheckStats healthCheckStats;
     private final String checkType;
+    private final CompletableFuture<CheckStats> termination = new CompletableFuture<>();
 
     public static CheckHandler create(
             ExecutorDriver executorDriver,
@@ -50,6 +59,33 @@ public class CheckHandler {
                 checkType);
     }
 
+    /**
+     * Returns a handler whose check is only triggered by the provided {@link ScheduledExecutorService}, with each run
+     * of the check executed on the provided {@link Executor}. This keeps slow or hanging checks from holding the
+     * scheduler's threads, which may be shared with other periodic work.
+     */
+    public static CheckHandler create(
+            ExecutorDriver executorDriver,
+            Protos.TaskInfo taskInfo,
+            LaunchedTask launchedTask,
+            Protos.HealthCheck healthCheck,
+            ScheduledExecutorService scheduledExecutorService,
+            Executor checkExecutor,
+            CheckStats healthCheckStats,
+            String checkType)
+            throws CheckValidationException {
+        return new CheckHandler(
+                executorDriver,
+                taskInfo,
+                launchedTask,
+                new ProcessRunner(),
+                healthCheck,
+                scheduledExecutorService,
+                Optional.of(checkExecutor),
+                healthCheckStats,
+                checkType);
+    }
+
     /**
      * Allows providing a custom {@link ProcessRunner} for testing.
      */
@@ -64,18 +100,49 @@ public class CheckHandler {
             CheckStats healthCheckStats,
             String checkType)
             throws CheckValidationException {
+        this(
+                executorDriver,
+                taskInfo,
+                launchedTask,
+                processRunner,
+                healthCheck,
+                scheduledExecutorService,
+                Optional.empty(),
+                healthCheckStats,
+                checkType);
+    }
+
+    /**
+     * Allows providing a custom {@link ProcessRunner} for testing, and optionally an {@link Executor} on which each
+     * run of the check is executed.
+     */
+    @VisibleForTesting
+    CheckHandler(
+            ExecutorDriver executorDriver,
+            Protos.TaskInfo taskInfo,
+            LaunchedTask launchedTask,
+            ProcessRunner processRunner,
+            Protos.HealthCheck healthCheck,
+            ScheduledExecutorService scheduledExecutorService,
+            Optional<Executor> checkExecutor,
+            CheckStats healthCheckStats,
+            String checkType)
+            throws CheckValidationException {
+        this.checkType = checkType;
         validate(healthCheck);
         this.healthCheck = healthCheck;
         this.scheduledExecutorService = scheduledExecutorService;
+        this.checkExecutor = checkExecutor;
+        this.healthCheckStats = healthCheckStats;
         this.healthCheckRunner = new CheckRunner(
                 executorDriver,
                 taskInfo,
                 launchedTask,
                 processRunner,
+                new NetworkCheckRunner(),
                 healthCheck,
                 healthCheckStats,
                 checkType);
-        this.checkType = checkType;
     }
 
     public ScheduledFuture<?> start() {
@@ -88,21 +155,118 @@ public class CheckHandler {
 
         LOGGER.info("Scheduling health check every {}ms following an initial {}ms delay.",
                 intervalMs, delayMs);
-        return scheduledExecutorService.scheduleAtFixedRate(
-                healthCheckRunner,
+        TimedRunner timedRunner = new TimedRunner(delayMs, intervalMs);
+        if (!checkExecutor.isPresent()) {
+            return scheduledExecutorService.scheduleAtFixedRate(
+                    timedRunner,
+                    delayMs,
+                    intervalMs,
+                    TimeUnit.MILLISECONDS);
+        }
+
+        ScheduledFuture<?> trigger = scheduledExecutorService.scheduleAtFixedRate(
+                new Trigger(timedRunner),
                 delayMs,
                 intervalMs,
                 TimeUnit.MILLISECONDS);
+        // Runs on the check executor don't stop the trigger when the check stops, so stop it here:
+        termination.whenComplete((stats, t) -> trigger.cancel(false));
+        return trigger;
+    }
+
+    /**
+     * Returns a future which is completed once the check started by {@link #start()} has stopped running. This
+     * allows waiting for the check without blocking a thread on the {@link ScheduledFuture}. The future is completed
+     * with the check's statistics when the check stops normally, or exceptionally if the check failed unexpectedly.
+     */
+    public CompletableFuture<CheckStats> getTermination() {
+        return termination;
+    }
+
+    /**
+     * Runs the check, records the timing of each run, and completes the termination future when the check stops.
+     */
+    private class TimedRunner implements Runnable {
+        private final long intervalNanos;
+        private final AtomicLong expectedStartNanos;
+
+        private TimedRunner(long delayMs, long intervalMs) {
+            this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(intervalMs);
+            this.expectedStartNanos = new AtomicLong(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delayMs));
+        }
+
+        /**
+         * Skips a scheduled run, so that later runs are still expected on the original schedule.
+         */
+        private void skip() {
+            expectedStartNanos.addAndGet(intervalNanos);
+        }
+
+        @Override
+        public void run() {
+            long startNanos = System.nanoTime();
+            // Runs are scheduled at a fixed rate, so later runs are still expected on the original schedule.
+            long expectedNanos = expectedStartNanos.getAndAdd(intervalNanos);
+            try {
+                healthCheckRunner.run();
+            } catch (CheckRuntimeException e) {
+                termination.complete(e.getHealthCheckStats());
+                throw e;
+            } catch (RuntimeException | Error e) {
+                termination.completeExceptionally(e);
+                throw e;
+            } finally {
+                healthCheckStats.recordTiming(startNanos - expectedNanos, System.nanoTime() - startNanos);
+            }
+        }
+    }
+
+    /**
+     * Hands each scheduled run of the check to {@link #checkExecutor}, so that the scheduler's thread is only held for
+     * as long as it takes to submit the run. A run is skipped if the previous run hasn't finished yet, so a hanging
+     * check holds at most one of the check executor's threads.
+     */
+    private class Trigger implements Runnable {
+        private final TimedRunner timedRunner;
+        private final AtomicBoolean running = new AtomicBoolean(false);
+
+        private Trigger(TimedRunner timedRunner) {
+            this.timedRunner = timedRunner;
+        }
+
+        @Override
+        public void run() {
+            if (!running.compareAndSet(false, true)) {
+                LOGGER.warn("Skipping {} check run: the previous run is still in progress", checkType);
+                timedRunner.skip();
+                return;
+            }
+            try {
+                checkExecutor.get().execute(() -> {
+                    try {
+                        timedRunner.run();
+                    } catch (RuntimeException e) {
+                        // The check has stopped. This has already been recorded in the termination future, which
+                        // cancels this trigger.
+                    } finally {
+                        running.set(false);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                running.set(false);
+                termination.completeExceptionally(e);
+                throw e;
+            }
+        }
     }
 
     /**
      * Custom Executors are responsible for implementing HealthChecks.  This Custom Executor implements a subset of
      * all possible Health Checks describable by a HealthCheckInfo object.
      * <p>
-     * They must be command HealthChecks as HTTP is not recommended by Mesos yet and is unneeded from a completeness
-     * perspective.  `curl -f` normally is sufficient.  Since all HealthChecks as currently implemented by this Custom
-     * Executor are excuted as sub-processes we further require that the HealthCheck specifies that it is a "shell"
-     * command to avoid unexpected behavior.
+     * Command HealthChecks are executed as sub-processes, so we require that they specify a "shell" command to avoid
+     * unexpected behavior.  HTTP and TCP HealthChecks are executed within the executor against the task's port on
+     * the loopback interface.  Only plain HTTP is supported for HTTP checks.
      *
      * @param healthCheck The HealthCheck to be executed
      * @throws CheckValidationException when a HealthCheck does not adhere to the HealthChecks supported
@@ -111,8 +275,18 @@ public class CheckHandler {
     private void validate(Protos.HealthCheck healthCheck) throws CheckValidationException {
         // Validate HealthCheck
         if (healthCheck.hasHttp()) {
-            throw new CheckValidationException(String.format(
-                    "The following %s check contains an unsupported HTTP configuration: %s", checkType, healthCheck));
+            Protos.HealthCheck.HTTPCheckInfo httpCheckInfo = healthCheck.getHttp();
+            if (httpCheckInfo.hasScheme() && !httpCheckInfo.getScheme().equalsIgnoreCase("http")) {
+                throw new CheckValidationException(String.format(
+                        "The following %s check contains an unsupported HTTP scheme: %s", checkType, healthCheck));
+            }
+            validatePort(httpCheckInfo.getPort(), healthCheck);
+            return;
+        }
+
+        if (healthCheck.hasTcp()) {
+            validatePort(healthCheck.getTcp().getPort(), healthCheck);
+            return;
         }
 
         if (!healthCheck.hasCommand()) {
@@ -128,9 +302,16 @@ public class CheckHandler {
         }
     }
 
+    private void validatePort(int port, Protos.HealthCheck healthCheck) throws CheckValidationException {
+        if (port <= 0 || port > 65535) {
+            throw new CheckValidationException(String.format(
+                    "The following %s check contains an invalid port %d: %s", checkType, port, healthCheck));
+        }
+    }
+
     /**
-     * This class spawns a subprocess for each invocation of a health check.  It records statistics
-     * regarding successes and failures.
+     * This class runs each invocation of a health check, either by spawning a subprocess for command checks, or by
+     * connecting to the task for HTTP and TCP checks.  It records statistics regarding successes and failures.
      */
     private static class CheckRunner implements Runnable {
         private static final Logger LOGGER = LoggerFactory.getLogger(CheckRunner.class);
@@ -139,6 +320,7 @@ public class CheckHandler {
         private final Protos.TaskInfo taskInfo;
         private final LaunchedTask launchedTask;
         private final ProcessRunner processRunner;
+        private final NetworkCheckRunner networkCheckRunner;
         private final Protos.HealthCheck healthCheck;
         private final CheckStats healthCheckStats;
         private final String checkType;
@@ -148,6 +330,7 @@ public class CheckHandler {
                 Protos.TaskInfo taskInfo,
                 LaunchedTask launchedTask,
                 ProcessRunner processRunner,
+                NetworkCheckRunner networkCheckRunner,
                 Protos.HealthCheck healthCheck,
                 CheckStats healthCheckStats,
                 String checkType) {
@@ -155,6 +338,7 @@ public class CheckHandler {
             this.taskInfo = taskInfo;
             this.launchedTask = launchedTask;
             this.processRunner = processRunner;
+            this.networkCheckRunner = networkCheckRunner;
             this.healthCheck = healthCheck;
             this.healthCheckStats = healthCheckStats;
             this.checkType = checkType;
@@ -170,27 +354,16 @@ public class CheckHandler {
                 throw new CheckRuntimeException(message, healthCheckStats);
             }
 
-            Protos.CommandInfo commandInfo = healthCheck.getCommand();
             try {
-                LOGGER.info("Running {} check process for task {}: {}",
-                        checkType, taskInfo.getName(), commandInfo.getValue());
-                int exitValue = processRunner.run(
-                        ProcessBuilderUtils.buildProcess(commandInfo), healthCheck.getTimeoutSeconds());
-
-                if (exitValue != 0) {
-                    healthCheckStats.failed();
-                    LOGGER.error("{} check failed with exit code {}: {}",
-                            checkType, exitValue, commandInfo.getValue());
-                } else {
-                    LOGGER.info("{} check succeeded: {}", checkType, commandInfo.getValue());
+                if (runCheck()) {
                     healthCheckStats.succeeded();
+                } else {
+                    healthCheckStats.failed();
                 }
 
                 LOGGER.debug("{} check stats: {}", checkType, healthCheckStats);
             } catch (Throwable t) {
-                LOGGER.error(String.format(
-                        "%s check failed with exception: %s", checkType, TextFormat.shortDebugString(commandInfo)),
-                        t);
+                LOGGER.error(String.format("%s check failed with exception: %s", checkType, describeCheck()), t);
                 healthCheckStats.failed();
             }
 
@@ -203,6 +376,53 @@ public class CheckHandler {
             }
         }
 
+        /**
+         * Runs the check once, returning whether it succeeded.
+         */
+        private boolean runCheck() throws IOException, InterruptedException {
+            if (healthCheck.hasHttp()) {
+                Protos.HealthCheck.HTTPCheckInfo httpCheckInfo = healthCheck.getHttp();
+                int status = networkCheckRunner.getHttpStatus(
+                        httpCheckInfo.getPort(), httpCheckInfo.getPath(), healthCheck.getTimeoutSeconds());
+                // Like Mesos, treat any 2xx or 3xx status as a success.
+                if (status < 200 || status >= 400) {
+                    LOGGER.error("{} check failed with status code {}: {}", checkType, status, describeCheck());
+                    return false;
+                }
+                LOGGER.info("{} check succeeded with status code {}: {}", checkType, status, describeCheck());
+                return true;
+            }
+
+            if (healthCheck.hasTcp()) {
+                networkCheckRunner.connect(healthCheck.getTcp().getPort(), healthCheck.getTimeoutSeconds());
+                LOGGER.info("{} check succeeded: {}", checkType, describeCheck());
+                return true;
+            }
+
+            Protos.CommandInfo commandInfo = healthCheck.getCommand();
+            LOGGER.info("Running {} check process for task {}: {}",
+                    checkType, taskInfo.getName(), commandInfo.getValue());
+            int exitValue = processRunner.run(
+                    ProcessBuilderUtils.buildProcess(commandInfo), healthCheck.getTimeoutSeconds());
+
+            if (exitValue != 0) {
+                LOGGER.error("{} check failed with exit code {}: {}",
+                        checkType, exitValue, commandInfo.getValue());
+                return false;
+            }
+            LOGGER.info("{} check succeeded: {}", checkType, commandInfo.getValue());
+            return true;
+        }
+
+        private String describeCheck() {
+            if (healthCheck.hasHttp()) {
+                return String.format("HTTP %s", TextFormat.shortDebugString(healthCheck.getHttp()));
+            } else if (healthCheck.hasTcp()) {
+                return String.format("TCP %s", TextFormat.shortDebugString(healthCheck.getTcp()));
+            }
+            return TextFormat.shortDebugString(healthCheck.getCommand());
+        }
+
         private void handleHealthCheck() {
             if (healthCheckStats.getConsecutiveFailures() >= healthCheck.getConsecutiveFailures()) {
                 TaskStatusUtils.sendStatus(
@@ -6,10 +6,14 @@ import org.slf4j.LoggerFactory;
 
 import java.util.Optional;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.concurrent.Future;
 
 /**
  * This class reacts to the failure of a health check by calling the stop() method of the ExecutorTask.
+ * It may either be run as a {@link Callable} which waits for the check, or be {@link #start(Executor) started}
+ * without holding a thread while the check runs.
  */
 public class CheckMonitor implements Callable<Optional<CheckStats>> {
     private final Logger logger = LoggerFactory.getLogger(getClass());
@@ -48,6 +52,24 @@ public class CheckMonitor implements Callable<Optional<CheckStats>> {
             }
         }
 
+        return onCheckStopped(healthCheckStats);
+    }
+
+    /**
+     * Starts the check without blocking a thread while it runs. The returned future is completed once the check has
+     * stopped, after any resulting action (such as stopping the task) has been run on the provided {@link Executor}.
+     */
+    public CompletableFuture<Optional<CheckStats>> start(Executor executor) {
+        healthCheckHandler.start();
+        return healthCheckHandler.getTermination().handleAsync((stats, t) -> {
+            if (t != null) {
+                logger.error(String.format("Waiting for %s check failed with exception: ", checkType), t);
+            }
+            return onCheckStopped(Optional.ofNullable(stats));
+        }, executor);
+    }
+
+    private Optional<CheckStats> onCheckStopped(Optional<CheckStats> healthCheckStats) {
         if (this.healthCheck.getConsecutiveFailures() > 0) {
             launchedTask.stop();
         }
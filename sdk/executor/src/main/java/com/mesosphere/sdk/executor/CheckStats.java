@@ -14,6 +14,9 @@ public class CheckStats {
     private long totalSuccesses = 0;
     private long consecutiveSuccesses = 0;
 
+    private volatile long lastStartDelayNanos = 0;
+    private volatile long lastDurationNanos = 0;
+
     public CheckStats(String name) {
         this.name = name;
     }
@@ -40,6 +43,14 @@ public class CheckStats {
         }
     }
 
+    /**
+     * Records how late the most recent check run started relative to its schedule, and how long it took.
+     */
+    public void recordTiming(long startDelayNanos, long durationNanos) {
+        lastStartDelayNanos = startDelayNanos;
+        lastDurationNanos = durationNanos;
+    }
+
     public String getName() {
         return name;
     }
@@ -69,6 +80,14 @@ public class CheckStats {
         }
     }
 
+    public long getLastStartDelayNanos() {
+        return lastStartDelayNanos;
+    }
+
+    public long getLastDurationNanos() {
+        return lastDurationNanos;
+    }
+
     @Override
     public String toString() {
         return "CheckStats{" +
@@ -8,11 +8,14 @@ import org.apache.mesos.Executor;
 import org.apache.mesos.ExecutorDriver;
 import org.apache.mesos.Protos;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.protobuf.TextFormat;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.*;
 
 /**
@@ -23,10 +26,15 @@ public class CustomExecutor implements Executor {
     private static final int HEALTH_CHECK_THREAD_POOL_SIZE = 10;
     private static final ScheduledExecutorService HEALTH_CHECK_THREAD_POOL =
             Executors.newScheduledThreadPool(HEALTH_CHECK_THREAD_POOL_SIZE);
+    private static final Duration PROCESS_EXIT_POLL_INTERVAL = Duration.ofMillis(100);
+    private static final Duration STATS_REPORT_INTERVAL = Duration.ofMinutes(1);
 
     private final ExecutorService executorService;
     private final ExecutorTaskFactory executorTaskFactory;
     private final LaunchedTaskStore launchedTaskStore;
+    private final ScheduledExecutorService checkScheduler;
+    private final boolean bounded;
+    private final Set<CheckStats> runningCheckStats = ConcurrentHashMap.newKeySet();
 
     public CustomExecutor() {
         this(Executors.newCachedThreadPool(), new DefaultExecutorTaskFactory(), new LaunchedTaskStore.ExitCallback());
@@ -36,9 +44,52 @@ public class CustomExecutor implements Executor {
             final ExecutorService executorService,
             ExecutorTaskFactory executorTaskFactory,
             Runnable exitCallback) {
+        this(executorService, executorTaskFactory, exitCallback, HEALTH_CHECK_THREAD_POOL, false);
+    }
+
+    private CustomExecutor(
+            ExecutorService executorService,
+            ExecutorTaskFactory executorTaskFactory,
+            Runnable exitCallback,
+            ScheduledExecutorService checkScheduler,
+            boolean bounded) {
         this.executorService = executorService;
         this.executorTaskFactory = executorTaskFactory;
         this.launchedTaskStore = new LaunchedTaskStore(exitCallback);
+        this.checkScheduler = checkScheduler;
+        this.bounded = bounded;
+    }
+
+    /**
+     * Returns an executor whose thread count doesn't grow with the number of tasks and checks it runs. Process exits
+     * are detected by a shared {@link ProcessExitWatcher} rather than a thread per process, check monitors wait for
+     * their checks without holding a thread, and all periodic work runs on a single shared scheduler. Checks are only
+     * triggered by the scheduler, and run on the pool used for launching and stopping tasks, so that a slow check
+     * doesn't delay process exit polling. Both the scheduler and the pool have the provided number of threads. Thread
+     * usage, queue depths, and check latencies are logged periodically.
+     */
+    public static CustomExecutor createBounded(int threads, Runnable exitCallback) {
+        ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(threads, new ThreadFactoryBuilder()
+                .setNameFormat("executor-scheduler-%d")
+                .setDaemon(true)
+                .build());
+        ThreadPoolExecutor workers = (ThreadPoolExecutor) Executors.newFixedThreadPool(threads,
+                new ThreadFactoryBuilder()
+                        .setNameFormat("executor-worker-%d")
+                        .setDaemon(true)
+                        .build());
+        ProcessExitWatcher processExitWatcher = new ProcessExitWatcher(scheduler, PROCESS_EXIT_POLL_INTERVAL);
+        CustomExecutor customExecutor = new CustomExecutor(
+                workers, new DefaultExecutorTaskFactory(processExitWatcher), exitCallback, scheduler, true);
+        long reportIntervalMs = STATS_REPORT_INTERVAL.toMillis();
+        scheduler.scheduleWithFixedDelay(
+                new ExecutorStatsReporter(
+                        workers, scheduler, processExitWatcher, customExecutor.runningCheckStats),
+                reportIntervalMs,
+                reportIntervalMs,
+                TimeUnit.MILLISECONDS);
+        LOGGER.info("Using bounded executor with {} worker and {} scheduler threads", threads, threads);
+        return customExecutor;
     }
 
     @Override
@@ -48,7 +99,11 @@ public class CustomExecutor implements Executor {
             Protos.FrameworkInfo frameworkInfo,
             Protos.SlaveInfo agentInfo) {
         LOGGER.info("Registered executor: {}", TextFormat.shortDebugString(executorInfo));
-        executorService.submit(launchedTaskStore.getMonitor());
+        if (bounded) {
+            launchedTaskStore.startMonitor(checkScheduler);
+        } else {
+            executorService.submit(launchedTaskStore.getMonitor());
+        }
     }
 
     @Override
@@ -132,20 +187,36 @@ public class CustomExecutor implements Executor {
             String checkType) {
 
         try {
+            CheckStats checkStats = new CheckStats(taskInfo.getName());
+            CheckHandler checkHandler = bounded
+                    // Checks may block on a process or a connection, so only trigger them from the shared scheduler:
+                    ? CheckHandler.create(
+                            executorDriver, taskInfo, launchedTask, check, checkScheduler, executorService, checkStats,
+                            checkType)
+                    : CheckHandler.create(
+                            executorDriver, taskInfo, launchedTask, check, checkScheduler, checkStats, checkType);
             CheckMonitor healthCheckMonitor =
                     new CheckMonitor(
                             check,
-                            CheckHandler.create(
-                                    executorDriver,
-                                    taskInfo,
-                                    launchedTask,
-                                    check,
-                                    HEALTH_CHECK_THREAD_POOL,
-                                    new CheckStats(taskInfo.getName()),
-                                    checkType),
+                            checkHandler,
                             launchedTask,
                             checkType);
+            runningCheckStats.add(checkStats);
             LOGGER.info("Submitting {} check monitor.", checkType);
+
+            if (bounded) {
+                healthCheckMonitor.start(executorService).whenComplete((optionalHealthCheckStats, t) -> {
+                    runningCheckStats.remove(checkStats);
+                    if (t != null) {
+                        LOGGER.error(String.format("Failed to get %s check stats with exception: ", checkType), t);
+                    } else if (optionalHealthCheckStats.isPresent()) {
+                        LOGGER.info("{} check exited with statistics: {}",
+                                checkType, optionalHealthCheckStats.get());
+                    }
+                });
+                return;
+            }
+
             Future<Optional<CheckStats>> futureOptionalHealthCheckStats =
                     executorService.submit(healthCheckMonitor);
 
@@ -160,6 +231,8 @@ public class CustomExecutor implements Executor {
                         }
                     } catch (InterruptedException | ExecutionException e) {
                         LOGGER.error(String.format("Failed to get %s check stats with exception: ", checkType), e);
+                    } finally {
+                        runningCheckStats.remove(checkStats);
                     }
                 }
             });
@@ -3,12 +3,30 @@ package com.mesosphere.sdk.executor;
 import org.apache.mesos.ExecutorDriver;
 import org.apache.mesos.Protos;
 
+import java.util.Optional;
+
 /**
  * Implements a factory for a generic custom executor.
  */
 public class DefaultExecutorTaskFactory implements ExecutorTaskFactory {
+    private final Optional<ProcessExitWatcher> processExitWatcher;
+
+    public DefaultExecutorTaskFactory() {
+        this.processExitWatcher = Optional.empty();
+    }
+
+    /**
+     * Creates a factory whose tasks have their process exit detected by the provided {@link ProcessExitWatcher},
+     * rather than each holding a thread for the lifetime of their process.
+     */
+    public DefaultExecutorTaskFactory(ProcessExitWatcher processExitWatcher) {
+        this.processExitWatcher = Optional.of(processExitWatcher);
+    }
+
     @Override
     public ExecutorTask createTask(Protos.TaskInfo taskInfo, ExecutorDriver executorDriver) {
-        return ProcessTask.create(executorDriver, taskInfo);
+        return processExitWatcher.isPresent()
+                ? ProcessTask.create(executorDriver, taskInfo, processExitWatcher.get())
+                : ProcessTask.create(executorDriver, taskInfo);
     }
 }
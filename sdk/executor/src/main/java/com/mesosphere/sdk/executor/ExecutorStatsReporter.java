@@ -0,0 +1,76 @@
+package com.mesosphere.sdk.executor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collection;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically logs the executor's thread usage, work queue depths, and check latencies, so that thread growth or
+ * saturation on busy agents can be diagnosed from the executor's logs.
+ */
+class ExecutorStatsReporter implements Runnable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExecutorStatsReporter.class);
+
+    private final ThreadPoolExecutor workerPool;
+    private final ThreadPoolExecutor schedulerPool;
+    private final ProcessExitWatcher processExitWatcher;
+    private final Collection<CheckStats> checkStats;
+
+    /**
+     * @param checkStats a live, thread-safe view of the stats of the checks which are currently running
+     */
+    ExecutorStatsReporter(
+            ThreadPoolExecutor workerPool,
+            ThreadPoolExecutor schedulerPool,
+            ProcessExitWatcher processExitWatcher,
+            Collection<CheckStats> checkStats) {
+        this.workerPool = workerPool;
+        this.schedulerPool = schedulerPool;
+        this.processExitWatcher = processExitWatcher;
+        this.checkStats = checkStats;
+    }
+
+    @Override
+    public void run() {
+        // Any exception thrown here would cancel all future reports.
+        try {
+            LOGGER.info(getReport());
+        } catch (Throwable t) {
+            LOGGER.error("Failed to report executor stats", t);
+        }
+    }
+
+    String getReport() {
+        long maxStartDelayNanos = 0;
+        long maxDurationNanos = 0;
+        int checkCount = 0;
+        for (CheckStats stats : checkStats) {
+            maxStartDelayNanos = Math.max(maxStartDelayNanos, stats.getLastStartDelayNanos());
+            maxDurationNanos = Math.max(maxDurationNanos, stats.getLastDurationNanos());
+            ++checkCount;
+        }
+        return String.format(
+                "Executor stats: jvmThreads=%d, workers=%s, scheduler=%s, watchedProcesses=%d, " +
+                        "checks=%d, maxCheckStartDelayMs=%d, maxCheckDurationMs=%d",
+                ManagementFactory.getThreadMXBean().getThreadCount(),
+                describe(workerPool),
+                describe(schedulerPool),
+                processExitWatcher.getWatchedCount(),
+                checkCount,
+                TimeUnit.NANOSECONDS.toMillis(maxStartDelayNanos),
+                TimeUnit.NANOSECONDS.toMillis(maxDurationNanos));
+    }
+
+    private static String describe(ThreadPoolExecutor pool) {
+        return String.format("{threads=%d/%d, active=%d, queued=%d, completed=%d}",
+                pool.getPoolSize(),
+                pool.getMaximumPoolSize(),
+                pool.getActiveCount(),
+                pool.getQueue().size(),
+                pool.getCompletedTaskCount());
+    }
+}
@@ -1,8 +1,20 @@
 package com.mesosphere.sdk.executor;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
 /**
  * All the executor tasks should implement this.
  */
 public interface ExecutorTask extends Runnable {
     public void stop();
+
+    /**
+     * Starts the task, returning a {@link Future} which is done once the task has exited. By default, the task is run
+     * on the provided {@link ExecutorService}, occupying one of its threads until the task has exited. Tasks may
+     * override this to avoid holding a thread for their lifetime.
+     */
+    public default Future<?> start(ExecutorService executorService) {
+        return executorService.submit(this);
+    }
 }
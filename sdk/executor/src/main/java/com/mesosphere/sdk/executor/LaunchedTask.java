@@ -12,10 +12,12 @@ public class LaunchedTask {
 
     /**
      * Starts the provided {@link ExecutorTask} against the provided {@link ExecutorService}.
+     *
+     * @see ExecutorTask#start(ExecutorService)
      */
     public LaunchedTask(ExecutorTask executorTask, ExecutorService executorService) {
         this.executorTask = executorTask;
-        this.future = executorService.submit(executorTask);
+        this.future = executorTask.start(executorService);
     }
 
     public void stop() {
@@ -2,6 +2,8 @@ package com.mesosphere.sdk.executor;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.mesos.Protos;
 import org.slf4j.Logger;
@@ -16,7 +18,7 @@ public class LaunchedTaskStore {
     private static final Logger LOGGER = LoggerFactory.getLogger(LaunchedTaskStore.class);
     private static final int RUNNING_TASK_POLL_INTERVAL_MS = 5000;
 
-    private final Runnable monitor;
+    private final TasksRunningMonitor monitor;
     private final int exitPollIntervalMs;
 
     private final Object launchedTasksLock = new Object();
@@ -43,6 +45,15 @@ public class LaunchedTaskStore {
         return monitor;
     }
 
+    /**
+     * Schedules periodic checks that launched tasks are still running on the provided scheduler, as an alternative to
+     * running the {@link #getMonitor()} process on a dedicated thread.
+     */
+    public void startMonitor(ScheduledExecutorService scheduler) {
+        scheduler.scheduleWithFixedDelay(
+                monitor::exitIfAllDone, exitPollIntervalMs, exitPollIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
     /**
      * Adds a launched task.
      */
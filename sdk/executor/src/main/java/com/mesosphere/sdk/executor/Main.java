@@ -13,6 +13,14 @@ import java.util.concurrent.Executors;
  */
 public class Main {
     private static final Logger LOGGER = LoggerFactory.getLogger(Main.class);
+
+    /**
+     * Environment variable for the number of threads to use in a bounded executor, see
+     * {@link CustomExecutor#createBounded(int, Runnable)}. Unset or non-positive values result in the default executor,
+     * which uses a thread per launched task and check.
+     */
+    private static final String EXECUTOR_THREADS_ENV = "EXECUTOR_THREADS";
+
     private ExecutorService executorService = null;
 
     public static void main(String[] args) throws Exception {
@@ -21,7 +29,22 @@ public class Main {
 
     private void run() throws Exception {
         executorService = Executors.newCachedThreadPool();
-        executorService.submit(new RunnableExecutor(new MesosExecutorDriverFactory().getDriver(new CustomExecutor())));
+        executorService.submit(new RunnableExecutor(new MesosExecutorDriverFactory().getDriver(createExecutor())));
+    }
+
+    private static CustomExecutor createExecutor() {
+        String threadsStr = System.getenv(EXECUTOR_THREADS_ENV);
+        int threads = 0;
+        if (threadsStr != null && !threadsStr.isEmpty()) {
+            try {
+                threads = Integer.parseInt(threadsStr);
+            } catch (NumberFormatException e) {
+                LOGGER.error(String.format("Ignoring invalid %s value: %s", EXECUTOR_THREADS_ENV, threadsStr), e);
+            }
+        }
+        return threads > 0
+                ? CustomExecutor.createBounded(threads, new LaunchedTaskStore.ExitCallback())
+                : new CustomExecutor();
     }
 
     private static class RunnableExecutor implements Runnable {
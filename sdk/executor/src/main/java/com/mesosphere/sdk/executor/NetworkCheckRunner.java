@@ -0,0 +1,123 @@
+package com.mesosphere.sdk.executor;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousSocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs HTTP and TCP checks against a task from within the executor, rather than spawning a subprocess for each check.
+ * As with Mesos' own HTTP and TCP checks, the task is expected to be listening on the loopback interface.
+ *
+ * Each check is performed over a non-blocking {@link AsynchronousSocketChannel}, and the whole check (connecting,
+ * sending the request, and reading the response) must complete within the check's timeout.
+ */
+class NetworkCheckRunner {
+
+    /**
+     * The maximum number of bytes to read while looking for the status line of an HTTP response.
+     */
+    private static final int MAX_STATUS_LINE_BYTES = 1024;
+
+    private final InetAddress address;
+
+    NetworkCheckRunner() {
+        this(InetAddress.getLoopbackAddress());
+    }
+
+    @VisibleForTesting
+    NetworkCheckRunner(InetAddress address) {
+        this.address = address;
+    }
+
+    /**
+     * Connects to the provided port and immediately disconnects.
+     *
+     * @throws IOException if the connection couldn't be established within the timeout
+     */
+    public void connect(int port, double timeoutSeconds) throws IOException, InterruptedException {
+        long deadlineNanos = getDeadlineNanos(timeoutSeconds);
+        try (AsynchronousSocketChannel channel = AsynchronousSocketChannel.open()) {
+            await(channel.connect(new InetSocketAddress(address, port)), deadlineNanos);
+        }
+    }
+
+    /**
+     * Sends a {@code GET} request for the provided path to the provided port, and returns the status code of the
+     * response.
+     *
+     * @throws IOException if the request failed, or if no status line was received within the timeout
+     */
+    public int getHttpStatus(int port, String path, double timeoutSeconds) throws IOException, InterruptedException {
+        long deadlineNanos = getDeadlineNanos(timeoutSeconds);
+        try (AsynchronousSocketChannel channel = AsynchronousSocketChannel.open()) {
+            await(channel.connect(new InetSocketAddress(address, port)), deadlineNanos);
+
+            String request = String.format(
+                    "GET %s HTTP/1.1\r\nHost: %s:%d\r\nUser-Agent: dcos-commons-executor\r\nConnection: close\r\n\r\n",
+                    path.startsWith("/") ? path : "/" + path, address.getHostAddress(), port);
+            ByteBuffer requestBuffer = ByteBuffer.wrap(request.getBytes(StandardCharsets.US_ASCII));
+            while (requestBuffer.hasRemaining()) {
+                await(channel.write(requestBuffer), deadlineNanos);
+            }
+
+            // Only the status line is needed, e.g. "HTTP/1.1 200 OK\r\n".
+            ByteBuffer responseBuffer = ByteBuffer.allocate(MAX_STATUS_LINE_BYTES);
+            while (responseBuffer.hasRemaining()) {
+                if (await(channel.read(responseBuffer), deadlineNanos) < 0) {
+                    break;
+                }
+                String response = new String(
+                        responseBuffer.array(), 0, responseBuffer.position(), StandardCharsets.US_ASCII);
+                int lineEnd = response.indexOf("\r\n");
+                if (lineEnd >= 0) {
+                    return parseStatusCode(response.substring(0, lineEnd));
+                }
+            }
+            throw new IOException(String.format(
+                    "No HTTP status line received from port %d after %d bytes", port, responseBuffer.position()));
+        }
+    }
+
+    @VisibleForTesting
+    static int parseStatusCode(String statusLine) throws IOException {
+        String[] parts = statusLine.split(" ", 3);
+        if (parts.length < 2 || !parts[0].startsWith("HTTP/")) {
+            throw new IOException(String.format("Malformed HTTP status line: %s", statusLine));
+        }
+        try {
+            return Integer.parseInt(parts[1]);
+        } catch (NumberFormatException e) {
+            throw new IOException(String.format("Malformed HTTP status line: %s", statusLine), e);
+        }
+    }
+
+    private static long getDeadlineNanos(double timeoutSeconds) {
+        return System.nanoTime() + (long) (timeoutSeconds * TimeUnit.SECONDS.toNanos(1));
+    }
+
+    /**
+     * Waits for the provided channel operation to complete before the deadline. The caller is expected to close the
+     * channel if this throws, which cancels any operation which is still pending.
+     */
+    private static <T> T await(Future<T> operation, long deadlineNanos) throws IOException, InterruptedException {
+        try {
+            return operation.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new IOException("Timed out waiting for check response", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+}
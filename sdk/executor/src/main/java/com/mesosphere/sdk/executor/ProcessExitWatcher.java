@@ -0,0 +1,66 @@
+package com.mesosphere.sdk.executor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Notifies callers when processes exit, without dedicating a thread to waiting on each process. This fills the role of
+ * {@code Process.onExit()}, which isn't available in Java 8: all watched processes are polled together from a shared
+ * scheduler, so a process's exit is noticed within one poll interval of it occurring.
+ *
+ * Futures returned by {@link #onExit(Process)} are completed on the scheduler's thread, so any dependent actions should
+ * be quick and non-blocking.
+ */
+public class ProcessExitWatcher {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ProcessExitWatcher.class);
+
+    /**
+     * Processes are compared by identity, as {@link Process} doesn't override {@code equals()}.
+     */
+    private final Map<Process, CompletableFuture<Integer>> watchedProcesses = new ConcurrentHashMap<>();
+
+    public ProcessExitWatcher(ScheduledExecutorService scheduler, Duration pollInterval) {
+        long pollIntervalMs = pollInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::poll, pollIntervalMs, pollIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Returns a future which is completed with the provided process's exit value once it has exited.
+     */
+    public CompletableFuture<Integer> onExit(Process process) {
+        CompletableFuture<Integer> exit = new CompletableFuture<>();
+        watchedProcesses.put(process, exit);
+        return exit;
+    }
+
+    /**
+     * Returns the number of processes which are being watched, i.e. which haven't been seen to exit yet.
+     */
+    public int getWatchedCount() {
+        return watchedProcesses.size();
+    }
+
+    private void poll() {
+        // Any exception thrown here would cancel all future polls.
+        try {
+            Iterator<Map.Entry<Process, CompletableFuture<Integer>>> iter = watchedProcesses.entrySet().iterator();
+            while (iter.hasNext()) {
+                Map.Entry<Process, CompletableFuture<Integer>> entry = iter.next();
+                if (!entry.getKey().isAlive()) {
+                    iter.remove();
+                    entry.getValue().complete(entry.getKey().exitValue());
+                }
+            }
+        } catch (Throwable t) {
+            LOGGER.error("Failed to poll watched processes", t);
+        }
+    }
+}
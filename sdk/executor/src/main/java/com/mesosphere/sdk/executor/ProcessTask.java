@@ -7,7 +7,9 @@ import org.slf4j.LoggerFactory;
 
 import com.mesosphere.sdk.offer.taskdata.ProcessBuilderUtils;
 
+import java.io.IOException;
 import java.time.Duration;
+import java.util.Optional;
 import java.util.concurrent.*;
 
 /**
@@ -26,19 +28,42 @@ public class ProcessTask implements ExecutorTask {
 
     private static final Duration noGracePeriod = Duration.ZERO;
     private final Duration taskKillGracePeriod;
+    private final Optional<ProcessExitWatcher> processExitWatcher;
 
     public static ProcessTask create(ExecutorDriver executorDriver, Protos.TaskInfo taskInfo) {
         return new ProcessTask(executorDriver, taskInfo, ProcessBuilderUtils.buildProcess(taskInfo.getCommand()));
     }
 
+    /**
+     * Creates a task whose process exit is detected by the provided {@link ProcessExitWatcher}, so that no thread is
+     * held for the lifetime of the process when the task is {@link #start(ExecutorService) started}.
+     */
+    public static ProcessTask create(
+            ExecutorDriver executorDriver, Protos.TaskInfo taskInfo, ProcessExitWatcher processExitWatcher) {
+        return new ProcessTask(
+                executorDriver,
+                taskInfo,
+                ProcessBuilderUtils.buildProcess(taskInfo.getCommand()),
+                Optional.of(processExitWatcher));
+    }
+
     protected ProcessTask(
             ExecutorDriver executorDriver,
             Protos.TaskInfo taskInfo,
             ProcessBuilder processBuilder) {
+        this(executorDriver, taskInfo, processBuilder, Optional.empty());
+    }
+
+    protected ProcessTask(
+            ExecutorDriver executorDriver,
+            Protos.TaskInfo taskInfo,
+            ProcessBuilder processBuilder,
+            Optional<ProcessExitWatcher> processExitWatcher) {
         this.driver = executorDriver;
         this.taskInfo = taskInfo;
         this.processBuilder = processBuilder;
         this.taskKillGracePeriod = getTaskKillGracePeriod(taskInfo);
+        this.processExitWatcher = processExitWatcher;
     }
 
     private static Duration getTaskKillGracePeriod(Protos.TaskInfo taskInfo) {
@@ -56,83 +81,129 @@ public class ProcessTask implements ExecutorTask {
     @Override
     public void run() {
         try {
-            LOGGER.info("Executing command: {}", processBuilder.command());
-            LOGGER.info("With Environment: {}", processBuilder.environment());
-
-            if (processBuilder.command().isEmpty()) {
-                TaskStatusUtils.sendStatus(
-                        driver,
-                        Protos.TaskState.TASK_FAILED,
-                        taskInfo.getTaskId(),
-                        taskInfo.getSlaveId(),
-                        taskInfo.getExecutor().getExecutorId(),
-                        String.format("Empty command found for: %s", taskInfo.getName()),
-                        false);
+            if (!launch()) {
                 return;
             }
-
-            this.process = processBuilder.start();
-
-            final String startMessage = String.format(
-                    "Launching Task: %s (%s)", taskInfo.getName(), taskInfo.getTaskId().getValue());
-            LOGGER.info(startMessage);
-            TaskStatusUtils.sendStatus(
-                    driver,
-                    Protos.TaskState.TASK_RUNNING,
-                    taskInfo.getTaskId(),
-                    taskInfo.getSlaveId(),
-                    taskInfo.getExecutor().getExecutorId(),
-                    startMessage,
-                    true);
-            initialized.complete(true);
-
             waitUninterruptably(process);
-            final int exitValue = process.exitValue();
-            exit.complete(exitValue);
-            Protos.TaskState taskState;
-
-            boolean isHealthy = true;
-            String exitValueStr = String.valueOf(exitValue);
-            if (exitValue == 0) {
-                taskState = Protos.TaskState.TASK_FINISHED;
-            } else if (exitValue > 128) {
-                taskState = Protos.TaskState.TASK_KILLED;
-                // Fatal error: 128 + N (e.g. kill -9 results in 137 == 128+9)
-                exitValueStr = String.format("%d => killed(%d)", exitValue, exitValue - 128);
-                isHealthy = false;
-            } else {
-                taskState = Protos.TaskState.TASK_FAILED;
-                isHealthy = false;
-            }
+            reportExit(process.exitValue());
+        } catch (Throwable e) {
+            reportFailure(e);
+        }
+    }
 
-            String exitMessage = String.format(
-                    "Task: %s (%s) exited with code: %s",
-                    taskInfo.getName(), taskInfo.getTaskId().getValue(), exitValueStr);
-            TaskStatusUtils.sendStatus(
-                    driver,
-                    taskState,
-                    taskInfo.getTaskId(),
-                    taskInfo.getSlaveId(),
-                    taskInfo.getExecutor().getExecutorId(),
-                    exitMessage,
-                    isHealthy);
+    /**
+     * Starts the task. If this task was created with a {@link ProcessExitWatcher}, the process is launched using the
+     * provided {@link ExecutorService}, and its exit is then detected by the watcher, so that no thread is held while
+     * the process is running. Otherwise, the task is run on the provided {@link ExecutorService} as usual.
+     */
+    @Override
+    public Future<?> start(ExecutorService executorService) {
+        if (!processExitWatcher.isPresent()) {
+            return ExecutorTask.super.start(executorService);
+        }
+        return CompletableFuture.supplyAsync(this::launchUnchecked, executorService)
+                .thenCompose(launched -> launched
+                        // Exit is reported directly on the watcher's thread, as it completes the exit future which
+                        // stop() may be waiting for on one of the executor service's threads.
+                        ? processExitWatcher.get().onExit(process).thenAccept(this::reportExit)
+                        : CompletableFuture.<Void>completedFuture(null))
+                .exceptionally(e -> {
+                    reportFailure(e instanceof CompletionException ? e.getCause() : e);
+                    return null;
+                });
+    }
 
-            LOGGER.info(exitMessage);
-        } catch (Throwable e) {
-            LOGGER.error(String.format("Task: %s (%s) failed", taskInfo.getName(), taskInfo.getTaskId().getValue()), e);
-            initialized.complete(false);
-            exit.complete(1);
+    /**
+     * Launches the process and reports it as running. Returns {@code false} if there was nothing to launch.
+     */
+    private boolean launch() throws IOException {
+        LOGGER.info("Executing command: {}", processBuilder.command());
+        LOGGER.info("With Environment: {}", processBuilder.environment());
+
+        if (processBuilder.command().isEmpty()) {
             TaskStatusUtils.sendStatus(
                     driver,
                     Protos.TaskState.TASK_FAILED,
                     taskInfo.getTaskId(),
                     taskInfo.getSlaveId(),
                     taskInfo.getExecutor().getExecutorId(),
-                    e.getMessage(),
+                    String.format("Empty command found for: %s", taskInfo.getName()),
                     false);
+            return false;
+        }
+
+        this.process = processBuilder.start();
+
+        final String startMessage = String.format(
+                "Launching Task: %s (%s)", taskInfo.getName(), taskInfo.getTaskId().getValue());
+        LOGGER.info(startMessage);
+        TaskStatusUtils.sendStatus(
+                driver,
+                Protos.TaskState.TASK_RUNNING,
+                taskInfo.getTaskId(),
+                taskInfo.getSlaveId(),
+                taskInfo.getExecutor().getExecutorId(),
+                startMessage,
+                true);
+        initialized.complete(true);
+        return true;
+    }
+
+    private boolean launchUnchecked() {
+        try {
+            return launch();
+        } catch (IOException e) {
+            throw new CompletionException(e);
         }
     }
 
+    private void reportExit(int exitValue) {
+        exit.complete(exitValue);
+        Protos.TaskState taskState;
+
+        boolean isHealthy = true;
+        String exitValueStr = String.valueOf(exitValue);
+        if (exitValue == 0) {
+            taskState = Protos.TaskState.TASK_FINISHED;
+        } else if (exitValue > 128) {
+            taskState = Protos.TaskState.TASK_KILLED;
+            // Fatal error: 128 + N (e.g. kill -9 results in 137 == 128+9)
+            exitValueStr = String.format("%d => killed(%d)", exitValue, exitValue - 128);
+            isHealthy = false;
+        } else {
+            taskState = Protos.TaskState.TASK_FAILED;
+            isHealthy = false;
+        }
+
+        String exitMessage = String.format(
+                "Task: %s (%s) exited with code: %s",
+                taskInfo.getName(), taskInfo.getTaskId().getValue(), exitValueStr);
+        TaskStatusUtils.sendStatus(
+                driver,
+                taskState,
+                taskInfo.getTaskId(),
+                taskInfo.getSlaveId(),
+                taskInfo.getExecutor().getExecutorId(),
+                exitMessage,
+                isHealthy);
+
+        LOGGER.info(exitMessage);
+    }
+
+    private void reportFailure(Throwable e) {
+        LOGGER.error(String.format("Task: %s (%s) failed", taskInfo.getName(), taskInfo.getTaskId().getValue()), e);
+        initialized.complete(false);
+        exit.complete(1);
+        TaskStatusUtils.sendStatus(
+                driver,
+                Protos.TaskState.TASK_FAILED,
+                taskInfo.getTaskId(),
+                taskInfo.getSlaveId(),
+                taskInfo.getExecutor().getExecutorId(),
+                e.getMessage(),
+                false);
+    }
+
     @Override
     public void stop() {
         if ((process != null) &&
@@ -13,6 +13,14 @@ import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
 import java.util.concurrent.*;
 
 import static org.awaitility.Awaitility.to;
@@ -253,10 +261,10 @@ public class CheckHandlerTest {
     }
 
     @Test(expected=CheckHandler.CheckValidationException.class)
-    public void testFailHttpHealthCheckValidation() throws CheckHandler.CheckValidationException {
+    public void testFailHttpsHealthCheckValidation() throws CheckHandler.CheckValidationException {
         Protos.TaskInfo taskInfo = getTask().toBuilder()
                 .setHealthCheck(Protos.HealthCheck.newBuilder()
-                        .setHttp(Protos.HealthCheck.HTTPCheckInfo.newBuilder().setPort(2))
+                        .setHttp(Protos.HealthCheck.HTTPCheckInfo.newBuilder().setPort(2).setScheme("https"))
                         .build())
                 .build();
 
@@ -270,6 +278,96 @@ public class CheckHandlerTest {
                 "test");
     }
 
+    @Test(expected=CheckHandler.CheckValidationException.class)
+    public void testFailTcpPortHealthCheckValidation() throws CheckHandler.CheckValidationException {
+        Protos.TaskInfo taskInfo = getTask().toBuilder()
+                .setHealthCheck(Protos.HealthCheck.newBuilder()
+                        .setTcp(Protos.HealthCheck.TCPCheckInfo.newBuilder().setPort(0))
+                        .build())
+                .build();
+
+        CheckHandler.create(
+                executorDriver,
+                taskInfo,
+                mockLaunchedTask,
+                taskInfo.getHealthCheck(),
+                scheduledExecutorService,
+                new CheckStats("test"),
+                "test");
+    }
+
+    @Test
+    public void testHttpSuccess() throws Exception {
+        try (TestHttpServer server = new TestHttpServer("HTTP/1.1 204 No Content")) {
+            CheckStats healthCheckStats = new CheckStats("test");
+            getHandler(getNetworkCheck(1).setHttp(
+                    Protos.HealthCheck.HTTPCheckInfo.newBuilder().setPort(server.getPort()).setPath("/health")),
+                    healthCheckStats).start();
+            Awaitility.await().atMost(5, TimeUnit.SECONDS)
+                    .untilCall(to(healthCheckStats).getTotalSuccesses(), greaterThan(1L));
+
+            Assert.assertEquals(0, healthCheckStats.getTotalFailures());
+            Assert.assertEquals("GET /health HTTP/1.1", server.getRequestLine());
+        }
+        verifyZeroInteractions(mockProcessRunner);
+    }
+
+    @Test
+    public void testHttpFailureStatus() throws Exception {
+        int maxConsecutiveFailures = 2;
+        try (TestHttpServer server = new TestHttpServer("HTTP/1.1 503 Service Unavailable")) {
+            CheckStats healthCheckStats = new CheckStats("test");
+            ScheduledFuture<?> future = getHandler(getNetworkCheck(maxConsecutiveFailures).setHttp(
+                    Protos.HealthCheck.HTTPCheckInfo.newBuilder().setPort(server.getPort())),
+                    healthCheckStats).start();
+            try {
+                future.get();
+            } catch (Throwable t) {
+                Assert.assertTrue(t instanceof ExecutionException);
+            }
+
+            Assert.assertEquals(maxConsecutiveFailures, healthCheckStats.getConsecutiveFailures());
+            Assert.assertEquals(0, healthCheckStats.getTotalSuccesses());
+        }
+    }
+
+    @Test
+    public void testTcpSuccess() throws Exception {
+        try (ServerSocket serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+            CheckStats healthCheckStats = new CheckStats("test");
+            getHandler(getNetworkCheck(0).setTcp(
+                    Protos.HealthCheck.TCPCheckInfo.newBuilder().setPort(serverSocket.getLocalPort())),
+                    healthCheckStats).start();
+            Awaitility.await().atMost(5, TimeUnit.SECONDS)
+                    .untilCall(to(healthCheckStats).getTotalSuccesses(), greaterThanOrEqualTo(1L));
+
+            Assert.assertEquals(0, healthCheckStats.getTotalFailures());
+            verify(executorDriver, timeout(5000)).sendStatusUpdate(taskStatusCaptor.capture());
+            Assert.assertEquals("readiness_check_passed",
+                    taskStatusCaptor.getValue().getLabels().getLabels(0).getKey());
+        }
+    }
+
+    @Test
+    public void testTcpFailure() throws Exception {
+        int port;
+        try (ServerSocket serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+            port = serverSocket.getLocalPort();
+        }
+        CheckStats healthCheckStats = new CheckStats("test");
+        ScheduledFuture<?> future = getHandler(getNetworkCheck(1).setTcp(
+                Protos.HealthCheck.TCPCheckInfo.newBuilder().setPort(port)),
+                healthCheckStats).start();
+        try {
+            future.get();
+        } catch (Throwable t) {
+            Assert.assertTrue(t instanceof ExecutionException);
+        }
+
+        Assert.assertEquals(1, healthCheckStats.getTotalFailures());
+        Assert.assertEquals(0, healthCheckStats.getTotalSuccesses());
+    }
+
     @Test(expected=CheckHandler.CheckValidationException.class)
     public void testFailNoCommandHealthCheckValidation() throws CheckHandler.CheckValidationException {
         Protos.TaskInfo taskInfo = getTask().toBuilder()
@@ -337,6 +435,70 @@ public class CheckHandlerTest {
         Assert.assertEquals("true", readinessCheckValue);
     }
 
+    private CheckHandler getHandler(Protos.HealthCheck.Builder healthCheck, CheckStats healthCheckStats)
+            throws CheckHandler.CheckValidationException {
+        return new CheckHandler(
+                executorDriver,
+                taskInfo,
+                mockLaunchedTask,
+                mockProcessRunner,
+                healthCheck.build(),
+                scheduledExecutorService,
+                healthCheckStats,
+                "test");
+    }
+
+    private static Protos.HealthCheck.Builder getNetworkCheck(int maxConsecutiveFailures) {
+        return Protos.HealthCheck.newBuilder()
+                .setIntervalSeconds(SHORT_INTERVAL_S)
+                .setDelaySeconds(SHORT_DELAY_S)
+                .setGracePeriodSeconds(SHORT_GRACE_PERIOD_S)
+                .setTimeoutSeconds(5)
+                .setConsecutiveFailures(maxConsecutiveFailures);
+    }
+
+    /**
+     * A minimal HTTP server on the loopback interface which responds to every request with the provided status line.
+     */
+    private static class TestHttpServer implements AutoCloseable {
+        private final ServerSocket serverSocket;
+        private final Thread thread;
+        private volatile String requestLine;
+
+        private TestHttpServer(String statusLine) throws IOException {
+            this.serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+            this.thread = new Thread(() -> {
+                while (!serverSocket.isClosed()) {
+                    try (Socket socket = serverSocket.accept()) {
+                        BufferedReader reader = new BufferedReader(
+                                new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+                        requestLine = reader.readLine();
+                        socket.getOutputStream().write(
+                                (statusLine + "\r\nContent-Length: 0\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+                    } catch (IOException e) {
+                        // Server closed, or client went away.
+                    }
+                }
+            });
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        private int getPort() {
+            return serverSocket.getLocalPort();
+        }
+
+        private String getRequestLine() {
+            return requestLine;
+        }
+
+        @Override
+        public void close() throws Exception {
+            serverSocket.close();
+            thread.join(5000);
+        }
+    }
+
     private static Protos.TaskInfo getTask() {
         return Protos.TaskInfo.newBuilder()
                 .setName("task-health-check")
@@ -346,6 +508,49 @@ public class CheckHandlerTest {
                 .build();
     }
 
+    @Test
+    public void testHangingCheckDoesNotBlockScheduler() throws Exception {
+        CountDownLatch checkStarted = new CountDownLatch(1);
+        CountDownLatch releaseCheck = new CountDownLatch(1);
+        when(mockProcessRunner.run(any(), anyDouble())).thenAnswer(invocation -> {
+            checkStarted.countDown();
+            releaseCheck.await();
+            return 1;
+        });
+
+        ExecutorService checkExecutor = Executors.newCachedThreadPool();
+        try {
+            CheckStats healthCheckStats = new CheckStats("test");
+            CheckHandler healthCheckHandler = new CheckHandler(
+                    executorDriver,
+                    taskInfo,
+                    mockLaunchedTask,
+                    mockProcessRunner,
+                    getHealthCheck(1),
+                    scheduledExecutorService,
+                    Optional.of(checkExecutor),
+                    healthCheckStats,
+                    "test");
+            ScheduledFuture<?> trigger = healthCheckHandler.start();
+            Assert.assertTrue(checkStarted.await(5, TimeUnit.SECONDS));
+
+            // The check is hanging, but other work on the scheduler's only thread still runs, such as exit polling:
+            Assert.assertTrue(scheduledExecutorService.submit(() -> true).get(5, TimeUnit.SECONDS));
+            // Runs which come due while the check is hanging are skipped rather than queued:
+            Thread.sleep(50);
+            verify(mockProcessRunner, times(1)).run(any(), eq(TIMEOUT_S));
+
+            releaseCheck.countDown();
+            CheckStats stats = healthCheckHandler.getTermination().get(5, TimeUnit.SECONDS);
+            Assert.assertEquals(1, stats.getTotalFailures());
+            Awaitility.await().atMost(5, TimeUnit.SECONDS).until(trigger::isDone);
+            verify(mockProcessRunner, times(1)).run(any(), eq(TIMEOUT_S));
+        } finally {
+            releaseCheck.countDown();
+            checkExecutor.shutdownNow();
+        }
+    }
+
     private static Protos.HealthCheck getHealthCheck(int maxConsecutiveFailures) {
         return Protos.HealthCheck.newBuilder()
                 .setIntervalSeconds(SHORT_INTERVAL_S)
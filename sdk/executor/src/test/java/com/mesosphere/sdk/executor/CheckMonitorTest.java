@@ -88,4 +88,42 @@ public class CheckMonitorTest {
         executorService.shutdown();
         executorService.awaitTermination(10, TimeUnit.SECONDS);
     }
+
+    @Test
+    public void testStopHealthCheckMonitorForFailedHealthCheckAsync() throws Exception {
+        final HealthCheck healthCheck = HealthCheck.newBuilder()
+                .setIntervalSeconds(SHORT_INTERVAL_S)
+                .setDelaySeconds(SHORT_DELAY_S)
+                .setGracePeriodSeconds(SHORT_GRACE_PERIOD_S)
+                .setTimeoutSeconds(TIMEOUT_S)
+                .setConsecutiveFailures(MAX_FAILURES)
+                .setCommand(CommandInfo.newBuilder().setValue(COMMAND).build())
+                .build();
+        final CheckHandler healthCheckHandler = new CheckHandler(
+                executorDriver,
+                taskInfo,
+                mockLaunchedTask,
+                mockProcessRunner,
+                healthCheck,
+                scheduledExecutorService,
+                new CheckStats("test"),
+                "test");
+        when(mockProcessRunner.run(any(), anyDouble())).thenReturn(1); // return failure
+
+        CheckMonitor healthCheckMonitor = new CheckMonitor(
+                healthCheck,
+                healthCheckHandler,
+                mockLaunchedTask,
+                "test");
+
+        Optional<CheckStats> optionalStats =
+                healthCheckMonitor.start(ForkJoinPool.commonPool()).get(10, TimeUnit.SECONDS);
+        Assert.assertTrue(optionalStats.isPresent());
+
+        CheckStats healthCheckStats = optionalStats.get();
+        Assert.assertEquals(1, healthCheckStats.getTotalFailures());
+        Assert.assertEquals(0, healthCheckStats.getTotalSuccesses());
+        Assert.assertTrue(healthCheckStats.getLastDurationNanos() > 0);
+        verify(mockLaunchedTask).stop();
+    }
 }
@@ -0,0 +1,47 @@
+package com.mesosphere.sdk.executor;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+
+/**
+ * Tests for {@link NetworkCheckRunner}
+ */
+public class NetworkCheckRunnerTest {
+
+    @Test
+    public void testParseStatusCode() throws Exception {
+        Assert.assertEquals(200, NetworkCheckRunner.parseStatusCode("HTTP/1.1 200 OK"));
+        Assert.assertEquals(503, NetworkCheckRunner.parseStatusCode("HTTP/1.0 503"));
+    }
+
+    @Test(expected = IOException.class)
+    public void testParseMalformedStatusCode() throws Exception {
+        NetworkCheckRunner.parseStatusCode("SSH-2.0-OpenSSH");
+    }
+
+    @Test
+    public void testHttpTimeout() throws Exception {
+        // The connection is accepted by the OS, but nothing is ever sent back:
+        try (ServerSocket serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+            long startNanos = System.nanoTime();
+            try {
+                new NetworkCheckRunner().getHttpStatus(serverSocket.getLocalPort(), "/", 0.2);
+                Assert.fail("Expected timeout");
+            } catch (IOException e) {
+                Assert.assertTrue(e.getMessage(), e.getMessage().contains("Timed out"));
+            }
+            Assert.assertTrue(System.nanoTime() - startNanos < 5_000_000_000L);
+        }
+    }
+
+    @Test
+    public void testConnect() throws Exception {
+        try (ServerSocket serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+            new NetworkCheckRunner().connect(serverSocket.getLocalPort(), 5);
+        }
+    }
+}
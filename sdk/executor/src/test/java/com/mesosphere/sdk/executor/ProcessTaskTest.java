@@ -10,8 +10,12 @@ import org.junit.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
 import static org.awaitility.Awaitility.to;
@@ -149,4 +153,48 @@ public class ProcessTaskTest {
         Assert.assertEquals(Protos.TaskState.TASK_KILLED, statuses.get(1).getState());
         Assert.assertFalse(processTask.isAlive());
     }
+
+    @Test
+    public void testWatchedTask() throws Exception {
+        final ExecutorDriver mockExecutorDriver = Mockito.mock(ExecutorDriver.class);
+        final Protos.ExecutorInfo executorInfo = Protos.ExecutorInfo.newBuilder()
+                .setName(EXECUTOR_NAME)
+                .setExecutorId(CommonIdUtils.toExecutorId(EXECUTOR_NAME))
+                .setCommand(Protos.CommandInfo.newBuilder().setValue(""))
+                .build();
+
+        final Protos.TaskInfo taskInfo = Protos.TaskInfo.newBuilder()
+                .setName(TASK_NAME)
+                .setTaskId(CommonIdUtils.toTaskId(TASK_NAME))
+                .setSlaveId(SlaveID.newBuilder().setValue("ignored"))
+                .setExecutor(executorInfo)
+                .setCommand(Protos.CommandInfo.newBuilder().setValue("sleep 0.2; exit 1"))
+                .build();
+
+        final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        final ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            final ProcessExitWatcher watcher = new ProcessExitWatcher(scheduler, Duration.ofMillis(10));
+            final ProcessTask processTask = ProcessTask.create(mockExecutorDriver, taskInfo, watcher);
+            final Future<?> future = processTask.start(executorService);
+
+            // The executor's only thread isn't held while the process runs:
+            executorService.submit(() -> { }).get(5, TimeUnit.SECONDS);
+            Assert.assertFalse(future.isDone());
+
+            future.get(5, TimeUnit.SECONDS);
+            Assert.assertFalse(processTask.isAlive());
+            Assert.assertEquals(0, watcher.getWatchedCount());
+
+            // TASK_RUNNING + TASK_FAILED
+            ArgumentCaptor<Protos.TaskStatus> captor = ArgumentCaptor.forClass(Protos.TaskStatus.class);
+            Mockito.verify(mockExecutorDriver, times(2)).sendStatusUpdate(captor.capture());
+            List<Protos.TaskStatus> statuses = captor.getAllValues();
+            Assert.assertEquals(Protos.TaskState.TASK_RUNNING, statuses.get(0).getState());
+            Assert.assertEquals(Protos.TaskState.TASK_FAILED, statuses.get(1).getState());
+        } finally {
+            scheduler.shutdownNow();
+            executorService.shutdownNow();
+        }
+    }
 }
@@ -6,28 +6,43 @@ import com.mesosphere.sdk.storage.Persister;
 import com.mesosphere.sdk.storage.PersisterException;
 import com.mesosphere.sdk.storage.PersisterUtils;
 import com.mesosphere.sdk.storage.StorageError.Reason;
+import com.mesosphere.sdk.storage.WatchablePersister;
 
 import org.apache.curator.RetryPolicy;
 import org.apache.curator.framework.CuratorFramework;
 import org.apache.curator.framework.CuratorFrameworkFactory;
 import org.apache.curator.framework.api.ACLProvider;
+import org.apache.curator.framework.api.BackgroundCallback;
+import org.apache.curator.framework.api.CuratorEvent;
 import org.apache.curator.framework.api.transaction.CuratorTransactionFinal;
+import org.apache.curator.framework.api.transaction.CuratorTransactionResult;
+import org.apache.curator.framework.api.transaction.OperationType;
+import org.apache.curator.framework.recipes.cache.ChildData;
+import org.apache.curator.framework.recipes.cache.TreeCache;
 import org.apache.zookeeper.KeeperException;
 import org.apache.zookeeper.ZooDefs;
 import org.apache.zookeeper.data.ACL;
+import org.apache.zookeeper.data.Stat;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
  * The Curator implementation of the {@link Persister} interface provides for persistence and retrieval of data from
  * Zookeeper. All paths passed to this instance are automatically namespaced within a framework-specific znode to avoid
  * conflicts with other users of the same ZK instance.
+ *
+ * <p>Changes to the service's data may be watched via {@link #watch(Listener)}, which is backed by a Curator
+ * {@link TreeCache} over the service's znode.
  */
-public class CuratorPersister implements Persister {
+public class CuratorPersister implements WatchablePersister {
 
     private static final Logger logger = LoggerFactory.getLogger(CuratorPersister.class);
 
@@ -37,8 +52,24 @@ public class CuratorPersister implements Persister {
      */
     private static final int ATOMIC_WRITE_ATTEMPTS = 3;
 
+    /**
+     * Amount of time to wait for the initial content of the service's znode to be loaded in {@link #watch(Listener)}.
+     */
+    private static final long WATCH_INITIALIZATION_TIMEOUT_SECONDS = 300;
+
+    /**
+     * Maximum number of reads to have in flight at once in bulk read operations such as {@link #getMany(Collection)}.
+     */
+    private static final int MAX_PENDING_READS = 100;
+
+    /**
+     * Amount of time to wait for progress in bulk read operations before giving up.
+     */
+    private static final long BACKGROUND_READ_TIMEOUT_SECONDS = 60;
+
     private final String serviceRootPath;
     private final CuratorFramework client;
+    private TreeCache treeCache;
 
     /**
      * Builder for constructing {@link CuratorPersister} instances.
@@ -264,6 +295,36 @@ public class CuratorPersister implements Persister {
         runTransactionWithRetries(new SetTransactionFactory(pathBytesMap));
     }
 
+    @Override
+    public Map<String, Integer> setManyWithVersions(Map<String, byte[]> unprefixedPathBytesMap)
+            throws PersisterException {
+        if (unprefixedPathBytesMap.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, byte[]> pathBytesMap = new TreeMap<>();
+        Map<String, String> unprefixedPaths = new HashMap<>();
+        for (Map.Entry<String, byte[]> entry : unprefixedPathBytesMap.entrySet()) {
+            String path = withFrameworkPrefix(entry.getKey());
+            pathBytesMap.put(path, entry.getValue());
+            unprefixedPaths.put(path, entry.getKey());
+        }
+        logger.debug("Updating {} entries: {}", pathBytesMap.size(), pathBytesMap.keySet());
+        Map<String, Integer> versions = new HashMap<>();
+        for (CuratorTransactionResult result : runTransactionWithRetries(new SetTransactionFactory(pathBytesMap))) {
+            String unprefixedPath = unprefixedPaths.get(result.getForPath());
+            if (unprefixedPath == null) {
+                // A check of the service root, or the creation of a parent node.
+                continue;
+            }
+            if (result.getType() == OperationType.CREATE) {
+                versions.put(unprefixedPath, 0);
+            } else if (result.getType() == OperationType.SET_DATA && result.getResultStat() != null) {
+                versions.put(unprefixedPath, result.getResultStat().getVersion());
+            }
+        }
+        return versions;
+    }
+
     @Override
     public void recursiveDeleteMany(Collection<String> unprefixedPaths) throws PersisterException {
         if (unprefixedPaths.isEmpty()) {
@@ -276,7 +337,9 @@ public class CuratorPersister implements Persister {
         runTransactionWithRetries(new ClearTransactionFactory(paths));
     }
 
-    private void runTransactionWithRetries(TransactionFactory factory) throws PersisterException {
+    private Collection<CuratorTransactionResult> runTransactionWithRetries(TransactionFactory factory)
+            throws PersisterException {
+        Collection<CuratorTransactionResult> results = Collections.emptyList();
         try {
             for (int i = 0; i < ATOMIC_WRITE_ATTEMPTS; ++i) {
                 CuratorTransactionFinal transaction = factory.build(client, serviceRootPath);
@@ -284,7 +347,7 @@ public class CuratorPersister implements Persister {
                 // Attempt to run the transaction, retrying if applicable:
                 if (i + 1 < ATOMIC_WRITE_ATTEMPTS) {
                     try {
-                        transaction.commit();
+                        results = transaction.commit();
                         break; // Success!
                     } catch (Exception e) {
                         // Transaction failed! Bad connection? Existence check rendered invalid?
@@ -294,12 +357,13 @@ public class CuratorPersister implements Persister {
                     }
                 } else {
                     // Last try: Any exception should be forwarded upstream
-                    transaction.commit();
+                    results = transaction.commit();
                 }
             }
         } catch (Exception e) {
             throw new PersisterException(Reason.STORAGE_ERROR, e);
         }
+        return results;
     }
 
     @Override
@@ -309,31 +373,186 @@ public class CuratorPersister implements Persister {
         }
         logger.debug("Getting {} entries: {}", unprefixedPaths.size(), unprefixedPaths);
 
+        // Unlike with writes, there is not an atomic read operation. Therefore we wing it with a series of plain reads,
+        // which are pipelined to avoid paying a full round trip for each path. We could conceivably add some form of
+        // locking here to avoid e.g. a race with another thread doing writes at the same time, but assuming the
+        // PersisterCache is enabled, this function is only called when loading the cache. If this assumption changes,
+        // then it may make sense to look into some form of proper read locking here.
         Map<String, byte[]> result = new TreeMap<>();
-        // Unlike with writes, there is not an atomic read operation. Therefore we wing it with a series of plain reads.
-        // We could conceivably add some form of locking here to avoid e.g. a race with another thread doing writes at
-        // the same time, but assuming the PersisterCache is enabled, this function wouldn't be getting called anyway,
-        // as the PersisterCache would have fetched all the data up-front to be served from memory. If this assumption
-        // changes, then it may make sense to look into some form of proper read locking here.
-        for (String unprefixedPath : unprefixedPaths) {
-            String path = withFrameworkPrefix(unprefixedPath);
-            try {
-                result.put(unprefixedPath, client.getData().forPath(path));
-            } catch (KeeperException.NoNodeException e) {
-                result.put(unprefixedPath, null);
-            } catch (Exception e) {
+        Map<String, CuratorEvent> events = readInBackground(
+                unprefixedPaths, (path, callback) -> client.getData().inBackground(callback).forPath(path));
+        for (Map.Entry<String, CuratorEvent> entry : events.entrySet()) {
+            CuratorEvent event = entry.getValue();
+            KeeperException.Code code = KeeperException.Code.get(event.getResultCode());
+            if (code == KeeperException.Code.OK) {
+                result.put(entry.getKey(), event.getData());
+            } else if (code == KeeperException.Code.NONODE) {
+                result.put(entry.getKey(), null);
+            } else {
                 throw new PersisterException(Reason.STORAGE_ERROR,
-                        String.format("Unable to retrieve data from %s", path), e);
+                        String.format("Unable to retrieve data from %s", event.getPath()),
+                        KeeperException.create(code, event.getPath()));
             }
         }
         return result;
     }
 
     @Override
-    public void close() {
+    public Map<String, Collection<String>> getChildrenMany(Collection<String> unprefixedPaths)
+            throws PersisterException {
+        if (unprefixedPaths.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        logger.debug("Getting children of {} entries: {}", unprefixedPaths.size(), unprefixedPaths);
+
+        Map<String, Collection<String>> result = new TreeMap<>();
+        Map<String, CuratorEvent> events = readInBackground(
+                unprefixedPaths, (path, callback) -> client.getChildren().inBackground(callback).forPath(path));
+        for (Map.Entry<String, CuratorEvent> entry : events.entrySet()) {
+            CuratorEvent event = entry.getValue();
+            KeeperException.Code code = KeeperException.Code.get(event.getResultCode());
+            if (code == KeeperException.Code.OK) {
+                result.put(entry.getKey(), new TreeSet<>(event.getChildren()));
+            } else if (code == KeeperException.Code.NONODE) {
+                if (event.getPath().equals(serviceRootPath)) {
+                    // Special case: Root is always present. Missing root should be treated as a root with no data.
+                    result.put(entry.getKey(), Collections.emptySet());
+                }
+            } else {
+                throw new PersisterException(Reason.STORAGE_ERROR,
+                        String.format("Unable to get children of %s", event.getPath()),
+                        KeeperException.create(code, event.getPath()));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Issues a background read for each of the provided paths, keeping at most {@link #MAX_PENDING_READS} reads in
+     * flight at a time, and returns the resulting events once all reads have completed.
+     */
+    private Map<String, CuratorEvent> readInBackground(Collection<String> unprefixedPaths, BackgroundRead read)
+            throws PersisterException {
+        Collection<String> uniquePaths = new LinkedHashSet<>(unprefixedPaths);
+        Map<String, CuratorEvent> events = new ConcurrentHashMap<>();
+        Semaphore pendingReads = new Semaphore(MAX_PENDING_READS);
+        CountDownLatch completedReads = new CountDownLatch(uniquePaths.size());
+        try {
+            for (String unprefixedPath : uniquePaths) {
+                if (!pendingReads.tryAcquire(BACKGROUND_READ_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                    throw new PersisterException(Reason.STORAGE_ERROR, String.format(
+                            "Timed out after %ds waiting to issue read of %s",
+                            BACKGROUND_READ_TIMEOUT_SECONDS, unprefixedPath));
+                }
+                read.start(withFrameworkPrefix(unprefixedPath), (curatorClient, event) -> {
+                    events.put(unprefixedPath, event);
+                    pendingReads.release();
+                    completedReads.countDown();
+                });
+            }
+            if (!completedReads.await(BACKGROUND_READ_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                throw new PersisterException(Reason.STORAGE_ERROR, String.format(
+                        "Timed out after %ds waiting for %d reads to complete",
+                        BACKGROUND_READ_TIMEOUT_SECONDS, completedReads.getCount()));
+            }
+        } catch (PersisterException e) {
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PersisterException(Reason.STORAGE_ERROR, "Interrupted while waiting for reads to complete", e);
+        } catch (Exception e) {
+            throw new PersisterException(Reason.STORAGE_ERROR, "Unable to issue reads", e);
+        }
+        return events;
+    }
+
+    @Override
+    public synchronized void watch(Listener listener) throws PersisterException {
+        if (treeCache != null) {
+            throw new PersisterException(Reason.LOGIC_ERROR, "A watch has already been started");
+        }
+        CountDownLatch initializedLatch = new CountDownLatch(1);
+        TreeCache newTreeCache = new TreeCache(client, serviceRootPath);
+        newTreeCache.getListenable().addListener((curatorClient, event) -> {
+            switch (event.getType()) {
+            case NODE_ADDED:
+            case NODE_UPDATED: {
+                Optional<String> path = withoutFrameworkPrefix(event.getData());
+                if (path.isPresent()) {
+                    Stat stat = event.getData().getStat();
+                    listener.onSet(path.get(), event.getData().getData(), stat == null ? -1 : stat.getVersion());
+                }
+                break;
+            }
+            case NODE_REMOVED: {
+                Optional<String> path = withoutFrameworkPrefix(event.getData());
+                if (path.isPresent()) {
+                    listener.onDelete(path.get());
+                }
+                break;
+            }
+            case INITIALIZED:
+                initializedLatch.countDown();
+                break;
+            case CONNECTION_SUSPENDED:
+            case CONNECTION_LOST:
+                logger.warn("Watch of {} has lost its connection: {}", serviceRootPath, event.getType());
+                break;
+            case CONNECTION_RECONNECTED:
+                logger.info("Watch of {} has reconnected, resyncing data", serviceRootPath);
+                break;
+            default:
+                logger.warn("Ignoring unexpected watch event: {}", event);
+                break;
+            }
+        });
+
+        logger.info("Starting watch of {}", serviceRootPath);
+        try {
+            newTreeCache.start();
+            if (!initializedLatch.await(WATCH_INITIALIZATION_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                throw new PersisterException(Reason.STORAGE_ERROR, String.format(
+                        "Timed out after %ds waiting for initial content of %s",
+                        WATCH_INITIALIZATION_TIMEOUT_SECONDS, serviceRootPath));
+            }
+        } catch (PersisterException e) {
+            newTreeCache.close();
+            throw e;
+        } catch (Exception e) {
+            newTreeCache.close();
+            throw new PersisterException(Reason.STORAGE_ERROR,
+                    String.format("Unable to start watch of %s", serviceRootPath), e);
+        }
+        logger.info("Loaded initial content of {}", serviceRootPath);
+        treeCache = newTreeCache;
+    }
+
+    @Override
+    public synchronized Map<String, byte[]> getWatchedData() throws PersisterException {
+        if (treeCache == null) {
+            throw new PersisterException(Reason.LOGIC_ERROR, "No watch has been started");
+        }
+        Map<String, byte[]> allData = new TreeMap<>(); // consistent ordering (mainly for tests)
+        getWatchedDataUnder(treeCache, serviceRootPath, allData);
+        return allData;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (treeCache != null) {
+            treeCache.close();
+            treeCache = null;
+        }
         client.close();
     }
 
+    /**
+     * Starts a background read of the provided path, which invokes the provided callback when complete.
+     */
+    private interface BackgroundRead {
+        public void start(String path, BackgroundCallback callback) throws Exception;
+    }
+
     private interface TransactionFactory {
         public CuratorTransactionFinal build(CuratorFramework client, String serviceRootPath) throws Exception;
     }
@@ -463,6 +682,38 @@ public class CuratorPersister implements Persister {
         return path;
     }
 
+    /**
+     * Maps the provided framework-namespaced path from a watch event back into an external path, or returns an empty
+     * {@link Optional} if the event was for the service root itself.
+     */
+    private Optional<String> withoutFrameworkPrefix(ChildData childData) {
+        if (childData == null || !childData.getPath().startsWith(serviceRootPath + PersisterUtils.PATH_DELIM_STR)) {
+            return Optional.empty();
+        }
+        return Optional.of(childData.getPath().substring(serviceRootPath.length()));
+    }
+
+    /**
+     * Adds all data present within the provided {@link TreeCache} under the provided path to {@code allData}, omitting
+     * any stub parent entries with {@code null} data.
+     */
+    private void getWatchedDataUnder(TreeCache treeCache, String path, Map<String, byte[]> allData) {
+        Map<String, ChildData> children = treeCache.getCurrentChildren(path);
+        if (children == null) {
+            return;
+        }
+        for (Map.Entry<String, ChildData> child : children.entrySet()) {
+            Optional<String> childPath = withoutFrameworkPrefix(child.getValue());
+            if (!childPath.isPresent()) {
+                continue;
+            }
+            if (child.getValue().getData() != null) {
+                allData.put(childPath.get(), child.getValue().getData());
+            }
+            getWatchedDataUnder(treeCache, child.getValue().getPath(), allData); // RECURSE
+        }
+    }
+
     private static String getInfo(byte[] bytes) {
         return bytes == null ? "NULL" : String.format("%d bytes", bytes.length);
     }
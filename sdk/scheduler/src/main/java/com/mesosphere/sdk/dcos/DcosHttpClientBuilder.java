@@ -38,4 +38,17 @@ public class DcosHttpClientBuilder extends HttpClientBuilder {
         this.setDefaultRequestConfig(requestConfig);
         return this;
     }
+
+    /**
+     * Assigns the maximum number of pooled connections, both in total and per route. Connections are kept alive and
+     * reused across requests, so this also bounds the number of requests which may be issued concurrently without
+     * waiting for a connection.
+     *
+     * @return this
+     */
+    public DcosHttpClientBuilder setMaxConnections(int maxConnections) {
+        this.setMaxConnTotal(maxConnections);
+        this.setMaxConnPerRoute(maxConnections);
+        return this;
+    }
 }
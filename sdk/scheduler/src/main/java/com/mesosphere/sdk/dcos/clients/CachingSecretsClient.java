@@ -0,0 +1,140 @@
+package com.mesosphere.sdk.dcos.clients;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.mesosphere.sdk.dcos.DcosHttpExecutor;
+
+/**
+ * A {@link SecretsClient} which caches the result of {@link #list(String)} for a short time. This avoids listing the
+ * same namespace once per task when the TLS artifacts for many tasks in a service are checked in quick succession.
+ *
+ * Cached listings are kept coherent with the secrets created and deleted through this client, so that a caller which
+ * creates a secret will see it in its next listing. Changes made by other clients may go unnoticed until the cached
+ * listing expires. This class is thread-safe.
+ */
+public class CachingSecretsClient extends SecretsClient {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CachingSecretsClient.class);
+
+    /**
+     * A listing of a path, along with the time when it should be fetched again.
+     */
+    private static class Listing {
+        private final Set<String> names;
+        private final long expirationNanos;
+
+        private Listing(Collection<String> names, long expirationNanos) {
+            this.names = new TreeSet<>(names);
+            this.expirationNanos = expirationNanos;
+        }
+    }
+
+    private final long ttlNanos;
+    private final Map<String, Listing> listings = new ConcurrentHashMap<>();
+
+    /**
+     * Incremented both before and after every create or delete, so that listings which were fetched concurrently with
+     * any part of a write aren't cached, as they may or may not reflect the write.
+     */
+    private final AtomicLong writeCount = new AtomicLong();
+
+    public CachingSecretsClient(DcosHttpExecutor httpExecutor, Duration listingTtl) {
+        super(httpExecutor);
+        this.ttlNanos = listingTtl.toNanos();
+    }
+
+    /**
+     * Lists the secrets at the provided path, returning a cached result if the path was listed recently.
+     */
+    @Override
+    public Collection<String> list(String path) throws IOException {
+        Listing listing = listings.get(path);
+        if (listing != null && System.nanoTime() - listing.expirationNanos < 0) {
+            synchronized (listing) {
+                return new ArrayList<>(listing.names);
+            }
+        }
+        long writesBeforeList = writeCount.get();
+        Collection<String> names = super.list(path);
+        if (writeCount.get() == writesBeforeList) {
+            Listing fetched = new Listing(names, System.nanoTime() + ttlNanos);
+            listings.put(path, fetched);
+            // A write which completed between the check above and the put wouldn't have found this listing to update
+            // it, so check again and drop the listing if it may be stale.
+            if (writeCount.get() != writesBeforeList) {
+                listings.remove(path, fetched);
+            }
+        }
+        return names;
+    }
+
+    @Override
+    public void create(String path, Payload secret) throws IOException {
+        writeCount.incrementAndGet();
+        try {
+            super.create(path, secret);
+        } catch (IOException e) {
+            // The create may or may not have taken effect.
+            invalidate(path);
+            throw e;
+        } finally {
+            writeCount.incrementAndGet();
+        }
+        getCachedListing(path).ifPresent(listing -> {
+            synchronized (listing) {
+                listing.names.add(getName(path));
+            }
+        });
+    }
+
+    @Override
+    public void delete(String path) throws IOException {
+        writeCount.incrementAndGet();
+        try {
+            super.delete(path);
+        } catch (IOException e) {
+            // The delete may or may not have taken effect.
+            invalidate(path);
+            throw e;
+        } finally {
+            writeCount.incrementAndGet();
+        }
+        getCachedListing(path).ifPresent(listing -> {
+            synchronized (listing) {
+                listing.names.remove(getName(path));
+            }
+        });
+    }
+
+    /**
+     * Returns the cached listing of the provided secret's parent path, if any.
+     */
+    private Optional<Listing> getCachedListing(String secretPath) {
+        int index = secretPath.lastIndexOf('/');
+        return index < 0 ? Optional.empty() : Optional.ofNullable(listings.get(secretPath.substring(0, index)));
+    }
+
+    private void invalidate(String secretPath) {
+        int index = secretPath.lastIndexOf('/');
+        if (index >= 0) {
+            LOGGER.info("Invalidating cached listing of {}", secretPath.substring(0, index));
+            listings.remove(secretPath.substring(0, index));
+        }
+    }
+
+    private static String getName(String secretPath) {
+        return secretPath.substring(secretPath.lastIndexOf('/') + 1);
+    }
+}
@@ -13,11 +13,45 @@ import java.util.*;
 /**
  * A representation of the pool of resources available in a single {@link Offer}. Tracks the
  * consumption of the {@link Offer}'s resources.
+ *
+ * <p>Pools may be created directly from an {@link Offer}, or forked from a {@link Snapshot} of an {@link Offer} when
+ * the same {@link Offer} is evaluated repeatedly.
  */
 public class MesosResourcePool {
     private static final Logger logger = LoggerFactory.getLogger(MesosResourcePool.class);
     private Offer offer;
 
+    /**
+     * An immutable, pre-indexed view of the resources in an {@link Offer}. The {@link Offer}'s resources are sorted
+     * into pools once when the snapshot is created, after which any number of {@link MesosResourcePool}s may be
+     * forked from it cheaply. Forks share the snapshot's pools, and only copy the pools which they consume from or
+     * free to, so that consumption by one fork is never visible to the snapshot or to other forks.
+     *
+     * <p>Snapshots may be shared across threads, so long as each fork is only used by a single thread.
+     */
+    public static final class Snapshot {
+        private final MesosResourcePool pool;
+
+        private Snapshot(MesosResourcePool pool) {
+            this.pool = pool;
+        }
+
+        /**
+         * Returns the underlying offer which this snapshot represents.
+         */
+        public Offer getOffer() {
+            return pool.getOffer();
+        }
+
+        /**
+         * Returns a new pool with the resources in this snapshot, which may be consumed without affecting this
+         * snapshot.
+         */
+        public MesosResourcePool fork() {
+            return new MesosResourcePool(pool);
+        }
+    }
+
     /**
      * In practice this is always unreserved MOUNT volumes.
      */
@@ -39,6 +73,29 @@ public class MesosResourcePool {
      */
     private Map<String, Map<String, Value>> reservableMergedPoolByRole;
 
+    /**
+     * Maps pre-reserved roles to maps of resource name and available ranges. RANGES resources such as ports are kept
+     * here rather than in {@link #reservableMergedPoolByRole}, so that they may be checked and consumed in place
+     * while the offer is evaluated.
+     *            "*" --> ports: [1000-1999, 3000-3999]
+     */
+    private Map<String, Map<String, RangeSet>> reservableRangePoolByRole;
+
+    /**
+     * The roles whose entries in {@link #reservableMergedPoolByRole} and {@link #reservableRangePoolByRole} are still
+     * shared with the {@link Snapshot} which this pool was forked from, and must be copied before they're modified.
+     */
+    private final Set<String> sharedMergedPoolRoles;
+    private final Set<String> sharedRangePoolRoles;
+
+    /**
+     * Returns a snapshot of the resources which are available in the provided {@link Offer}, from which pools may be
+     * forked.
+     */
+    public static Snapshot snapshot(Offer offer, Optional<String> role) {
+        return new Snapshot(new MesosResourcePool(offer, role));
+    }
+
     /**
      * Creates a new pool of resources based on what's available in the provided {@link Offer}.
      */
@@ -47,7 +104,36 @@ public class MesosResourcePool {
         final Collection<MesosResource> mesosResources = getMesosResources(offer, role);
         this.unreservedAtomicPool = getUnreservedAtomicPool(mesosResources);
         this.dynamicallyReservedPoolByResourceId = getDynamicallyReservedPool(mesosResources);
-        this.reservableMergedPoolByRole = getReservableMergedPool(mesosResources);
+        Map<String, List<MesosResource>> reservableResourcesByRole = getReservableResourcesByRole(mesosResources);
+        this.reservableMergedPoolByRole = new HashMap<>();
+        this.reservableRangePoolByRole = new HashMap<>();
+        for (Map.Entry<String, List<MesosResource>> entry : reservableResourcesByRole.entrySet()) {
+            Map<String, Value> pool = getResourcePool(entry.getValue());
+            if (!pool.isEmpty()) {
+                reservableMergedPoolByRole.put(entry.getKey(), pool);
+            }
+            Map<String, RangeSet> rangePool = getRangePool(entry.getValue());
+            if (!rangePool.isEmpty()) {
+                reservableRangePoolByRole.put(entry.getKey(), rangePool);
+            }
+        }
+        this.sharedMergedPoolRoles = Collections.emptySet();
+        this.sharedRangePoolRoles = Collections.emptySet();
+    }
+
+    /**
+     * Creates a fork of the provided pool which initially shares all of its content. The top-level maps are copied
+     * here, while the per-role pools are only copied once they're modified.
+     */
+    private MesosResourcePool(MesosResourcePool snapshot) {
+        this.offer = snapshot.offer;
+        // Atomic resource lists are replaced rather than modified in place, so they may be shared as-is.
+        this.unreservedAtomicPool = new HashMap<>(snapshot.unreservedAtomicPool);
+        this.dynamicallyReservedPoolByResourceId = new HashMap<>(snapshot.dynamicallyReservedPoolByResourceId);
+        this.reservableMergedPoolByRole = new HashMap<>(snapshot.reservableMergedPoolByRole);
+        this.reservableRangePoolByRole = new HashMap<>(snapshot.reservableRangePoolByRole);
+        this.sharedMergedPoolRoles = new HashSet<>(reservableMergedPoolByRole.keySet());
+        this.sharedRangePoolRoles = new HashSet<>(reservableRangePoolByRole.keySet());
     }
 
     /**
@@ -77,12 +163,28 @@ public class MesosResourcePool {
      * never reserved.
      */
     public Map<String, Map<String, Value>> getReservableMergedPoolByRole() {
-        return reservableMergedPoolByRole;
+        Set<String> roles = new HashSet<>(reservableMergedPoolByRole.keySet());
+        roles.addAll(reservableRangePoolByRole.keySet());
+
+        Map<String, Map<String, Value>> poolByRole = new HashMap<>();
+        for (String role : roles) {
+            poolByRole.put(role, getMergedPool(role).get());
+        }
+        return poolByRole;
     }
 
     public Map<String, Value> getUnreservedMergedPool() {
-        Map<String, Value> pool = reservableMergedPoolByRole.get(Constants.ANY_ROLE);
-        return pool == null ? Collections.emptyMap() : pool;
+        return getMergedPool(Constants.ANY_ROLE).orElse(Collections.emptyMap());
+    }
+
+    /**
+     * Returns the unreserved ranges which remain available for the provided {@code RANGES} resource, such as ports,
+     * or an empty {@link Optional} if the offer doesn't contain any unreserved instances of the resource. The
+     * returned set reflects any consumption from this pool and must not be modified by the caller.
+     */
+    public Optional<RangeSet> getUnreservedRanges(String name) {
+        Map<String, RangeSet> rangePool = reservableRangePoolByRole.get(Constants.ANY_ROLE);
+        return rangePool == null ? Optional.empty() : Optional.ofNullable(rangePool.get(name));
     }
 
     /**
@@ -167,28 +269,23 @@ public class MesosResourcePool {
 
     public Optional<MesosResource> consumeReservableMerged(String name, Value desiredValue, String preReservedRole) {
         Map<String, Value> pool = reservableMergedPoolByRole.get(preReservedRole);
-        if (pool == null) {
+        Map<String, RangeSet> rangePool = reservableRangePoolByRole.get(preReservedRole);
+        if (pool == null && rangePool == null) {
             logger.info("No unreserved resources available for role '{}'. Reservable roles are: {}",
-                    preReservedRole, reservableMergedPoolByRole.keySet());
+                    preReservedRole, getReservableMergedPoolByRole().keySet());
             return Optional.empty();
         }
 
-        Value availableValue = pool.get(name);
+        if (desiredValue.getType() == Value.Type.RANGES) {
+            return consumeReservableRanges(rangePool, name, desiredValue, preReservedRole);
+        }
+
+        Value availableValue = pool == null ? null : pool.get(name);
 
         if (sufficientValue(desiredValue, availableValue)) {
-            pool.put(name, ValueUtils.subtract(availableValue, desiredValue));
-            reservableMergedPoolByRole.put(preReservedRole, pool);
-
-            Resource.Builder builder = ResourceBuilder.fromUnreservedValue(name, desiredValue).build().toBuilder();
-            if (Capabilities.getInstance().supportsPreReservedResources() &&
-                    !preReservedRole.equals(Constants.ANY_ROLE)) {
-                builder.addReservations(
-                        Resource.ReservationInfo.newBuilder()
-                                .setRole(preReservedRole)
-                                .setType(Resource.ReservationInfo.Type.STATIC));
-            }
+            getWritableMergedPool(preReservedRole).put(name, ValueUtils.subtract(availableValue, desiredValue));
 
-            return Optional.of(new MesosResource(builder.build()));
+            return Optional.of(getReservableResource(name, desiredValue, preReservedRole));
         } else {
             if (availableValue == null) {
                 logger.info("Offer lacks any unreserved {} resources for role {}", name, preReservedRole);
@@ -203,6 +300,41 @@ public class MesosResourcePool {
         }
     }
 
+    private Optional<MesosResource> consumeReservableRanges(
+            Map<String, RangeSet> rangePool, String name, Value desiredValue, String preReservedRole) {
+        RangeSet availableRanges = rangePool == null ? null : rangePool.get(name);
+        RangeSet desiredRanges = RangeSet.of(desiredValue.getRanges());
+
+        if (availableRanges != null && availableRanges.containsAll(desiredRanges)) {
+            getWritableRangePool(preReservedRole).get(name).removeAll(desiredRanges);
+            return Optional.of(getReservableResource(name, desiredValue, preReservedRole));
+        } else {
+            if (availableRanges == null) {
+                logger.info("Offer lacks any unreserved {} resources for role {}", name, preReservedRole);
+            } else {
+                logger.info("Offered quantity of {} for role {} is insufficient: desired {}, offered {}",
+                        name,
+                        preReservedRole,
+                        desiredRanges,
+                        availableRanges);
+            }
+            return Optional.empty();
+        }
+    }
+
+    private static MesosResource getReservableResource(String name, Value desiredValue, String preReservedRole) {
+        Resource.Builder builder = ResourceBuilder.fromUnreservedValue(name, desiredValue).build().toBuilder();
+        if (Capabilities.getInstance().supportsPreReservedResources() &&
+                !preReservedRole.equals(Constants.ANY_ROLE)) {
+            builder.addReservations(
+                    Resource.ReservationInfo.newBuilder()
+                            .setRole(preReservedRole)
+                            .setType(Resource.ReservationInfo.Type.STATIC));
+        }
+
+        return new MesosResource(builder.build());
+    }
+
     public void free(MesosResource mesosResource) {
         logger.info("Freeing resource: {}",  mesosResource.toString());
         if (mesosResource.isAtomic()) {
@@ -222,11 +354,19 @@ public class MesosResourcePool {
         }
 
         String previousRole = mesosResource.getPreviousRole();
-        Map<String, Value> pool = reservableMergedPoolByRole.get(previousRole);
-        if (pool == null) {
-            pool = new HashMap<>();
+        if (mesosResource.getType() == Value.Type.RANGES) {
+            Map<String, RangeSet> rangePool = getWritableRangePool(previousRole);
+            RangeSet ranges = rangePool.get(mesosResource.getName());
+            if (ranges == null) {
+                ranges = new RangeSet();
+                rangePool.put(mesosResource.getName(), ranges);
+            }
+            ranges.addAll(RangeSet.of(mesosResource.getValue().getRanges()));
+            return;
         }
 
+        Map<String, Value> pool = getWritableMergedPool(previousRole);
+
         Value currValue = pool.get(mesosResource.getName());
         if (currValue == null) {
             currValue = ValueUtils.getZero(mesosResource.getType());
@@ -234,7 +374,6 @@ public class MesosResourcePool {
 
         Value updatedValue = ValueUtils.add(currValue, mesosResource.getValue());
         pool.put(mesosResource.getName(), updatedValue);
-        reservableMergedPoolByRole.put(previousRole, pool);
     }
 
     @SuppressWarnings("deprecation")
@@ -253,14 +392,46 @@ public class MesosResourcePool {
         Resource releasedResource = resBuilder.build();
 
         List<MesosResource> resList = unreservedAtomicPool.get(mesosResource.getName());
-        if (resList == null) {
-            resList = new ArrayList<MesosResource>();
-        }
+        // Copy rather than modifying in place, as the list may be shared with other forks of a Snapshot.
+        resList = resList == null ? new ArrayList<MesosResource>() : new ArrayList<>(resList);
 
         resList.add(new MesosResource(releasedResource));
         unreservedAtomicPool.put(mesosResource.getName(), resList);
     }
 
+    /**
+     * Returns the scalar pool for the provided role, creating it if needed, or copying it if it's still shared with
+     * the {@link Snapshot} which this pool was forked from.
+     */
+    private Map<String, Value> getWritableMergedPool(String role) {
+        Map<String, Value> pool = reservableMergedPoolByRole.get(role);
+        if (pool == null || sharedMergedPoolRoles.remove(role)) {
+            pool = pool == null ? new HashMap<>() : new HashMap<>(pool);
+            reservableMergedPoolByRole.put(role, pool);
+        }
+        return pool;
+    }
+
+    /**
+     * Returns the range pool for the provided role, creating it if needed, or copying it if it's still shared with
+     * the {@link Snapshot} which this pool was forked from.
+     */
+    private Map<String, RangeSet> getWritableRangePool(String role) {
+        Map<String, RangeSet> rangePool = reservableRangePoolByRole.get(role);
+        if (rangePool == null) {
+            rangePool = new HashMap<>();
+            reservableRangePoolByRole.put(role, rangePool);
+        } else if (sharedRangePoolRoles.remove(role)) {
+            Map<String, RangeSet> copy = new HashMap<>();
+            for (Map.Entry<String, RangeSet> entry : rangePool.entrySet()) {
+                copy.put(entry.getKey(), entry.getValue().copy());
+            }
+            rangePool = copy;
+            reservableRangePoolByRole.put(role, rangePool);
+        }
+        return rangePool;
+    }
+
     private static boolean sufficientValue(Value desired, Value available) {
         if (desired == null) {
             return true;
@@ -326,7 +497,31 @@ public class MesosResourcePool {
         return reservedPool;
     }
 
-    private Map<String, Map<String, Value>> getReservableMergedPool(Collection<MesosResource> mesosResources) {
+    /**
+     * Returns the scalar and range resources which are reservable under the provided role, or an empty
+     * {@link Optional} if there are none.
+     */
+    private Optional<Map<String, Value>> getMergedPool(String role) {
+        Map<String, Value> pool = reservableMergedPoolByRole.get(role);
+        Map<String, RangeSet> rangePool = reservableRangePoolByRole.get(role);
+        if (pool == null && rangePool == null) {
+            return Optional.empty();
+        }
+
+        Map<String, Value> mergedPool = pool == null ? new HashMap<>() : new HashMap<>(pool);
+        if (rangePool != null) {
+            for (Map.Entry<String, RangeSet> entry : rangePool.entrySet()) {
+                mergedPool.put(entry.getKey(), Value.newBuilder()
+                        .setType(Value.Type.RANGES)
+                        .setRanges(entry.getValue().toRanges())
+                        .build());
+            }
+        }
+        return Optional.of(mergedPool);
+    }
+
+    private static Map<String, List<MesosResource>> getReservableResourcesByRole(
+            Collection<MesosResource> mesosResources) {
         Map<String, List<MesosResource>> rolePool = new HashMap<>();
         for (MesosResource mesosResource : getMergedResources(mesosResources)) {
             if (!mesosResource.hasResourceId()) {
@@ -341,17 +536,15 @@ public class MesosResourcePool {
             }
         }
 
-        Map<String, Map<String, Value>> roleResourcePool = new HashMap<>();
-        for (Map.Entry<String, List<MesosResource>> entry : rolePool.entrySet()) {
-            roleResourcePool.put(entry.getKey(), getResourcePool(entry.getValue()));
-        }
-
-        return roleResourcePool;
+        return rolePool;
     }
 
     private static Map<String, Value> getResourcePool(Collection<MesosResource> mesosResources) {
         Map<String, Value> pool = new HashMap<>();
         for (MesosResource mesosResource : mesosResources) {
+            if (mesosResource.getType() == Value.Type.RANGES) {
+                continue;
+            }
             String name = mesosResource.getName();
             Value currValue = pool.get(name);
 
@@ -365,6 +558,23 @@ public class MesosResourcePool {
         return pool;
     }
 
+    private static Map<String, RangeSet> getRangePool(Collection<MesosResource> mesosResources) {
+        Map<String, RangeSet> rangePool = new HashMap<>();
+        for (MesosResource mesosResource : mesosResources) {
+            if (mesosResource.getType() != Value.Type.RANGES) {
+                continue;
+            }
+            RangeSet ranges = rangePool.get(mesosResource.getName());
+            if (ranges == null) {
+                ranges = new RangeSet();
+                rangePool.put(mesosResource.getName(), ranges);
+            }
+            ranges.addAll(RangeSet.of(mesosResource.getValue().getRanges()));
+        }
+
+        return rangePool;
+    }
+
     private static Collection<MesosResource> getUnreservedAtomicResources(
             Collection<MesosResource> mesosResources) {
         return getUnreservedResources(getAtomicResources(mesosResources));
@@ -0,0 +1,305 @@
+package com.mesosphere.sdk.offer;
+
+import org.apache.mesos.Protos;
+import org.apache.mesos.Protos.Value.Range;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * A mutable set of {@code long} values, stored as sorted closed intervals in a pair of primitive arrays. Intervals
+ * never overlap or touch: adding {@code [4,5]} to {@code [1,3]} results in the single interval {@code [1,5]}.
+ *
+ * <p>This is used in place of lists of {@link Range}s wherever ranges are repeatedly queried and updated, such as the
+ * ports in an offer while it's being evaluated. Membership checks are binary searches, and additions and removals are
+ * applied in place. This class is not thread-safe.
+ */
+public final class RangeSet {
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    private long[] begins;
+    private long[] ends;
+    private int count;
+
+    /**
+     * Creates a new empty set.
+     */
+    public RangeSet() {
+        this(INITIAL_CAPACITY);
+    }
+
+    private RangeSet(int capacity) {
+        this.begins = new long[capacity];
+        this.ends = new long[capacity];
+        this.count = 0;
+    }
+
+    /**
+     * Returns a new set containing the values in the provided ranges, which may be unsorted and may overlap.
+     */
+    public static RangeSet of(Collection<Range> ranges) {
+        RangeSet rangeSet = new RangeSet(Math.max(INITIAL_CAPACITY, ranges.size()));
+        for (Range range : ranges) {
+            rangeSet.add(range.getBegin(), range.getEnd());
+        }
+        return rangeSet;
+    }
+
+    /**
+     * Returns a new set containing the values in the provided ranges, which may be unsorted and may overlap.
+     */
+    public static RangeSet of(Protos.Value.Ranges ranges) {
+        return of(ranges.getRangeList());
+    }
+
+    /**
+     * Returns a new set with the same content as this set, which may be modified independently of this set.
+     */
+    public RangeSet copy() {
+        RangeSet copy = new RangeSet(Math.max(INITIAL_CAPACITY, count));
+        System.arraycopy(begins, 0, copy.begins, 0, count);
+        System.arraycopy(ends, 0, copy.ends, 0, count);
+        copy.count = count;
+        return copy;
+    }
+
+    /**
+     * Returns whether this set contains no values.
+     */
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * Returns the number of disjoint intervals in this set.
+     */
+    public int getIntervalCount() {
+        return count;
+    }
+
+    /**
+     * Returns the first value of the interval at the provided index, where intervals are in ascending order.
+     */
+    public long getBegin(int index) {
+        checkIndex(index);
+        return begins[index];
+    }
+
+    /**
+     * Returns the last value of the interval at the provided index, where intervals are in ascending order.
+     */
+    public long getEnd(int index) {
+        checkIndex(index);
+        return ends[index];
+    }
+
+    /**
+     * Returns whether the provided value is in this set.
+     */
+    public boolean contains(long value) {
+        int index = floorIndex(value);
+        return index >= 0 && ends[index] >= value;
+    }
+
+    /**
+     * Returns whether every value in the provided set is also in this set.
+     */
+    public boolean containsAll(RangeSet other) {
+        for (int i = 0; i < other.count; ++i) {
+            // Intervals never touch, so any interval which is fully contained is contained by a single interval.
+            int index = floorIndex(other.begins[i]);
+            if (index < 0 || ends[index] < other.ends[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Adds the values from {@code begin} through {@code end} inclusive to this set. Does nothing if {@code begin} is
+     * greater than {@code end}.
+     */
+    public void add(long begin, long end) {
+        if (begin > end) {
+            return;
+        }
+
+        // Find the first interval which overlaps or touches the start of the addition...
+        int first = floorIndex(begin);
+        if (first < 0 || !(ends[first] >= begin || ends[first] + 1 == begin)) {
+            ++first;
+        }
+        // ...and the last interval which overlaps or touches the end of the addition.
+        int last = end == Long.MAX_VALUE ? count - 1 : floorIndex(end + 1);
+
+        if (first > last) {
+            // Nothing to merge with: insert a new interval.
+            splice(first, first, 1);
+            begins[first] = begin;
+            ends[first] = end;
+        } else {
+            long mergedBegin = Math.min(begin, begins[first]);
+            long mergedEnd = Math.max(end, ends[last]);
+            splice(first, last + 1, 1);
+            begins[first] = mergedBegin;
+            ends[first] = mergedEnd;
+        }
+    }
+
+    /**
+     * Adds all of the values in the provided set to this set.
+     */
+    public void addAll(RangeSet other) {
+        for (int i = 0; i < other.count; ++i) {
+            add(other.begins[i], other.ends[i]);
+        }
+    }
+
+    /**
+     * Removes the values from {@code begin} through {@code end} inclusive from this set. Does nothing if
+     * {@code begin} is greater than {@code end}.
+     */
+    public void remove(long begin, long end) {
+        if (begin > end) {
+            return;
+        }
+
+        // Find the first and last intervals which overlap the removal.
+        int first = floorIndex(begin);
+        if (first < 0 || ends[first] < begin) {
+            ++first;
+        }
+        int last = floorIndex(end);
+        if (first > last) {
+            return;
+        }
+
+        // Keep any parts of the first and last intervals which lie outside the removal.
+        boolean keepHead = begins[first] < begin;
+        boolean keepTail = ends[last] > end;
+        long headBegin = begins[first];
+        long tailEnd = ends[last];
+        splice(first, last + 1, (keepHead ? 1 : 0) + (keepTail ? 1 : 0));
+        int index = first;
+        if (keepHead) {
+            begins[index] = headBegin;
+            ends[index] = begin - 1;
+            ++index;
+        }
+        if (keepTail) {
+            begins[index] = end + 1;
+            ends[index] = tailEnd;
+        }
+    }
+
+    /**
+     * Removes all of the values in the provided set from this set.
+     */
+    public void removeAll(RangeSet other) {
+        for (int i = 0; i < other.count && count > 0; ++i) {
+            remove(other.begins[i], other.ends[i]);
+        }
+    }
+
+    /**
+     * Returns the content of this set as a list of {@link Range}s in ascending order.
+     */
+    public List<Range> toRangeList() {
+        List<Range> ranges = new ArrayList<>(count);
+        for (int i = 0; i < count; ++i) {
+            ranges.add(Range.newBuilder().setBegin(begins[i]).setEnd(ends[i]).build());
+        }
+        return ranges;
+    }
+
+    /**
+     * Returns the content of this set as a {@link Protos.Value.Ranges} in ascending order.
+     */
+    public Protos.Value.Ranges toRanges() {
+        return Protos.Value.Ranges.newBuilder().addAllRange(toRangeList()).build();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof RangeSet)) {
+            return false;
+        }
+        RangeSet other = (RangeSet) o;
+        if (count != other.count) {
+            return false;
+        }
+        for (int i = 0; i < count; ++i) {
+            if (begins[i] != other.begins[i] || ends[i] != other.ends[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        for (int i = 0; i < count; ++i) {
+            hash = 31 * hash + Long.hashCode(begins[i]);
+            hash = 31 * hash + Long.hashCode(ends[i]);
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner joiner = new StringJoiner(", ", "[", "]");
+        for (int i = 0; i < count; ++i) {
+            joiner.add(begins[i] == ends[i]
+                    ? Long.toString(begins[i])
+                    : String.format("%d-%d", begins[i], ends[i]));
+        }
+        return joiner.toString();
+    }
+
+    /**
+     * Returns the index of the last interval which begins at or before the provided value, or -1 if there is none.
+     */
+    private int floorIndex(long value) {
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (begins[mid] <= value) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return high;
+    }
+
+    /**
+     * Replaces the intervals from {@code from} (inclusive) to {@code to} (exclusive) with {@code replacementCount}
+     * slots, shifting any following intervals as needed. The caller is expected to populate the new slots.
+     */
+    private void splice(int from, int to, int replacementCount) {
+        int newCount = count - (to - from) + replacementCount;
+        if (newCount > begins.length) {
+            int capacity = Math.max(newCount, begins.length * 2);
+            begins = Arrays.copyOf(begins, capacity);
+            ends = Arrays.copyOf(ends, capacity);
+        }
+        System.arraycopy(begins, to, begins, from + replacementCount, count - to);
+        System.arraycopy(ends, to, ends, from + replacementCount, count - to);
+        count = newCount;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException(String.format("Index %d is out of bounds for %s", index, this));
+        }
+    }
+}
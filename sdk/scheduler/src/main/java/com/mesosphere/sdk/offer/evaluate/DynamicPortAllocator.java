@@ -0,0 +1,111 @@
+package com.mesosphere.sdk.offer.evaluate;
+
+import com.mesosphere.sdk.offer.RangeSet;
+
+import java.util.BitSet;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Hands out free ports from a fixed set of candidate ports, such as the unreserved ports in an offer or the overlay
+ * network's dynamic port range. Free ports are tracked in a bitmap which is built once and then updated as ports are
+ * claimed, so that each allocation doesn't need to rescan the candidate ranges or the ports claimed so far.
+ *
+ * <p>This class is not thread-safe. Instances are owned by a single {@link PodInfoBuilder}.
+ */
+class DynamicPortAllocator {
+
+    /**
+     * Candidate ports above this value are ignored, as they aren't valid TCP/UDP port numbers.
+     */
+    private static final long MAX_PORT = 65535;
+
+    private final long basePort;
+    private final int portCount;
+    private final BitSet freePorts;
+    private final boolean randomize;
+
+    /**
+     * Creates a new allocator which hands out ports from the provided candidates.
+     *
+     * @param candidatePorts the ports which may be allocated
+     * @param randomize whether to pick free ports at random, rather than always picking the lowest free port
+     */
+    DynamicPortAllocator(RangeSet candidatePorts, boolean randomize) {
+        this.randomize = randomize;
+        if (candidatePorts.isEmpty() || candidatePorts.getBegin(0) > MAX_PORT) {
+            this.basePort = 0;
+            this.portCount = 0;
+            this.freePorts = new BitSet(0);
+            return;
+        }
+
+        this.basePort = Math.max(0, candidatePorts.getBegin(0));
+        long lastPort = Math.min(MAX_PORT, candidatePorts.getEnd(candidatePorts.getIntervalCount() - 1));
+        this.portCount = (int) (lastPort - basePort + 1);
+        this.freePorts = new BitSet(portCount);
+        for (int i = 0; i < candidatePorts.getIntervalCount(); ++i) {
+            setRange(candidatePorts.getBegin(i), candidatePorts.getEnd(i), true);
+        }
+    }
+
+    /**
+     * Returns a new allocator which hands out ports from {@code begin} through {@code end} inclusive.
+     */
+    static DynamicPortAllocator forRange(long begin, long end, boolean randomize) {
+        RangeSet candidatePorts = new RangeSet();
+        candidatePorts.add(begin, end);
+        return new DynamicPortAllocator(candidatePorts, randomize);
+    }
+
+    /**
+     * Marks the provided port as no longer free, if it was a candidate. Used for ports which were claimed without
+     * going through {@link #allocate()}.
+     */
+    void claim(long port) {
+        claim(port, port);
+    }
+
+    /**
+     * Marks the ports from {@code begin} through {@code end} inclusive as no longer free, where they were candidates.
+     */
+    void claim(long begin, long end) {
+        setRange(begin, end, false);
+    }
+
+    /**
+     * Claims and returns a free port, or returns an empty {@link Optional} if no free ports remain.
+     */
+    Optional<Long> allocate() {
+        int index = -1;
+        if (randomize && portCount > 0) {
+            // Start the search at a random position, wrapping around to the beginning if nothing is free after it.
+            index = freePorts.nextSetBit(ThreadLocalRandom.current().nextInt(portCount));
+        }
+        if (index < 0) {
+            index = freePorts.nextSetBit(0);
+        }
+        if (index < 0) {
+            return Optional.empty();
+        }
+
+        freePorts.clear(index);
+        return Optional.of(basePort + index);
+    }
+
+    /**
+     * Returns the number of ports which remain free.
+     */
+    int getFreeCount() {
+        return freePorts.cardinality();
+    }
+
+    private void setRange(long begin, long end, boolean free) {
+        long fromIndex = Math.max(begin, basePort) - basePort;
+        long toIndex = end >= basePort + portCount ? portCount : end - basePort + 1;
+        if (fromIndex >= toIndex) {
+            return;
+        }
+        freePorts.set((int) fromIndex, (int) toIndex, free);
+    }
+}
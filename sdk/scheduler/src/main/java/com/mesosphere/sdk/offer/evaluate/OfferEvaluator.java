@@ -1,11 +1,14 @@
 package com.mesosphere.sdk.offer.evaluate;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.protobuf.TextFormat;
 import com.mesosphere.sdk.offer.*;
+import com.mesosphere.sdk.offer.evaluate.placement.PlacementContext;
 import com.mesosphere.sdk.offer.history.OfferOutcome;
 import com.mesosphere.sdk.offer.history.OfferOutcomeTracker;
 import com.mesosphere.sdk.offer.taskdata.TaskLabelReader;
+import com.mesosphere.sdk.scheduler.Metrics;
 import com.mesosphere.sdk.scheduler.SchedulerConfig;
 import com.mesosphere.sdk.scheduler.plan.PodInstanceRequirement;
 import com.mesosphere.sdk.scheduler.recovery.FailureUtils;
@@ -19,6 +22,13 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -36,6 +46,75 @@ public class OfferEvaluator {
     private final UUID targetConfigId;
     private final SchedulerConfig schedulerConfig;
     private final boolean useDefaultExecutor;
+    private final Optional<ExecutorService> evaluationExecutor;
+
+    /**
+     * Shared across evaluations so that TLS artifacts which are provisioned in the background are tracked across offer
+     * cycles. Lazily created, as the service may not use TLS and the cluster may not support it.
+     */
+    private final Object tlsStageBuilderLock = new Object();
+    private TLSEvaluationStage.Builder tlsStageBuilder;
+
+    /**
+     * Snapshots of the resources in each offer which has been evaluated in the current offer cycle, or {@code null} if
+     * no offer cycle is in progress. Each offer is indexed once per cycle, after which every evaluation against it
+     * consumes from a fork of the snapshot rather than rebuilding the pool from the offer.
+     */
+    private volatile Map<PoolSnapshotKey, MesosResourcePool.Snapshot> poolSnapshots;
+
+    /**
+     * Identifies a resource pool snapshot. Pools depend on the role of the pod being evaluated, as well as the offer.
+     */
+    private static class PoolSnapshotKey {
+        private final Protos.OfferID offerId;
+        private final Optional<String> role;
+
+        private PoolSnapshotKey(Protos.OfferID offerId, Optional<String> role) {
+            this.offerId = offerId;
+            this.role = role;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof PoolSnapshotKey)) {
+                return false;
+            }
+            PoolSnapshotKey other = (PoolSnapshotKey) o;
+            return offerId.equals(other.offerId) && role.equals(other.role);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(offerId, role);
+        }
+    }
+
+    /**
+     * The per-requirement inputs which are shared across the evaluation of each offer.
+     */
+    private static class OfferEvaluationContext {
+        private final PodInstanceRequirement podInstanceRequirement;
+        private final List<OfferEvaluationStage> evaluationStages;
+        private final Map<String, Protos.TaskInfo> thisPodTasks;
+        private final Map<TaskSpec, GoalStateOverride> overrideMap;
+        private final UUID targetConfigId;
+        private final Protos.FrameworkID frameworkId;
+
+        private OfferEvaluationContext(
+                PodInstanceRequirement podInstanceRequirement,
+                List<OfferEvaluationStage> evaluationStages,
+                Map<String, Protos.TaskInfo> thisPodTasks,
+                Map<TaskSpec, GoalStateOverride> overrideMap,
+                UUID targetConfigId,
+                Protos.FrameworkID frameworkId) {
+            this.podInstanceRequirement = podInstanceRequirement;
+            this.evaluationStages = evaluationStages;
+            this.thisPodTasks = thisPodTasks;
+            this.overrideMap = overrideMap;
+            this.targetConfigId = targetConfigId;
+            this.frameworkId = frameworkId;
+        }
+    }
 
     public OfferEvaluator(
             StateStore stateStore,
@@ -50,10 +129,57 @@ public class OfferEvaluator {
         this.targetConfigId = targetConfigId;
         this.schedulerConfig = schedulerConfig;
         this.useDefaultExecutor = useDefaultExecutor;
+
+        int evaluationThreads = schedulerConfig.getOfferEvaluationThreads();
+        if (evaluationThreads > 1) {
+            logger.info("Evaluating offers concurrently with {} threads", evaluationThreads);
+            this.evaluationExecutor = Optional.of(Executors.newFixedThreadPool(
+                    evaluationThreads,
+                    new ThreadFactoryBuilder().setNameFormat("offer-evaluator-%d").setDaemon(true).build()));
+        } else {
+            this.evaluationExecutor = Optional.empty();
+        }
+    }
+
+    /**
+     * Starts an offer cycle, during which the resources in each offer are only indexed once, however many requirements
+     * the offer is evaluated against. Must be followed by a call to {@link #endOfferCycle()} once the cycle's offers
+     * have been processed.
+     */
+    public void startOfferCycle() {
+        poolSnapshots = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Ends the current offer cycle, discarding the resource snapshots of its offers.
+     */
+    public void endOfferCycle() {
+        poolSnapshots = null;
+    }
+
+    /**
+     * Stops the threads used to evaluate offers concurrently, if any. This should only be called once offers are no
+     * longer being evaluated.
+     */
+    public void close() {
+        if (evaluationExecutor.isPresent()) {
+            evaluationExecutor.get().shutdown();
+        }
     }
 
     public List<OfferRecommendation> evaluate(PodInstanceRequirement podInstanceRequirement, List<Protos.Offer> offers)
             throws InvalidRequirementException, IOException {
+        long startNanos = System.nanoTime();
+        try {
+            return evaluateStep(podInstanceRequirement, offers, startNanos);
+        } finally {
+            Metrics.recordEvaluateStepDuration(System.nanoTime() - startNanos);
+        }
+    }
+
+    private List<OfferRecommendation> evaluateStep(
+            PodInstanceRequirement podInstanceRequirement, List<Protos.Offer> offers, long startNanos)
+            throws InvalidRequirementException, IOException {
         // All tasks in the service (used by some PlacementRules):
         Map<String, Protos.TaskInfo> allTasks = stateStore.fetchTasks().stream()
                 .collect(Collectors.toMap(Protos.TaskInfo::getName, Function.identity()));
@@ -64,87 +190,238 @@ public class OfferEvaluator {
                 .filter(taskInfo -> taskInfo != null)
                 .collect(Collectors.toMap(Protos.TaskInfo::getName, Function.identity()));
 
-        for (int i = 0; i < offers.size(); ++i) {
-            List<OfferEvaluationStage> evaluationStages =
-                    getEvaluationPipeline(podInstanceRequirement, allTasks.values(), thisPodTasks);
-
-            Protos.Offer offer = offers.get(i);
+        if (offers.isEmpty()) {
+            return Collections.emptyList();
+        }
 
-            MesosResourcePool resourcePool = new MesosResourcePool(
-                    offer,
-                    OfferEvaluationUtils.getRole(podInstanceRequirement.getPodInstance().getPod()));
+        // The pipeline stages and the inputs to PodInfoBuilder only depend on the requirement and the current task
+        // state, so they are built once here and then shared across all of the offers being evaluated.
+        List<OfferEvaluationStage> evaluationStages =
+                getEvaluationPipeline(podInstanceRequirement, allTasks.values(), thisPodTasks);
+        Map<TaskSpec, GoalStateOverride> overrideMap = new HashMap<>();
+        for (TaskSpec taskSpec : podInstanceRequirement.getPodInstance().getPod().getTasks()) {
+            GoalStateOverride override =
+                    stateStore.fetchGoalOverrideStatus(
+                            TaskSpec.getInstanceName(podInstanceRequirement.getPodInstance(), taskSpec))
+                            .target;
 
-            Map<TaskSpec, GoalStateOverride> overrideMap = new HashMap<>();
-            for (TaskSpec taskSpec : podInstanceRequirement.getPodInstance().getPod().getTasks()) {
-                GoalStateOverride override =
-                        stateStore.fetchGoalOverrideStatus(
-                                TaskSpec.getInstanceName(podInstanceRequirement.getPodInstance(), taskSpec))
-                                .target;
+            overrideMap.put(taskSpec, override);
+        }
+        UUID podTargetConfigId = getTargetConfig(podInstanceRequirement, thisPodTasks.values());
+        Protos.FrameworkID frameworkId = stateStore.fetchFrameworkId().get();
+
+        OfferEvaluationContext context = new OfferEvaluationContext(
+                podInstanceRequirement, evaluationStages, thisPodTasks, overrideMap, podTargetConfigId, frameworkId);
+        Metrics.recordEvaluateSetupDuration(System.nanoTime() - startNanos);
+
+        if (evaluationExecutor.isPresent() && offers.size() > 1) {
+            if (evaluationStages.stream().anyMatch(stage -> stage instanceof TLSEvaluationStage
+                    && ((TLSEvaluationStage) stage).isProvisioningInline())) {
+                // TLS stages write artifacts to the secret store, and must not run concurrently for the same task.
+                logger.info("Evaluating {} offers serially: Pipeline contains TLS evaluation stages", offers.size());
+            } else {
+                return evaluateConcurrently(context, offers);
+            }
+        }
 
-                overrideMap.put(taskSpec, override);
+        for (int i = 0; i < offers.size(); ++i) {
+            Optional<List<OfferRecommendation>> recommendations =
+                    recordResult(context, i, offers.get(i), evaluateOffer(context, offers.get(i)));
+            if (recommendations.isPresent()) {
+                return recommendations.get();
             }
+        }
+
+        return Collections.emptyList();
+    }
+
+    /**
+     * Evaluates the offers concurrently using the evaluation thread pool. Results are then recorded in the order of the
+     * provided offers, so that the selected offer is the same one that would have been selected by a serial
+     * evaluation. Offers which are positioned after an already-passing offer are skipped.
+     */
+    private List<OfferRecommendation> evaluateConcurrently(
+            OfferEvaluationContext context, List<Protos.Offer> offers)
+            throws InvalidRequirementException, IOException {
+        AtomicInteger firstPassingIndex = new AtomicInteger(offers.size());
+        List<Future<Optional<List<EvaluationOutcome>>>> futures = new ArrayList<>();
+        for (int i = 0; i < offers.size(); ++i) {
+            final int index = i;
+            final Protos.Offer offer = offers.get(i);
+            futures.add(evaluationExecutor.get().submit(() -> {
+                if (index > firstPassingIndex.get()) {
+                    // An earlier offer has already passed, so this offer would never be selected.
+                    return Optional.empty();
+                }
+                List<EvaluationOutcome> outcomes = evaluateOffer(context, offer);
+                if (outcomes.stream().allMatch(EvaluationOutcome::isPassing)) {
+                    firstPassingIndex.accumulateAndGet(index, Math::min);
+                }
+                return Optional.of(outcomes);
+            }));
+        }
 
-            PodInfoBuilder podInfoBuilder = new PodInfoBuilder(
-                    podInstanceRequirement,
-                    serviceName,
-                    getTargetConfig(podInstanceRequirement, thisPodTasks.values()),
-                    schedulerConfig,
-                    thisPodTasks.values(),
-                    stateStore.fetchFrameworkId().get(),
-                    useDefaultExecutor,
-                    overrideMap);
-            List<EvaluationOutcome> outcomes = new ArrayList<>();
-            int failedOutcomeCount = 0;
-
-            for (OfferEvaluationStage evaluationStage : evaluationStages) {
-                EvaluationOutcome outcome = evaluationStage.evaluate(resourcePool, podInfoBuilder);
-                outcomes.add(outcome);
-                if (!outcome.isPassing()) {
-                    failedOutcomeCount++;
+        try {
+            for (int i = 0; i < futures.size(); ++i) {
+                Optional<List<EvaluationOutcome>> outcomes = getResult(futures.get(i));
+                if (!outcomes.isPresent()) {
+                    // Shouldn't happen: Skipped offers are always preceded by a passing offer.
+                    break;
+                }
+                Optional<List<OfferRecommendation>> recommendations =
+                        recordResult(context, i, offers.get(i), outcomes.get());
+                if (recommendations.isPresent()) {
+                    return recommendations.get();
                 }
             }
+        } finally {
+            futures.forEach(future -> future.cancel(false));
+        }
 
-            StringBuilder outcomeDetails = new StringBuilder();
-            for (EvaluationOutcome outcome : outcomes) {
-                logOutcome(outcomeDetails, outcome, "");
+        return Collections.emptyList();
+    }
+
+    private static Optional<List<EvaluationOutcome>> getResult(Future<Optional<List<EvaluationOutcome>>> future)
+            throws InvalidRequirementException, IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for offer evaluation", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof InvalidRequirementException) {
+                throw (InvalidRequirementException) cause;
+            } else if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
             }
-            if (outcomeDetails.length() != 0) {
-                // trim extra trailing newline:
-                outcomeDetails.deleteCharAt(outcomeDetails.length() - 1);
+            throw new IllegalStateException("Failed to evaluate offer", cause);
+        }
+    }
+
+    /**
+     * Returns a resource pool for the provided offer. During an offer cycle, this is a fork of the offer's snapshot,
+     * which is created on first use. Otherwise the pool is built directly from the offer.
+     */
+    private MesosResourcePool getResourcePool(Protos.Offer offer, Optional<String> role) {
+        Map<PoolSnapshotKey, MesosResourcePool.Snapshot> snapshots = poolSnapshots;
+        if (snapshots == null) {
+            return new MesosResourcePool(offer, role);
+        }
+        return snapshots.computeIfAbsent(
+                new PoolSnapshotKey(offer.getId(), role),
+                key -> MesosResourcePool.snapshot(offer, role))
+                .fork();
+    }
+
+    /**
+     * Runs the evaluation pipeline against a single offer, returning the outcome of each stage.
+     */
+    private List<EvaluationOutcome> evaluateOffer(OfferEvaluationContext context, Protos.Offer offer)
+            throws InvalidRequirementException {
+        MesosResourcePool resourcePool = getResourcePool(
+                offer,
+                OfferEvaluationUtils.getRole(context.podInstanceRequirement.getPodInstance().getPod()));
+
+        long offerStartNanos = System.nanoTime();
+        PodInfoBuilder podInfoBuilder = new PodInfoBuilder(
+                context.podInstanceRequirement,
+                serviceName,
+                context.targetConfigId,
+                schedulerConfig,
+                context.thisPodTasks.values(),
+                context.frameworkId,
+                useDefaultExecutor,
+                context.overrideMap);
+        long stageStartNanos = System.nanoTime();
+        long podInfoBuilderNanos = stageStartNanos - offerStartNanos;
+        Metrics.recordPodInfoBuilderDuration(podInfoBuilderNanos);
+
+        List<EvaluationOutcome> outcomes = new ArrayList<>();
+        StringBuilder trace = logger.isDebugEnabled() ? new StringBuilder() : null;
+        boolean passed = true;
+        for (OfferEvaluationStage evaluationStage : context.evaluationStages) {
+            EvaluationOutcome outcome = evaluationStage.evaluate(resourcePool, podInfoBuilder);
+            long stageEndNanos = System.nanoTime();
+            Metrics.recordEvaluationStageDuration(
+                    evaluationStage.getClass(), outcome.isPassing(), stageEndNanos - stageStartNanos);
+            if (trace != null) {
+                trace.append(String.format("%n  %s: %s in %dus",
+                        evaluationStage.getClass().getSimpleName(),
+                        outcome.isPassing() ? "pass" : "fail",
+                        TimeUnit.NANOSECONDS.toMicros(stageEndNanos - stageStartNanos)));
             }
+            passed = passed && outcome.isPassing();
+            outcomes.add(outcome);
+            stageStartNanos = stageEndNanos;
+        }
+        long offerDurationNanos = System.nanoTime() - offerStartNanos;
+        Metrics.recordEvaluateOfferDuration(passed, offerDurationNanos);
+        if (trace != null) {
+            logger.debug("Evaluated offer {} for {} in {}us (PodInfoBuilder: {}us):{}",
+                    offer.getId().getValue(),
+                    context.podInstanceRequirement.getName(),
+                    TimeUnit.NANOSECONDS.toMicros(offerDurationNanos),
+                    TimeUnit.NANOSECONDS.toMicros(podInfoBuilderNanos),
+                    trace);
+        }
+        return outcomes;
+    }
 
-            if (failedOutcomeCount != 0) {
-                logger.info("Offer {}, {}: failed {} of {} evaluation stages:\n{}",
-                        i + 1,
-                        offer.getId().getValue(),
-                        failedOutcomeCount,
-                        evaluationStages.size(),
-                        outcomeDetails.toString());
-
-                offerOutcomeTracker.track(new OfferOutcome(
-                        podInstanceRequirement.getName(),
-                        false,
-                        offer,
-                        outcomeDetails.toString()));
-            } else {
-                List<OfferRecommendation> recommendations = outcomes.stream()
-                        .map(outcome -> outcome.getOfferRecommendations())
-                        .flatMap(xs -> xs.stream())
-                        .collect(Collectors.toList());
-                logger.info("Offer {}: passed all {} evaluation stages, returning {} recommendations:\n{}",
-                        i + 1, evaluationStages.size(), recommendations.size(), outcomeDetails.toString());
-
-                offerOutcomeTracker.track(new OfferOutcome(
-                        podInstanceRequirement.getName(),
-                        true,
-                        offer,
-                        outcomeDetails.toString()));
-
-                return recommendations;
+    /**
+     * Logs and tracks the outcomes of evaluating an offer. Returns the resulting recommendations if all stages passed,
+     * or an empty {@link Optional} otherwise.
+     */
+    private Optional<List<OfferRecommendation>> recordResult(
+            OfferEvaluationContext context, int offerIndex, Protos.Offer offer, List<EvaluationOutcome> outcomes) {
+        int failedOutcomeCount = 0;
+        for (EvaluationOutcome outcome : outcomes) {
+            if (!outcome.isPassing()) {
+                failedOutcomeCount++;
             }
         }
 
-        return Collections.emptyList();
+        StringBuilder outcomeDetails = new StringBuilder();
+        for (EvaluationOutcome outcome : outcomes) {
+            logOutcome(outcomeDetails, outcome, "");
+        }
+        if (outcomeDetails.length() != 0) {
+            // trim extra trailing newline:
+            outcomeDetails.deleteCharAt(outcomeDetails.length() - 1);
+        }
+
+        if (failedOutcomeCount != 0) {
+            logger.info("Offer {}, {}: failed {} of {} evaluation stages:\n{}",
+                    offerIndex + 1,
+                    offer.getId().getValue(),
+                    failedOutcomeCount,
+                    context.evaluationStages.size(),
+                    outcomeDetails.toString());
+
+            offerOutcomeTracker.track(new OfferOutcome(
+                    context.podInstanceRequirement.getName(),
+                    false,
+                    offer,
+                    outcomeDetails.toString()));
+            return Optional.empty();
+        }
+
+        List<OfferRecommendation> recommendations = outcomes.stream()
+                .map(outcome -> outcome.getOfferRecommendations())
+                .flatMap(xs -> xs.stream())
+                .collect(Collectors.toList());
+        logger.info("Offer {}: passed all {} evaluation stages, returning {} recommendations:\n{}",
+                offerIndex + 1, context.evaluationStages.size(), recommendations.size(), outcomeDetails.toString());
+
+        offerOutcomeTracker.track(new OfferOutcome(
+                context.podInstanceRequirement.getName(),
+                true,
+                offer,
+                outcomeDetails.toString()));
+
+        return Optional.of(recommendations);
     }
 
     public List<OfferEvaluationStage> getEvaluationPipeline(
@@ -183,10 +460,8 @@ public class OfferEvaluator {
 
         // Only create a TLS Evaluation Stage builder if the service actually uses TLS certs.
         // This avoids performing TLS cert generation in cases where the cluster may not support it (e.g. DC/OS Open).
-        boolean anyTasksWithTLS = podInstanceRequirement.getPodInstance().getPod().getTasks().stream()
-                .anyMatch(taskSpec -> !taskSpec.getTransportEncryption().isEmpty());
-        Optional<TLSEvaluationStage.Builder> tlsStageBuilder = anyTasksWithTLS
-                ? Optional.of(new TLSEvaluationStage.Builder(serviceName, schedulerConfig))
+        Optional<TLSEvaluationStage.Builder> tlsStageBuilder = hasTasksWithTLS(podInstanceRequirement)
+                ? Optional.of(getTLSStageBuilder())
                 : Optional.empty();
 
         List<OfferEvaluationStage> evaluationPipeline = new ArrayList<>();
@@ -211,6 +486,37 @@ public class OfferEvaluator {
         return evaluationPipeline;
     }
 
+    /**
+     * Starts provisioning the TLS artifacts for the provided pod in the background, so that they are ready by the time
+     * an offer is evaluated for the pod. Does nothing if the pod doesn't use TLS, or if background provisioning is
+     * disabled via {@link SchedulerConfig#getTLSProvisioningThreads()}.
+     */
+    public void provisionTLSArtifacts(PodInstanceRequirement podInstanceRequirement) {
+        if (schedulerConfig.getTLSProvisioningThreads() <= 0 || !hasTasksWithTLS(podInstanceRequirement)) {
+            return;
+        }
+        try {
+            getTLSStageBuilder().provision(podInstanceRequirement.getPodInstance());
+        } catch (IOException e) {
+            logger.warn(String.format("Unable to provision TLS artifacts for pod '%s'",
+                    podInstanceRequirement.getPodInstance().getName()), e);
+        }
+    }
+
+    private static boolean hasTasksWithTLS(PodInstanceRequirement podInstanceRequirement) {
+        return podInstanceRequirement.getPodInstance().getPod().getTasks().stream()
+                .anyMatch(taskSpec -> !taskSpec.getTransportEncryption().isEmpty());
+    }
+
+    private TLSEvaluationStage.Builder getTLSStageBuilder() throws IOException {
+        synchronized (tlsStageBuilderLock) {
+            if (tlsStageBuilder == null) {
+                tlsStageBuilder = new TLSEvaluationStage.Builder(serviceName, schedulerConfig);
+            }
+            return tlsStageBuilder;
+        }
+    }
+
     private Protos.ExecutorInfo getExecutorInfo(
             PodInstanceRequirement podInstanceRequirement,
             Collection<Protos.TaskInfo> taskInfos) {
@@ -319,7 +625,8 @@ public class OfferEvaluator {
         List<OfferEvaluationStage> evaluationStages = new ArrayList<>();
         if (podInstanceRequirement.getPodInstance().getPod().getPlacementRule().isPresent()) {
             evaluationStages.add(new PlacementRuleEvaluationStage(
-                    allTasks, podInstanceRequirement.getPodInstance().getPod().getPlacementRule().get()));
+                    PlacementContext.create(podInstanceRequirement.getPodInstance(), allTasks),
+                    podInstanceRequirement.getPodInstance().getPod().getPlacementRule().get()));
         }
 
         for (VolumeSpec volumeSpec : podInstanceRequirement.getPodInstance().getPod().getVolumes()) {
@@ -442,7 +749,8 @@ public class OfferEvaluator {
         if (podInstanceRequirement.getPodInstance().getPod().getPlacementRule().isPresent() &&
                 podInstanceRequirement.getRecoveryType().equals(RecoveryType.PERMANENT)) {
             evaluationStages.add(new PlacementRuleEvaluationStage(
-                    allTasks, podInstanceRequirement.getPodInstance().getPod().getPlacementRule().get()));
+                    PlacementContext.create(podInstanceRequirement.getPodInstance(), allTasks),
+                    podInstanceRequirement.getPodInstance().getPod().getPlacementRule().get()));
         }
 
         ResourceSpec firstResource = taskSpecs.get(0).getResourceSet().getResources().iterator().next();
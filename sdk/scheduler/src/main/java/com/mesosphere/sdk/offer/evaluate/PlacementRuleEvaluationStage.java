@@ -1,10 +1,8 @@
 package com.mesosphere.sdk.offer.evaluate;
 
 import com.mesosphere.sdk.offer.MesosResourcePool;
+import com.mesosphere.sdk.offer.evaluate.placement.PlacementContext;
 import com.mesosphere.sdk.offer.evaluate.placement.PlacementRule;
-import org.apache.mesos.Protos;
-
-import java.util.Collection;
 
 import static com.mesosphere.sdk.offer.evaluate.EvaluationOutcome.pass;
 
@@ -14,11 +12,15 @@ import static com.mesosphere.sdk.offer.evaluate.EvaluationOutcome.pass;
  * {@link com.mesosphere.sdk.offer.evaluate.placement.PlacementRule}.
  */
 public class PlacementRuleEvaluationStage implements OfferEvaluationStage {
-    private final Collection<Protos.TaskInfo> deployedTasks;
+    private final PlacementContext placementContext;
     private final PlacementRule placementRule;
 
-    public PlacementRuleEvaluationStage(Collection<Protos.TaskInfo> deployedTasks, PlacementRule placementRule) {
-        this.deployedTasks = deployedTasks;
+    /**
+     * Creates a new stage which evaluates the provided rule against the provided context. The context should be shared
+     * by all of the offers being evaluated for the same pod instance.
+     */
+    public PlacementRuleEvaluationStage(PlacementContext placementContext, PlacementRule placementRule) {
+        this.placementContext = placementContext;
         this.placementRule = placementRule;
     }
 
@@ -28,9 +30,6 @@ public class PlacementRuleEvaluationStage implements OfferEvaluationStage {
             return pass(this, "No placement rule defined").build();
         }
 
-        return placementRule.filter(
-                mesosResourcePool.getOffer(),
-                podInfoBuilder.getPodInstance(),
-                deployedTasks);
+        return placementRule.filter(mesosResourcePool.getOffer(), placementContext);
     }
 }
@@ -37,7 +37,19 @@ public class PodInfoBuilder {
     private static final Logger LOGGER = LoggerFactory.getLogger(PodInfoBuilder.class);
     private static final String CONFIG_TEMPLATE_KEY_FORMAT = "CONFIG_TEMPLATE_%s";
     private static final String CONFIG_TEMPLATE_DOWNLOAD_PATH = "config-templates/";
+    /**
+     * Environment variable read by the custom executor for the number of threads it should use.
+     */
+    private static final String EXECUTOR_THREADS_ENV = "EXECUTOR_THREADS";
     private Set<Long> assignedOverlayPorts = new HashSet<>();
+    /**
+     * Ports which are explicitly requested by the pod's tasks, and which therefore may not be dynamically allocated.
+     */
+    private final RangeSet requestedPorts = new RangeSet();
+    private final boolean randomDynamicPorts;
+    private DynamicPortAllocator overlayPortAllocator;
+    private DynamicPortAllocator hostPortAllocator;
+    private MesosResourcePool hostPortAllocatorPool;
     private final Map<String, Protos.TaskInfo.Builder> taskBuilders = new HashMap<>();
     private Protos.ExecutorInfo.Builder executorBuilder;
     private final PodInstance podInstance;
@@ -74,10 +86,14 @@ public class PodInfoBuilder {
             taskSpec.getResourceSet().getResources().stream()
                     .filter(resourceSpec -> resourceSpec.getName().equals(Constants.PORTS_RESOURCE_TYPE))
                     .filter(resourceSpec -> resourceSpec.getValue().getRanges().getRange(0).getBegin() > 0)
-                    .forEach(resourceSpec -> assignedOverlayPorts
-                            .add(resourceSpec.getValue().getRanges().getRange(0).getBegin()));
+                    .forEach(resourceSpec -> {
+                        long port = resourceSpec.getValue().getRanges().getRange(0).getBegin();
+                        assignedOverlayPorts.add(port);
+                        requestedPorts.add(port, port);
+                    });
 
         }
+        this.randomDynamicPorts = schedulerConfig.isRandomDynamicPortsEnabled();
 
         this.executorBuilder = getExecutorInfoBuilder(
                 serviceName, podInstance, frameworkID, targetConfigId, schedulerConfig);
@@ -146,6 +162,76 @@ public class PodInfoBuilder {
 
     public void addAssignedOverlayPort(long port) {
         assignedOverlayPorts.add(port);
+        if (overlayPortAllocator != null) {
+            overlayPortAllocator.claim(port);
+        }
+    }
+
+    /**
+     * Returns a free port in the overlay network's dynamic port range, or an empty {@link Optional} if none remain.
+     * The returned port is added to the pod's assigned overlay ports.
+     */
+    public Optional<Long> allocateOverlayPort() {
+        if (overlayPortAllocator == null) {
+            overlayPortAllocator = DynamicPortAllocator.forRange(
+                    DcosConstants.OVERLAY_DYNAMIC_PORT_RANGE_START,
+                    DcosConstants.OVERLAY_DYNAMIC_PORT_RANGE_END,
+                    randomDynamicPorts);
+            for (Long port : assignedOverlayPorts) {
+                overlayPortAllocator.claim(port);
+            }
+        }
+
+        Optional<Long> port = overlayPortAllocator.allocate();
+        port.ifPresent(assignedOverlayPorts::add);
+        return port;
+    }
+
+    /**
+     * Returns a free port among the unreserved ports in the provided pool, or an empty {@link Optional} if none
+     * remain. Ports which are explicitly requested by this pod, or which were claimed by earlier evaluation stages, are
+     * not returned. The free ports are indexed once per pool and reused across all of the pod's tasks.
+     */
+    public Optional<Long> allocateHostPort(MesosResourcePool mesosResourcePool) {
+        if (hostPortAllocator == null || hostPortAllocatorPool != mesosResourcePool) {
+            hostPortAllocator = new DynamicPortAllocator(
+                    mesosResourcePool.getUnreservedRanges(Constants.PORTS_RESOURCE_TYPE).orElse(new RangeSet()),
+                    randomDynamicPorts);
+            hostPortAllocatorPool = mesosResourcePool;
+
+            for (int i = 0; i < requestedPorts.getIntervalCount(); ++i) {
+                hostPortAllocator.claim(requestedPorts.getBegin(i), requestedPorts.getEnd(i));
+            }
+            // Also skip any ports which were added to the pod by stages that ran before this pool was indexed.
+            for (Protos.Resource.Builder resourceBuilder : getTaskResourceBuilders()) {
+                claimHostPorts(resourceBuilder);
+            }
+            for (Protos.Resource.Builder resourceBuilder : getExecutorResourceBuilders()) {
+                claimHostPorts(resourceBuilder);
+            }
+        }
+
+        return hostPortAllocator.allocate();
+    }
+
+    /**
+     * Records a port which was claimed by this pod without going through {@link #allocateHostPort}, such as a port
+     * reused from a prior launch, so that it isn't also allocated dynamically.
+     */
+    public void claimHostPort(long port) {
+        if (hostPortAllocator != null) {
+            hostPortAllocator.claim(port);
+        }
+    }
+
+    private void claimHostPorts(Protos.ResourceOrBuilder resource) {
+        if (!resource.getName().equals(Constants.PORTS_RESOURCE_TYPE)) {
+            return;
+        }
+        for (Protos.Value.Range range : resource.getRanges().getRangeList()) {
+            // Port 0 is a placeholder for a port which is yet to be dynamically allocated.
+            hostPortAllocator.claim(Math.max(1, range.getBegin()), range.getEnd());
+        }
     }
 
     @VisibleForTesting
@@ -360,6 +446,13 @@ public class PodInfoBuilder {
                 executorCommandBuilder.setUser(podSpec.getUser().get());
             }
 
+            int executorThreads = schedulerConfig.getCustomExecutorThreads();
+            if (executorThreads > 0) {
+                executorCommandBuilder.getEnvironmentBuilder().addVariablesBuilder()
+                        .setName(EXECUTOR_THREADS_ENV)
+                        .setValue(String.valueOf(executorThreads));
+            }
+
             // Required URIs from the scheduler environment:
             executorCommandBuilder.addUrisBuilder().setValue(schedulerConfig.getLibmesosURI());
             executorCommandBuilder.addUrisBuilder().setValue(schedulerConfig.getJavaURI());
@@ -5,16 +5,12 @@ import com.mesosphere.sdk.dcos.DcosConstants;
 import com.mesosphere.sdk.offer.*;
 import com.mesosphere.sdk.offer.taskdata.*;
 import com.mesosphere.sdk.specification.PortSpec;
-import com.mesosphere.sdk.specification.ResourceSpec;
-import com.mesosphere.sdk.specification.TaskSpec;
 
 import org.apache.mesos.Protos;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 
 /**
@@ -52,9 +48,9 @@ public class PortEvaluationStage implements OfferEvaluationStage {
                 LOGGER.info("Using previously reserved dynamic port: {}", assignedPort);
             } else {
                 // Choose a new port value.
-                Optional<Integer> dynamicPort = useHostPorts ?
-                        selectDynamicPort(mesosResourcePool, podInfoBuilder) :
-                        selectOverlayPort(podInfoBuilder);
+                Optional<Long> dynamicPort = useHostPorts ?
+                        podInfoBuilder.allocateHostPort(mesosResourcePool) :
+                        podInfoBuilder.allocateOverlayPort();
                 if (!dynamicPort.isPresent()) {
                     return EvaluationOutcome.fail(
                             this,
@@ -70,6 +66,9 @@ public class PortEvaluationStage implements OfferEvaluationStage {
                 LOGGER.info("Claiming new dynamic port: {}", assignedPort);
             }
         }
+        if (useHostPorts) {
+            podInfoBuilder.claimHostPort(assignedPort);
+        }
 
         // Update portSpec to reflect the assigned port value (for example, to reflect a dynamic port allocation):
         Protos.Value.Builder valueBuilder = Protos.Value.newBuilder()
@@ -185,67 +184,6 @@ public class PortEvaluationStage implements OfferEvaluationStage {
         }
     }
 
-    private static Optional<Integer> selectDynamicPort(
-            MesosResourcePool mesosResourcePool, PodInfoBuilder podInfoBuilder) {
-        Set<Integer> consumedPorts = new HashSet<>();
-
-        // We don't want to accidentally dynamically consume a port that's explicitly claimed elsewhere in this pod, so
-        // compile a list of those to check against the offered ports.
-        for (TaskSpec task : podInfoBuilder.getPodInstance().getPod().getTasks()) {
-            for (ResourceSpec resourceSpec : task.getResourceSet().getResources()) {
-                if (resourceSpec instanceof PortSpec) {
-                    PortSpec portSpec = (PortSpec) resourceSpec;
-                    if (portSpec.getPort() != 0) {
-                        consumedPorts.add((int) portSpec.getPort());
-                    }
-                }
-            }
-        }
-
-        // Also check other dynamically allocated ports which had been taken by earlier stages of this evaluation round.
-        for (Protos.Resource.Builder resourceBuilder : podInfoBuilder.getTaskResourceBuilders()) {
-            consumedPorts.addAll(getPortsInResource(resourceBuilder.build()));
-        }
-        for (Protos.Resource.Builder resourceBuilder : podInfoBuilder.getExecutorResourceBuilders()) {
-            consumedPorts.addAll(getPortsInResource(resourceBuilder.build()));
-        }
-
-        Protos.Value availablePorts = mesosResourcePool.getUnreservedMergedPool().get(Constants.PORTS_RESOURCE_TYPE);
-        Optional<Integer> dynamicPort = Optional.empty();
-        if (availablePorts != null) {
-            dynamicPort = availablePorts.getRanges().getRangeList().stream()
-                    .flatMap(r -> IntStream.rangeClosed((int) r.getBegin(), (int) r.getEnd()).boxed())
-                    .filter(p -> !consumedPorts.contains(p))
-                    .findFirst();
-        }
-
-        return dynamicPort;
-    }
-
-    private static Optional<Integer> selectOverlayPort(PodInfoBuilder podInfoBuilder) {
-        // take the next available port in the range.
-        Optional<Integer> dynamicPort = Optional.empty();
-        for (Integer i = DcosConstants.OVERLAY_DYNAMIC_PORT_RANGE_START;
-             i <= DcosConstants.OVERLAY_DYNAMIC_PORT_RANGE_END; i++) {
-            if (!podInfoBuilder.isAssignedOverlayPort(i.longValue())) {
-                dynamicPort = Optional.of(i);
-                podInfoBuilder.addAssignedOverlayPort(i.longValue());
-                break;
-            }
-        }
-        return dynamicPort;
-    }
-
-    private static Set<Integer> getPortsInResource(Protos.Resource resource) {
-        if (!resource.getName().equals(Constants.PORTS_RESOURCE_TYPE)) {
-            return Collections.emptySet();
-        }
-        return resource.getRanges().getRangeList().stream()
-                .flatMap(r -> IntStream.rangeClosed((int) r.getBegin(), (int) r.getEnd()).boxed())
-                .filter(p -> p != 0)
-                .collect(Collectors.toSet());
-    }
-
     private static boolean requireHostPorts(Collection<String> networkNames) {
         if (networkNames.isEmpty()) {  // no network names, must be on host network and use the host IP
             return true;
@@ -1,13 +1,17 @@
 package com.mesosphere.sdk.offer.evaluate;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.mesosphere.sdk.dcos.DcosHttpClientBuilder;
 import com.mesosphere.sdk.dcos.DcosHttpExecutor;
+import com.mesosphere.sdk.dcos.clients.CachingSecretsClient;
 import com.mesosphere.sdk.dcos.clients.CertificateAuthorityClient;
 import com.mesosphere.sdk.dcos.clients.SecretsClient;
 import com.mesosphere.sdk.offer.MesosResourcePool;
 import com.mesosphere.sdk.offer.evaluate.security.*;
 import com.mesosphere.sdk.scheduler.SchedulerConfig;
+import com.mesosphere.sdk.specification.PodInstance;
 import com.mesosphere.sdk.specification.TaskSpec;
 import com.mesosphere.sdk.specification.TransportEncryptionSpec;
 import org.apache.http.client.methods.HttpPut;
@@ -17,11 +21,17 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 
 /**
  * A {@link TLSEvaluationStage} is responsible for provisioning X.509 certificates, converting them to
  * PEM and KeyStore formats and injecting them to the container as a secret.
+ *
+ * When TLS artifacts are provisioned in the background (see {@link SchedulerConfig#getTLSProvisioningThreads()}), this
+ * stage only checks that the artifacts are ready, and fails the offer until they are.
  */
 public class TLSEvaluationStage implements OfferEvaluationStage {
 
@@ -29,16 +39,21 @@ public class TLSEvaluationStage implements OfferEvaluationStage {
 
     private final String serviceName;
     private final String taskName;
-    private final String namespace;
-    private final TLSArtifactsUpdater tlsArtifactsUpdater;
+    private final TLSArtifactsProvisioner tlsArtifactsProvisioner;
 
     /**
-     * Class for building {@link TLSEvaluationStage} instances for individual tasks that need it.
+     * Class for building {@link TLSEvaluationStage} instances for individual tasks that need it. Stages built by the
+     * same builder share the same {@link TLSArtifactsProvisioner}.
      */
     static class Builder {
+        /**
+         * The number of pooled HTTP connections to use when requests are issued one at a time. This matches the
+         * default total for {@link org.apache.http.impl.client.HttpClientBuilder}.
+         */
+        private static final int DEFAULT_MAX_CONNECTIONS = 20;
+
         private final String serviceName;
-        private final String namespace;
-        private final TLSArtifactsUpdater tlsArtifactsUpdater;
+        private final TLSArtifactsProvisioner tlsArtifactsProvisioner;
 
         /**
          * Creates a new builder instance. Callers should avoid invoking this until/unless they have validated that TLS
@@ -49,30 +64,73 @@ public class TLSEvaluationStage implements OfferEvaluationStage {
          */
         public Builder(String serviceName, SchedulerConfig schedulerConfig) throws IOException {
             this.serviceName = serviceName;
-            this.namespace = schedulerConfig.getSecretsNamespace(serviceName);
+            int secretsClientThreads = schedulerConfig.getSecretsClientThreads();
             DcosHttpExecutor executor = new DcosHttpExecutor(new DcosHttpClientBuilder()
                     .setTokenProvider(schedulerConfig.getDcosAuthTokenProvider())
+                    .setMaxConnections(Math.max(DEFAULT_MAX_CONNECTIONS, secretsClientThreads))
                     .setRedirectStrategy(new LaxRedirectStrategy() {
                         protected boolean isRedirectable(String method) {
                             // Also treat PUT calls as redirectable
                             return method.equalsIgnoreCase(HttpPut.METHOD_NAME) || super.isRedirectable(method);
                         }
                     }));
-            this.tlsArtifactsUpdater = new TLSArtifactsUpdater(
-                    serviceName, new SecretsClient(executor), new CertificateAuthorityClient(executor));
+            Duration secretsListCacheTtl = schedulerConfig.getSecretsListCacheTtl();
+            SecretsClient secretsClient = secretsListCacheTtl.isZero()
+                    ? new SecretsClient(executor)
+                    : new CachingSecretsClient(executor, secretsListCacheTtl);
+            Executor secretsExecutor = secretsClientThreads > 1
+                    ? Executors.newFixedThreadPool(secretsClientThreads, new ThreadFactoryBuilder()
+                            .setNameFormat("secrets-client-%d")
+                            .setDaemon(true)
+                            .build())
+                    : MoreExecutors.directExecutor();
+            this.tlsArtifactsProvisioner = new TLSArtifactsProvisioner(
+                    serviceName,
+                    schedulerConfig.getSecretsNamespace(serviceName),
+                    new TLSArtifactsUpdater(
+                            serviceName,
+                            secretsClient,
+                            new CertificateAuthorityClient(executor),
+                            KeyPairPool.create(
+                                    schedulerConfig.getTLSKeyPairAlgorithm(),
+                                    schedulerConfig.getTLSKeyPairSize(),
+                                    schedulerConfig.getTLSKeyPairPoolSize()),
+                            secretsExecutor),
+                    schedulerConfig.getTLSProvisioningThreads(),
+                    secretsListCacheTtl);
         }
 
         public TLSEvaluationStage build(String taskName) {
-            return new TLSEvaluationStage(serviceName, taskName, namespace, tlsArtifactsUpdater);
+            return new TLSEvaluationStage(serviceName, taskName, tlsArtifactsProvisioner);
+        }
+
+        /**
+         * Starts provisioning the TLS artifacts for the provided pod instance in the background, if enabled.
+         */
+        public void provision(PodInstance podInstance) {
+            tlsArtifactsProvisioner.provision(podInstance);
         }
     }
 
     @VisibleForTesting
     TLSEvaluationStage(String serviceName, String taskName, String namespace, TLSArtifactsUpdater tlsArtifactsUpdater) {
+        this(serviceName, taskName,
+                new TLSArtifactsProvisioner(serviceName, namespace, tlsArtifactsUpdater, 0, Duration.ZERO));
+    }
+
+    @VisibleForTesting
+    TLSEvaluationStage(String serviceName, String taskName, TLSArtifactsProvisioner tlsArtifactsProvisioner) {
         this.serviceName = serviceName;
         this.taskName = taskName;
-        this.namespace = namespace;
-        this.tlsArtifactsUpdater = tlsArtifactsUpdater;
+        this.tlsArtifactsProvisioner = tlsArtifactsProvisioner;
+    }
+
+    /**
+     * Returns whether this stage writes TLS artifacts to the secret store while evaluating an offer, in which case it
+     * must not be evaluated concurrently for the same task.
+     */
+    boolean isProvisioningInline() {
+        return !tlsArtifactsProvisioner.isAsync();
     }
 
     @Override
@@ -87,14 +145,19 @@ public class TLSEvaluationStage implements OfferEvaluationStage {
 
         CertificateNamesGenerator certificateNamesGenerator =
                 new CertificateNamesGenerator(serviceName, taskSpec, podInfoBuilder.getPodInstance());
-        TLSArtifactPaths tlsArtifactPaths = new TLSArtifactPaths(
-                namespace,
-                TaskSpec.getInstanceName(podInfoBuilder.getPodInstance(), taskName),
-                certificateNamesGenerator.getSANsHash());
+        TLSArtifactPaths tlsArtifactPaths = tlsArtifactsProvisioner.getPaths(
+                podInfoBuilder.getPodInstance(), taskSpec, certificateNamesGenerator);
         for (TransportEncryptionSpec transportEncryptionSpec : taskSpec.getTransportEncryption()) {
             try {
-                tlsArtifactsUpdater.update(
-                        tlsArtifactPaths, certificateNamesGenerator, transportEncryptionSpec.getName());
+                if (!tlsArtifactsProvisioner.isProvisioned(
+                        tlsArtifactPaths, certificateNamesGenerator, transportEncryptionSpec.getName())) {
+                    return EvaluationOutcome.fail(
+                            this,
+                            "TLS artifacts for task %s with TLS config %s are still being provisioned",
+                            taskName,
+                            transportEncryptionSpec.getName())
+                            .build();
+                }
             } catch (Exception e) {
                 logger.error(String.format("Failed to process certificates for %s", taskName), e);
                 return EvaluationOutcome.fail(
@@ -11,7 +11,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.Map;
 import java.util.Optional;
 
@@ -45,37 +45,43 @@ abstract class AbstractRoundRobinRule implements PlacementRule {
      */
     protected abstract String getKey(TaskInfo task);
 
+    /**
+     * Returns a key to round robin against from the provided {@link Offer}, or {@code null} if none was found.
+     * Subclasses may override this to reuse the keys extracted by the provided context, which are shared across all the
+     * rules evaluated against it.
+     */
+    protected String getKey(Offer offer, PlacementContext context) {
+        return getKey(offer);
+    }
+
+    /**
+     * Returns a key to round robin against from the provided {@link TaskInfo}, or {@code null} if none was found.
+     * Subclasses may override this to reuse the keys extracted by the provided context, which are shared across all the
+     * rules evaluated against it.
+     */
+    protected String getKey(TaskInfo task, PlacementContext context) {
+        return getKey(task);
+    }
+
     @Override
     public EvaluationOutcome filter(Offer offer, PodInstance podInstance, Collection<TaskInfo> tasks) {
-        final String offerKey = getKey(offer);
+        return filter(offer, PlacementContext.create(podInstance, tasks));
+    }
+
+    @Override
+    public EvaluationOutcome filter(Offer offer, PlacementContext context) {
+        final String offerKey = getKey(offer, context);
         if (offerKey == null) {
             // offer doesn't have the required attribute at all. denied.
             return EvaluationOutcome.fail(this, "Offer lacks required round robin key").build();
         }
 
-        // search across tasks, keeping key counts on a per-key basis.
-        // key => # of instances on key
-        Map<String, Integer> counts = new HashMap<>();
-        for (TaskInfo task : tasks) {
-            // only tally tasks which match the task matcher (eg 'index-.*')
-            if (!taskFilter.matches(task.getName())) {
-                continue;
-            }
-            if (PlacementUtils.areEquivalent(task, podInstance)) {
-                // This is stale data for the same task that we're currently evaluating for
-                // placement. Don't worry about counting its usage. This occurs when we're
-                // redeploying a given task with a new configuration (old data not deleted yet).
-                continue;
-            }
-
-            final String taskKey = getKey(task);
-            if (taskKey == null) {
-                // no key matching the name was found. ignore.
-                continue;
-            }
-            Integer count = counts.get(taskKey);
-            counts.put(taskKey, (count == null) ? 1 : count + 1);
-        }
+        // key => # of instances on key, across tasks which match the task matcher (eg 'index-.*'). tasks lacking a key
+        // are ignored. the counts are shared across all offers evaluated against this context.
+        Map<String, Integer> counts = context.getTaskCounts(this, taskFilter, task -> {
+            final String taskKey = getKey(task, context);
+            return taskKey == null ? Collections.<String>emptyList() : Collections.singletonList(taskKey);
+        });
 
         int maxKnownKeyCount = 0;
         int minKnownKeyCount = Integer.MAX_VALUE;
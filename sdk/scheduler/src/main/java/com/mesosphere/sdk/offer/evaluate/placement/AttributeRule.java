@@ -28,7 +28,12 @@ public class AttributeRule extends StringMatcherRule {
 
     @Override
     public EvaluationOutcome filter(Offer offer, PodInstance podInstance, Collection<TaskInfo> tasks) {
-        if (isAcceptable(offer, podInstance, tasks)) {
+        return filter(offer, PlacementContext.create(podInstance, tasks));
+    }
+
+    @Override
+    public EvaluationOutcome filter(Offer offer, PlacementContext context) {
+        if (isAcceptable(offer, context)) {
             return EvaluationOutcome.pass(
                     this,
                     "Match found for attribute pattern: '%s'", getMatcher().toString())
@@ -54,4 +59,9 @@ public class AttributeRule extends StringMatcherRule {
                 .map(attribute -> AttributeStringUtils.toString(attribute))
                 .collect(Collectors.toList());
     }
+
+    @Override
+    protected Collection<String> getKeys(Offer offer, PlacementContext context) {
+        return context.getOfferKeys(offer).getAttributeStrings();
+    }
 }
@@ -5,7 +5,6 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.mesosphere.sdk.offer.evaluate.EvaluationOutcome;
 import com.mesosphere.sdk.offer.taskdata.AttributeStringUtils;
 import com.mesosphere.sdk.offer.taskdata.TaskLabelReader;
-import com.mesosphere.sdk.specification.PodInstance;
 import com.mesosphere.sdk.specification.validation.ValidationUtils;
 import org.apache.mesos.Protos.Offer;
 import org.apache.mesos.Protos.TaskInfo;
@@ -97,8 +96,8 @@ public class MaxPerAttributeRule extends MaxPerRule {
     }
 
     @Override
-    public EvaluationOutcome filter(Offer offer, PodInstance podInstance, Collection<TaskInfo> tasks) {
-        if (isAcceptable(offer, podInstance, tasks)) {
+    public EvaluationOutcome filter(Offer offer, PlacementContext context) {
+        if (isAcceptable(offer, context)) {
             return EvaluationOutcome.pass(
                     this,
                     "Fits within limit of %d tasks matching filter '%s' on this agent with attribute: %s",
@@ -144,6 +143,24 @@ public class MaxPerAttributeRule extends MaxPerRule {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    protected Collection<String> getKeys(TaskInfo taskInfo, PlacementContext context) {
+        if (!taskFilter.matches(taskInfo.getName())) {
+            return Collections.emptyList();
+        }
+
+        return context.getTaskKeys(taskInfo).getAttributeStrings().stream()
+                .filter(attribute -> attributeMatcher.matches(attribute))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    protected Collection<String> getKeys(Offer offer, PlacementContext context) {
+        return context.getOfferKeys(offer).getAttributeStrings().stream()
+                .filter(attribute -> attributeMatcher.matches(attribute))
+                .collect(Collectors.toList());
+    }
+
     @Override
     public String toString() {
         return String.format("MaxPerAttributeRule{max=%s, matcher=%s, task-filter=%s}",
@@ -5,7 +5,6 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.mesosphere.sdk.offer.TaskException;
 import com.mesosphere.sdk.offer.evaluate.EvaluationOutcome;
 import com.mesosphere.sdk.offer.taskdata.TaskLabelReader;
-import com.mesosphere.sdk.specification.PodInstance;
 import com.mesosphere.sdk.specification.validation.ValidationUtils;
 import org.apache.mesos.Protos.Offer;
 import org.apache.mesos.Protos.TaskInfo;
@@ -83,8 +82,8 @@ public class MaxPerHostnameRule extends MaxPerRule {
     }
 
     @Override
-    public EvaluationOutcome filter(Offer offer, PodInstance podInstance, Collection<TaskInfo> tasks) {
-        if (isAcceptable(offer, podInstance, tasks)) {
+    public EvaluationOutcome filter(Offer offer, PlacementContext context) {
+        if (isAcceptable(offer, context)) {
             return EvaluationOutcome.pass(
                     this,
                     "Fewer than %d tasks matching filter '%s' are present on this host",
@@ -119,6 +118,13 @@ public class MaxPerHostnameRule extends MaxPerRule {
         return Arrays.asList(offer.getHostname());
     }
 
+    @Override
+    protected Collection<String> getKeys(TaskInfo taskInfo, PlacementContext context) {
+        return context.getTaskKeys(taskInfo).getHostname()
+                .map(Collections::singletonList)
+                .orElse(Collections.emptyList());
+    }
+
     @Override
     public String toString() {
         return String.format("MaxPerHostnameRule{max=%s, task-filter=%s}",
@@ -1,6 +1,7 @@
 package com.mesosphere.sdk.offer.evaluate.placement;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.mesosphere.sdk.offer.evaluate.EvaluationOutcome;
 import com.mesosphere.sdk.specification.PodInstance;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
@@ -11,7 +12,6 @@ import javax.validation.constraints.Min;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 /**
  * This interface defines the required methods for generic application of a PlacementRule which forces a
@@ -26,6 +26,22 @@ public abstract class MaxPerRule implements PlacementRule {
     public abstract Collection<String> getKeys(Protos.TaskInfo taskInfo);
     public abstract Collection<String> getKeys(Protos.Offer offer);
 
+    /**
+     * Returns the keys for the provided task. Subclasses may override this to reuse the keys extracted by the provided
+     * context, which are shared across all the rules evaluated against it.
+     */
+    protected Collection<String> getKeys(Protos.TaskInfo taskInfo, PlacementContext context) {
+        return getKeys(taskInfo);
+    }
+
+    /**
+     * Returns the keys for the provided offer. Subclasses may override this to reuse the keys extracted by the provided
+     * context, which are shared across all the rules evaluated against it.
+     */
+    protected Collection<String> getKeys(Protos.Offer offer, PlacementContext context) {
+        return getKeys(offer);
+    }
+
     @JsonProperty("task-filter")
     public StringMatcher getTaskFilter() {
         return taskFilter;
@@ -46,38 +62,37 @@ public abstract class MaxPerRule implements PlacementRule {
         this.taskFilter = taskFilter;
     }
 
-    protected boolean isAcceptable(
-            Protos.Offer offer,
-            PodInstance podInstance,
-            Collection<Protos.TaskInfo> tasks) {
-
-        tasks = tasks.stream()
-                .filter(task -> getTaskFilter().matches(task.getName()))
-                .filter(task -> !PlacementUtils.areEquivalent(task, podInstance))
-                .collect(Collectors.toList());
-
-        Map<String, Integer> counts = new HashMap<>();
+    @Override
+    public EvaluationOutcome filter(Protos.Offer offer, PodInstance podInstance, Collection<Protos.TaskInfo> tasks) {
+        return filter(offer, PlacementContext.create(podInstance, tasks));
+    }
 
-        Collection<String> offerKeys = getKeys(offer);
-        updateMap(counts, offerKeys);
+    @Override
+    public abstract EvaluationOutcome filter(Protos.Offer offer, PlacementContext context);
 
-        for (Protos.TaskInfo task : tasks) {
-            updateMap(
-                    counts,
-                    getKeys(task).stream()
-                            .filter(key -> offerKeys.contains(key))
-                            .collect(Collectors.toList()));
+    /**
+     * Returns whether placing a task on the provided offer would keep the number of tasks on each of the offer's keys
+     * within the maximum. The counts of deployed tasks per key are shared with other evaluations of this rule against
+     * the same {@link PlacementContext}.
+     */
+    protected boolean isAcceptable(Protos.Offer offer, PlacementContext context) {
+        StringMatcher taskFilter = getTaskFilter();
+        if (taskFilter == null) { // null when unspecified in serialized data
+            taskFilter = AnyMatcher.create();
         }
+        Map<String, Integer> taskCounts = context.getTaskCounts(this, taskFilter, task -> getKeys(task, context));
 
-        return counts.values().stream().allMatch(value -> value <= max);
-    }
+        Map<String, Integer> offerCounts = new HashMap<>();
+        for (String key : getKeys(offer, context)) {
+            offerCounts.merge(key, 1, Integer::sum);
+        }
 
-    private void updateMap(Map<String, Integer> map, Collection<String> keys) {
-        for (String key : keys) {
-            Integer count = map.get(key);
-            count = count == null ? 1 : count + 1;
-            map.put(key, count);
+        for (Map.Entry<String, Integer> entry : offerCounts.entrySet()) {
+            if (entry.getValue() + taskCounts.getOrDefault(entry.getKey(), 0) > max) {
+                return false;
+            }
         }
+        return true;
     }
 
     @Override
@@ -4,7 +4,6 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.mesosphere.sdk.offer.evaluate.EvaluationOutcome;
 import com.mesosphere.sdk.offer.taskdata.TaskLabelReader;
-import com.mesosphere.sdk.specification.PodInstance;
 import org.apache.mesos.Protos;
 
 import java.util.Arrays;
@@ -48,10 +47,17 @@ public class MaxPerZoneRule extends MaxPerRule {
     }
 
     @Override
-    public EvaluationOutcome filter(Protos.Offer offer, PodInstance podInstance, Collection<Protos.TaskInfo> tasks) {
+    protected Collection<String> getKeys(Protos.TaskInfo taskInfo, PlacementContext context) {
+        return context.getTaskKeys(taskInfo).getZone()
+                .map(Collections::singletonList)
+                .orElse(Collections.emptyList());
+    }
+
+    @Override
+    public EvaluationOutcome filter(Protos.Offer offer, PlacementContext context) {
         if (!PlacementUtils.hasZone(offer)) {
             return EvaluationOutcome.fail(this, "Offer does not contain a zone.").build();
-        } else if (isAcceptable(offer, podInstance, tasks)) {
+        } else if (isAcceptable(offer, context)) {
             return EvaluationOutcome.pass(
                     this,
                     "Fewer than %d tasks matching filter '%s' are present on this host",
@@ -0,0 +1,81 @@
+package com.mesosphere.sdk.offer.evaluate.placement;
+
+import com.mesosphere.sdk.offer.taskdata.AttributeStringUtils;
+import org.apache.mesos.Protos.Attribute;
+import org.apache.mesos.Protos.Offer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The placement keys of an offer which require formatting the offer's attributes. Each key is formatted on first
+ * access and then reused, so the attributes are only formatted once no matter how many rules examine the offer.
+ * Returned strings are interned.
+ *
+ * Instances are obtained via {@link PlacementContext#getOfferKeys(Offer)}, which shares them across all the rules
+ * evaluated against the context. This class is thread-safe.
+ */
+final class OfferKeys {
+
+    private final Offer offer;
+    private final Map<String, Optional<String>> attributeValues = new ConcurrentHashMap<>();
+
+    // Lazily populated. Races between threads are harmless, as every thread computes the same value.
+    private volatile List<String> attributeStrings;
+
+    OfferKeys(Offer offer) {
+        this.offer = offer;
+    }
+
+    /**
+     * Returns the offer which these keys were read from.
+     */
+    Offer getOffer() {
+        return offer;
+    }
+
+    /**
+     * Returns the offer's attributes in {@code name:value} form.
+     *
+     * @throws IllegalArgumentException if some attribute couldn't be formatted
+     * @see AttributeStringUtils#toString(Attribute)
+     */
+    List<String> getAttributeStrings() {
+        List<String> value = attributeStrings;
+        if (value == null) {
+            List<String> formatted = new ArrayList<>();
+            for (Attribute attribute : offer.getAttributesList()) {
+                formatted.add(PlacementUtils.intern(AttributeStringUtils.toString(attribute)));
+            }
+            value = Collections.unmodifiableList(formatted);
+            attributeStrings = value;
+        }
+        return value;
+    }
+
+    /**
+     * Returns the value of the first attribute with the provided name, compared case-insensitively, or an empty
+     * Optional if the offer has no such attribute.
+     *
+     * @throws IllegalArgumentException if the attribute's value couldn't be formatted
+     * @see AttributeStringUtils#valueString(Attribute)
+     */
+    Optional<String> getAttributeValue(String name) {
+        Optional<String> value = attributeValues.get(name);
+        if (value == null) {
+            value = Optional.empty();
+            for (Attribute attribute : offer.getAttributesList()) {
+                if (attribute.getName().equalsIgnoreCase(name)) {
+                    value = Optional.of(PlacementUtils.intern(AttributeStringUtils.valueString(attribute)));
+                    break;
+                }
+            }
+            attributeValues.put(name, value);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,147 @@
+package com.mesosphere.sdk.offer.evaluate.placement;
+
+import com.mesosphere.sdk.specification.PodInstance;
+import org.apache.mesos.Protos.Offer;
+import org.apache.mesos.Protos.TaskInfo;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * The state against which {@link PlacementRule}s are evaluated when placing a given pod instance: the pod instance
+ * itself, and the tasks which are currently deployed in the service.
+ *
+ * A context is built once per pod instance being placed, and is then shared across all of the offers being evaluated
+ * for that pod instance. Rules which need to tally the deployed tasks, such as {@link MaxPerRule} and
+ * {@link AbstractRoundRobinRule}, use it to compute their per-key task counts once rather than once per offer. Task
+ * filter matches are likewise computed once per distinct {@link StringMatcher}, and are shared across rules. Keys which
+ * are read from offers and tasks, such as formatted attribute strings or hostnames from task labels, are extracted once
+ * per offer or task and shared by all of the rules in a rule tree.
+ *
+ * This class is thread-safe, so that offers may be evaluated concurrently against the same context.
+ */
+public class PlacementContext {
+
+    private final PodInstance podInstance;
+    private final Collection<TaskInfo> tasks;
+
+    private final Map<StringMatcher, Collection<TaskInfo>> matchingTasks = new ConcurrentHashMap<>();
+    private final Map<PlacementRule, Map<String, Integer>> taskCounts = new ConcurrentHashMap<>();
+    private final Map<PlacementRule, Object> ruleState = new ConcurrentHashMap<>();
+    private final Map<String, OfferKeys> offerKeys = new ConcurrentHashMap<>();
+    private final Map<String, TaskKeys> taskKeys = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new context for placing the provided pod instance.
+     *
+     * @param podInstance the pod instance being placed
+     * @param tasks the currently deployed tasks in the service, possibly including stale copies of the tasks in the pod
+     *              instance being placed
+     */
+    public static PlacementContext create(PodInstance podInstance, Collection<TaskInfo> tasks) {
+        return new PlacementContext(podInstance, tasks);
+    }
+
+    private PlacementContext(PodInstance podInstance, Collection<TaskInfo> tasks) {
+        this.podInstance = podInstance;
+        this.tasks = tasks;
+    }
+
+    /**
+     * Returns the pod instance being placed.
+     */
+    public PodInstance getPodInstance() {
+        return podInstance;
+    }
+
+    /**
+     * Returns all currently deployed tasks in the service, possibly including stale copies of the tasks in the pod
+     * instance being placed.
+     */
+    public Collection<TaskInfo> getTasks() {
+        return tasks;
+    }
+
+    /**
+     * Returns the deployed tasks whose names match the provided filter, excluding any stale copies of the tasks in the
+     * pod instance being placed. Tasks are returned in their original order. The result is computed on the first call
+     * for a given filter and then reused.
+     */
+    public Collection<TaskInfo> getMatchingTasks(StringMatcher taskFilter) {
+        return matchingTasks.computeIfAbsent(taskFilter, filter -> {
+            List<TaskInfo> matches = new ArrayList<>();
+            for (TaskInfo task : tasks) {
+                if (!filter.matches(task.getName())) {
+                    continue;
+                }
+                if (getTaskKeys(task).isInPodInstance(podInstance)) {
+                    // This is stale data for the same task that we're currently evaluating for
+                    // placement. Don't worry about counting its usage. This occurs when we're
+                    // redeploying a given task with a new configuration (old data not deleted yet).
+                    continue;
+                }
+                matches.add(task);
+            }
+            return Collections.unmodifiableList(matches);
+        });
+    }
+
+    /**
+     * Returns the number of deployed tasks matching the provided filter against each key, as returned by the
+     * provided function. Tasks which return the same key more than once are counted once for each occurrence. The
+     * result is computed on the first call for a given rule and then reused, so the provided filter and function must
+     * only depend on the rule's own configuration.
+     *
+     * @param rule the rule which is tallying the tasks, used to identify the result for reuse
+     * @param taskFilter the filter on task names to determine which tasks are included in the counts
+     * @param getKeys the function which returns the keys to be counted for a given task
+     * @return an unmodifiable mapping of key to the number of tasks against that key
+     */
+    public Map<String, Integer> getTaskCounts(
+            PlacementRule rule, StringMatcher taskFilter, Function<TaskInfo, Collection<String>> getKeys) {
+        return taskCounts.computeIfAbsent(rule, r -> {
+            Map<String, Integer> counts = new HashMap<>();
+            for (TaskInfo task : getMatchingTasks(taskFilter)) {
+                for (String key : getKeys.apply(task)) {
+                    counts.merge(key, 1, Integer::sum);
+                }
+            }
+            return Collections.unmodifiableMap(counts);
+        });
+    }
+
+    /**
+     * Returns the state computed by the provided supplier for the provided rule. The state is computed on the first call
+     * for a given rule and then reused, so it must only depend on the content of this context and on the rule's own
+     * configuration.
+     */
+    @SuppressWarnings("unchecked")
+    <T> T getRuleState(PlacementRule rule, Supplier<T> supplier) {
+        return (T) ruleState.computeIfAbsent(rule, r -> supplier.get());
+    }
+
+    /**
+     * Returns the keys for the provided offer, shared across all the rules evaluated against this context.
+     */
+    OfferKeys getOfferKeys(Offer offer) {
+        OfferKeys keys = offerKeys.computeIfAbsent(offer.getId().getValue(), id -> new OfferKeys(offer));
+        // Guard against distinct offers which share an ID, as may happen in tests.
+        return keys.getOffer() == offer ? keys : new OfferKeys(offer);
+    }
+
+    /**
+     * Returns the keys for the provided task, shared across all the rules evaluated against this context.
+     */
+    TaskKeys getTaskKeys(TaskInfo task) {
+        TaskKeys keys = taskKeys.computeIfAbsent(task.getName(), name -> new TaskKeys(task));
+        // Guard against distinct tasks which share a name, as may happen in tests.
+        return keys.getTask() == task ? keys : new TaskKeys(task);
+    }
+}
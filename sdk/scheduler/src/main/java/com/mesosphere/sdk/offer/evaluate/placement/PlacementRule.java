@@ -36,6 +36,22 @@ public interface PlacementRule {
      */
     EvaluationOutcome filter(Offer offer, PodInstance podInstance, Collection<TaskInfo> tasks);
 
+    /**
+     * Returns whether the provided {@link Offer} passes or fails this placement constraint, given a
+     * {@link PlacementContext} which is shared across all the offers being evaluated for the same pod instance.
+     *
+     * By default this invokes {@link #filter(Offer, PodInstance, Collection)} with the content of the context. Rules
+     * which tally the deployed tasks should override this to reuse the counts precomputed by the context, and rules
+     * which wrap other rules should override this to pass the context through to them.
+     *
+     * @param offer the offer to be examined
+     * @param context the pod instance being placed and the currently deployed tasks in the system
+     * @return an {@link EvaluationOutcome} object describing whether the placement succeeded or failed and why
+     */
+    default EvaluationOutcome filter(Offer offer, PlacementContext context) {
+        return filter(offer, context.getPodInstance(), context.getTasks());
+    }
+
     /**
      * Returns the {@link PlacementField}s to which this rule applies.
      */
@@ -1,5 +1,7 @@
 package com.mesosphere.sdk.offer.evaluate.placement;
 
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
 import com.mesosphere.sdk.offer.TaskException;
 import com.mesosphere.sdk.offer.TaskUtils;
 import com.mesosphere.sdk.specification.PodInstance;
@@ -23,6 +25,12 @@ public class PlacementUtils {
     private static final String REGION_FIELD = "@region";
     private static final String ZONE_FIELD = "@zone";
 
+    /**
+     * Placement keys such as hostnames and attribute strings are shared by many offers and tasks, so they're interned
+     * to avoid retaining a separate copy for each offer or task which produced them.
+     */
+    private static final Interner<String> KEY_INTERNER = Interners.newWeakInterner();
+
     private PlacementUtils() {
         // do not instantiate
     }
@@ -73,6 +81,13 @@ public class PlacementUtils {
         }
     }
 
+    /**
+     * Returns a canonical copy of the provided placement key.
+     */
+    static String intern(String key) {
+        return KEY_INTERNER.intern(key);
+    }
+
     /**
      * Requires that a task be placed on one of the provided string matchers.
      *
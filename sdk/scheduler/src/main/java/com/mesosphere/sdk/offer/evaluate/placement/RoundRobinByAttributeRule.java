@@ -79,6 +79,16 @@ public class RoundRobinByAttributeRule extends AbstractRoundRobinRule {
         return null;
     }
 
+    @Override
+    protected String getKey(Offer offer, PlacementContext context) {
+        return context.getOfferKeys(offer).getAttributeValue(attributeName).orElse(null);
+    }
+
+    @Override
+    protected String getKey(TaskInfo task, PlacementContext context) {
+        return context.getTaskKeys(task).getAttributeValue(attributeName).orElse(null);
+    }
+
     @JsonProperty("name")
     private String getAttributeName() {
         return attributeName;
@@ -75,6 +75,11 @@ public class RoundRobinByHostnameRule extends AbstractRoundRobinRule {
         }
     }
 
+    @Override
+    protected String getKey(TaskInfo task, PlacementContext context) {
+        return context.getTaskKeys(task).getHostname().orElse(null);
+    }
+
     @JsonProperty("agent-count")
     private Optional<Integer> getAgentCount() {
         return distinctKeyCount;
@@ -42,6 +42,11 @@ public class RoundRobinByRegionRule extends AbstractRoundRobinRule {
         return region.isPresent() ? region.get() : null;
     }
 
+    @Override
+    protected String getKey(Protos.TaskInfo task, PlacementContext context) {
+        return context.getTaskKeys(task).getRegion().orElse(null);
+    }
+
     @JsonProperty("region-count")
     private Optional<Integer> getRegionCount() {
         return distinctKeyCount;
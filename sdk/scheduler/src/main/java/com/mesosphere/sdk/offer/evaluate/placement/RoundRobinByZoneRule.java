@@ -41,6 +41,11 @@ public class RoundRobinByZoneRule extends AbstractRoundRobinRule {
         return zone.isPresent() ? zone.get() : null;
     }
 
+    @Override
+    protected String getKey(Protos.TaskInfo task, PlacementContext context) {
+        return context.getTaskKeys(task).getZone().orElse(null);
+    }
+
     @JsonProperty("zone-count")
     private Optional<Integer> getZoneCount() {
         return distinctKeyCount;
@@ -43,8 +43,24 @@ public abstract class StringMatcherRule implements PlacementRule {
 
     public abstract Collection<String> getKeys(Protos.Offer offer);
 
+    /**
+     * Returns the keys for the provided offer. Subclasses may override this to reuse the keys extracted by the provided
+     * context, which are shared across all the rules evaluated against it.
+     */
+    protected Collection<String> getKeys(Protos.Offer offer, PlacementContext context) {
+        return getKeys(offer);
+    }
+
     protected boolean isAcceptable(Protos.Offer offer, PodInstance podInstance, Collection<Protos.TaskInfo> tasks) {
-        for (String key : getKeys(offer)) {
+        return isAcceptable(getKeys(offer));
+    }
+
+    protected boolean isAcceptable(Protos.Offer offer, PlacementContext context) {
+        return isAcceptable(getKeys(offer, context));
+    }
+
+    private boolean isAcceptable(Collection<String> keys) {
+        for (String key : keys) {
             if (getMatcher().matches(key)) {
                 return true;
             }
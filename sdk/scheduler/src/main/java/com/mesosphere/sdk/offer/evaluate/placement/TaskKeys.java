@@ -0,0 +1,158 @@
+package com.mesosphere.sdk.offer.evaluate.placement;
+
+import com.mesosphere.sdk.offer.TaskException;
+import com.mesosphere.sdk.offer.taskdata.AttributeStringUtils;
+import com.mesosphere.sdk.offer.taskdata.TaskLabelReader;
+import com.mesosphere.sdk.specification.PodInstance;
+import org.apache.mesos.Protos.TaskInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The placement keys of a deployed task, as read from its labels. Each key is read on first access and then reused,
+ * so the task's labels are only parsed once no matter how many rules examine it. Returned strings are interned.
+ *
+ * Instances are obtained via {@link PlacementContext#getTaskKeys(TaskInfo)}, which shares them across all the rules
+ * evaluated against the context. This class is thread-safe.
+ */
+final class TaskKeys {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TaskKeys.class);
+
+    private final TaskInfo task;
+
+    // Lazily populated. Races between threads are harmless, as every thread computes the same value.
+    private volatile TaskLabelReader reader;
+    private volatile Optional<String> hostname;
+    private volatile Optional<String> zone;
+    private volatile Optional<String> region;
+    private volatile List<String> attributeStrings;
+    private volatile Optional<String> podType;
+    private volatile Optional<Integer> podIndex;
+
+    TaskKeys(TaskInfo task) {
+        this.task = task;
+    }
+
+    /**
+     * Returns the task which these keys were read from.
+     */
+    TaskInfo getTask() {
+        return task;
+    }
+
+    /**
+     * Returns the hostname of the agent where the task was launched, or an empty Optional if the task lacks a hostname.
+     */
+    Optional<String> getHostname() {
+        Optional<String> value = hostname;
+        if (value == null) {
+            try {
+                value = Optional.of(PlacementUtils.intern(getReader().getHostname()));
+            } catch (TaskException e) {
+                LOGGER.warn("Unable to extract hostname from task for filtering", e);
+                value = Optional.empty();
+            }
+            hostname = value;
+        }
+        return value;
+    }
+
+    /**
+     * Returns the zone where the task was launched, if any.
+     */
+    Optional<String> getZone() {
+        Optional<String> value = zone;
+        if (value == null) {
+            value = getReader().getZone().map(PlacementUtils::intern);
+            zone = value;
+        }
+        return value;
+    }
+
+    /**
+     * Returns the region where the task was launched, if any.
+     */
+    Optional<String> getRegion() {
+        Optional<String> value = region;
+        if (value == null) {
+            value = getReader().getRegion().map(PlacementUtils::intern);
+            region = value;
+        }
+        return value;
+    }
+
+    /**
+     * Returns the attributes of the offer which the task was launched on, in {@code name:value} form.
+     *
+     * @see AttributeStringUtils#toString(org.apache.mesos.Protos.Attribute)
+     */
+    List<String> getAttributeStrings() {
+        List<String> value = attributeStrings;
+        if (value == null) {
+            List<String> interned = new ArrayList<>();
+            for (String attribute : getReader().getOfferAttributeStrings()) {
+                interned.add(PlacementUtils.intern(attribute));
+            }
+            value = Collections.unmodifiableList(interned);
+            attributeStrings = value;
+        }
+        return value;
+    }
+
+    /**
+     * Returns the value of the first attribute with the provided name, compared case-insensitively, or an empty
+     * Optional if the task has no such attribute.
+     *
+     * @throws IllegalArgumentException if an attribute couldn't be split into its name and value
+     */
+    Optional<String> getAttributeValue(String name) {
+        for (String attribute : getAttributeStrings()) {
+            AttributeStringUtils.NameValue nameValue = AttributeStringUtils.split(attribute);
+            if (nameValue.name.equalsIgnoreCase(name)) {
+                return Optional.of(PlacementUtils.intern(nameValue.value));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Returns whether the task belongs to the provided pod instance. Tasks which lack a pod type or index are treated as
+     * not belonging to it.
+     *
+     * @see PlacementUtils#areEquivalent(TaskInfo, PodInstance)
+     */
+    boolean isInPodInstance(PodInstance podInstance) {
+        Optional<String> type = podType;
+        Optional<Integer> index = podIndex;
+        if (type == null || index == null) {
+            try {
+                type = Optional.of(getReader().getType());
+                index = Optional.of(getReader().getIndex());
+            } catch (TaskException e) {
+                LOGGER.warn("Unable to extract pod type or index from TaskInfo", e);
+                type = Optional.empty();
+                index = Optional.empty();
+            }
+            podType = type;
+            podIndex = index;
+        }
+        return type.isPresent()
+                && type.get().equals(podInstance.getPod().getType())
+                && index.get() == podInstance.getIndex();
+    }
+
+    private TaskLabelReader getReader() {
+        TaskLabelReader value = reader;
+        if (value == null) {
+            value = new TaskLabelReader(task);
+            reader = value;
+        }
+        return value;
+    }
+}
@@ -1,9 +1,9 @@
 package com.mesosphere.sdk.offer.evaluate.placement;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.List;
+import java.util.HashSet;
+import java.util.Set;
 
 import com.mesosphere.sdk.specification.PodInstance;
 import org.apache.commons.lang3.builder.EqualsBuilder;
@@ -94,17 +94,18 @@ public class TaskTypeRule implements PlacementRule {
 
     @Override
     public EvaluationOutcome filter(Offer offer, PodInstance podInstance, Collection<TaskInfo> tasks) {
-        List<TaskInfo> matchingTasks = new ArrayList<>();
-        for (TaskInfo task : tasks) {
-            if (typeToFind.equals(typeConverter.getTaskType(task))) {
-                matchingTasks.add(task);
-            }
-        }
+        return filter(offer, PlacementContext.create(podInstance, tasks));
+    }
+
+    @Override
+    public EvaluationOutcome filter(Offer offer, PlacementContext context) {
+        // The deployed tasks of the requested type are only located once per context, rather than once per offer.
+        MatchingTasks matchingTasks = context.getRuleState(this, () -> new MatchingTasks(context));
         // Create a rule which will handle most of the validation. Logic is deferred to avoid
         // double-counting a task against a prior version of itself.
         switch (behaviorType) {
         case AVOID:
-            if (matchingTasks.isEmpty()) {
+            if (!matchingTasks.anyFound) {
                 // nothing to avoid, but this is expected when avoiding nodes of the same type
                 // (self-avoidance), or when the developer has configured bidirectional rules
                 // (A avoids B + B avoids A)
@@ -114,10 +115,10 @@ public class TaskTypeRule implements PlacementRule {
                         typeToFind)
                         .build();
             } else {
-                return filterAvoid(offer, podInstance, matchingTasks);
+                return filterAvoid(offer, matchingTasks);
             }
         case COLOCATE:
-            if (matchingTasks.isEmpty()) {
+            if (!matchingTasks.anyFound) {
                 // nothing to colocate with! fall back to allowing any location.
                 // this is expected when the developer has configured bidirectional rules
                 // (A colocates with B + B colocates with A)
@@ -127,7 +128,7 @@ public class TaskTypeRule implements PlacementRule {
                         typeToFind)
                         .build();
             } else {
-                return filterColocate(offer, podInstance, matchingTasks);
+                return filterColocate(offer, matchingTasks);
             }
         default:
             throw new IllegalStateException("Unsupported behavior type: " + behaviorType);
@@ -146,25 +147,13 @@ public class TaskTypeRule implements PlacementRule {
      * that the offer be located on an agent which doesn't currently have an instance of the
      * specified task type.
      */
-    private EvaluationOutcome filterAvoid(
-            Offer offer,
-            PodInstance podInstance,
-            Collection<TaskInfo> tasksToAvoid) {
-
-        for (TaskInfo taskToAvoid : tasksToAvoid) {
-            if (PlacementUtils.areEquivalent(taskToAvoid, podInstance)) {
-                // This is stale data for the same task that we're currently evaluating for
-                // placement. Don't worry about avoiding it. This occurs when we're redeploying
-                // a given task with a new configuration (old data not deleted yet).
-                continue;
-            }
-            if (taskToAvoid.getSlaveId().equals(offer.getSlaveId())) {
-                // The offer is for an agent which has a task to be avoided. Denied!
-                return EvaluationOutcome.fail(
-                        this,
-                        "Found a task matching avoided type '%s' on this agent.", typeToFind)
-                        .build();
-            }
+    private EvaluationOutcome filterAvoid(Offer offer, MatchingTasks tasksToAvoid) {
+        if (tasksToAvoid.agentIds.contains(offer.getSlaveId().getValue())) {
+            // The offer is for an agent which has a task to be avoided. Denied!
+            return EvaluationOutcome.fail(
+                    this,
+                    "Found a task matching avoided type '%s' on this agent.", typeToFind)
+                    .build();
         }
         // The offer doesn't match any tasks to avoid. Approved!
         return EvaluationOutcome.pass(this, "No tasks of avoided type '%s' found on this agent.", typeToFind).build();
@@ -176,26 +165,14 @@ public class TaskTypeRule implements PlacementRule {
      * that the offer be located on an agent which currently has an instance of the specified task
      * type.
      */
-    private EvaluationOutcome filterColocate(
-            Offer offer,
-            PodInstance podInstance,
-            Collection<TaskInfo> tasksToColocate) {
-
-        for (TaskInfo taskToColocate : tasksToColocate) {
-            if (PlacementUtils.areEquivalent(taskToColocate, podInstance)) {
-                // This is stale data for the same task that we're currently evaluating for
-                // placement. Don't worry about colocating with it. This occurs when we're
-                // redeploying a given task with a new configuration (old data not deleted yet).
-                continue;
-            }
-            if (taskToColocate.getSlaveId().equals(offer.getSlaveId())) {
-                // The offer is for an agent which has a task to colocate with. Approved!
-                return EvaluationOutcome.pass(
-                        this,
-                        "Found a task matching colocated type '%s' on this agent.",
-                        typeToFind)
-                        .build();
-            }
+    private EvaluationOutcome filterColocate(Offer offer, MatchingTasks tasksToColocate) {
+        if (tasksToColocate.agentIds.contains(offer.getSlaveId().getValue())) {
+            // The offer is for an agent which has a task to colocate with. Approved!
+            return EvaluationOutcome.pass(
+                    this,
+                    "Found a task matching colocated type '%s' on this agent.",
+                    typeToFind)
+                    .build();
         }
         // The offer doesn't match any tasks to colocate with. Denied!
         return EvaluationOutcome.fail(
@@ -204,6 +181,39 @@ public class TaskTypeRule implements PlacementRule {
                 .build();
     }
 
+    /**
+     * The deployed tasks which have the type to be found.
+     */
+    private class MatchingTasks {
+        /**
+         * Whether any deployed tasks have the type, including stale copies of the tasks being placed.
+         */
+        private final boolean anyFound;
+
+        /**
+         * The IDs of the agents running tasks of the type, excluding stale copies of the tasks being placed.
+         */
+        private final Set<String> agentIds = new HashSet<>();
+
+        private MatchingTasks(PlacementContext context) {
+            boolean found = false;
+            for (TaskInfo task : context.getTasks()) {
+                if (!typeToFind.equals(typeConverter.getTaskType(task))) {
+                    continue;
+                }
+                found = true;
+                if (context.getTaskKeys(task).isInPodInstance(context.getPodInstance())) {
+                    // This is stale data for the same task that we're currently evaluating for
+                    // placement. Don't worry about avoiding or colocating with it. This occurs when
+                    // we're redeploying a given task with a new configuration (old data not deleted yet).
+                    continue;
+                }
+                agentIds.add(task.getSlaveId().getValue());
+            }
+            this.anyFound = found;
+        }
+    }
+
     @JsonProperty("type")
     private String getType() {
         return typeToFind;
@@ -0,0 +1,125 @@
+package com.mesosphere.sdk.offer.evaluate.security;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.mesosphere.sdk.scheduler.Metrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Supplier;
+
+/**
+ * Supplies key pairs for TLS certificates. Key generation (particularly for RSA) can take hundreds of milliseconds, so
+ * when given a non-zero capacity, the pool generates key pairs ahead of time on a background thread and keeps up to
+ * that many ready for use. If the pool is empty when a key pair is needed, one is generated on the calling thread.
+ * Each thread uses its own {@link KeyPairGenerator}, so that callers which generate key pairs on demand don't wait for
+ * each other or for the background thread.
+ *
+ * The depth of the pool, the rate at which it's refilled, and the number of times it was found empty are exposed via
+ * {@link Metrics}.
+ */
+public class KeyPairPool {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(KeyPairPool.class);
+
+    private final ThreadLocal<KeyPairGenerator> keyPairGenerator;
+    private final Optional<BlockingQueue<KeyPair>> pool;
+
+    /**
+     * Creates a new pool of key pairs.
+     *
+     * @param algorithm the key algorithm, e.g. {@code RSA}
+     * @param keySize the key size in bits, or 0 to use the provider's default for the algorithm
+     * @param capacity the number of key pairs to generate ahead of time, or 0 to generate key pairs on demand
+     * @throws IllegalArgumentException if the algorithm isn't supported
+     */
+    public static KeyPairPool create(String algorithm, int keySize, int capacity) {
+        // Check the algorithm up front, rather than when each thread first needs a key pair:
+        createKeyPairGenerator(algorithm, keySize);
+        return new KeyPairPool(() -> createKeyPairGenerator(algorithm, keySize), capacity);
+    }
+
+    /**
+     * Creates a new pool of key pairs.
+     *
+     * @param keyPairGeneratorFactory creates the {@link KeyPairGenerator} for each thread which generates key pairs
+     * @param capacity the number of key pairs to generate ahead of time, or 0 to generate key pairs on demand
+     */
+    @VisibleForTesting
+    KeyPairPool(Supplier<KeyPairGenerator> keyPairGeneratorFactory, int capacity) {
+        this.keyPairGenerator = ThreadLocal.withInitial(keyPairGeneratorFactory);
+        if (capacity > 0) {
+            BlockingQueue<KeyPair> queue = new ArrayBlockingQueue<>(capacity);
+            this.pool = Optional.of(queue);
+            Metrics.registerKeyPairPoolDepth(queue::size);
+            Thread refillThread = new Thread(() -> refill(queue), "tls-key-pair-pool");
+            refillThread.setDaemon(true);
+            refillThread.start();
+            LOGGER.info("Pre-generating up to {} {} key pairs", capacity, keyPairGenerator.get().getAlgorithm());
+        } else {
+            this.pool = Optional.empty();
+        }
+    }
+
+    /**
+     * Returns a new key pair which hasn't been returned before, taken from the pool if one is available.
+     */
+    public KeyPair take() {
+        if (pool.isPresent()) {
+            KeyPair keyPair = pool.get().poll();
+            if (keyPair != null) {
+                return keyPair;
+            }
+            LOGGER.info("Key pair pool is empty, generating key pair on demand");
+            Metrics.incrementKeyPairPoolMisses();
+        }
+        return generate();
+    }
+
+    /**
+     * Returns the number of key pairs currently available in the pool.
+     */
+    @VisibleForTesting
+    int getDepth() {
+        return pool.isPresent() ? pool.get().size() : 0;
+    }
+
+    private void refill(BlockingQueue<KeyPair> queue) {
+        try {
+            while (true) {
+                KeyPair keyPair = generate();
+                Metrics.incrementKeyPairPoolRefills();
+                // Blocks until there's room in the pool:
+                queue.put(keyPair);
+            }
+        } catch (InterruptedException e) {
+            LOGGER.info("Key pair pool refill interrupted, exiting");
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            LOGGER.error("Key pair pool refill failed, key pairs will be generated on demand", e);
+        }
+    }
+
+    private KeyPair generate() {
+        // KeyPairGenerator isn't guaranteed to be thread-safe, so each thread has its own.
+        return keyPairGenerator.get().generateKeyPair();
+    }
+
+    private static KeyPairGenerator createKeyPairGenerator(String algorithm, int keySize) {
+        KeyPairGenerator keyPairGenerator;
+        try {
+            keyPairGenerator = KeyPairGenerator.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalArgumentException(String.format("Unsupported key pair algorithm: %s", algorithm), e);
+        }
+        if (keySize > 0) {
+            keyPairGenerator.initialize(keySize);
+        }
+        return keyPairGenerator;
+    }
+}
@@ -6,7 +6,6 @@ import java.io.UncheckedIOException;
 import java.security.KeyPair;
 import java.security.KeyPairGenerator;
 import java.security.KeyStore;
-import java.security.NoSuchAlgorithmException;
 import java.security.cert.Certificate;
 import java.security.cert.X509Certificate;
 import java.util.ArrayList;
@@ -43,34 +42,30 @@ class TLSArtifactsGenerator {
     static final char[] KEYSTORE_PASSWORD = "notsecure".toCharArray();
 
     private final CertificateAuthorityClient caClient;
-    private final KeyPairGenerator keyPairGenerator;
+    private final KeyPairPool keyPairPool;
 
     public TLSArtifactsGenerator(CertificateAuthorityClient caClient) {
-        this(caClient, getDefaultKeyPairGenerator());
+        this(caClient, KeyPairPool.create("RSA", 0, 0));
     }
 
-    /**
-     * Wrapper to allow construction in {@code this()} above.
-     */
-    private static KeyPairGenerator getDefaultKeyPairGenerator() {
-        try {
-            return KeyPairGenerator.getInstance("RSA");
-        } catch (NoSuchAlgorithmException e) {
-            throw new IllegalStateException(e);
-        }
+    public TLSArtifactsGenerator(CertificateAuthorityClient caClient, KeyPairPool keyPairPool) {
+        this.caClient = caClient;
+        this.keyPairPool = keyPairPool;
     }
 
+    /**
+     * Uses the provided {@link KeyPairGenerator} on every thread, which is only suitable for single-threaded tests.
+     */
     @VisibleForTesting
     TLSArtifactsGenerator(CertificateAuthorityClient caClient, KeyPairGenerator keyPairGenerator) {
-        this.caClient = caClient;
-        this.keyPairGenerator = keyPairGenerator;
+        this(caClient, new KeyPairPool(() -> keyPairGenerator, 0));
     }
 
     /**
      * Returns a mapping of {@link TLSArtifact} types to generated secret content, to be stored in a SecretStore.
      */
     Map<TLSArtifact, String> generate(CertificateNamesGenerator certificateNamesGenerator) throws Exception {
-        KeyPair keyPair = keyPairGenerator.generateKeyPair();
+        KeyPair keyPair = keyPairPool.take();
 
         // Get new end-entity certificate from CA
         X509Certificate certificate = caClient.sign(generateCSR(keyPair, certificateNamesGenerator));
@@ -153,7 +148,12 @@ class TLSArtifactsGenerator {
         PKCS10CertificationRequest csr =
                 new JcaPKCS10CertificationRequestBuilder(certificateNamesGenerator.getSubject(), keyPair.getPublic())
                 .addAttribute(PKCSObjectIdentifiers.pkcs_9_at_extensionRequest, extensionsGenerator.generate())
-                .build(new JcaContentSignerBuilder("SHA256withRSA").build(keyPair.getPrivate()));
+                .build(new JcaContentSignerBuilder(getSignatureAlgorithm(keyPair)).build(keyPair.getPrivate()));
         return PEMUtils.toPEM(csr);
     }
+
+    private static String getSignatureAlgorithm(KeyPair keyPair) {
+        String keyAlgorithm = keyPair.getPrivate().getAlgorithm();
+        return "EC".equals(keyAlgorithm) ? "SHA256withECDSA" : "SHA256with" + keyAlgorithm;
+    }
 }
@@ -0,0 +1,187 @@
+package com.mesosphere.sdk.offer.evaluate.security;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.mesosphere.sdk.specification.PodInstance;
+import com.mesosphere.sdk.specification.TaskSpec;
+import com.mesosphere.sdk.specification.TransportEncryptionSpec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Ensures that the TLS artifacts for tasks are present in the secret store, either inline or in the background.
+ *
+ * When constructed with zero provisioning threads, {@link #isProvisioned(TLSArtifactPaths, CertificateNamesGenerator,
+ * String)} invokes {@link TLSArtifactsUpdater#update(TLSArtifactPaths, CertificateNamesGenerator, String)} directly on
+ * the calling thread.
+ *
+ * Otherwise, artifacts are provisioned by a bounded pool of background threads, so that key generation, certificate
+ * signing, and secret store calls don't block offer evaluation. Provisioning may be started ahead of time via
+ * {@link #provision(PodInstance)}, and is otherwise started on the first call to {@link #isProvisioned(
+ * TLSArtifactPaths, CertificateNamesGenerator, String)}, which returns {@code false} until the artifacts are ready.
+ * Successfully provisioned artifacts are checked again in the background once the verification interval has passed,
+ * so that artifacts removed from the secret store are recreated, while failed attempts are retried on the next call.
+ */
+public class TLSArtifactsProvisioner {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TLSArtifactsProvisioner.class);
+
+    private final String serviceName;
+    private final String namespace;
+    private final TLSArtifactsUpdater tlsArtifactsUpdater;
+    private final Optional<ExecutorService> provisioningExecutor;
+    private final long verificationIntervalNanos;
+
+    /**
+     * Provisioning results, keyed by the secret store path of one of the artifacts. Each path includes the namespace,
+     * the task instance name, the hash of the certificate's SANs, and the name of the transport encryption spec. Each
+     * successful result is the time after which the artifacts should be checked again, as in {@link System#nanoTime()}.
+     */
+    private final Map<String, CompletableFuture<Long>> provisioning = new ConcurrentHashMap<>();
+
+    /**
+     * The keys of artifacts which were successfully provisioned by an earlier attempt. These are assumed to still be
+     * present while they're being checked again.
+     */
+    private final Set<String> provisioned = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Creates a new provisioner.
+     *
+     * @param serviceName the name of the service which the tasks belong to
+     * @param namespace the namespace in the secret store where artifacts are stored
+     * @param tlsArtifactsUpdater the updater used to check for and create artifacts
+     * @param provisioningThreads the number of background provisioning threads, or 0 to provision inline
+     * @param verificationInterval how long successfully provisioned artifacts are assumed to be present before they're
+     *                             checked again in the background, when provisioning in the background
+     */
+    public TLSArtifactsProvisioner(
+            String serviceName,
+            String namespace,
+            TLSArtifactsUpdater tlsArtifactsUpdater,
+            int provisioningThreads,
+            Duration verificationInterval) {
+        this.serviceName = serviceName;
+        this.namespace = namespace;
+        this.tlsArtifactsUpdater = tlsArtifactsUpdater;
+        this.verificationIntervalNanos = verificationInterval.toNanos();
+        if (provisioningThreads > 0) {
+            LOGGER.info("Provisioning TLS artifacts in the background with {} threads", provisioningThreads);
+            this.provisioningExecutor = Optional.of(Executors.newFixedThreadPool(
+                    provisioningThreads,
+                    new ThreadFactoryBuilder().setNameFormat("tls-provisioner-%d").setDaemon(true).build()));
+        } else {
+            this.provisioningExecutor = Optional.empty();
+        }
+    }
+
+    /**
+     * Returns whether TLS artifacts are provisioned in the background, in which case
+     * {@link #isProvisioned(TLSArtifactPaths, CertificateNamesGenerator, String)} never writes to the secret store
+     * from the calling thread.
+     */
+    public boolean isAsync() {
+        return provisioningExecutor.isPresent();
+    }
+
+    /**
+     * Returns the secret store paths for the artifacts of the provided task.
+     */
+    public TLSArtifactPaths getPaths(PodInstance podInstance, TaskSpec taskSpec, CertificateNamesGenerator names) {
+        return new TLSArtifactPaths(namespace, TaskSpec.getInstanceName(podInstance, taskSpec), names.getSANsHash());
+    }
+
+    /**
+     * Starts provisioning the TLS artifacts for all tasks in the provided pod instance in the background, if they
+     * aren't already provisioned or being provisioned. Does nothing if artifacts are provisioned inline.
+     */
+    public void provision(PodInstance podInstance) {
+        if (!isAsync()) {
+            return;
+        }
+        for (TaskSpec taskSpec : podInstance.getPod().getTasks()) {
+            if (taskSpec.getTransportEncryption().isEmpty()) {
+                continue;
+            }
+            CertificateNamesGenerator names = new CertificateNamesGenerator(serviceName, taskSpec, podInstance);
+            TLSArtifactPaths paths = getPaths(podInstance, taskSpec, names);
+            for (TransportEncryptionSpec transportEncryptionSpec : taskSpec.getTransportEncryption()) {
+                getProvisioning(paths, names, transportEncryptionSpec.getName());
+            }
+        }
+    }
+
+    /**
+     * Returns whether the artifacts for the provided task and transport encryption spec are present in the secret
+     * store. When provisioning in the background, this starts provisioning if needed and returns {@code false} until
+     * provisioning has first completed. Previously provisioned artifacts are checked again in the background once the
+     * verification interval has passed.
+     *
+     * @throws Exception if the artifacts could not be provisioned
+     */
+    public boolean isProvisioned(
+            TLSArtifactPaths tlsArtifactPaths,
+            CertificateNamesGenerator certificateNamesGenerator,
+            String encryptionSpecName) throws Exception {
+        if (!isAsync()) {
+            tlsArtifactsUpdater.update(tlsArtifactPaths, certificateNamesGenerator, encryptionSpecName);
+            return true;
+        }
+
+        String key = getKey(tlsArtifactPaths, encryptionSpecName);
+        CompletableFuture<Long> future =
+                getProvisioning(tlsArtifactPaths, certificateNamesGenerator, encryptionSpecName);
+        if (!future.isDone()) {
+            return provisioned.contains(key);
+        }
+        try {
+            long verifyAfterNanos = future.get();
+            provisioned.add(key);
+            if (System.nanoTime() - verifyAfterNanos >= 0 && provisioning.remove(key, future)) {
+                // Check again in the background, in case the artifacts were removed from the secret store since.
+                getProvisioning(tlsArtifactPaths, certificateNamesGenerator, encryptionSpecName);
+            }
+            return true;
+        } catch (ExecutionException e) {
+            // Forget the failure so that the next call retries provisioning.
+            provisioned.remove(key);
+            provisioning.remove(key, future);
+            Throwable cause = e.getCause() instanceof CompletionException ? e.getCause().getCause() : e.getCause();
+            throw cause instanceof Exception ? (Exception) cause : e;
+        }
+    }
+
+    private CompletableFuture<Long> getProvisioning(
+            TLSArtifactPaths tlsArtifactPaths,
+            CertificateNamesGenerator certificateNamesGenerator,
+            String encryptionSpecName) {
+        return provisioning.computeIfAbsent(getKey(tlsArtifactPaths, encryptionSpecName), key -> {
+            LOGGER.info("Provisioning TLS artifacts for task '{}' with TLS config '{}'",
+                    tlsArtifactPaths.getTaskInstanceName(), encryptionSpecName);
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    tlsArtifactsUpdater.update(tlsArtifactPaths, certificateNamesGenerator, encryptionSpecName);
+                    return System.nanoTime() + verificationIntervalNanos;
+                } catch (Exception e) {
+                    LOGGER.error(String.format("Failed to provision TLS artifacts for task '%s' with TLS config '%s'",
+                            tlsArtifactPaths.getTaskInstanceName(), encryptionSpecName), e);
+                    throw new CompletionException(e);
+                }
+            }, provisioningExecutor.get());
+        });
+    }
+
+    private static String getKey(TLSArtifactPaths tlsArtifactPaths, String encryptionSpecName) {
+        return tlsArtifactPaths.getSecretStorePath(TLSArtifact.CERTIFICATE, encryptionSpecName);
+    }
+}
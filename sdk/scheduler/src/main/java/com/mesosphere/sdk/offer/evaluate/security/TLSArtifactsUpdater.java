@@ -4,17 +4,27 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.mesosphere.sdk.dcos.clients.CertificateAuthorityClient;
 import com.mesosphere.sdk.dcos.clients.SecretsClient;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
 /**
  * Automatically populates a secret service with missing TLS certificate content.
+ *
+ * Secrets are deleted and created using the provided {@link Executor}, which may issue the requests for a task
+ * concurrently. By default, requests are issued one at a time on the calling thread.
  */
 public class TLSArtifactsUpdater {
 
@@ -23,16 +33,44 @@ public class TLSArtifactsUpdater {
     private final String serviceName;
     private final SecretsClient secretsClient;
     private final TLSArtifactsGenerator tlsArtifactsGenerator;
+    private final Executor secretsExecutor;
 
     public TLSArtifactsUpdater(String serviceName, SecretsClient secretsClient, CertificateAuthorityClient caClient) {
         this(serviceName, secretsClient, new TLSArtifactsGenerator(caClient));
     }
 
+    public TLSArtifactsUpdater(
+            String serviceName,
+            SecretsClient secretsClient,
+            CertificateAuthorityClient caClient,
+            KeyPairPool keyPairPool) {
+        this(serviceName, secretsClient, new TLSArtifactsGenerator(caClient, keyPairPool));
+    }
+
+    public TLSArtifactsUpdater(
+            String serviceName,
+            SecretsClient secretsClient,
+            CertificateAuthorityClient caClient,
+            KeyPairPool keyPairPool,
+            Executor secretsExecutor) {
+        this(serviceName, secretsClient, new TLSArtifactsGenerator(caClient, keyPairPool), secretsExecutor);
+    }
+
     @VisibleForTesting
     TLSArtifactsUpdater(String serviceName, SecretsClient secretsClient, TLSArtifactsGenerator tlsArtifactsGenerator) {
+        this(serviceName, secretsClient, tlsArtifactsGenerator, MoreExecutors.directExecutor());
+    }
+
+    @VisibleForTesting
+    TLSArtifactsUpdater(
+            String serviceName,
+            SecretsClient secretsClient,
+            TLSArtifactsGenerator tlsArtifactsGenerator,
+            Executor secretsExecutor) {
         this.serviceName = serviceName;
         this.secretsClient = secretsClient;
         this.tlsArtifactsGenerator = tlsArtifactsGenerator;
+        this.secretsExecutor = secretsExecutor;
     }
 
     /**
@@ -74,20 +112,64 @@ public class TLSArtifactsUpdater {
         Map<TLSArtifact, String> newArtifactValues = tlsArtifactsGenerator.generate(certificateNamesGenerator);
 
         // One or more secrets are missing. Erase any current values and start from scratch.
+        List<SecretsCall> deletes = new ArrayList<>();
         for (String secretName : currentSecretNames.stream()
                 .filter(path -> expectedSecretNames.contains(path))
                 .collect(Collectors.toList())) {
             String secretPath = namespace + "/" + secretName;
-            logger.info("Deleting secret: {}", secretPath);
-            secretsClient.delete(secretPath);
+            deletes.add(() -> {
+                logger.info("Deleting secret: {}", secretPath);
+                secretsClient.delete(secretPath);
+            });
         }
+        runAll(deletes);
 
-        // Generate and write new values after deleting any current values.
+        // Write new values after deleting any current values.
+        List<SecretsCall> creates = new ArrayList<>();
         for (Map.Entry<TLSArtifact, String> entry : newArtifactValues.entrySet()) {
             String secretStorePath = tlsArtifactPaths.getSecretStorePath(entry.getKey(), encryptionSpecName);
-            logger.info("Creating new secret: {}", secretStorePath);
-            secretsClient.create(secretStorePath,
-                    new SecretsClient.Payload(serviceName, entry.getValue(), entry.getKey().getDescription()));
+            SecretsClient.Payload payload =
+                    new SecretsClient.Payload(serviceName, entry.getValue(), entry.getKey().getDescription());
+            creates.add(() -> {
+                logger.info("Creating new secret: {}", secretStorePath);
+                secretsClient.create(secretStorePath, payload);
+            });
+        }
+        runAll(creates);
+    }
+
+    /**
+     * A single request against the secret store.
+     */
+    private interface SecretsCall {
+        void run() throws IOException;
+    }
+
+    /**
+     * Runs the provided calls using the secrets executor and waits for all of them to complete. If any calls failed,
+     * the first failure is rethrown after all calls have completed.
+     */
+    private void runAll(Collection<SecretsCall> calls) throws IOException {
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (SecretsCall call : calls) {
+            futures.add(CompletableFuture.runAsync(() -> {
+                try {
+                    call.run();
+                } catch (IOException e) {
+                    throw new CompletionException(e);
+                }
+            }, secretsExecutor));
+        }
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw e;
         }
     }
 }
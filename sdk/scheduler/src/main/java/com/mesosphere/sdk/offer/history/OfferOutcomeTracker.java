@@ -15,6 +15,8 @@ import java.util.stream.Collectors;
 
 /**
  * Tracks the outcome of offers as they are evaluated against a PodInstanceRequirement.
+ *
+ * <p>This class is thread-safe: outcomes may be tracked by concurrent offer evaluations while being read for display.
  */
 public class OfferOutcomeTracker {
     private final EvictingQueue<OfferOutcome> outcomes;
@@ -35,15 +37,15 @@ public class OfferOutcomeTracker {
         this.outcomes = EvictingQueue.create(capacity);
     }
 
-    public void track(OfferOutcome outcome) {
+    public synchronized void track(OfferOutcome outcome) {
         outcomes.add(outcome);
     }
 
-    public void track(OfferOutcome... outcomes) {
+    public synchronized void track(OfferOutcome... outcomes) {
         this.outcomes.addAll(Arrays.asList(outcomes));
     }
 
-    private List<OfferOutcome> reverseList() {
+    private synchronized List<OfferOutcome> reverseList() {
         // Read the current outcomes into a list, reversing the list
         // as callers want to see the most recent offer outcomes first.
         List<OfferOutcome> recentFirst = outcomes.stream().collect(Collectors.toList());
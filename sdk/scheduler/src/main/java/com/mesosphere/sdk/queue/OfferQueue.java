@@ -102,8 +102,7 @@ public class OfferQueue {
     /**
      * This method returns the number of elements in the queue.
      */
-    @VisibleForTesting
-    int getSize() {
+    public int getSize() {
         return queue.size();
     }
 
@@ -14,6 +14,8 @@ import com.mesosphere.sdk.scheduler.plan.Step;
 import com.mesosphere.sdk.specification.ServiceSpec;
 import com.mesosphere.sdk.state.ConfigStore;
 import com.mesosphere.sdk.state.StateStore;
+import com.mesosphere.sdk.state.StateStoreException;
+import com.mesosphere.sdk.storage.StorageError.Reason;
 import org.apache.mesos.Protos;
 import org.apache.mesos.Scheduler;
 import org.apache.mesos.SchedulerDriver;
@@ -22,9 +24,11 @@ import org.eclipse.jetty.util.component.LifeCycle;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
@@ -36,6 +40,8 @@ public abstract class AbstractScheduler {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AbstractScheduler.class);
 
+    private static final Duration STOP_TIMEOUT = Duration.ofSeconds(10);
+
     protected final StateStore stateStore;
     protected final ConfigStore<ServiceSpec> configStore;
     protected final SchedulerConfig schedulerConfig;
@@ -58,6 +64,12 @@ public abstract class AbstractScheduler {
      */
     protected final ExecutorService statusExecutor = Executors.newSingleThreadExecutor();
 
+    /**
+     * Batches TaskStatus updates onto {@link #statusExecutor} when status group commit is enabled, or empty if each
+     * update is handled as it's received.
+     */
+    private final Optional<GroupCommitter<Protos.TaskStatus>> statusCommitter;
+
     /**
      * Executor for processing offers off the queue in {@link #start()}.
      */
@@ -73,6 +85,20 @@ public abstract class AbstractScheduler {
         this.stateStore = stateStore;
         this.configStore = configStore;
         this.schedulerConfig = schedulerConfig;
+        if (schedulerConfig.isStatusGroupCommitEnabled()) {
+            this.statusCommitter = Optional.of(new GroupCommitter<>(
+                    task -> {
+                        if (multithreaded) {
+                            statusExecutor.execute(task);
+                        } else {
+                            task.run();
+                        }
+                    },
+                    schedulerConfig.getStatusGroupCommitLingerMs(),
+                    mesosScheduler::processStatusUpdateBatch));
+        } else {
+            this.statusCommitter = Optional.empty();
+        }
     }
 
     /**
@@ -89,7 +115,7 @@ public abstract class AbstractScheduler {
         if (multithreaded) {
             // Start consumption of the offer queue. This will idle until offers start arriving.
             offerExecutor.execute(() -> {
-                while (true) {
+                while (!offerExecutor.isShutdown()) {
                     try {
                         mesosScheduler.processQueuedOffers();
                     } catch (Exception e) {
@@ -103,6 +129,27 @@ public abstract class AbstractScheduler {
         return this;
     }
 
+    /**
+     * Stops the scheduler's internal threads, after handling any TaskStatus updates which have already been queued.
+     * Status updates which arrive afterwards are ignored when status group commit is enabled, and offers are no longer
+     * processed. This is intended for tests and simulations which run many schedulers within a single process.
+     *
+     * @throws InterruptedException if waiting for the threads to exit is interrupted
+     */
+    @VisibleForTesting
+    public void stop() throws InterruptedException {
+        if (statusCommitter.isPresent()) {
+            statusCommitter.get().close();
+        }
+        statusExecutor.shutdown();
+        // The offer loop exits once its current wait for offers has finished:
+        offerExecutor.shutdown();
+        if (!statusExecutor.awaitTermination(STOP_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)
+                || !offerExecutor.awaitTermination(STOP_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+            LOGGER.warn("Timed out after {} waiting for scheduler threads to exit", STOP_TIMEOUT);
+        }
+    }
+
     /**
      * Returns a Mesos API {@link Scheduler} object to be registered with Mesos, or an empty {@link Optional} if Mesos
      * registration should not be performed.
@@ -172,6 +219,14 @@ public abstract class AbstractScheduler {
         return this;
     }
 
+    /**
+     * Returns the number of offers which are waiting in the offer queue to be processed. Useful for load tests.
+     */
+    @VisibleForTesting
+    public int getOfferQueueSize() {
+        return mesosScheduler.offerQueue.getSize();
+    }
+
     /**
      * Returns the plans defined for this scheduler. Useful for scheduler tests.
      */
@@ -206,6 +261,44 @@ public abstract class AbstractScheduler {
      */
     protected abstract void processStatusUpdate(Protos.TaskStatus status) throws Exception;
 
+    /**
+     * Handles a batch of task status updates which were received from Mesos, when status group commit is enabled.
+     * This call is executed on the {@link #statusExecutor} thread. Returns the statuses which were successfully
+     * processed.
+     *
+     * <p>By default, each status is passed to {@link #processStatusUpdate(Protos.TaskStatus)} in turn. Implementations
+     * may override this to store the whole batch at once.
+     *
+     * @throws StateStoreException with {@link Reason#STORAGE_ERROR} if the statuses couldn't be stored, in which case
+     *     none of the statuses in the batch are acknowledged, so that Mesos resends them
+     */
+    protected Collection<Protos.TaskStatus> processStatusUpdates(List<Protos.TaskStatus> statuses)
+            throws StateStoreException {
+        List<Protos.TaskStatus> processedStatuses = new ArrayList<>();
+        for (Protos.TaskStatus status : statuses) {
+            try {
+                processStatusUpdate(status);
+                processedStatuses.add(status);
+            } catch (StateStoreException e) {
+                if (e.getReason() == Reason.STORAGE_ERROR) {
+                    throw e;
+                }
+                logStatusUpdateFailure(status, e);
+            } catch (Exception e) {
+                logStatusUpdateFailure(status, e);
+            }
+        }
+        return processedStatuses;
+    }
+
+    /**
+     * Logs that the provided status couldn't be processed.
+     */
+    protected static void logStatusUpdateFailure(Protos.TaskStatus status, Exception e) {
+        LOGGER.warn("Failed to update TaskStatus received from Mesos. "
+                + "This may be expected if Mesos sent stale status information: " + status, e);
+    }
+
     /**
      * Implementation of Mesos' {@link Scheduler} interface.
      * Messages received from Mesos are forwarded to the parent {@link AbstractScheduler} instance.
@@ -339,19 +432,59 @@ public abstract class AbstractScheduler {
                     status.getState().toString(),
                     status.getMessage(),
                     TextFormat.shortDebugString(status));
+            if (statusCommitter.isPresent()) {
+                // Handled along with any other queued statuses on the status executor:
+                statusCommitter.get().submit(status);
+                return;
+            }
+
             try {
                 processStatusUpdate(status);
                 reconciler.update(status);
 
                 Metrics.record(status);
             } catch (Exception e) {
-                LOGGER.warn("Failed to update TaskStatus received from Mesos. "
-                        + "This may be expected if Mesos sent stale status information: " + status, e);
+                logStatusUpdateFailure(status, e);
             }
 
             taskCleaner.statusUpdate(status);
         }
 
+        /**
+         * Handles a batch of statuses which were queued by {@link #statusUpdate(SchedulerDriver, Protos.TaskStatus)}.
+         */
+        private void processStatusUpdateBatch(List<Protos.TaskStatus> statuses) {
+            LOGGER.info("Processing batch of {} status update{}", statuses.size(), statuses.size() == 1 ? "" : "s");
+            Collection<Protos.TaskStatus> processedStatuses;
+            try {
+                processedStatuses = processStatusUpdates(statuses);
+            } catch (StateStoreException e) {
+                LOGGER.error(String.format(
+                        "Failed to store batch of %d status updates, leaving them unacknowledged to be resent",
+                        statuses.size()), e);
+                return;
+            }
+            for (Protos.TaskStatus status : processedStatuses) {
+                try {
+                    reconciler.update(status);
+
+                    Metrics.record(status);
+                } catch (Exception e) {
+                    logStatusUpdateFailure(status, e);
+                }
+            }
+
+            for (Protos.TaskStatus status : statuses) {
+                taskCleaner.statusUpdate(status);
+                // The driver uses explicit acknowledgements when status group commit is enabled, so that Mesos only
+                // stops resending a status once it has been stored. Statuses without a UUID, such as those sent in
+                // response to reconciliation, must not be acknowledged.
+                if (status.hasUuid()) {
+                    driver.acknowledgeStatusUpdate(status);
+                }
+            }
+        }
+
         @Override
         public void offerRescinded(SchedulerDriver driver, Protos.OfferID offerId) {
             LOGGER.info("Rescinding offer: {}", offerId.getValue());
@@ -23,6 +23,7 @@ import com.mesosphere.sdk.specification.ServiceSpec;
 import com.mesosphere.sdk.state.*;
 import com.mesosphere.sdk.storage.Persister;
 import com.mesosphere.sdk.storage.PersisterException;
+import com.mesosphere.sdk.storage.StorageError.Reason;
 import org.apache.mesos.Protos;
 import org.apache.mesos.SchedulerDriver;
 import org.slf4j.Logger;
@@ -54,7 +55,8 @@ public class DefaultScheduler extends AbstractScheduler {
 
     private TaskKiller taskKiller;
     private PlanCoordinator planCoordinator;
-    private PlanScheduler planScheduler;
+    private OfferEvaluator offerEvaluator;
+    private DefaultPlanScheduler planScheduler;
 
     private final OfferOutcomeTracker offerOutcomeTracker;
 
@@ -123,6 +125,18 @@ public class DefaultScheduler extends AbstractScheduler {
         this.resources.add(new OfferOutcomeResource(offerOutcomeTracker));
     }
 
+    @Override
+    public void stop() throws InterruptedException {
+        super.stop();
+        // Offers are no longer processed once the scheduler's threads have stopped:
+        if (planScheduler != null) {
+            planScheduler.close();
+        }
+        if (offerEvaluator != null) {
+            offerEvaluator.close();
+        }
+    }
+
     @Override
     public Collection<Object> getResources() {
         return resources;
@@ -139,17 +153,24 @@ public class DefaultScheduler extends AbstractScheduler {
                 DefaultPlanManager.createProceeding(SchedulerUtils.getDeployPlan(plans).get());
         PlanManager recoveryPlanManager = getRecoveryPlanManager();
         planCoordinator = buildPlanCoordinator(deploymentPlanManager, recoveryPlanManager);
+        offerEvaluator = new OfferEvaluator(
+                stateStore,
+                offerOutcomeTracker,
+                serviceSpec.getName(),
+                configStore.getTargetConfig(),
+                schedulerConfig,
+                Capabilities.getInstance().supportsDefaultExecutor());
+        // Start provisioning TLS artifacts for any pods which have yet to be deployed, ahead of receiving offers:
+        deploymentPlanManager.getPlan().getChildren().stream()
+                .flatMap(phase -> phase.getChildren().stream())
+                .filter(step -> !step.isComplete())
+                .forEach(step -> step.getPodInstanceRequirement().ifPresent(offerEvaluator::provisionTLSArtifacts));
         planScheduler = new DefaultPlanScheduler(
                         offerAccepter,
-                        new OfferEvaluator(
-                                stateStore,
-                                offerOutcomeTracker,
-                                serviceSpec.getName(),
-                                configStore.getTargetConfig(),
-                                schedulerConfig,
-                                Capabilities.getInstance().supportsDefaultExecutor()),
+                        offerEvaluator,
                         stateStore,
-                        taskKiller);
+                        taskKiller,
+                        schedulerConfig.getStepEvaluationThreads());
         killUnneededTasks(stateStore, taskKiller, PlanUtils.getLaunchableTasks(plans));
 
         plansResource.setPlanManagers(planCoordinator.getPlanManagers());
@@ -306,13 +327,48 @@ public class DefaultScheduler extends AbstractScheduler {
         // Notify plans of status update:
         planCoordinator.getPlanManagers().forEach(planManager -> planManager.update(status));
 
-        // If the TaskStatus contains an IP Address, store it as a property in the StateStore.
-        // We expect the TaskStatus to contain an IP address in both Host or CNI networking.
-        // Currently, we are always _missing_ the IP Address on TASK_LOST. We always expect it on TASK_RUNNINGs
-        if (status.hasContainerStatus() &&
-                status.getContainerStatus().getNetworkInfosCount() > 0 &&
-                status.getContainerStatus().getNetworkInfosList().stream()
-                        .anyMatch(networkInfo -> networkInfo.getIpAddressesCount() > 0)) {
+        storeIpAddress(taskName, status);
+    }
+
+    @Override
+    protected Collection<Protos.TaskStatus> processStatusUpdates(List<Protos.TaskStatus> statuses) {
+        // Store all statuses and their IP addresses in one write, then pass the stored statuses to PlanManager => Plan
+        // => Steps
+        List<Map.Entry<String, Protos.TaskStatus>> writes = new ArrayList<>();
+        for (Protos.TaskStatus status : statuses) {
+            try {
+                writes.add(new AbstractMap.SimpleImmutableEntry<>(
+                        StateStoreUtils.getTaskName(stateStore, status), status));
+            } catch (StateStoreException e) {
+                logStatusUpdateFailure(status, e);
+            }
+        }
+
+        List<Optional<StateStoreException>> results = stateStore.storeStatuses(writes, DefaultScheduler::hasIpAddress);
+        List<Protos.TaskStatus> storedStatuses = new ArrayList<>();
+        for (int i = 0; i < writes.size(); ++i) {
+            if (!results.get(i).isPresent()) {
+                storedStatuses.add(writes.get(i).getValue());
+                continue;
+            }
+            StateStoreException e = results.get(i).get();
+            if (e.getReason() == Reason.STORAGE_ERROR) {
+                // Nothing in the batch was written, so the statuses need to be resent.
+                throw e;
+            }
+            logStatusUpdateFailure(writes.get(i).getValue(), e);
+        }
+
+        // Notify plans of the status updates, now that they've all been stored:
+        for (Protos.TaskStatus status : storedStatuses) {
+            planCoordinator.getPlanManagers().forEach(planManager -> planManager.update(status));
+        }
+
+        return storedStatuses;
+    }
+
+    private void storeIpAddress(String taskName, Protos.TaskStatus status) {
+        if (hasIpAddress(status)) {
             // Map the TaskStatus to a TaskInfo. The map will throw a StateStoreException if no such TaskInfo exists.
             try {
                 StateStoreUtils.storeTaskStatusAsProperty(stateStore, taskName, status);
@@ -322,6 +378,18 @@ public class DefaultScheduler extends AbstractScheduler {
         }
     }
 
+    /**
+     * Returns whether the provided status contains an IP address, in which case it's stored as a property in the
+     * StateStore. We expect the TaskStatus to contain an IP address in both Host or CNI networking. Currently, we are
+     * always _missing_ the IP Address on TASK_LOST. We always expect it on TASK_RUNNINGs.
+     */
+    private static boolean hasIpAddress(Protos.TaskStatus status) {
+        return status.hasContainerStatus() &&
+                status.getContainerStatus().getNetworkInfosCount() > 0 &&
+                status.getContainerStatus().getNetworkInfosList().stream()
+                        .anyMatch(networkInfo -> networkInfo.getIpAddressesCount() > 0);
+    }
+
     @VisibleForTesting
     PlanCoordinator getPlanCoordinator() {
         return planCoordinator;
@@ -0,0 +1,108 @@
+package com.mesosphere.sdk.scheduler;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+
+/**
+ * Collects items from any number of threads and hands them in batches to a handler which runs on the provided
+ * executor. Submitting an item doesn't wait for it to be handled. Each time the handler runs, it is given every item
+ * which has been queued so far, so that the cost of handling a batch, such as a storage transaction, is shared by all
+ * of the items which arrived while the previous batch was being handled.
+ *
+ * <p>Items are passed to the handler in the order that they were submitted. If the executor runs tasks one at a time,
+ * batches are also handled one at a time and in order.
+ *
+ * @param <T> the type of item to be handled
+ */
+class GroupCommitter<T> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GroupCommitter.class);
+
+    private final BlockingQueue<T> queue = new LinkedBlockingQueue<>();
+    private final Executor executor;
+    private final long lingerMs;
+    private final Consumer<List<T>> handler;
+    private volatile boolean closed;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param executor the executor on which batches are handled
+     * @param lingerMs the amount of time to wait for additional items before handling a batch
+     * @param handler the callback which handles each batch
+     */
+    GroupCommitter(Executor executor, long lingerMs, Consumer<List<T>> handler) {
+        this.executor = executor;
+        this.lingerMs = lingerMs;
+        this.handler = handler;
+    }
+
+    /**
+     * Queues the provided item to be handled as part of the next batch, returning immediately.
+     */
+    void submit(T item) {
+        if (closed) {
+            LOGGER.warn("Dropping item submitted after close: {}", item);
+            return;
+        }
+        queue.add(item);
+        try {
+            executor.execute(this::flush);
+        } catch (RejectedExecutionException e) {
+            // Raced with close(), and the executor has since been shut down.
+            LOGGER.warn("Dropping item submitted while closing: {}", item);
+        }
+    }
+
+    /**
+     * Stops accepting new items. Items which were already submitted are still handled by the executor, so the executor
+     * should only be shut down after this has been called.
+     */
+    void close() {
+        closed = true;
+    }
+
+    /**
+     * Returns the number of items which are waiting to be included in a batch.
+     */
+    @VisibleForTesting
+    int getQueuedCount() {
+        return queue.size();
+    }
+
+    private void flush() {
+        if (queue.isEmpty()) {
+            // Already handled by the flush for an earlier item.
+            return;
+        }
+        if (lingerMs > 0) {
+            try {
+                Thread.sleep(lingerMs);
+            } catch (InterruptedException e) {
+                LOGGER.warn("Interrupted while waiting for additional items, handling the batch now");
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        List<T> batch = new ArrayList<>();
+        queue.drainTo(batch);
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            handler.accept(batch);
+        } catch (RuntimeException e) {
+            LOGGER.error(String.format("Failed to handle batch of %d items", batch.size()), e);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.mesosphere.sdk.scheduler;
 
+import com.codahale.metrics.Gauge;
 import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.Timer;
 import com.mesosphere.sdk.offer.LaunchOfferRecommendation;
@@ -10,6 +11,8 @@ import com.readytalk.metrics.StatsDReporter;
 import io.prometheus.client.CollectorRegistry;
 import io.prometheus.client.dropwizard.DropwizardExports;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.mesos.Protos;
@@ -76,6 +79,65 @@ public class Metrics {
         return metrics.timer(PROCESS_OFFERS).time();
     }
 
+    // Offer evaluation
+    static final String EVALUATE_STEP = "offers.evaluate.step";
+    static final String EVALUATE_SETUP = "offers.evaluate.setup";
+    static final String EVALUATE_POD_INFO_BUILDER = "offers.evaluate.pod_info_builder";
+    static final String EVALUATE_OFFER = "offers.evaluate.offer";
+    static final String EVALUATE_STAGE = "offers.evaluate.stage";
+    static final String PASS = "pass";
+    static final String FAIL = "fail";
+
+    /**
+     * Timer names for each evaluation stage class, as {pass, fail}. Cached to avoid building names on every evaluation.
+     */
+    private static final Map<Class<?>, String[]> STAGE_TIMER_NAMES = new ConcurrentHashMap<>();
+
+    /**
+     * Records the time spent evaluating offers for a single step, from reading its tasks out of the state store until
+     * an offer is selected or all offers have been rejected.
+     */
+    public static void recordEvaluateStepDuration(long durationNanos) {
+        metrics.timer(EVALUATE_STEP).update(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records the time spent reading state and building the evaluation pipeline for a step, before any offers are
+     * evaluated.
+     */
+    public static void recordEvaluateSetupDuration(long durationNanos) {
+        metrics.timer(EVALUATE_SETUP).update(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records the time spent constructing the {@code PodInfoBuilder} for an offer.
+     */
+    public static void recordPodInfoBuilderDuration(long durationNanos) {
+        metrics.timer(EVALUATE_POD_INFO_BUILDER).update(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records the time spent running the full evaluation pipeline against an offer, split by whether the offer passed.
+     */
+    public static void recordEvaluateOfferDuration(boolean passed, long durationNanos) {
+        metrics.timer(MetricRegistry.name(EVALUATE_OFFER, passed ? PASS : FAIL))
+                .update(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records the time spent in a single evaluation stage, split by the stage's class and by whether the stage passed.
+     * For example, {@code offers.evaluate.stage.ResourceEvaluationStage.fail}.
+     */
+    public static void recordEvaluationStageDuration(Class<?> stageClass, boolean passed, long durationNanos) {
+        String[] names = STAGE_TIMER_NAMES.computeIfAbsent(stageClass, clazz -> {
+            String className = clazz.getSimpleName().isEmpty() ? clazz.getName() : clazz.getSimpleName();
+            return new String[] {
+                    MetricRegistry.name(EVALUATE_STAGE, className, PASS),
+                    MetricRegistry.name(EVALUATE_STAGE, className, FAIL)};
+        });
+        metrics.timer(passed ? names[0] : names[1]).update(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
     // Decline / Revive
     static final String REVIVES = "revives";
     static final String REVIVE_THROTTLES = "revives.throttles";
@@ -98,6 +160,34 @@ public class Metrics {
         metrics.counter(DECLINE_LONG).inc(amount);
     }
 
+    // TLS key pairs
+    static final String KEY_PAIR_POOL_DEPTH = "tls.key_pairs.pool_depth";
+    static final String KEY_PAIR_POOL_REFILLS = "tls.key_pairs.refills";
+    static final String KEY_PAIR_POOL_MISSES = "tls.key_pairs.misses";
+
+    /**
+     * Registers a gauge reporting the number of pre-generated key pairs available for TLS certificates, replacing any
+     * previously registered gauge.
+     */
+    public static void registerKeyPairPoolDepth(Gauge<Integer> depth) {
+        metrics.remove(KEY_PAIR_POOL_DEPTH);
+        metrics.register(KEY_PAIR_POOL_DEPTH, depth);
+    }
+
+    /**
+     * Records that a key pair was pre-generated for TLS certificates. The resulting meter reflects the refill rate.
+     */
+    public static void incrementKeyPairPoolRefills() {
+        metrics.meter(KEY_PAIR_POOL_REFILLS).mark();
+    }
+
+    /**
+     * Records that a key pair had to be generated on demand because no pre-generated key pair was available.
+     */
+    public static void incrementKeyPairPoolMisses() {
+        metrics.counter(KEY_PAIR_POOL_MISSES).inc();
+    }
+
     /**
      * This class records counter metrics for all Mesos Operations performed by the scheduler.
      */
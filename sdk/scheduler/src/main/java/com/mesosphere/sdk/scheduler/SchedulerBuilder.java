@@ -61,7 +61,9 @@ public class SchedulerBuilder {
                 serviceSpec,
                 schedulerConfig,
                 schedulerConfig.isStateCacheEnabled() ?
-                        new PersisterCache(CuratorPersister.newBuilder(serviceSpec).build()) :
+                        new PersisterCache(
+                                CuratorPersister.newBuilder(serviceSpec).build(),
+                                schedulerConfig.isStateCacheWatchEnabled()) :
                         CuratorPersister.newBuilder(serviceSpec).build());
     }
 
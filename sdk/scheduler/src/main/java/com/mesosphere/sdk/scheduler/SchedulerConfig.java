@@ -104,6 +104,33 @@ public class SchedulerConfig {
      */
     private static final String DISABLE_STATE_CACHE_ENV = "DISABLE_STATE_CACHE";
 
+    /**
+     * Controls whether the ZK write-through cache is kept current using a watch of the service's ZK data, rather than
+     * by re-reading all of the data on refresh (disabled by default). If this envvar is set (to anything at all), the
+     * watch is enabled. Has no effect if the cache is disabled.
+     */
+    private static final String ENABLE_STATE_CACHE_WATCH_ENV = "ENABLE_STATE_CACHE_WATCH";
+
+    /**
+     * Controls whether TaskStatus updates are queued and then group-committed to ZK in batches, rather than each being
+     * written as it's received (disabled by default). If this envvar is set (to anything at all), group commit is
+     * enabled. Statuses are then explicitly acknowledged to Mesos once they've been written.
+     */
+    private static final String ENABLE_STATUS_GROUP_COMMIT_ENV = "ENABLE_STATUS_GROUP_COMMIT";
+
+    /**
+     * The amount of time to wait for additional TaskStatus updates to include in a group commit batch.
+     */
+    private static final String STATUS_GROUP_COMMIT_LINGER_MS_ENV = "STATUS_GROUP_COMMIT_LINGER_MS";
+    private static final long DEFAULT_STATUS_GROUP_COMMIT_LINGER_MS = 2;
+
+    /**
+     * Controls whether dynamic ports are picked at random from the free ports in an offer, rather than always picking
+     * the lowest free port (disabled by default). If this envvar is set (to anything at all), randomization is enabled.
+     * This reduces the likelihood of colliding with ports which are in use on the agent outside of Mesos.
+     */
+    private static final String ENABLE_RANDOM_DYNAMIC_PORTS_ENV = "ENABLE_RANDOM_DYNAMIC_PORTS";
+
     /**
      * When a port named {@code api} is added to the Marathon app definition for the scheduler, marathon should create
      * an envvar with this name in the scheduler env. This is preferred over using e.g. the {@code PORT0} envvar which
@@ -157,6 +184,61 @@ public class SchedulerConfig {
      */
     private static final String ALLOW_REGION_AWARENESS_ENV = "ALLOW_REGION_AWARENESS";
 
+    /**
+     * Environment variable for the number of threads used to evaluate offers concurrently against a single pod
+     * requirement. Values of 1 or less result in offers being evaluated serially on the offer processing thread.
+     */
+    private static final String OFFER_EVALUATION_THREADS_ENV = "OFFER_EVALUATION_THREADS";
+    private static final int DEFAULT_OFFER_EVALUATION_THREADS = 1;
+
+    /**
+     * Environment variable for the number of threads used to evaluate independent plan steps concurrently within a
+     * single offer cycle. Values of 1 or less result in steps being evaluated serially on the offer processing thread.
+     */
+    private static final String STEP_EVALUATION_THREADS_ENV = "STEP_EVALUATION_THREADS";
+    private static final int DEFAULT_STEP_EVALUATION_THREADS = 1;
+
+    /**
+     * Environment variable for the number of threads used to provision TLS artifacts in the background, ahead of offer
+     * evaluation. Values of 0 or less result in artifacts being provisioned inline during offer evaluation.
+     */
+    private static final String TLS_PROVISIONING_THREADS_ENV = "TLS_PROVISIONING_THREADS";
+    private static final int DEFAULT_TLS_PROVISIONING_THREADS = 0;
+
+    /**
+     * Environment variables for the key pairs generated for TLS certificates: the key algorithm, the key size in bits
+     * (0 for the provider's default), and the number of key pairs to generate ahead of time in the background (0 to
+     * generate key pairs on demand).
+     */
+    private static final String TLS_KEY_PAIR_ALGORITHM_ENV = "TLS_KEY_PAIR_ALGORITHM";
+    private static final String DEFAULT_TLS_KEY_PAIR_ALGORITHM = "RSA";
+    private static final String TLS_KEY_PAIR_SIZE_ENV = "TLS_KEY_PAIR_SIZE";
+    private static final int DEFAULT_TLS_KEY_PAIR_SIZE = 0;
+    private static final String TLS_KEY_PAIR_POOL_SIZE_ENV = "TLS_KEY_PAIR_POOL_SIZE";
+    private static final int DEFAULT_TLS_KEY_PAIR_POOL_SIZE = 0;
+
+    /**
+     * Environment variable for the number of concurrent requests to issue against the secret store when writing TLS
+     * artifacts. Values of 1 or less result in requests being issued one at a time.
+     */
+    private static final String SECRETS_CLIENT_THREADS_ENV = "SECRETS_CLIENT_THREADS";
+    private static final int DEFAULT_SECRETS_CLIENT_THREADS = 1;
+
+    /**
+     * Environment variable for how long listings of secret store namespaces may be cached, in milliseconds. Values of
+     * 0 or less disable the cache. This is also how long TLS artifacts which were provisioned in the background are
+     * assumed to be present before they're checked again.
+     */
+    private static final String SECRETS_LIST_CACHE_TTL_MS_ENV = "SECRETS_LIST_CACHE_TTL_MS";
+    private static final int DEFAULT_SECRETS_LIST_CACHE_TTL_MS = 0;
+
+    /**
+     * Environment variable for the number of threads used by each custom executor, which is passed to the executor as
+     * {@code EXECUTOR_THREADS}. Values of 0 or less result in executors using a thread per launched task and check.
+     */
+    private static final String CUSTOM_EXECUTOR_THREADS_ENV = "CUSTOM_EXECUTOR_THREADS";
+    private static final int DEFAULT_CUSTOM_EXECUTOR_THREADS = 0;
+
     /**
      * Returns a new {@link SchedulerConfig} instance which is based off the process environment.
      */
@@ -234,6 +316,25 @@ public class SchedulerConfig {
         return !envStore.isPresent(DISABLE_STATE_CACHE_ENV);
     }
 
+    public boolean isStateCacheWatchEnabled() {
+        return envStore.isPresent(ENABLE_STATE_CACHE_WATCH_ENV);
+    }
+
+    public boolean isStatusGroupCommitEnabled() {
+        return envStore.isPresent(ENABLE_STATUS_GROUP_COMMIT_ENV);
+    }
+
+    /**
+     * Returns the amount of time to wait for additional TaskStatus updates to include in a group commit batch.
+     */
+    public long getStatusGroupCommitLingerMs() {
+        return envStore.getOptionalLong(STATUS_GROUP_COMMIT_LINGER_MS_ENV, DEFAULT_STATUS_GROUP_COMMIT_LINGER_MS);
+    }
+
+    public boolean isRandomDynamicPortsEnabled() {
+        return envStore.isPresent(ENABLE_RANDOM_DYNAMIC_PORTS_ENV);
+    }
+
     public boolean isUninstallEnabled() {
         return envStore.isPresent(SDK_UNINSTALL);
     }
@@ -337,6 +438,75 @@ public class SchedulerConfig {
         return envStore.getOptional(PAUSE_OVERRIDE_CMD_ENV, GoalStateOverride.PAUSE_COMMAND);
     }
 
+    /**
+     * Returns the number of threads to use for concurrent offer evaluation, or 1 if offers should be evaluated
+     * serially.
+     */
+    public int getOfferEvaluationThreads() {
+        return envStore.getOptionalInt(OFFER_EVALUATION_THREADS_ENV, DEFAULT_OFFER_EVALUATION_THREADS);
+    }
+
+    /**
+     * Returns the number of threads to use for evaluating independent plan steps concurrently, or 1 if steps should be
+     * evaluated serially.
+     */
+    public int getStepEvaluationThreads() {
+        return envStore.getOptionalInt(STEP_EVALUATION_THREADS_ENV, DEFAULT_STEP_EVALUATION_THREADS);
+    }
+
+    /**
+     * Returns the number of threads to use for provisioning TLS artifacts in the background, or 0 if artifacts should
+     * be provisioned inline during offer evaluation.
+     */
+    public int getTLSProvisioningThreads() {
+        return Math.max(0, envStore.getOptionalInt(TLS_PROVISIONING_THREADS_ENV, DEFAULT_TLS_PROVISIONING_THREADS));
+    }
+
+    /**
+     * Returns the algorithm of the key pairs generated for TLS certificates.
+     */
+    public String getTLSKeyPairAlgorithm() {
+        return envStore.getOptional(TLS_KEY_PAIR_ALGORITHM_ENV, DEFAULT_TLS_KEY_PAIR_ALGORITHM);
+    }
+
+    /**
+     * Returns the size in bits of the key pairs generated for TLS certificates, or 0 to use the provider's default.
+     */
+    public int getTLSKeyPairSize() {
+        return Math.max(0, envStore.getOptionalInt(TLS_KEY_PAIR_SIZE_ENV, DEFAULT_TLS_KEY_PAIR_SIZE));
+    }
+
+    /**
+     * Returns the number of key pairs to generate ahead of time for TLS certificates, or 0 if key pairs should be
+     * generated on demand.
+     */
+    public int getTLSKeyPairPoolSize() {
+        return Math.max(0, envStore.getOptionalInt(TLS_KEY_PAIR_POOL_SIZE_ENV, DEFAULT_TLS_KEY_PAIR_POOL_SIZE));
+    }
+
+    /**
+     * Returns the number of concurrent requests to issue against the secret store when writing TLS artifacts.
+     */
+    public int getSecretsClientThreads() {
+        return Math.max(1, envStore.getOptionalInt(SECRETS_CLIENT_THREADS_ENV, DEFAULT_SECRETS_CLIENT_THREADS));
+    }
+
+    /**
+     * Returns the number of threads to be used by each custom executor, or 0 if executors should use a thread per
+     * launched task and check.
+     */
+    public int getCustomExecutorThreads() {
+        return Math.max(0, envStore.getOptionalInt(CUSTOM_EXECUTOR_THREADS_ENV, DEFAULT_CUSTOM_EXECUTOR_THREADS));
+    }
+
+    /**
+     * Returns how long listings of secret store namespaces may be cached, or a zero duration if they shouldn't be.
+     */
+    public Duration getSecretsListCacheTtl() {
+        return Duration.ofMillis(
+                Math.max(0, envStore.getOptionalInt(SECRETS_LIST_CACHE_TTL_MS_ENV, DEFAULT_SECRETS_LIST_CACHE_TTL_MS)));
+    }
+
     public boolean isregionAwarenessEnabled() {
         return Boolean.valueOf(envStore.getOptional(ALLOW_REGION_AWARENESS_ENV, "false"));
     }
@@ -86,7 +86,15 @@ public class SchedulerDriverFactory {
                     scheduler, TextFormat.shortDebugString(frameworkInfo), masterUrl);
             credential = null;
         }
-        return createInternal(scheduler, frameworkInfo, masterUrl, credential, schedulerConfig.getMesosApiVersion());
+        // When status group commit is enabled, statuses are acknowledged only once they've been stored, see
+        // AbstractScheduler. Otherwise the driver acknowledges each status once the scheduler callback returns.
+        return createInternal(
+                scheduler,
+                frameworkInfo,
+                masterUrl,
+                credential,
+                schedulerConfig.getMesosApiVersion(),
+                !schedulerConfig.isStatusGroupCommitEnabled());
     }
 
     /**
@@ -97,10 +105,12 @@ public class SchedulerDriverFactory {
             final FrameworkInfo frameworkInfo,
             final String masterUrl,
             final Credential credential,
-            final String mesosAPIVersion) {
+            final String mesosAPIVersion,
+            final boolean implicitAcknowledgements) {
         Capabilities capabilities = Capabilities.getInstance();
         if (credential != null) {
-            return new MesosToSchedulerDriverAdapter(scheduler, frameworkInfo, masterUrl, true, credential) {
+            return new MesosToSchedulerDriverAdapter(
+                    scheduler, frameworkInfo, masterUrl, implicitAcknowledgements, credential) {
                 @Override
                 protected Mesos startInternal() {
                     if (capabilities.supportsV1APIByDefault()) {
@@ -122,7 +132,7 @@ public class SchedulerDriverFactory {
 
         // Love too work around the fact that the MesosToSchedulerDriverAdapter both depends directly on the
         // process environment *and* uses two unrelated constructors for the case of credential being null
-        return new MesosToSchedulerDriverAdapter(scheduler, frameworkInfo, masterUrl, true) {
+        return new MesosToSchedulerDriverAdapter(scheduler, frameworkInfo, masterUrl, implicitAcknowledgements) {
             @Override
             protected Mesos startInternal() {
                 if (capabilities.supportsV1APIByDefault()) {
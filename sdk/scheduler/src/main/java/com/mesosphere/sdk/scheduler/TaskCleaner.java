@@ -3,10 +3,8 @@ package com.mesosphere.sdk.scheduler;
 import com.mesosphere.sdk.state.StateStore;
 import org.apache.mesos.Protos;
 
-import java.util.Collection;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.stream.Collectors;
 
 /**
  * This class kills unexpected Tasks which are not in a terminal state.  This scenario could be encountered if a Task
@@ -42,11 +40,7 @@ public class TaskCleaner {
             return;
         }
 
-        Collection<Protos.TaskID> expectedTaskIds = stateStore.fetchTasks().stream()
-                .map(taskInfo -> taskInfo.getTaskId())
-                .collect(Collectors.toList());
-
-        if (!expectedTaskIds.contains(taskStatus.getTaskId())) {
+        if (stateStore.fetchTaskNamesByTaskId(taskStatus.getTaskId()).isEmpty()) {
             taskKiller.killTask(taskStatus.getTaskId());
         }
     }
@@ -5,8 +5,10 @@ import org.apache.commons.lang3.builder.ReflectionToStringBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Collection;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Provides a default implementation of commonly-used {@link Step} logic.
@@ -25,6 +27,11 @@ public abstract class AbstractStep implements Step {
     private Status status;
     private boolean interrupted;
 
+    /**
+     * The status caches of the phases containing this step, which are invalidated when this step's status changes.
+     */
+    private final Collection<StatusCache> statusCaches = new CopyOnWriteArrayList<>();
+
     protected AbstractStep(String name, Status status) {
         this.name = name;
         this.status = status;
@@ -65,20 +72,19 @@ public abstract class AbstractStep implements Step {
             logger.info("{}: changed status from: {} to: {} (interrupted={})",
                     getName(), oldStatus, newStatus, interrupted);
         }
+        if (oldStatus != newStatus) {
+            invalidateStatusCaches();
+        }
     }
 
     @Override
     public void interrupt() {
-        synchronized (statusLock) {
-            interrupted = true;
-        }
+        setInterrupted(true);
     }
 
     @Override
     public void proceed() {
-        synchronized (statusLock) {
-            interrupted = false;
-        }
+        setInterrupted(false);
     }
 
     @Override
@@ -88,6 +94,34 @@ public abstract class AbstractStep implements Step {
         }
     }
 
+    /**
+     * Invalidates the cached status of the phases and plans containing this step. Subclasses should call this when
+     * any other input to {@link #getStatus()} changes.
+     */
+    protected void invalidateStatusCaches() {
+        for (StatusCache statusCache : statusCaches) {
+            statusCache.invalidate();
+        }
+    }
+
+    /**
+     * Registers the status cache of a phase containing this step, to be invalidated when this step's status changes.
+     */
+    void addStatusCache(StatusCache statusCache) {
+        statusCaches.add(statusCache);
+    }
+
+    private void setInterrupted(boolean newInterrupted) {
+        boolean oldInterrupted;
+        synchronized (statusLock) {
+            oldInterrupted = interrupted;
+            interrupted = newInterrupted;
+        }
+        if (oldInterrupted != newInterrupted) {
+            invalidateStatusCaches();
+        }
+    }
+
     @Override
     public void restart() {
         logger.warn("Restarting step: '{} [{}]'", getName(), getId());
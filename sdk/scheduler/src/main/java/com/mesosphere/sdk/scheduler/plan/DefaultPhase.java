@@ -20,12 +20,14 @@ public class DefaultPhase implements Phase {
     private final Strategy<Step> strategy;
     private final List<String> errors;
     private final List<Step> steps;
+    private final StatusCache statusCache;
 
     public DefaultPhase(String name, List<Step> steps, Strategy<Step> strategy, List<String> errors) {
         this.name = name;
         this.steps = steps;
         this.strategy = strategy;
         this.errors = errors;
+        this.statusCache = StatusCache.create(steps, strategy);
     }
 
     @Override
@@ -53,6 +55,31 @@ public class DefaultPhase implements Phase {
         return steps;
     }
 
+    /**
+     * Returns the status of this phase, which is only recomputed when a step or strategy has changed since the last
+     * call.
+     */
+    @Override
+    public Status getStatus() {
+        return statusCache.get(() -> Phase.super.getStatus());
+    }
+
+    /**
+     * Returns whether the status of this phase is cached, in which case it invalidates the cached status of any plan
+     * containing it when it changes.
+     */
+    boolean isStatusCached() {
+        return statusCache.isEnabled();
+    }
+
+    /**
+     * Returns the status cache of this phase, whose version is included in the cached status of any plan containing
+     * it.
+     */
+    StatusCache getStatusCache() {
+        return statusCache;
+    }
+
     @Override
     public String toString() {
         return ReflectionToStringBuilder.toString(this);
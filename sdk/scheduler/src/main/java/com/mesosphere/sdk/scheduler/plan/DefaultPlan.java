@@ -24,6 +24,7 @@ public class DefaultPlan implements Plan {
     private final List<Phase> phases;
     private final List<String> errors;
     private final String name;
+    private final StatusCache statusCache;
 
     public DefaultPlan(
             final String name,
@@ -34,6 +35,7 @@ public class DefaultPlan implements Plan {
         this.strategy = strategy;
         this.phases = phases;
         this.errors = errors;
+        this.statusCache = StatusCache.create(phases, strategy);
     }
 
     public DefaultPlan(String name, List<Phase> phases) {
@@ -49,6 +51,15 @@ public class DefaultPlan implements Plan {
         return phases;
     }
 
+    /**
+     * Returns the status of this plan, which is only recomputed when a step or strategy has changed since the last
+     * call.
+     */
+    @Override
+    public Status getStatus() {
+        return statusCache.get(() -> Plan.super.getStatus());
+    }
+
     @Override
     public Strategy<Phase> getStrategy() {
         return strategy;
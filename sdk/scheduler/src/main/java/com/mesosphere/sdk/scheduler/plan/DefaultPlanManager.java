@@ -1,16 +1,38 @@
 package com.mesosphere.sdk.scheduler.plan;
 
+import com.google.protobuf.TextFormat;
+import com.mesosphere.sdk.offer.CommonIdUtils;
+import com.mesosphere.sdk.offer.TaskException;
+import com.mesosphere.sdk.offer.TaskUtils;
 import org.apache.mesos.Protos;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.*;
 
 /**
  * Provides the default implementation of a {@link PlanManager}.
  * Encapsulates the plan and a strategy for executing that plan.
+ *
+ * TaskStatus updates are routed directly to the {@link DeploymentStep}s which own the task, rather than being passed
+ * to every step in the plan. Steps of other types may act on any TaskStatus, so they continue to receive every update.
  */
 public class DefaultPlanManager implements PlanManager {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DefaultPlanManager.class);
+
     private final Plan plan;
 
+    /**
+     * Index of task name to the {@link DeploymentStep}s for that task, or an empty Optional if the plan has a custom
+     * structure which must be updated via {@link Plan#update(Protos.TaskStatus)}.
+     */
+    private final Optional<Map<String, List<Step>>> deploymentStepsByTaskName;
+
+    /**
+     * Steps which may act on any TaskStatus, and which are therefore passed every update.
+     */
+    private final List<Step> otherSteps = new ArrayList<>();
+
     /**
      * Creates a new plan manager for the provided {@link Plan}, which will not be set to an interrupted state.
      */
@@ -28,6 +50,7 @@ public class DefaultPlanManager implements PlanManager {
 
     private DefaultPlanManager(final Plan plan) {
         this.plan = plan;
+        this.deploymentStepsByTaskName = indexSteps(plan, otherSteps);
     }
 
     @Override
@@ -42,11 +65,65 @@ public class DefaultPlanManager implements PlanManager {
 
     @Override
     public void update(Protos.TaskStatus status) {
-        plan.update(status);
+        if (!deploymentStepsByTaskName.isPresent()) {
+            plan.update(status);
+            return;
+        }
+
+        String taskName;
+        try {
+            taskName = CommonIdUtils.toTaskName(status.getTaskId());
+        } catch (TaskException e) {
+            LOGGER.warn(String.format("Unable to extract task name from TaskStatus, passing to all steps in plan %s: %s",
+                    plan.getName(), TextFormat.shortDebugString(status)), e);
+            plan.update(status);
+            return;
+        }
+
+        LOGGER.debug("Updating plan {} with TaskStatus: {}", plan.getName(), TextFormat.shortDebugString(status));
+        for (Step step : deploymentStepsByTaskName.get().getOrDefault(taskName, Collections.emptyList())) {
+            step.update(status);
+        }
+        for (Step step : otherSteps) {
+            step.update(status);
+        }
     }
 
     @Override
     public Set<PodInstanceRequirement> getDirtyAssets() {
         return PlanUtils.getDirtyAssets(plan);
     }
+
+    /**
+     * Returns an index of task name to the {@link DeploymentStep}s which launch that task, adding any other steps to
+     * the provided list. {@link DeploymentStep}s ignore TaskStatuses for tasks other than those which they have
+     * launched, so they only need to receive updates for their own pod's tasks.
+     *
+     * Returns an empty Optional if the plan or its phases are custom implementations, which may handle TaskStatuses
+     * in their own way. The structure of {@link DefaultPlan}s and {@link DefaultPhase}s is fixed at construction, so
+     * the index remains valid for the life of the plan.
+     */
+    private static Optional<Map<String, List<Step>>> indexSteps(Plan plan, List<Step> otherSteps) {
+        if (!(plan instanceof DefaultPlan)
+                || !plan.getChildren().stream().allMatch(phase -> phase instanceof DefaultPhase)) {
+            LOGGER.info("Plan {} has a custom structure, TaskStatuses will be passed to all of its elements",
+                    plan.getName());
+            return Optional.empty();
+        }
+
+        Map<String, List<Step>> stepsByTaskName = new HashMap<>();
+        for (Phase phase : plan.getChildren()) {
+            for (Step step : phase.getChildren()) {
+                Optional<PodInstanceRequirement> podInstanceRequirement = step.getPodInstanceRequirement();
+                if (!(step instanceof DeploymentStep) || !podInstanceRequirement.isPresent()) {
+                    otherSteps.add(step);
+                    continue;
+                }
+                for (String taskName : TaskUtils.getTaskNames(podInstanceRequirement.get().getPodInstance())) {
+                    stepsByTaskName.computeIfAbsent(taskName, name -> new ArrayList<>()).add(step);
+                }
+            }
+        }
+        return Optional.of(stepsByTaskName);
+    }
 }
@@ -1,5 +1,6 @@
 package com.mesosphere.sdk.scheduler.plan;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.mesosphere.sdk.offer.*;
 import com.mesosphere.sdk.offer.evaluate.OfferEvaluator;
 import com.mesosphere.sdk.scheduler.TaskKiller;
@@ -16,6 +17,10 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 /**
@@ -29,16 +34,61 @@ public class DefaultPlanScheduler implements PlanScheduler {
     private final OfferEvaluator offerEvaluator;
     private final StateStore stateStore;
     private final TaskKiller taskKiller;
+    private final Optional<ExecutorService> stepEvaluationExecutor;
+
+    /**
+     * A step which has been started and returned a {@link PodInstanceRequirement} to be evaluated against offers.
+     */
+    private static class StartedStep {
+        private final Step step;
+        private final PodInstanceRequirement podInstanceRequirement;
+
+        private StartedStep(Step step, PodInstanceRequirement podInstanceRequirement) {
+            this.step = step;
+            this.podInstanceRequirement = podInstanceRequirement;
+        }
+    }
 
     public DefaultPlanScheduler(
             OfferAccepter offerAccepter,
             OfferEvaluator offerEvaluator,
             StateStore stateStore,
             TaskKiller taskKiller) {
+        this(offerAccepter, offerEvaluator, stateStore, taskKiller, 1);
+    }
+
+    /**
+     * Creates a new instance which evaluates independent steps concurrently using up to the provided number of threads.
+     * If {@code stepEvaluationThreads} is 1 or less, steps are evaluated serially.
+     */
+    public DefaultPlanScheduler(
+            OfferAccepter offerAccepter,
+            OfferEvaluator offerEvaluator,
+            StateStore stateStore,
+            TaskKiller taskKiller,
+            int stepEvaluationThreads) {
         this.offerAccepter = offerAccepter;
         this.offerEvaluator = offerEvaluator;
         this.stateStore = stateStore;
         this.taskKiller = taskKiller;
+        if (stepEvaluationThreads > 1) {
+            logger.info("Evaluating independent steps concurrently with {} threads", stepEvaluationThreads);
+            this.stepEvaluationExecutor = Optional.of(Executors.newFixedThreadPool(
+                    stepEvaluationThreads,
+                    new ThreadFactoryBuilder().setNameFormat("step-evaluator-%d").setDaemon(true).build()));
+        } else {
+            this.stepEvaluationExecutor = Optional.empty();
+        }
+    }
+
+    /**
+     * Stops the threads used to evaluate steps concurrently, if any. This should only be called once offers are no
+     * longer being processed.
+     */
+    public void close() {
+        if (stepEvaluationExecutor.isPresent()) {
+            stepEvaluationExecutor.get().shutdown();
+        }
     }
 
     @Override
@@ -52,15 +102,25 @@ public class DefaultPlanScheduler implements PlanScheduler {
             return Collections.emptyList();
         }
 
-        List<OfferID> acceptedOfferIds = new ArrayList<>();
-        List<Offer> availableOffers = new ArrayList<>(offers);
+        // Index each offer's resources once for all of the steps which are evaluated against it in this cycle.
+        offerEvaluator.startOfferCycle();
+        try {
+            if (stepEvaluationExecutor.isPresent() && steps.size() > 1) {
+                return resourceOffersConcurrently(driver, offers, steps);
+            }
 
-        for (Step step : steps) {
-            acceptedOfferIds.addAll(resourceOffers(driver, availableOffers, step));
-            availableOffers = PlanUtils.filterAcceptedOffers(availableOffers, acceptedOfferIds);
-        }
+            List<OfferID> acceptedOfferIds = new ArrayList<>();
+            List<Offer> availableOffers = new ArrayList<>(offers);
 
-        return acceptedOfferIds;
+            for (Step step : steps) {
+                acceptedOfferIds.addAll(resourceOffers(driver, availableOffers, step));
+                availableOffers = PlanUtils.filterAcceptedOffers(availableOffers, acceptedOfferIds);
+            }
+
+            return acceptedOfferIds;
+        } finally {
+            offerEvaluator.endOfferCycle();
+        }
     }
 
     private Collection<OfferID> resourceOffers(SchedulerDriver driver, List<Offer> offers, Step step) {
@@ -70,14 +130,130 @@ public class DefaultPlanScheduler implements PlanScheduler {
             return Collections.emptyList();
         }
 
+        Optional<StartedStep> startedStep = startStep(step);
+        if (!startedStep.isPresent()) {
+            return Collections.emptyList();
+        }
+
+        return acceptRecommendations(driver, startedStep.get(), evaluate(startedStep.get(), offers));
+    }
+
+    /**
+     * Evaluates steps in two passes:
+     * <ol>
+     * <li>Steps whose requirements don't conflict with each other, and which don't have placement rules, are each
+     * assigned a disjoint subset of the offers (partitioned by agent) and are evaluated concurrently. The resulting
+     * recommendations are then accepted in step order.</li>
+     * <li>Any remaining steps, including those which didn't find a match within their subset of the offers, are
+     * evaluated serially against the offers which remain unaccepted, as in the default serial mode.</li>
+     * </ol>
+     * Partitioning by agent ensures that concurrently evaluated steps never reserve the same resources. Steps with
+     * placement rules are kept serial, since their evaluation depends on where previous steps have been placed.
+     */
+    private Collection<OfferID> resourceOffersConcurrently(
+            SchedulerDriver driver, List<Offer> offers, Collection<? extends Step> steps) {
+        List<StartedStep> concurrentSteps = new ArrayList<>();
+        List<StartedStep> serialSteps = new ArrayList<>();
+        for (Step step : steps) {
+            Optional<StartedStep> startedStep = startStep(step);
+            if (!startedStep.isPresent()) {
+                continue;
+            }
+            PodInstanceRequirement podInstanceRequirement = startedStep.get().podInstanceRequirement;
+            boolean conflicts = concurrentSteps.stream().anyMatch(s ->
+                    s.podInstanceRequirement.conflictsWith(podInstanceRequirement)
+                    || podInstanceRequirement.conflictsWith(s.podInstanceRequirement));
+            if (conflicts || podInstanceRequirement.getPodInstance().getPod().getPlacementRule().isPresent()) {
+                serialSteps.add(startedStep.get());
+            } else {
+                concurrentSteps.add(startedStep.get());
+            }
+        }
+
+        List<List<Offer>> offerPartitions = partitionOffersByAgent(offers, concurrentSteps.size());
+        List<Future<List<OfferRecommendation>>> futures = new ArrayList<>();
+        for (int i = 0; i < concurrentSteps.size(); ++i) {
+            final StartedStep startedStep = concurrentSteps.get(i);
+            final List<Offer> offerPartition = offerPartitions.get(i);
+            futures.add(stepEvaluationExecutor.get().submit(() -> evaluate(startedStep, offerPartition)));
+        }
+
+        List<OfferID> acceptedOfferIds = new ArrayList<>();
+        List<StartedStep> unmatchedSteps = new ArrayList<>();
+        for (int i = 0; i < concurrentSteps.size(); ++i) {
+            List<OfferRecommendation> recommendations = getRecommendations(futures.get(i));
+            if (recommendations.isEmpty()) {
+                unmatchedSteps.add(concurrentSteps.get(i));
+            } else {
+                acceptedOfferIds.addAll(acceptRecommendations(driver, concurrentSteps.get(i), recommendations));
+            }
+        }
+        logger.info("Concurrently evaluated {} steps across {} offers: {} steps unmatched, {} steps serial",
+                concurrentSteps.size(), offers.size(), unmatchedSteps.size(), serialSteps.size());
+
+        // Retry any unmatched steps against all remaining offers, then handle the steps which must be serial:
+        List<Offer> availableOffers = PlanUtils.filterAcceptedOffers(offers, acceptedOfferIds);
+        List<StartedStep> remainingSteps = new ArrayList<>(unmatchedSteps);
+        remainingSteps.addAll(serialSteps);
+        for (StartedStep startedStep : remainingSteps) {
+            acceptedOfferIds.addAll(
+                    acceptRecommendations(driver, startedStep, evaluate(startedStep, availableOffers)));
+            availableOffers = PlanUtils.filterAcceptedOffers(availableOffers, acceptedOfferIds);
+        }
+
+        return acceptedOfferIds;
+    }
+
+    /**
+     * Splits the provided offers into the requested number of partitions, such that all offers from a given agent are
+     * in the same partition. Agents are assigned to partitions in round-robin order of their first offer.
+     */
+    private static List<List<Offer>> partitionOffersByAgent(List<Offer> offers, int partitionCount) {
+        List<List<Offer>> partitions = new ArrayList<>();
+        for (int i = 0; i < partitionCount; ++i) {
+            partitions.add(new ArrayList<>());
+        }
+        if (partitionCount == 0) {
+            return partitions;
+        }
+        Map<String, Integer> agentPartitions = new HashMap<>();
+        for (Offer offer : offers) {
+            Integer partition = agentPartitions.get(offer.getSlaveId().getValue());
+            if (partition == null) {
+                partition = agentPartitions.size() % partitionCount;
+                agentPartitions.put(offer.getSlaveId().getValue(), partition);
+            }
+            partitions.get(partition).add(offer);
+        }
+        return partitions;
+    }
+
+    private static List<OfferRecommendation> getRecommendations(Future<List<OfferRecommendation>> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.error("Interrupted while waiting for step evaluation", e);
+        } catch (ExecutionException e) {
+            logger.error("Failed to evaluate step", e.getCause());
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * Starts the provided step if it's eligible for offers, returning the resulting requirement, or an empty
+     * {@link Optional} if the step doesn't need to be evaluated against offers in this cycle. Any tasks which would be
+     * replaced by the requirement are killed.
+     */
+    private Optional<StartedStep> startStep(Step step) {
         if (step == null) {
             logger.info("Ignoring resource offers for null step.");
-            return Collections.emptyList();
+            return Optional.empty();
         }
 
         if (!(step.isPending() || step.isPrepared())) {
             logger.info("Ignoring resource offers for step: {} status: {}", step.getName(), step.getStatus());
-            return Collections.emptyList();
+            return Optional.empty();
         }
 
         logger.info("Processing resource offers for step: {}", step.getName());
@@ -85,7 +261,7 @@ public class DefaultPlanScheduler implements PlanScheduler {
         if (!podInstanceRequirementOptional.isPresent()) {
             logger.info("No PodInstanceRequirement for step: {}", step.getName());
             step.updateOfferStatus(Collections.emptyList());
-            return Collections.emptyList();
+            return Optional.empty();
         }
 
         PodInstanceRequirement podInstanceRequirement = podInstanceRequirementOptional.get();
@@ -93,22 +269,38 @@ public class DefaultPlanScheduler implements PlanScheduler {
         // with a Task name which is equivalent to that expressed by the OfferRequirement.  If no such Task is currently
         // running no operation occurs.
         killTasks(podInstanceRequirement);
+        // Start provisioning any TLS artifacts in the background (if enabled) before they are checked by evaluation.
+        offerEvaluator.provisionTLSArtifacts(podInstanceRequirement);
 
+        return Optional.of(new StartedStep(step, podInstanceRequirement));
+    }
+
+    /**
+     * Returns the recommendations for launching the step's requirement against the provided offers, or an empty list
+     * if no suitable offer was found.
+     */
+    private List<OfferRecommendation> evaluate(StartedStep startedStep, List<Offer> offers) {
         // Step has returned an OfferRequirement to process. Find offers which match the
         // requirement and accept them, if any are found:
-        List<OfferRecommendation> recommendations = null;
         try {
-            recommendations = offerEvaluator.evaluate(podInstanceRequirement, offers);
+            return offerEvaluator.evaluate(startedStep.podInstanceRequirement, offers);
         } catch (InvalidRequirementException | IOException e) {
             logger.error("Failed generate OfferRecommendations.", e);
             return Collections.emptyList();
         }
+    }
 
+    /**
+     * Accepts the provided recommendations and notifies the step of the outcome, returning the accepted offer IDs.
+     */
+    private Collection<OfferID> acceptRecommendations(
+            SchedulerDriver driver, StartedStep startedStep, List<OfferRecommendation> recommendations) {
+        Step step = startedStep.step;
         if (recommendations.isEmpty()) {
             // Log that we're not finding suitable offers, possibly due to insufficient resources.
             logger.warn(
                     "Unable to find any offers which fulfill requirement provided by step {}: {}",
-                    step.getName(), podInstanceRequirement);
+                    step.getName(), startedStep.podInstanceRequirement);
             step.updateOfferStatus(Collections.emptyList());
             return Collections.emptyList();
         }
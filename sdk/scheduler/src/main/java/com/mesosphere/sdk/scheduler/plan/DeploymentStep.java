@@ -47,6 +47,7 @@ public class DeploymentStep extends AbstractStep {
      */
     public DeploymentStep addError(String error) {
         this.errors.add(error);
+        invalidateStatusCaches();
         updateStatus();
         return this;
     }
@@ -147,6 +148,9 @@ public class DeploymentStep extends AbstractStep {
 
     /**
      * Synchronized to ensure consistency between this and {@link #updateOfferStatus(Collection)}.
+     *
+     * Only statuses for tasks launched by this step are consumed. {@link DefaultPlanManager} relies on this to only
+     * route statuses for this step's pod instance to this step.
      */
     @Override
     public synchronized void update(Protos.TaskStatus status) {
@@ -0,0 +1,137 @@
+package com.mesosphere.sdk.scheduler.plan;
+
+import com.mesosphere.sdk.scheduler.plan.strategy.CanaryStrategy;
+import com.mesosphere.sdk.scheduler.plan.strategy.InterruptibleStrategy;
+import com.mesosphere.sdk.scheduler.plan.strategy.Strategy;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Caches the aggregate {@link Status} of a {@link ParentElement}, so that repeated status queries against an unchanged
+ * plan don't walk the entire plan tree and rerun its strategies.
+ *
+ * Each cache has its own version, which is bumped by {@link #invalidate()} whenever one of its child
+ * {@link AbstractStep}s changes its status or interrupted state. A cache whose children are {@link DefaultPhase}s
+ * instead sums the versions of the phases' caches, so a step change only invalidates the phase and plan containing
+ * it. Changes to an {@link InterruptibleStrategy}'s interrupted state or dependencies invalidate every cache via
+ * {@link #invalidateAll()}, as a strategy doesn't know which parent it belongs to.
+ *
+ * Caching is only enabled for parents whose children and strategy are known to invalidate the cache when they change.
+ * Parents with any other children, such as custom {@link Step} implementations, compute their status on every call.
+ */
+public final class StatusCache {
+
+    private static final AtomicLong GLOBAL_VERSION = new AtomicLong();
+
+    private final boolean enabled;
+    private final AtomicLong version = new AtomicLong();
+    private final List<StatusCache> childCaches;
+    private volatile CachedStatus cachedStatus;
+
+    /**
+     * Invalidates the cached status of all parent elements.
+     */
+    public static void invalidateAll() {
+        GLOBAL_VERSION.incrementAndGet();
+    }
+
+    /**
+     * Creates a new cache for a parent element with the provided children and strategy.
+     */
+    static <C extends Element> StatusCache create(Collection<C> children, Strategy<C> strategy) {
+        boolean enabled = children != null
+                && (strategy instanceof InterruptibleStrategy || strategy instanceof CanaryStrategy)
+                && children.stream().allMatch(StatusCache::invalidatesOnChange);
+        if (!enabled) {
+            return new StatusCache(false, Collections.emptyList());
+        }
+
+        List<StatusCache> childCaches = new ArrayList<>();
+        for (C child : children) {
+            if (child instanceof DefaultPhase) {
+                childCaches.add(((DefaultPhase) child).getStatusCache());
+            }
+        }
+        StatusCache cache = new StatusCache(true, childCaches);
+        for (C child : children) {
+            if (child instanceof AbstractStep) {
+                ((AbstractStep) child).addStatusCache(cache);
+            }
+        }
+        return cache;
+    }
+
+    private StatusCache(boolean enabled, List<StatusCache> childCaches) {
+        this.enabled = enabled;
+        this.childCaches = childCaches;
+    }
+
+    /**
+     * Invalidates the cached status of this parent element, and of any parent element containing it.
+     */
+    void invalidate() {
+        version.incrementAndGet();
+    }
+
+    /**
+     * Returns the cached status, or computes and caches the status using the provided function if the cache has been
+     * invalidated since the status was last computed.
+     */
+    Status get(Supplier<Status> computeStatus) {
+        if (!enabled) {
+            return computeStatus.get();
+        }
+        // Read the version before computing, so that changes made during the computation aren't missed.
+        long version = GLOBAL_VERSION.get() + getVersion();
+        CachedStatus cached = cachedStatus;
+        if (cached != null && cached.version == version) {
+            return cached.status;
+        }
+        Status status = computeStatus.get();
+        cachedStatus = new CachedStatus(version, status);
+        return status;
+    }
+
+    /**
+     * Returns whether this cache is in use, or whether status is computed on every call.
+     */
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the local version of this cache. As versions only ever increase, the sum changes whenever any of the
+     * summed versions changes.
+     */
+    private long getVersion() {
+        long sum = version.get();
+        for (StatusCache childCache : childCaches) {
+            sum += childCache.getVersion();
+        }
+        return sum;
+    }
+
+    private static boolean invalidatesOnChange(Element child) {
+        if (child instanceof AbstractStep) {
+            return true;
+        } else if (child instanceof DefaultPhase) {
+            return ((DefaultPhase) child).isStatusCached();
+        }
+        return false;
+    }
+
+    private static class CachedStatus {
+        private final long version;
+        private final Status status;
+
+        private CachedStatus(long version, Status status) {
+            this.version = version;
+            this.status = status;
+        }
+    }
+}
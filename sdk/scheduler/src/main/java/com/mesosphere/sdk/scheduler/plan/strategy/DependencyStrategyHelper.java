@@ -2,6 +2,7 @@ package com.mesosphere.sdk.scheduler.plan.strategy;
 
 import com.mesosphere.sdk.scheduler.plan.Element;
 import com.mesosphere.sdk.scheduler.plan.PodInstanceRequirement;
+import com.mesosphere.sdk.scheduler.plan.StatusCache;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -33,6 +34,7 @@ public class DependencyStrategyHelper<C extends Element> {
         }
 
         dependencies.put(element, new HashSet<>());
+        StatusCache.invalidateAll();
     }
 
     public void addDependency(C child, C parent) {
@@ -47,6 +49,7 @@ public class DependencyStrategyHelper<C extends Element> {
 
         deps.add(parent);
         dependencies.put(child, deps);
+        StatusCache.invalidateAll();
     }
 
     public Collection<C> getCandidates(boolean isInterrupted, Collection<PodInstanceRequirement> dirtyAssets) {
@@ -1,6 +1,7 @@
 package com.mesosphere.sdk.scheduler.plan.strategy;
 
 import com.mesosphere.sdk.scheduler.plan.Element;
+import com.mesosphere.sdk.scheduler.plan.StatusCache;
 
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -16,11 +17,13 @@ public abstract class InterruptibleStrategy<C extends Element> implements Strate
     @Override
     public void interrupt() {
         interrupted.set(true);
+        StatusCache.invalidateAll();
     }
 
     @Override
     public void proceed() {
         interrupted.set(false);
+        StatusCache.invalidateAll();
     }
 
     @Override
@@ -14,6 +14,11 @@ import org.slf4j.LoggerFactory;
 
 import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
 
 /**
  * A {@code StateStore} stores the state of a service, including tasks' TaskInfo and TaskStatus objects. Each
@@ -38,6 +43,14 @@ import java.util.*;
  * <br>&nbsp;&nbsp;&nbsp;-> TaskInfo
  * <br>&nbsp;&nbsp;&nbsp;-> TaskStatus
  * <br>&nbsp;&nbsp;-> ...
+ *
+ * <p>Decoded {@link Protos.TaskInfo} and {@link Protos.TaskStatus} objects are kept in a write-through in-memory cache,
+ * which is loaded when the instance is created and updated alongside every task write. Reads of task data are served
+ * from this cache without deserializing stored bytes. Because of this, task data should only be modified via this
+ * instance. If the underlying storage is modified externally, {@link #refreshCache()} must be invoked.
+ *
+ * <p>Multiple TaskStatuses may be written to the underlying persister in a single {@link Persister#setMany(Map)} call
+ * using {@link #storeStatuses(List)}.
  */
 public class StateStore {
 
@@ -64,6 +77,26 @@ public class StateStore {
 
     protected final Persister persister;
 
+    private final ReadWriteLock internalLock = new ReentrantReadWriteLock();
+    private final Lock rlock = internalLock.readLock();
+    private final Lock rwlock = internalLock.writeLock();
+    // Serializes writes of task data, so that each write is validated against, and applied on top of, the previous
+    // one. Writers may read the cached task data below while holding only this lock, and only take the write lock to
+    // update it once the persister write has completed, so that readers aren't blocked on the persister.
+    private final Lock writerLock = new ReentrantLock();
+
+    // Decoded task data, keyed by task name. Reads must be guarded by the read lock or the writer lock, and updates by
+    // both the writer lock and the write lock.
+    private final Map<String, Protos.TaskInfo> taskInfoCache = new TreeMap<>();
+    private final Map<String, Protos.TaskStatus> taskStatusCache = new TreeMap<>();
+    // Secondary index of TaskID value => names of the tasks whose TaskInfo has that TaskID. Normally each TaskID maps
+    // to a single name. Multiple names indicate duplicate TaskIDs, which is left to callers to detect and handle.
+    private final Map<String, Set<String>> taskIdIndex = new HashMap<>();
+
+    // Immutable snapshots of the above caches, which are rebuilt lazily after a write invalidates them.
+    private volatile Collection<Protos.TaskInfo> taskInfoSnapshot;
+    private volatile Collection<Protos.TaskStatus> taskStatusSnapshot;
+
     /**
      * Creates a new {@link StateStore} which uses the provided {@link Persister} to access state data.
      *
@@ -82,6 +115,7 @@ public class StateStore {
                     currentVersion, MIN_SUPPORTED_SCHEMA_VERSION, MAX_SUPPORTED_SCHEMA_VERSION));
         }
 
+        refreshCache();
         StateStoreUtils.repairTaskIDs(this);
     }
 
@@ -161,10 +195,22 @@ public class StateStore {
         for (Protos.TaskInfo taskInfo : tasks) {
             taskBytesMap.put(getTaskInfoPath(taskInfo.getName()), taskInfo.toByteArray());
         }
+        writerLock.lock();
         try {
             persister.setMany(taskBytesMap);
+            rwlock.lock();
+            try {
+                for (Protos.TaskInfo taskInfo : tasks) {
+                    putCachedTaskInfo(taskInfo);
+                }
+                taskInfoSnapshot = null;
+            } finally {
+                rwlock.unlock();
+            }
         } catch (PersisterException e) {
             throw new StateStoreException(e, String.format("Failed to store %d TaskInfos", tasks.size()));
+        } finally {
+            writerLock.unlock();
         }
     }
 
@@ -178,7 +224,120 @@ public class StateStore {
      *                             TaskInfo wasn't stored first
      */
     public void storeStatus(String taskName, Protos.TaskStatus status) throws StateStoreException {
-        Optional<Protos.TaskStatus> currentStatusOptional = fetchStatus(taskName);
+        writerLock.lock();
+        try {
+            validateStatus(taskName, status, Optional.ofNullable(taskStatusCache.get(taskName)));
+
+            String path = getTaskStatusPath(taskName);
+            logger.info("Storing status '{}' for '{}' in '{}'", status.getState(), taskName, path);
+
+            persister.set(path, status.toByteArray());
+            rwlock.lock();
+            try {
+                taskStatusCache.put(taskName, status);
+                taskStatusSnapshot = null;
+            } finally {
+                rwlock.unlock();
+            }
+        } catch (PersisterException e) {
+            throw new StateStoreException(e);
+        } finally {
+            writerLock.unlock();
+        }
+    }
+
+    /**
+     * Stores a batch of TaskStatuses in a single {@link Persister#setMany(Map)} call. Each status is validated as in
+     * {@link #storeStatus(String, Protos.TaskStatus)}, against the status preceding it, which may be an earlier entry
+     * in the same batch. A status which fails validation is skipped without affecting the rest of the batch.
+     *
+     * @param writes the task names and their TaskStatuses, in the order that they were received
+     * @return an entry for each write, which is empty if the status was stored, or which contains the error which
+     *     prevented the status from being stored
+     */
+    public List<Optional<StateStoreException>> storeStatuses(List<Map.Entry<String, Protos.TaskStatus>> writes) {
+        return storeStatuses(writes, status -> false);
+    }
+
+    /**
+     * Stores a batch of TaskStatuses as in {@link #storeStatuses(List)}. Any stored status which matches the provided
+     * filter is also stored as a property of its task, as {@link StateStoreUtils#storeTaskStatusAsProperty(StateStore,
+     * String, Protos.TaskStatus)} would do, within the same {@link Persister#setMany(Map)} call.
+     *
+     * @param writes the task names and their TaskStatuses, in the order that they were received
+     * @param storeAsProperty returns whether a status should also be stored as a property of its task
+     * @return an entry for each write, which is empty if the status was stored, or which contains the error which
+     *     prevented the status from being stored
+     */
+    public List<Optional<StateStoreException>> storeStatuses(
+            List<Map.Entry<String, Protos.TaskStatus>> writes, Predicate<Protos.TaskStatus> storeAsProperty) {
+        writerLock.lock();
+        try {
+            List<Optional<StateStoreException>> results = new ArrayList<>();
+            Map<String, Protos.TaskStatus> batchStatuses = new HashMap<>();
+            Map<String, byte[]> pathBytesMap = new TreeMap<>();
+            for (Map.Entry<String, Protos.TaskStatus> write : writes) {
+                String taskName = write.getKey();
+                Protos.TaskStatus status = write.getValue();
+                Protos.TaskStatus currentStatus = batchStatuses.containsKey(taskName)
+                        ? batchStatuses.get(taskName)
+                        : taskStatusCache.get(taskName);
+                try {
+                    validateStatus(taskName, status, Optional.ofNullable(currentStatus));
+                } catch (StateStoreException e) {
+                    results.add(Optional.of(e));
+                    continue;
+                }
+
+                String path = getTaskStatusPath(taskName);
+                logger.info("Storing status '{}' for '{}' in '{}'", status.getState(), taskName, path);
+                // Only the latest status for each task needs to be written:
+                pathBytesMap.put(path, status.toByteArray());
+                if (storeAsProperty.test(status)) {
+                    String propertyKey = StateStoreUtils.getTaskStatusPropertyKey(taskName);
+                    pathBytesMap.put(PersisterUtils.join(PROPERTIES_PATH_NAME, propertyKey), status.toByteArray());
+                }
+                batchStatuses.put(taskName, status);
+                results.add(Optional.empty());
+            }
+
+            if (!pathBytesMap.isEmpty()) {
+                logger.info("Committing {} statuses for {} tasks", writes.size(), batchStatuses.size());
+                try {
+                    persister.setMany(pathBytesMap);
+                } catch (PersisterException e) {
+                    // None of the statuses were written:
+                    StateStoreException error = new StateStoreException(e);
+                    for (int i = 0; i < results.size(); ++i) {
+                        if (!results.get(i).isPresent()) {
+                            results.set(i, Optional.of(error));
+                        }
+                    }
+                    return results;
+                }
+                rwlock.lock();
+                try {
+                    taskStatusCache.putAll(batchStatuses);
+                    taskStatusSnapshot = null;
+                } finally {
+                    rwlock.unlock();
+                }
+            }
+            return results;
+        } finally {
+            writerLock.unlock();
+        }
+    }
+
+    /**
+     * Checks whether the provided status may replace the task's current status.
+     *
+     * @throws StateStoreException if the status should not be stored
+     */
+    private static void validateStatus(
+            String taskName,
+            Protos.TaskStatus status,
+            Optional<Protos.TaskStatus> currentStatusOptional) throws StateStoreException {
         if (currentStatusOptional.isPresent()
                 && status.getState().equals(Protos.TaskState.TASK_LOST)
                 && TaskUtils.isTerminal(currentStatusOptional.get())) {
@@ -194,15 +353,6 @@ public class StateStore {
                     Reason.NOT_FOUND,
                     String.format("Dropping TaskStatus with unknnown TaskID: %s", status));
         }
-
-        String path = getTaskStatusPath(taskName);
-        logger.info("Storing status '{}' for '{}' in '{}'", status.getState(), taskName, path);
-
-        try {
-            persister.set(path, status.toByteArray());
-        } catch (PersisterException e) {
-            throw new StateStoreException(e);
-        }
     }
 
     /**
@@ -212,15 +362,22 @@ public class StateStore {
      * @throws StateStoreException when clearing the indicated Task's information fails
      */
     public void clearTask(String taskName) throws StateStoreException {
+        writerLock.lock();
+        rwlock.lock();
         try {
             persister.recursiveDelete(getTaskPath(taskName));
+            removeCachedTask(taskName);
         } catch (PersisterException e) {
             if (e.getReason() == Reason.NOT_FOUND) {
                 // Clearing a non-existent Task should not result in an exception from us.
                 logger.warn("Cleared nonexistent Task, continuing silently: {}", taskName, e);
+                removeCachedTask(taskName);
             } else {
                 throw new StateStoreException(e);
             }
+        } finally {
+            rwlock.unlock();
+            writerLock.unlock();
         }
     }
 
@@ -249,26 +406,46 @@ public class StateStore {
         }
     }
 
+    /**
+     * Fetches the names of all tasks whose {@link Protos.TaskInfo} has the provided {@link Protos.TaskID}. This is a
+     * constant-time lookup against an in-memory index. Normally the result contains zero or one names, but it may
+     * contain more if duplicate TaskIDs were stored.
+     *
+     * @param taskId The TaskID to search for
+     * @return An immutable collection of matching task names, or an empty collection if none were found
+     */
+    public Collection<String> fetchTaskNamesByTaskId(Protos.TaskID taskId) {
+        rlock.lock();
+        try {
+            Set<String> taskNames = taskIdIndex.get(taskId.getValue());
+            return taskNames == null
+                    ? Collections.emptyList()
+                    : Collections.unmodifiableList(new ArrayList<>(taskNames));
+        } finally {
+            rlock.unlock();
+        }
+    }
+
     /**
      * Fetches and returns all {@link Protos.TaskInfo}s from the underlying storage, or an empty list if none are found.
      * This list should be a superset of the list returned by {@link #fetchStatuses()}.
      *
-     * @return All TaskInfos
+     * @return An immutable snapshot of all TaskInfos, ordered by task name
      * @throws StateStoreException if fetching the TaskInfo information otherwise fails
      */
     public Collection<Protos.TaskInfo> fetchTasks() throws StateStoreException {
-        Collection<Protos.TaskInfo> taskInfos = new ArrayList<>();
-        for (String taskName : fetchTaskNames()) {
-            Optional<Protos.TaskInfo> taskInfoOptional = fetchTask(taskName);
-            if (taskInfoOptional.isPresent()) {
-                taskInfos.add(taskInfoOptional.get());
-            } else {
-                // We should always have a TaskInfo for every name entry we just got
-                throw new StateStoreException(Reason.NOT_FOUND,
-                        String.format("Expected task named %s to be present when retrieving all tasks", taskName));
-            }
+        Collection<Protos.TaskInfo> snapshot = taskInfoSnapshot;
+        if (snapshot != null) {
+            return snapshot;
+        }
+        rlock.lock();
+        try {
+            snapshot = Collections.unmodifiableList(new ArrayList<>(taskInfoCache.values()));
+            taskInfoSnapshot = snapshot;
+            return snapshot;
+        } finally {
+            rlock.unlock();
         }
-        return taskInfos;
     }
 
     /**
@@ -280,53 +457,39 @@ public class StateStore {
      *                             fails
      */
     public Optional<Protos.TaskInfo> fetchTask(String taskName) throws StateStoreException {
-        String path = getTaskInfoPath(taskName);
+        Protos.TaskInfo taskInfo;
+        rlock.lock();
         try {
-            byte[] bytes = persister.get(path);
-            if (bytes.length > 0) {
-                return Optional.of(Protos.TaskInfo.parseFrom(bytes));
-            } else {
-                throw new StateStoreException(Reason.SERIALIZATION_ERROR, String.format(
-                        "Empty TaskInfo for TaskName: %s", taskName));
-            }
-        } catch (PersisterException e) {
-            if (e.getReason() == Reason.NOT_FOUND) {
-                logger.warn("No TaskInfo found for the requested name: {} at: {}", taskName, path);
-                return Optional.empty();
-            } else {
-                throw new StateStoreException(e, String.format("Failed to retrieve task named %s", taskName));
-            }
-        } catch (InvalidProtocolBufferException e) {
-            throw new StateStoreException(Reason.SERIALIZATION_ERROR, e);
+            taskInfo = taskInfoCache.get(taskName);
+        } finally {
+            rlock.unlock();
         }
+        if (taskInfo == null) {
+            logger.warn("No TaskInfo found for the requested name: {} at: {}", taskName, getTaskInfoPath(taskName));
+        }
+        return Optional.ofNullable(taskInfo);
     }
 
     /**
      * Fetches all {@link Protos.TaskStatus}es from the underlying storage, or an empty list if none are found. Note
      * that this list may have fewer entries than {@link #fetchTasks()} if some tasks are lacking statuses.
      *
-     * @return The TaskStatus objects associated with all tasks
+     * @return An immutable snapshot of the TaskStatus objects associated with all tasks, ordered by task name
      * @throws StateStoreException if fetching the TaskStatus information fails
      */
     public Collection<Protos.TaskStatus> fetchStatuses() throws StateStoreException {
-        Collection<Protos.TaskStatus> taskStatuses = new ArrayList<>();
-        for (String taskName : fetchTaskNames()) {
-            try {
-                byte[] bytes = persister.get(getTaskStatusPath(taskName));
-                taskStatuses.add(Protos.TaskStatus.parseFrom(bytes));
-            } catch (PersisterException e) {
-                if (e.getReason() == Reason.NOT_FOUND) {
-                    // The task node exists, but it doesn't contain a TaskStatus node. This may occur if
-                    // the only contents are a TaskInfo.
-                    continue;
-                } else {
-                    throw new StateStoreException(e);
-                }
-            } catch (InvalidProtocolBufferException e) {
-                throw new StateStoreException(Reason.SERIALIZATION_ERROR, e);
-            }
+        Collection<Protos.TaskStatus> snapshot = taskStatusSnapshot;
+        if (snapshot != null) {
+            return snapshot;
+        }
+        rlock.lock();
+        try {
+            snapshot = Collections.unmodifiableList(new ArrayList<>(taskStatusCache.values()));
+            taskStatusSnapshot = snapshot;
+            return snapshot;
+        } finally {
+            rlock.unlock();
         }
-        return taskStatuses;
     }
 
     /**
@@ -339,24 +502,73 @@ public class StateStore {
      *                             information otherwise fails
      */
     public Optional<Protos.TaskStatus> fetchStatus(String taskName) throws StateStoreException {
-        String path = getTaskStatusPath(taskName);
+        Protos.TaskStatus taskStatus;
+        rlock.lock();
         try {
-            byte[] bytes = persister.get(path);
-            if (bytes.length > 0) {
-                return Optional.of(Protos.TaskStatus.parseFrom(bytes));
-            } else {
-                throw new StateStoreException(Reason.SERIALIZATION_ERROR, String.format(
-                        "Empty TaskStatus for TaskName: %s", taskName));
+            taskStatus = taskStatusCache.get(taskName);
+        } finally {
+            rlock.unlock();
+        }
+        if (taskStatus == null) {
+            logger.warn("No TaskStatus found for the requested name: {} at: {}",
+                    taskName, getTaskStatusPath(taskName));
+        }
+        return Optional.ofNullable(taskStatus);
+    }
+
+    /**
+     * Discards the in-memory TaskInfo and TaskStatus cache and reloads it from the underlying {@link Persister}. This
+     * should only be needed if task data in the underlying storage was modified without going through this instance,
+     * for example after {@link com.mesosphere.sdk.storage.PersisterCache#refresh()}.
+     *
+     * @throws StateStoreException if reading or decoding the stored task data fails
+     */
+    public void refreshCache() throws StateStoreException {
+        writerLock.lock();
+        rwlock.lock();
+        try {
+            Collection<String> taskNames = fetchTaskNames();
+            Collection<String> paths = new ArrayList<>();
+            for (String taskName : taskNames) {
+                paths.add(getTaskInfoPath(taskName));
+                paths.add(getTaskStatusPath(taskName));
             }
-        } catch (PersisterException e) {
-            if (e.getReason() == Reason.NOT_FOUND) {
-                logger.warn("No TaskStatus found for the requested name: {} at: {}", taskName, path);
-                return Optional.empty();
-            } else {
-                throw new StateStoreException(e);
+            Map<String, byte[]> values = paths.isEmpty() ? Collections.emptyMap() : persister.getMany(paths);
+
+            Map<String, Protos.TaskInfo> taskInfos = new HashMap<>();
+            Map<String, Protos.TaskStatus> taskStatuses = new HashMap<>();
+            for (String taskName : taskNames) {
+                byte[] infoBytes = values.get(getTaskInfoPath(taskName));
+                if (infoBytes != null) {
+                    if (infoBytes.length == 0) {
+                        throw new StateStoreException(Reason.SERIALIZATION_ERROR, String.format(
+                                "Empty TaskInfo for TaskName: %s", taskName));
+                    }
+                    taskInfos.put(taskName, Protos.TaskInfo.parseFrom(infoBytes));
+                }
+                byte[] statusBytes = values.get(getTaskStatusPath(taskName));
+                if (statusBytes != null) {
+                    if (statusBytes.length == 0) {
+                        throw new StateStoreException(Reason.SERIALIZATION_ERROR, String.format(
+                                "Empty TaskStatus for TaskName: %s", taskName));
+                    }
+                    taskStatuses.put(taskName, Protos.TaskStatus.parseFrom(statusBytes));
+                }
+            }
+
+            clearCachedTasks();
+            for (Protos.TaskInfo taskInfo : taskInfos.values()) {
+                putCachedTaskInfo(taskInfo);
             }
+            taskStatusCache.putAll(taskStatuses);
+            logger.info("Loaded {} TaskInfos and {} TaskStatuses into cache", taskInfos.size(), taskStatuses.size());
+        } catch (PersisterException e) {
+            throw new StateStoreException(e, "Failed to load task data into cache");
         } catch (InvalidProtocolBufferException e) {
             throw new StateStoreException(Reason.SERIALIZATION_ERROR, e);
+        } finally {
+            rwlock.unlock();
+            writerLock.unlock();
         }
     }
 
@@ -537,14 +749,21 @@ public class StateStore {
      * Clears the root service node, leaving just the root node behind.
      */
     public void clearAllData() throws StateStoreException {
+        writerLock.lock();
+        rwlock.lock();
         try {
             persister.recursiveDelete(PersisterUtils.PATH_DELIM_STR);
+            clearCachedTasks();
         } catch (PersisterException e) {
             if (e.getReason() == Reason.NOT_FOUND) {
                 // Nothing to delete, apparently. Treat as a no-op
+                clearCachedTasks();
             } else {
                 throw new StateStoreException(e);
             }
+        } finally {
+            rwlock.unlock();
+            writerLock.unlock();
         }
     }
 
@@ -558,6 +777,61 @@ public class StateStore {
 
     // Internals
 
+    /**
+     * Removes any cached data for the provided task. Caller must hold the writer lock and the write lock.
+     */
+    private void removeCachedTask(String taskName) {
+        Protos.TaskInfo removedTaskInfo = taskInfoCache.remove(taskName);
+        if (removedTaskInfo != null) {
+            unindexTaskId(removedTaskInfo);
+            taskInfoSnapshot = null;
+        }
+        if (taskStatusCache.remove(taskName) != null) {
+            taskStatusSnapshot = null;
+        }
+    }
+
+    /**
+     * Adds or replaces the cached TaskInfo for a task, updating the TaskID index to match. Caller must hold the writer
+     * lock and the write lock.
+     */
+    private void putCachedTaskInfo(Protos.TaskInfo taskInfo) {
+        Protos.TaskInfo previousTaskInfo = taskInfoCache.put(taskInfo.getName(), taskInfo);
+        if (previousTaskInfo != null) {
+            unindexTaskId(previousTaskInfo);
+        }
+        Set<String> taskNames = taskIdIndex.get(taskInfo.getTaskId().getValue());
+        if (taskNames == null) {
+            taskNames = new TreeSet<>();
+            taskIdIndex.put(taskInfo.getTaskId().getValue(), taskNames);
+        }
+        taskNames.add(taskInfo.getName());
+    }
+
+    /**
+     * Removes the provided TaskInfo's entry from the TaskID index. Caller must hold the writer lock and the write lock.
+     */
+    private void unindexTaskId(Protos.TaskInfo taskInfo) {
+        Set<String> taskNames = taskIdIndex.get(taskInfo.getTaskId().getValue());
+        if (taskNames != null) {
+            taskNames.remove(taskInfo.getName());
+            if (taskNames.isEmpty()) {
+                taskIdIndex.remove(taskInfo.getTaskId().getValue());
+            }
+        }
+    }
+
+    /**
+     * Removes all cached task data. Caller must hold the writer lock and the write lock.
+     */
+    private void clearCachedTasks() {
+        taskInfoCache.clear();
+        taskStatusCache.clear();
+        taskIdIndex.clear();
+        taskInfoSnapshot = null;
+        taskStatusSnapshot = null;
+    }
+
     protected static String getTaskInfoPath(String taskName) {
         return PersisterUtils.join(getTaskPath(taskName), TASK_INFO_PATH_NAME);
     }
@@ -140,27 +140,23 @@ public class StateStoreUtils {
      */
     public static String getTaskName(StateStore stateStore, Protos.TaskStatus taskStatus)
             throws StateStoreException {
-        Optional<Protos.TaskInfo> taskInfoOptional = Optional.empty();
-
-        for (Protos.TaskInfo taskInfo : stateStore.fetchTasks()) {
-            if (taskInfo.getTaskId().getValue().equals(taskStatus.getTaskId().getValue())) {
-                if (taskInfoOptional.isPresent()) {
-                    LOGGER.error("Found duplicate TaskIDs in Task{} and Task {}",
-                            taskInfoOptional.get(), taskInfo.getName());
-                    throw new StateStoreException(Reason.LOGIC_ERROR, String.format(
-                            "There are more than one tasks with TaskID: %s", taskStatus));
-                } else {
-                    taskInfoOptional = Optional.of(taskInfo);
-                }
-            }
+        if (taskStatus == null) {
+            throw new StateStoreException(Reason.NOT_FOUND, "Failed to find a task with TaskID: null TaskStatus");
+        }
+
+        Collection<String> taskNames = stateStore.fetchTaskNamesByTaskId(taskStatus.getTaskId());
+        if (taskNames.size() > 1) {
+            LOGGER.error("Found duplicate TaskIDs in Tasks {}", taskNames);
+            throw new StateStoreException(Reason.LOGIC_ERROR, String.format(
+                    "There are more than one tasks with TaskID: %s", taskStatus));
         }
 
-        if (!taskInfoOptional.isPresent()) {
+        if (taskNames.isEmpty()) {
             throw new StateStoreException(Reason.NOT_FOUND, String.format(
                     "Failed to find a task with TaskID: %s", taskStatus));
         }
 
-        return taskInfoOptional.get().getName();
+        return taskNames.iterator().next();
     }
 
     /**
@@ -252,7 +248,15 @@ public class StateStoreUtils {
      */
     public static void storeTaskStatusAsProperty(StateStore stateStore, String taskName, Protos.TaskStatus taskStatus)
             throws StateStoreException {
-        stateStore.storeProperty(taskName + PROPERTY_TASK_INFO_SUFFIX, taskStatus.toByteArray());
+        stateStore.storeProperty(getTaskStatusPropertyKey(taskName), taskStatus.toByteArray());
+    }
+
+    /**
+     * Returns the property key under which {@link #storeTaskStatusAsProperty(StateStore, String, Protos.TaskStatus)}
+     * stores the TaskStatus of the specified task.
+     */
+    static String getTaskStatusPropertyKey(String taskName) {
+        return taskName + PROPERTY_TASK_INFO_SUFFIX;
     }
 
     /**
@@ -262,7 +266,7 @@ public class StateStoreUtils {
     public static Optional<Protos.TaskStatus> getTaskStatusFromProperty(StateStore stateStore, String taskName) {
         try {
             return Optional.of(Protos.TaskStatus.parseFrom(
-                    stateStore.fetchProperty(taskName + PROPERTY_TASK_INFO_SUFFIX)));
+                    stateStore.fetchProperty(getTaskStatusPropertyKey(taskName))));
         } catch (Exception e) {
             // Broadly catch exceptions to handle:
             // Invalid TaskStatuses
@@ -2,6 +2,7 @@ package com.mesosphere.sdk.storage;
 
 import java.util.Collection;
 import java.util.Map;
+import java.util.TreeMap;
 
 /**
  * A low-level interface for key/value storage in a tree structure.
@@ -35,6 +36,30 @@ public interface Persister {
      */
     Collection<String> getChildren(String path) throws PersisterException;
 
+    /**
+     * Returns the names of child nodes for each of the provided paths, as a mapping of paths to child names. Paths which
+     * don't exist are omitted from the returned {@link Map}.
+     *
+     * <p>The default implementation invokes {@link #getChildren(String)} for each path. Implementations backed by
+     * remote storage may override this to fetch the paths concurrently.
+     *
+     * @see #getChildren(String)
+     * @throws PersisterException in the event of an access error
+     */
+    default Map<String, Collection<String>> getChildrenMany(Collection<String> paths) throws PersisterException {
+        Map<String, Collection<String>> children = new TreeMap<>(); // consistent ordering (mainly for tests)
+        for (String path : paths) {
+            try {
+                children.put(path, getChildren(path));
+            } catch (PersisterException e) {
+                if (e.getReason() != StorageError.Reason.NOT_FOUND) {
+                    throw e;
+                }
+            }
+        }
+        return children;
+    }
+
     /**
      * Writes a single value to storage at the specified path, replacing any existing data at the path or creating the
      * path if it doesn't exist yet.
@@ -1,38 +1,145 @@
 package com.mesosphere.sdk.storage;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.base.Splitter;
+
 /**
  * A transparent write-through cache for an underlying {@link Persister} instance. Each cache instance is thread-safe,
  * but there is no guarantee of consistent behavior across multiple cache instances.
+ *
+ * <p>Writes are serialized against each other, but the lock which guards the in-memory data is only held while
+ * updating memory, after the write to the underlying persister has completed. Readers therefore never wait on I/O
+ * against the underlying persister, and see the previous value until the write is durable.
+ *
+ * <p>If the underlying persister is a {@link WatchablePersister} and watching is enabled, the cache is populated as
+ * nodes are streamed in from the watch at construction, and is then kept current node-by-node as changes are observed
+ * in storage, including changes made by other writers. In this mode, {@link #refresh()} rebuilds the cache from the
+ * watch's in-memory view rather than re-reading the entire tree from storage. Writes made via this cache take
+ * precedence over watch notifications for the same path until the watch has observed them, so that readers never see
+ * a stale value from a notification which was in flight when the write was made. Notifications are compared against
+ * the data version returned by each write, as the watch may skip straight from an earlier value to a later value
+ * which was written by someone else.
  */
 public class PersisterCache implements Persister {
 
     private static final Logger logger = LoggerFactory.getLogger(PersisterCache.class);
 
+    // Guards the in-memory data. Never held while accessing the underlying persister.
     private final ReadWriteLock internalLock = new ReentrantReadWriteLock();
     private final Lock rlock = internalLock.readLock();
     private final Lock rwlock = internalLock.writeLock();
 
+    // Serializes writes (and loads) against the underlying persister.
+    private final Lock writeLock = new ReentrantLock();
+
     private final Persister persister;
-    private MemPersister cache;
+    private final boolean watchEnabled;
+    private volatile MemPersister cache;
+
+    // Used in watch mode: Local writes and deletes which have not yet been observed by the watch.
+    private final Map<String, PendingSet> pendingSets = new TreeMap<>();
+    private final Set<String> pendingDeletes = new HashSet<>();
+
+    /**
+     * Records any pending state for a write before it's made to the underlying persister, returning a callback which
+     * reverts that state if the write fails.
+     */
+    private interface PendingOperation {
+        Runnable apply(MemPersister cache) throws PersisterException;
+    }
+
+    /**
+     * Performs a write against the underlying persister.
+     */
+    private interface StorageOperation {
+        void apply() throws PersisterException;
+    }
+
+    /**
+     * Applies a write to the in-memory data, after it has been made to the underlying persister.
+     */
+    private interface CacheOperation {
+        void apply(MemPersister cache) throws PersisterException;
+    }
+
+    /**
+     * Used in watch mode: A local write of a path which has not yet been observed by the watch.
+     */
+    private static class PendingSet {
+        private final byte[] bytes;
+        // The data version of the node as of the write, or null while the write is in progress, or -1 if unknown.
+        private Integer version;
+        // The latest notification with other data which was received while the write was in progress, if any.
+        private boolean notified;
+        private byte[] notifiedBytes;
+        private int notifiedVersion;
+
+        private PendingSet(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        /**
+         * Returns whether a notification with the provided version reflects this write or a later write, rather than
+         * an earlier value of the node.
+         */
+        private boolean isObservedBy(int notificationVersion) {
+            return version != null && (version < 0 || notificationVersion < 0 || notificationVersion >= version);
+        }
+    }
 
     public PersisterCache(Persister persister) throws PersisterException {
+        this(persister, false);
+    }
+
+    /**
+     * Creates a new cache instance.
+     *
+     * @param persister the underlying persister to be cached
+     * @param watchEnabled whether to keep the cache current using a watch of the underlying persister, which must be a
+     *     {@link WatchablePersister} if this is enabled
+     * @throws PersisterException if the watch could not be started
+     */
+    public PersisterCache(Persister persister, boolean watchEnabled) throws PersisterException {
         this.persister = persister;
+        this.watchEnabled = watchEnabled;
+        if (watchEnabled) {
+            if (!(persister instanceof WatchablePersister)) {
+                throw new IllegalArgumentException(String.format(
+                        "Watch mode requires a %s, got: %s",
+                        WatchablePersister.class.getSimpleName(), persister.getClass().getName()));
+            }
+            // We already have our own locking, so we can disable locking in the underlying MemPersister:
+            cache = new MemPersister(MemPersister.LockMode.DISABLED, Collections.emptyMap());
+            // Populate the cache as the initial content is streamed in. Must not hold the lock here, as notifications
+            // are delivered on a separate thread and acquire the lock themselves:
+            ((WatchablePersister) persister).watch(new WatchListener());
+            logger.info("Loaded data from watch of persister");
+        }
     }
 
     @Override
     public byte[] get(String path) throws PersisterException {
+        MemPersister cache = getCache();
         rlock.lock();
         try {
-            return getCache().get(path);
+            return cache.get(path);
         } finally {
             rlock.unlock();
         }
@@ -40,9 +147,10 @@ public class PersisterCache implements Persister {
 
     @Override
     public Collection<String> getChildren(String path) throws PersisterException {
+        MemPersister cache = getCache();
         rlock.lock();
         try {
-            return getCache().getChildren(path);
+            return cache.getChildren(path);
         } finally {
             rlock.unlock();
         }
@@ -50,104 +158,366 @@ public class PersisterCache implements Persister {
 
     @Override
     public void set(String path, byte[] bytes) throws PersisterException {
-        rwlock.lock();
-        try {
-            MemPersister cache = getCache();
-            persister.set(path, bytes);
-            cache.set(path, bytes);
-        } finally {
-            rwlock.unlock();
-        }
+        Map<String, byte[]> pathBytesMap = Collections.singletonMap(path, bytes);
+        Map<String, Integer> versions = new HashMap<>();
+        write(
+                cache -> addPendingSets(pathBytesMap),
+                () -> {
+                    if (watchEnabled) {
+                        versions.putAll(((WatchablePersister) persister).setManyWithVersions(pathBytesMap));
+                    } else {
+                        persister.set(path, bytes);
+                    }
+                },
+                cache -> {
+                    cache.set(path, bytes);
+                    completePendingSets(cache, pathBytesMap, versions);
+                });
     }
 
     @Override
     public Map<String, byte[]> getMany(Collection<String> paths) throws PersisterException {
-        rwlock.lock();
+        MemPersister cache = getCache();
+        rlock.lock();
         try {
-            return getCache().getMany(paths);
+            return cache.getMany(paths);
         } finally {
-            rwlock.unlock();
+            rlock.unlock();
         }
     }
 
     @Override
     public void setMany(Map<String, byte[]> pathBytesMap) throws PersisterException {
-        rwlock.lock();
-        try {
-            MemPersister cache = getCache();
-            persister.setMany(pathBytesMap);
-            cache.setMany(pathBytesMap);
-        } finally {
-            rwlock.unlock();
-        }
+        Map<String, Integer> versions = new HashMap<>();
+        write(
+                cache -> addPendingSets(pathBytesMap),
+                () -> {
+                    if (watchEnabled) {
+                        versions.putAll(((WatchablePersister) persister).setManyWithVersions(pathBytesMap));
+                    } else {
+                        persister.setMany(pathBytesMap);
+                    }
+                },
+                cache -> {
+                    cache.setMany(pathBytesMap);
+                    completePendingSets(cache, pathBytesMap, versions);
+                });
     }
 
     @Override
     public void recursiveDeleteMany(Collection<String> paths) throws PersisterException {
-        rwlock.lock();
-        try {
-            MemPersister cache = getCache();
-            persister.recursiveDeleteMany(paths);
-            cache.recursiveDeleteMany(paths);
-        } finally {
-            rwlock.unlock();
-        }
+        write(
+                cache -> addPendingDeletes(cache, paths),
+                () -> persister.recursiveDeleteMany(paths),
+                cache -> cache.recursiveDeleteMany(paths));
     }
 
     @Override
     public void recursiveDelete(String path) throws PersisterException {
-        rwlock.lock();
-        try {
-            MemPersister cache = getCache();
-            persister.recursiveDelete(path);
-            try {
-                cache.recursiveDelete(path);
-            } catch (PersisterException e) {
-                // We don't throw an exception here if our 'data' cache lacks the value. In theory 'persister' should've
-                // thrown in that case anyway -- so we're effectively replicating what the underlying persister does.
-                // This shouldn't happen assuming a well-behaved Persisters, but just in case...
-                logger.error("Didn't find value {} in cache to delete, but underlying storage had the value", path);
-            }
-        } finally {
-            rwlock.unlock();
-        }
+        write(
+                cache -> addPendingDeletes(cache, Collections.singleton(path)),
+                () -> persister.recursiveDelete(path),
+                cache -> {
+                    try {
+                        cache.recursiveDelete(path);
+                    } catch (PersisterException e) {
+                        // We don't throw an exception here if our 'data' cache lacks the value. In theory 'persister'
+                        // should've thrown in that case anyway -- so we're effectively replicating what the underlying
+                        // persister does. This shouldn't happen assuming a well-behaved Persisters, but just in case...
+                        logger.error(
+                                "Didn't find value {} in cache to delete, but underlying storage had the value", path);
+                    }
+                });
     }
 
     @Override
     public void close() {
-        rwlock.lock();
+        writeLock.lock();
         try {
             persister.close();
-            if (cache != null) {
-                cache.close();
+            rwlock.lock();
+            try {
+                if (cache != null) {
+                    cache.close();
+                }
+            } finally {
+                rwlock.unlock();
             }
         } finally {
-            rwlock.unlock();
+            writeLock.unlock();
         }
     }
 
     /**
-     * Refreshes the cache with the underlying persister's data.
+     * Refreshes the cache with the underlying persister's data. In watch mode, this is rebuilt from the watch's
+     * in-memory view of the data, without re-reading the entire tree from storage. Readers continue to be served from
+     * the previous data until the refreshed data has been loaded.
      */
     public void refresh() throws PersisterException {
-        rwlock.lock();
+        writeLock.lock();
         try {
             if (cache != null) {
                 logger.info("Cache content before refresh:\n{}", cache.getDebugString());
             }
-            cache = null;
-            getCache(); // recreate cache
+            Map<String, byte[]> data = watchEnabled
+                    ? ((WatchablePersister) persister).getWatchedData()
+                    : PersisterUtils.getAllData(persister);
+            rwlock.lock();
+            try {
+                // We already have our own locking, so we can disable locking in the underlying MemPersister:
+                cache = new MemPersister(MemPersister.LockMode.DISABLED, data);
+                pendingSets.clear();
+                pendingDeletes.clear();
+            } finally {
+                rwlock.unlock();
+            }
+            logger.info("Refreshed data from persister:\n{}", cache.getDebugString());
         } finally {
-            rwlock.unlock();
+            writeLock.unlock();
         }
     }
 
+    /**
+     * Returns the in-memory data, loading it from the underlying persister if it hasn't been loaded yet.
+     *
+     * <p>Note: Caller must not hold the read or read-write lock when invoking this method.
+     */
     private MemPersister getCache() throws PersisterException {
-        if (cache == null) {
-            // We already have our own locking, so we can disable locking in the underlying MemPersister:
-            cache = new MemPersister(MemPersister.LockMode.DISABLED, PersisterUtils.getAllData(persister));
-            logger.info("Loaded data from persister:\n{}", cache.getDebugString());
+        MemPersister currentCache = cache;
+        if (currentCache != null) {
+            return currentCache;
+        }
+        writeLock.lock();
+        try {
+            if (cache == null) {
+                // We already have our own locking, so we can disable locking in the underlying MemPersister:
+                MemPersister loadedCache =
+                        new MemPersister(MemPersister.LockMode.DISABLED, PersisterUtils.getAllData(persister));
+                logger.info("Loaded data from persister:\n{}", loadedCache.getDebugString());
+                cache = loadedCache;
+            }
+            return cache;
+        } finally {
+            writeLock.unlock();
         }
-        return cache;
+    }
+
+    /**
+     * Performs a write against the underlying persister, then applies it to the in-memory data. The read-write lock is
+     * only held while updating in-memory state, so that readers are never blocked by the write to the underlying
+     * persister.
+     */
+    private void write(
+            PendingOperation pendingOperation,
+            StorageOperation storageOperation,
+            CacheOperation cacheOperation) throws PersisterException {
+        writeLock.lock();
+        try {
+            MemPersister cache = getCache();
+
+            Runnable revertPending;
+            rwlock.lock();
+            try {
+                revertPending = pendingOperation.apply(cache);
+            } finally {
+                rwlock.unlock();
+            }
+
+            try {
+                storageOperation.apply();
+            } catch (PersisterException | RuntimeException e) {
+                rwlock.lock();
+                try {
+                    revertPending.run();
+                } finally {
+                    rwlock.unlock();
+                }
+                throw e;
+            }
+
+            rwlock.lock();
+            try {
+                cacheOperation.apply(cache);
+            } finally {
+                rwlock.unlock();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Records local writes which should take precedence over any watch notifications for the paths, until the watch
+     * has observed the writes. Returns a callback which removes the recorded writes.
+     *
+     * <p>Note: Caller must obtain a read-write lock before invoking this method.
+     */
+    private Runnable addPendingSets(Map<String, byte[]> pathBytesMap) {
+        if (!watchEnabled) {
+            return () -> { };
+        }
+        Map<String, PendingSet> addedSets = new TreeMap<>();
+        for (Map.Entry<String, byte[]> entry : pathBytesMap.entrySet()) {
+            String normalizedPath = normalize(entry.getKey());
+            // Any pending deletes of the path or its parents have been superseded by the write:
+            pendingDeletes.removeIf(deletedPath -> isSameOrChild(normalizedPath, deletedPath));
+            PendingSet pendingSet = new PendingSet(entry.getValue());
+            pendingSets.put(normalizedPath, pendingSet);
+            addedSets.put(normalizedPath, pendingSet);
+        }
+        return () -> {
+            for (Map.Entry<String, PendingSet> entry : addedSets.entrySet()) {
+                pendingSets.remove(entry.getKey(), entry.getValue());
+            }
+        };
+    }
+
+    /**
+     * Records the data versions of local writes which have completed. If the watch has already delivered a later value
+     * of a path while its write was in progress, that value is applied to the cache in place of the local write.
+     *
+     * <p>Note: Caller must obtain a read-write lock before invoking this method.
+     */
+    private void completePendingSets(
+            MemPersister cache, Map<String, byte[]> pathBytesMap, Map<String, Integer> versions)
+            throws PersisterException {
+        if (!watchEnabled) {
+            return;
+        }
+        for (Map.Entry<String, byte[]> entry : pathBytesMap.entrySet()) {
+            String normalizedPath = normalize(entry.getKey());
+            PendingSet pendingSet = pendingSets.get(normalizedPath);
+            if (pendingSet == null || pendingSet.bytes != entry.getValue()) {
+                // The watch has already observed the write.
+                continue;
+            }
+            int version = versions.getOrDefault(entry.getKey(), -1);
+            pendingSet.version = version;
+            if (pendingSet.notified && version >= 0 && pendingSet.notifiedVersion >= version) {
+                logger.debug("Applying update of {} which was received during a local write", normalizedPath);
+                pendingSets.remove(normalizedPath);
+                if (pendingSet.notifiedBytes != null) {
+                    cache.set(normalizedPath, pendingSet.notifiedBytes);
+                }
+            }
+        }
+    }
+
+    /**
+     * Records local deletes which should take precedence over any watch notifications for the paths or their children,
+     * until the watch has observed the deletes. Returns a callback which removes the recorded deletes.
+     *
+     * <p>Note: Caller must obtain a read-write lock before invoking this method.
+     */
+    private Runnable addPendingDeletes(MemPersister cache, Collection<String> paths) throws PersisterException {
+        if (!watchEnabled) {
+            return () -> { };
+        }
+        List<String> addedDeletes = new ArrayList<>();
+        for (String path : paths) {
+            String normalizedPath = normalize(path);
+            if (normalizedPath.equals(PersisterUtils.PATH_DELIM_STR)) {
+                // The root itself is never deleted in storage, only its children.
+                for (String child : cache.getChildren(normalizedPath)) {
+                    addedDeletes.add(PersisterUtils.join(normalizedPath, child));
+                }
+            } else {
+                addedDeletes.add(normalizedPath);
+            }
+        }
+        for (String deletedPath : addedDeletes) {
+            // Any pending writes under the deleted path have been superseded by the delete:
+            pendingSets.keySet().removeIf(pendingPath -> isSameOrChild(pendingPath, deletedPath));
+            pendingDeletes.add(deletedPath);
+        }
+        return () -> pendingDeletes.removeAll(addedDeletes);
+    }
+
+    /**
+     * Applies notifications from the watch to the cache, skipping any which are superseded by pending local changes.
+     */
+    private class WatchListener implements WatchablePersister.Listener {
+        @Override
+        public void onSet(String path, byte[] bytes, int version) {
+            rwlock.lock();
+            try {
+                if (pendingDeletes.stream().anyMatch(deletedPath -> isSameOrChild(path, deletedPath))) {
+                    logger.debug("Ignoring update of {} which has a pending delete", path);
+                    return;
+                }
+                PendingSet pendingSet = pendingSets.get(path);
+                if (pendingSet != null) {
+                    if (Arrays.equals(pendingSet.bytes, bytes)) {
+                        // The watch has caught up with our own write, which is in (or about to be applied to) the
+                        // cache.
+                        pendingSets.remove(path);
+                        return;
+                    } else if (pendingSet.version == null) {
+                        // The write is still in progress, so we can't yet tell whether this notification predates it.
+                        // Keep the latest one so that it can be applied once the write's version is known.
+                        if (!pendingSet.notified || version > pendingSet.notifiedVersion) {
+                            pendingSet.notified = true;
+                            pendingSet.notifiedBytes = bytes;
+                            pendingSet.notifiedVersion = version;
+                        }
+                        logger.debug("Deferring update of {} which has a pending write", path);
+                        return;
+                    } else if (!pendingSet.isObservedBy(version)) {
+                        logger.debug("Ignoring update of {} which predates a pending write", path);
+                        return;
+                    }
+                    // Another writer has updated the path since our write, so the watch may never deliver our value.
+                    pendingSets.remove(path);
+                }
+                if (bytes == null) {
+                    // Stub parent without data of its own: created implicitly as the parent of any child entries.
+                    return;
+                }
+                cache.set(path, bytes);
+            } catch (PersisterException e) {
+                logger.error(String.format("Failed to apply update of %s to cache", path), e);
+            } finally {
+                rwlock.unlock();
+            }
+        }
+
+        @Override
+        public void onDelete(String path) {
+            rwlock.lock();
+            try {
+                pendingDeletes.remove(path);
+                if (pendingSets.keySet().stream().anyMatch(pendingPath -> isSameOrChild(pendingPath, path))) {
+                    logger.debug("Ignoring delete of {} which has pending writes", path);
+                    return;
+                }
+                cache.recursiveDelete(path);
+            } catch (PersisterException e) {
+                // The cache may already lack the entry, e.g. if its parent was deleted first.
+                if (e.getReason() != StorageError.Reason.NOT_FOUND) {
+                    logger.error(String.format("Failed to apply delete of %s to cache", path), e);
+                }
+            } finally {
+                rwlock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Returns whether the provided path is equal to, or is a child of, the provided parent path.
+     */
+    private static boolean isSameOrChild(String path, String parentPath) {
+        return path.equals(parentPath)
+                || parentPath.equals(PersisterUtils.PATH_DELIM_STR)
+                || path.startsWith(parentPath + PersisterUtils.PATH_DELIM);
+    }
+
+    /**
+     * Converts the provided path to the format used in watch notifications, e.g. {@code Tasks/node-0/} to
+     * {@code /Tasks/node-0}.
+     */
+    private static String normalize(String path) {
+        return PersisterUtils.PATH_DELIM_STR + String.join(
+                PersisterUtils.PATH_DELIM_STR,
+                Splitter.on(PersisterUtils.PATH_DELIM).omitEmptyStrings().split(path));
     }
 }
@@ -2,6 +2,7 @@ package com.mesosphere.sdk.storage;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
@@ -68,25 +69,18 @@ public class PersisterUtils {
      * Returns all data present within the provided {@link Persister} in a flat map, omitting any stub parent entries
      * with {@code null} data.
      *
+     * <p>The data is fetched with a single {@link Persister#getMany(Collection)} call after listing all keys, allowing
+     * persisters which support it to fetch the data concurrently rather than node-by-node.
+     *
      * @throws PersisterException if the underlying {@link Persister} couldn't be accessed
      */
     public static Map<String, byte[]> getAllData(Persister persister) throws PersisterException {
-        return getAllDataUnder(persister, PATH_DELIM_STR);
-    }
-
-    /**
-     * Returns all data present within the provided {@link Persister}, under the provided path.
-     */
-    private static Map<String, byte[]> getAllDataUnder(Persister persister, String path) throws PersisterException {
         Map<String, byte[]> allData = new TreeMap<>(); // consistent ordering (mainly for tests)
-        for (String child : persister.getChildren(path)) {
-            String childPath = join(path, child);
-            byte[] data = persister.get(childPath);
-            // omit empty parents which lack data of their own:
-            if (data != null) {
-                allData.put(childPath, data);
+        for (Map.Entry<String, byte[]> entry : persister.getMany(getAllKeys(persister)).entrySet()) {
+            // omit empty parents which lack data of their own, as well as any entries removed while we were reading:
+            if (entry.getValue() != null) {
+                allData.put(entry.getKey(), entry.getValue());
             }
-            allData.putAll(getAllDataUnder(persister, childPath)); // RECURSE
         }
         return allData;
     }
@@ -95,21 +89,24 @@ public class PersisterUtils {
      * Returns a complete list of all keys present within the provided {@link Persister} in a flat list, including stub
      * parent entries which may lack data.
      *
+     * <p>The tree is walked one level at a time, with each level fetched using a single
+     * {@link Persister#getChildrenMany(Collection)} call. This allows persisters which support it to list the children
+     * of all nodes in a level concurrently rather than node-by-node.
+     *
      * @throws PersisterException if the underlying {@link Persister} couldn't be accessed
      */
     public static Collection<String> getAllKeys(Persister persister) throws PersisterException {
-        return getAllKeysUnder(persister, PATH_DELIM_STR);
-    }
-
-    /**
-     * Returns a complete list of all keys present within the provided {@link Persister}, under the provided path.
-     */
-    private static Collection<String> getAllKeysUnder(Persister persister, String path) throws PersisterException {
         Collection<String> allKeys = new TreeSet<>(); // consistent ordering (mainly for tests)
-        for (String child : persister.getChildren(path)) {
-            String childPath = join(path, child);
-            allKeys.add(childPath);
-            allKeys.addAll(getAllKeysUnder(persister, childPath)); // RECURSE
+        Collection<String> parentPaths = Collections.singleton(PATH_DELIM_STR);
+        while (!parentPaths.isEmpty()) {
+            Collection<String> childPaths = new ArrayList<>();
+            for (Map.Entry<String, Collection<String>> entry : persister.getChildrenMany(parentPaths).entrySet()) {
+                for (String child : entry.getValue()) {
+                    childPaths.add(join(entry.getKey(), child));
+                }
+            }
+            allKeys.addAll(childPaths);
+            parentPaths = childPaths;
         }
         return allKeys;
     }
@@ -0,0 +1,62 @@
+package com.mesosphere.sdk.storage;
+
+import java.util.Map;
+
+/**
+ * A {@link Persister} which is able to notify a listener of changes to its data as they occur, including changes made
+ * by other writers. This allows callers such as {@link PersisterCache} to keep an in-memory copy of the data current
+ * without needing to periodically re-read the entire tree.
+ */
+public interface WatchablePersister extends Persister {
+
+    /**
+     * Receives notifications of changes to the data within a {@link WatchablePersister}. All paths are in the same
+     * format as returned by {@link PersisterUtils#getAllData(Persister)}, e.g. {@code /Tasks/node-0/TaskInfo}.
+     * Notifications are delivered serially from a single thread.
+     */
+    interface Listener {
+        /**
+         * Invoked when a node has been created or its data has been updated. Notifications may skip intermediate
+         * values when a node is updated several times in quick succession.
+         *
+         * @param path the path of the node which was created or updated
+         * @param bytes the data now stored in the node, or {@code null} if the node has no data of its own
+         * @param version the data version of the node, see {@link #setManyWithVersions(Map)}, or -1 if unknown
+         */
+        void onSet(String path, byte[] bytes, int version);
+
+        /**
+         * Invoked when a node has been deleted. Notifications are also sent for any children of the deleted node.
+         *
+         * @param path the path of the node which was deleted
+         */
+        void onDelete(String path);
+    }
+
+    /**
+     * Starts sending notifications to the provided listener. Before this call returns, the listener will have been
+     * passed an {@link Listener#onSet(String, byte[])} call for each node which is already present in storage,
+     * followed by any changes which occur after this call returns. Only one listener may be registered.
+     *
+     * @throws PersisterException if the initial content of storage couldn't be retrieved, or if a listener is already
+     *     registered
+     */
+    void watch(Listener listener) throws PersisterException;
+
+    /**
+     * Stores the provided data as in {@link #setMany(Map)}, returning the resulting data version of each written node.
+     * A node's data version is 0 when it's created, and is incremented by each update to its data, so a notification
+     * with an earlier version than a write predates that write. Nodes whose versions aren't known are omitted.
+     *
+     * @throws PersisterException if the data couldn't be stored
+     */
+    Map<String, Integer> setManyWithVersions(Map<String, byte[]> pathBytesMap) throws PersisterException;
+
+    /**
+     * Returns the current content of storage as seen by the watch started by {@link #watch(Listener)}, omitting any
+     * stub parent entries with {@code null} data. This is served from memory and does not query the underlying storage.
+     *
+     * @throws PersisterException if no watch has been started
+     */
+    Map<String, byte[]> getWatchedData() throws PersisterException;
+}
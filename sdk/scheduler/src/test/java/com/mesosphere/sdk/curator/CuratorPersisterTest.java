@@ -31,6 +31,7 @@ import com.mesosphere.sdk.storage.Persister;
 import com.mesosphere.sdk.storage.PersisterException;
 import com.mesosphere.sdk.storage.PersisterUtils;
 import com.mesosphere.sdk.storage.StorageError.Reason;
+import com.mesosphere.sdk.storage.WatchablePersister;
 import com.mesosphere.sdk.testutils.TestConstants;
 
 import java.nio.charset.Charset;
@@ -505,6 +506,107 @@ public class CuratorPersisterTest {
         assertEquals(Collections.singleton("/lock"), PersisterUtils.getAllKeys(persister));
     }
 
+    // Uses a real ZK instance to ensure that our integration works as expected:
+    @Test
+    public void testBulkReads() throws Exception {
+        CuratorTestUtils.clear(testZk);
+        when(mockServiceSpec.getZookeeperConnection()).thenReturn(testZk.getConnectString());
+        Persister persister = CuratorPersister.newBuilder(mockServiceSpec).build();
+
+        // Enough entries to exceed the limit on reads in flight:
+        Map<String, byte[]> expectedData = new TreeMap<>();
+        for (int i = 0; i < 250; ++i) {
+            expectedData.put(String.format("/parent-%d/child-%d", i % 10, i),
+                    String.format("data-%d", i).getBytes(StandardCharsets.UTF_8));
+        }
+        persister.setMany(expectedData);
+
+        List<String> paths = new ArrayList<>(expectedData.keySet());
+        paths.add("/missing");
+        Map<String, byte[]> data = persister.getMany(paths);
+        assertEquals(expectedData.size() + 1, data.size());
+        for (Map.Entry<String, byte[]> entry : expectedData.entrySet()) {
+            assertArrayEquals(entry.getValue(), data.get(entry.getKey()));
+        }
+        assertTrue(data.containsKey("/missing"));
+        assertNull(data.get("/missing"));
+
+        Map<String, Collection<String>> children =
+                persister.getChildrenMany(Arrays.asList("/parent-0", "/parent-1", "/missing"));
+        assertEquals(2, children.size());
+        assertEquals(25, children.get("/parent-0").size());
+        assertTrue(children.get("/parent-1").contains("child-1"));
+
+        Collection<String> allKeys = PersisterUtils.getAllKeys(persister);
+        // 250 children, 10 parents, and the service name node:
+        assertEquals(261, allKeys.size());
+        Map<String, byte[]> allData = PersisterUtils.getAllData(persister);
+        for (Map.Entry<String, byte[]> entry : expectedData.entrySet()) {
+            assertArrayEquals(entry.getValue(), allData.get(entry.getKey()));
+        }
+        persister.close();
+    }
+
+    // Uses a real ZK instance to ensure that our integration works as expected:
+    @Test
+    public void testWatch() throws Exception {
+        CuratorTestUtils.clear(testZk);
+        when(mockServiceSpec.getZookeeperConnection()).thenReturn(testZk.getConnectString());
+        CuratorPersister persister = CuratorPersister.newBuilder(mockServiceSpec).build();
+        persister.set(PATH_1, DATA_1);
+        persister.set(PATH_SUB_1, DATA_SUB_1);
+
+        TestListener listener = new TestListener();
+        persister.watch(listener);
+        // Initial content is delivered before watch() returns:
+        assertArrayEquals(DATA_1, listener.get(PATH_1));
+        assertArrayEquals(DATA_SUB_1, listener.get(PATH_SUB_1));
+
+        persister.set(PATH_2, DATA_2);
+        persister.recursiveDelete(PATH_SUB_PARENT);
+        long deadlineMs = System.currentTimeMillis() + 10000;
+        while ((listener.get(PATH_2) == null || listener.get(PATH_SUB_1) != null)
+                && System.currentTimeMillis() < deadlineMs) {
+            Thread.sleep(50);
+        }
+        assertArrayEquals(DATA_2, listener.get(PATH_2));
+        assertNull(listener.get(PATH_SUB_1));
+
+        Map<String, byte[]> watchedData = persister.getWatchedData();
+        assertArrayEquals(DATA_1, watchedData.get(PATH_1));
+        assertArrayEquals(DATA_2, watchedData.get(PATH_2));
+        assertFalse(watchedData.containsKey(PATH_SUB_1));
+
+        try {
+            persister.watch(listener);
+            fail("Expected exception");
+        } catch (PersisterException e) {
+            assertEquals(Reason.LOGIC_ERROR, e.getReason());
+        }
+        persister.close();
+    }
+
+    // Uses a real ZK instance to ensure that our integration works as expected:
+    @Test
+    public void testSetManyWithVersions() throws Exception {
+        CuratorTestUtils.clear(testZk);
+        when(mockServiceSpec.getZookeeperConnection()).thenReturn(testZk.getConnectString());
+        CuratorPersister persister = CuratorPersister.newBuilder(mockServiceSpec).build();
+
+        Map<String, byte[]> pathBytesMap = new HashMap<>();
+        pathBytesMap.put(PATH_1, DATA_1);
+        pathBytesMap.put(PATH_SUB_1, DATA_SUB_1);
+        Map<String, Integer> versions = persister.setManyWithVersions(pathBytesMap);
+        assertEquals(2, versions.size());
+        assertEquals(0, versions.get(PATH_1).intValue());
+        assertEquals(0, versions.get(PATH_SUB_1).intValue());
+
+        versions = persister.setManyWithVersions(Collections.singletonMap(PATH_1, DATA_2));
+        assertEquals(Collections.singletonMap(PATH_1, 1), versions);
+        assertArrayEquals(DATA_2, persister.get(PATH_1));
+        persister.close();
+    }
+
     @Test
     public void testWriteServiceName() throws Exception {
         CuratorTestUtils.clear(testZk);
@@ -774,4 +876,22 @@ public class CuratorPersisterTest {
             return transaction;
         }
     }
+
+    private static class TestListener implements WatchablePersister.Listener {
+        private final Map<String, byte[]> data = new HashMap<>();
+
+        @Override
+        public synchronized void onSet(String path, byte[] bytes, int version) {
+            data.put(path, bytes);
+        }
+
+        @Override
+        public synchronized void onDelete(String path) {
+            data.remove(path);
+        }
+
+        private synchronized byte[] get(String path) {
+            return data.get(path);
+        }
+    }
 }
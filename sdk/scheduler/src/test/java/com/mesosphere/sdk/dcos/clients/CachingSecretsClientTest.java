@@ -0,0 +1,179 @@
+package com.mesosphere.sdk.dcos.clients;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.StatusLine;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+
+import com.mesosphere.sdk.dcos.DcosHttpExecutor;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link CachingSecretsClient}.
+ */
+public class CachingSecretsClientTest {
+
+    private static final SecretsClient.Payload PAYLOAD =
+            new SecretsClient.Payload("scheduler-name", "secret-value", "description");
+
+    @Mock private HttpClientBuilder mockHttpClientBuilder;
+    @Mock private CloseableHttpClient mockHttpClient;
+    @Mock private CloseableHttpResponse mockHttpResponse;
+    @Mock private HttpEntity mockHttpEntity;
+    @Mock private StatusLine mockStatusLine;
+    @Mock private CloseableHttpResponse mockCreateHttpResponse;
+    @Mock private StatusLine mockCreateStatusLine;
+
+    @Before
+    public void init() throws Exception {
+        MockitoAnnotations.initMocks(this);
+        when(mockHttpClientBuilder.build()).thenReturn(mockHttpClient);
+        when(mockHttpClient.execute(
+                Mockito.any(HttpUriRequest.class), Mockito.any(HttpContext.class))).thenReturn(mockHttpResponse);
+        when(mockHttpResponse.getEntity()).thenReturn(mockHttpEntity);
+        when(mockHttpResponse.getStatusLine()).thenReturn(mockStatusLine);
+        when(mockStatusLine.getStatusCode()).thenReturn(200);
+        // Every listing returns the same content:
+        when(mockHttpEntity.getContent()).thenAnswer(invocation -> new ByteArrayInputStream(
+                "{'array':['one','two']}".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void testListCached() throws Exception {
+        SecretsClient client = createClient(Duration.ofMinutes(1));
+
+        Assert.assertEquals(Arrays.asList("one", "two"), client.list("test"));
+        Assert.assertEquals(Arrays.asList("one", "two"), client.list("test"));
+        verifyRequests(1);
+
+        // Other paths are listed separately:
+        Assert.assertEquals(Arrays.asList("one", "two"), client.list("other"));
+        verifyRequests(2);
+    }
+
+    @Test
+    public void testListExpired() throws Exception {
+        SecretsClient client = createClient(Duration.ofMillis(1));
+
+        client.list("test");
+        Thread.sleep(10);
+        client.list("test");
+        verifyRequests(2);
+    }
+
+    @Test
+    public void testCreateAndDeleteUpdateCache() throws Exception {
+        SecretsClient client = createClient(Duration.ofMinutes(1));
+        client.list("test");
+
+        when(mockStatusLine.getStatusCode()).thenReturn(201);
+        client.create("test/three", PAYLOAD);
+        when(mockStatusLine.getStatusCode()).thenReturn(204);
+        client.delete("test/one");
+        verifyRequests(3);
+
+        Assert.assertEquals(Arrays.asList("three", "two"), client.list("test"));
+        verifyRequests(3);
+    }
+
+    @Test
+    public void testFailedCreateInvalidatesCache() throws Exception {
+        SecretsClient client = createClient(Duration.ofMinutes(1));
+        client.list("test");
+
+        when(mockStatusLine.getStatusCode()).thenReturn(500);
+        try {
+            client.create("test/three", PAYLOAD);
+            Assert.fail("Expected create failure");
+        } catch (IOException e) {
+            Assert.assertTrue(e.getMessage(), e.getMessage().contains("code=500"));
+        }
+        verifyRequests(2);
+
+        // The listing is fetched again as the create may or may not have taken effect:
+        when(mockStatusLine.getStatusCode()).thenReturn(200);
+        Collection<String> secrets = client.list("test");
+        Assert.assertEquals(Arrays.asList("one", "two"), secrets);
+        verifyRequests(3);
+    }
+
+    @Test
+    public void testListDuringCreateNotCached() throws Exception {
+        SecretsClient client = createClient(Duration.ofMinutes(1));
+        when(mockCreateHttpResponse.getStatusLine()).thenReturn(mockCreateStatusLine);
+        when(mockCreateStatusLine.getStatusCode()).thenReturn(201);
+
+        CountDownLatch createStarted = new CountDownLatch(1);
+        CountDownLatch finishCreate = new CountDownLatch(1);
+        CountDownLatch listStarted = new CountDownLatch(1);
+        CountDownLatch finishList = new CountDownLatch(1);
+        when(mockHttpClient.execute(
+                Mockito.any(HttpUriRequest.class), Mockito.any(HttpContext.class))).thenAnswer(invocation -> {
+                    if (((HttpUriRequest) invocation.getArguments()[0]).getMethod().equals("PUT")) {
+                        createStarted.countDown();
+                        finishCreate.await();
+                        return mockCreateHttpResponse;
+                    }
+                    listStarted.countDown();
+                    finishList.await();
+                    return mockHttpResponse;
+                });
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            // The create starts, then the listing is requested, then the create finishes, then the listing finishes:
+            Future<?> create = executor.submit(() -> {
+                client.create("test/three", PAYLOAD);
+                return null;
+            });
+            Assert.assertTrue(createStarted.await(10, TimeUnit.SECONDS));
+            Future<Collection<String>> list = executor.submit(() -> client.list("test"));
+            Assert.assertTrue(listStarted.await(10, TimeUnit.SECONDS));
+            finishCreate.countDown();
+            create.get(10, TimeUnit.SECONDS);
+            finishList.countDown();
+            list.get(10, TimeUnit.SECONDS);
+        } finally {
+            finishCreate.countDown();
+            finishList.countDown();
+            executor.shutdownNow();
+        }
+        verifyRequests(2);
+
+        // The listing may not reflect the create, so it wasn't cached:
+        client.list("test");
+        verifyRequests(3);
+    }
+
+    private SecretsClient createClient(Duration ttl) {
+        return new CachingSecretsClient(new DcosHttpExecutor(mockHttpClientBuilder), ttl);
+    }
+
+    private void verifyRequests(int count) throws IOException {
+        verify(mockHttpClient, times(count)).execute(Mockito.any(HttpUriRequest.class), Mockito.any(HttpContext.class));
+    }
+}
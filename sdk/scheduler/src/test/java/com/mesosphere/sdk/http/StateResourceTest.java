@@ -140,6 +140,7 @@ public class StateResourceTest {
         assertEquals(200, response.getStatus());
         validateCommandResult(response, "refresh");
         verify(mockPersisterCache).refresh();
+        verify(mockStateStore).refreshCache();
     }
 
     @Test
@@ -121,4 +121,49 @@ public class MesosResourcePoolTest extends DefaultCapabilitiesTestSuite {
         Assert.assertTrue(map != null);
         Assert.assertTrue(map.isEmpty());
     }
+
+    @Test
+    public void testSnapshotForksAreIndependent() {
+        Resource cpus = ResourceTestUtils.getUnreservedCpus(2.0);
+        Resource ports = ResourceTestUtils.getUnreservedPorts(1000, 1001);
+        Offer offer = OfferTestUtils.getOffer(Arrays.asList(cpus, ports));
+        MesosResourcePool.Snapshot snapshot = MesosResourcePool.snapshot(offer, Optional.of(Constants.ANY_ROLE));
+
+        MesosResourcePool fork1 = snapshot.fork();
+        Assert.assertTrue(fork1.consumeReservableMerged(
+                "cpus", ValueUtils.getValue(ResourceTestUtils.getUnreservedCpus(1.5)), Constants.ANY_ROLE)
+                .isPresent());
+        Assert.assertTrue(fork1.consumeReservableMerged(
+                "ports", ValueUtils.getValue(ResourceTestUtils.getUnreservedPorts(1000, 1000)), Constants.ANY_ROLE)
+                .isPresent());
+        Assert.assertEquals(0.5, fork1.getUnreservedMergedPool().get("cpus").getScalar().getValue(), 0.0);
+        Assert.assertEquals("[1001]", fork1.getUnreservedRanges("ports").get().toString());
+
+        // Consumption by the first fork isn't visible to later forks:
+        MesosResourcePool fork2 = snapshot.fork();
+        Assert.assertEquals(2.0, fork2.getUnreservedMergedPool().get("cpus").getScalar().getValue(), 0.0);
+        Assert.assertEquals("[1000-1001]", fork2.getUnreservedRanges("ports").get().toString());
+        Assert.assertTrue(fork2.consumeReservableMerged(
+                "cpus", ValueUtils.getValue(ResourceTestUtils.getUnreservedCpus(2.0)), Constants.ANY_ROLE)
+                .isPresent());
+        Assert.assertEquals(0.5, fork1.getUnreservedMergedPool().get("cpus").getScalar().getValue(), 0.0);
+        Assert.assertEquals(2.0, snapshot.fork().getUnreservedMergedPool().get("cpus").getScalar().getValue(), 0.0);
+    }
+
+    @Test
+    public void testSnapshotForkFreesIndependently() {
+        Resource mountVolume = ResourceTestUtils.getUnreservedMountVolume(1000);
+        Offer offer = OfferTestUtils.getOffer(mountVolume);
+        MesosResourcePool.Snapshot snapshot = MesosResourcePool.snapshot(offer, Optional.of(Constants.ANY_ROLE));
+
+        MesosResourcePool fork = snapshot.fork();
+        fork.free(new MesosResource(ResourceTestUtils.getUnreservedMountVolume(2000)));
+        fork.free(new MesosResource(ResourceTestUtils.getUnreservedPorts(2000, 2000)));
+        Assert.assertEquals(2, fork.getUnreservedAtomicPool().get("disk").size());
+        Assert.assertEquals("[2000]", fork.getUnreservedRanges("ports").get().toString());
+
+        MesosResourcePool otherFork = snapshot.fork();
+        Assert.assertEquals(1, otherFork.getUnreservedAtomicPool().get("disk").size());
+        Assert.assertFalse(otherFork.getUnreservedRanges("ports").isPresent());
+    }
 }
@@ -0,0 +1,155 @@
+package com.mesosphere.sdk.offer;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.mesos.Protos.Value.Range;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link RangeSet}.
+ */
+public class RangeSetTest {
+
+    @Test
+    public void testUnsortedOverlappingRangesAreFlattened() {
+        RangeSet set = RangeSet.of(Arrays.asList(getRange(10, 12), getRange(1, 3), getRange(2, 5), getRange(20, 20)));
+
+        assertEquals("[1-5, 10-12, 20]", set.toString());
+        assertEquals(3, set.getIntervalCount());
+    }
+
+    @Test
+    public void testAdjacentRangesAreMerged() {
+        RangeSet set = RangeSet.of(Arrays.asList(getRange(1, 3)));
+        set.add(4, 5);
+        assertEquals("[1-5]", set.toString());
+
+        set.add(7, 8);
+        set.add(6, 6);
+        assertEquals("[1-8]", set.toString());
+    }
+
+    @Test
+    public void testAddSpanningMultipleIntervals() {
+        RangeSet set = RangeSet.of(Arrays.asList(getRange(1, 2), getRange(5, 6), getRange(9, 10), getRange(20, 21)));
+        set.add(4, 11);
+
+        assertEquals("[1-2, 4-11, 20-21]", set.toString());
+    }
+
+    @Test
+    public void testAddGrowsCapacity() {
+        RangeSet set = new RangeSet();
+        for (int i = 100; i > 0; i -= 2) {
+            set.add(i, i);
+        }
+
+        assertEquals(50, set.getIntervalCount());
+        assertEquals(2, set.getBegin(0));
+        assertEquals(100, set.getEnd(49));
+    }
+
+    @Test
+    public void testRemoveSplitsInterval() {
+        RangeSet set = RangeSet.of(Arrays.asList(getRange(1, 10)));
+        set.remove(4, 6);
+
+        assertEquals("[1-3, 7-10]", set.toString());
+    }
+
+    @Test
+    public void testRemoveSpanningMultipleIntervals() {
+        RangeSet set = RangeSet.of(Arrays.asList(getRange(1, 3), getRange(5, 7), getRange(9, 11), getRange(13, 15)));
+        set.remove(2, 10);
+
+        assertEquals("[1, 11, 13-15]", set.toString());
+
+        set.remove(0, 20);
+        assertTrue(set.isEmpty());
+    }
+
+    @Test
+    public void testRemoveOutsideIntervals() {
+        RangeSet set = RangeSet.of(Arrays.asList(getRange(5, 7), getRange(10, 12)));
+        set.remove(1, 4);
+        set.remove(8, 9);
+        set.remove(13, 20);
+
+        assertEquals("[5-7, 10-12]", set.toString());
+    }
+
+    @Test
+    public void testContains() {
+        RangeSet set = RangeSet.of(Arrays.asList(getRange(1, 3), getRange(5, 7)));
+
+        assertFalse(set.contains(0));
+        assertTrue(set.contains(1));
+        assertTrue(set.contains(3));
+        assertFalse(set.contains(4));
+        assertTrue(set.contains(5));
+        assertTrue(set.contains(7));
+        assertFalse(set.contains(8));
+        assertFalse(new RangeSet().contains(0));
+    }
+
+    @Test
+    public void testContainsAll() {
+        RangeSet set = RangeSet.of(Arrays.asList(getRange(1, 3), getRange(5, 7)));
+
+        assertTrue(set.containsAll(new RangeSet()));
+        assertTrue(set.containsAll(RangeSet.of(Arrays.asList(getRange(1, 2), getRange(6, 7)))));
+        assertFalse(set.containsAll(RangeSet.of(Arrays.asList(getRange(3, 5)))));
+        assertFalse(set.containsAll(RangeSet.of(Arrays.asList(getRange(0, 1)))));
+        assertFalse(set.containsAll(RangeSet.of(Arrays.asList(getRange(7, 8)))));
+    }
+
+    @Test
+    public void testCopyIsIndependent() {
+        RangeSet set = RangeSet.of(Arrays.asList(getRange(1, 10)));
+        RangeSet copy = set.copy();
+        copy.remove(5, 5);
+
+        assertEquals("[1-10]", set.toString());
+        assertEquals("[1-4, 6-10]", copy.toString());
+        assertNotEquals(set, copy);
+    }
+
+    @Test
+    public void testEqualsIgnoresInputLayout() {
+        RangeSet set1 = RangeSet.of(Arrays.asList(getRange(1, 3), getRange(4, 6)));
+        RangeSet set2 = RangeSet.of(Arrays.asList(getRange(2, 6), getRange(1, 1)));
+
+        assertEquals(set1, set2);
+        assertEquals(set1.hashCode(), set2.hashCode());
+    }
+
+    @Test
+    public void testValuesBeyondIntRange() {
+        long begin = Integer.MAX_VALUE + 1L;
+        RangeSet set = RangeSet.of(
+                Arrays.asList(getRange(begin, begin + 10), getRange(Long.MAX_VALUE - 1, Long.MAX_VALUE)));
+        set.add(Long.MAX_VALUE - 2, Long.MAX_VALUE);
+
+        assertTrue(set.contains(begin + 5));
+        assertFalse(set.contains(Integer.MAX_VALUE));
+        assertEquals(Long.MAX_VALUE - 2, set.getBegin(1));
+        assertEquals(Long.MAX_VALUE, set.getEnd(1));
+    }
+
+    @Test
+    public void testToRangeList() {
+        List<Range> ranges = RangeSet.of(Arrays.asList(getRange(5, 7), getRange(1, 3))).toRangeList();
+
+        assertEquals(Arrays.asList(getRange(1, 3), getRange(5, 7)), ranges);
+    }
+
+    private static Range getRange(long begin, long end) {
+        return Range.newBuilder().setBegin(begin).setEnd(end).build();
+    }
+}
@@ -0,0 +1,76 @@
+package com.mesosphere.sdk.offer.evaluate;
+
+import com.mesosphere.sdk.offer.RangeSet;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+public class DynamicPortAllocatorTest {
+
+    @Test
+    public void testAllocatesLowestFreePortsInOrder() {
+        DynamicPortAllocator allocator = new DynamicPortAllocator(getRanges(1000, 1001, 2000, 2000), false);
+
+        Assert.assertEquals(Optional.of(1000L), allocator.allocate());
+        Assert.assertEquals(Optional.of(1001L), allocator.allocate());
+        Assert.assertEquals(Optional.of(2000L), allocator.allocate());
+        Assert.assertFalse(allocator.allocate().isPresent());
+    }
+
+    @Test
+    public void testClaimedPortsAreSkipped() {
+        DynamicPortAllocator allocator = DynamicPortAllocator.forRange(1000, 1005, false);
+        allocator.claim(1000);
+        allocator.claim(1002, 1004);
+        allocator.claim(999);
+        allocator.claim(2000);
+
+        Assert.assertEquals(2, allocator.getFreeCount());
+        Assert.assertEquals(Optional.of(1001L), allocator.allocate());
+        Assert.assertEquals(Optional.of(1005L), allocator.allocate());
+        Assert.assertFalse(allocator.allocate().isPresent());
+    }
+
+    @Test
+    public void testRandomAllocationReturnsEachFreePortOnce() {
+        DynamicPortAllocator allocator = new DynamicPortAllocator(getRanges(1000, 1099, 5000, 5099), true);
+
+        Set<Long> allocatedPorts = new HashSet<>();
+        for (int i = 0; i < 200; ++i) {
+            long port = allocator.allocate().get();
+            Assert.assertTrue((port >= 1000 && port <= 1099) || (port >= 5000 && port <= 5099));
+            Assert.assertTrue(allocatedPorts.add(port));
+        }
+        Assert.assertFalse(allocator.allocate().isPresent());
+    }
+
+    @Test
+    public void testEmptyCandidates() {
+        DynamicPortAllocator allocator = new DynamicPortAllocator(new RangeSet(), true);
+        allocator.claim(1000);
+
+        Assert.assertEquals(0, allocator.getFreeCount());
+        Assert.assertFalse(allocator.allocate().isPresent());
+    }
+
+    @Test
+    public void testCandidatesBeyondMaxPortAreIgnored() {
+        DynamicPortAllocator allocator = new DynamicPortAllocator(getRanges(65534, Long.MAX_VALUE), false);
+
+        Assert.assertEquals(2, allocator.getFreeCount());
+        Assert.assertEquals(Optional.of(65534L), allocator.allocate());
+        Assert.assertEquals(Optional.of(65535L), allocator.allocate());
+        Assert.assertFalse(allocator.allocate().isPresent());
+    }
+
+    private static RangeSet getRanges(long... bounds) {
+        RangeSet ranges = new RangeSet();
+        for (int i = 0; i < bounds.length; i += 2) {
+            ranges.add(bounds[i], bounds[i + 1]);
+        }
+        return ranges;
+    }
+}
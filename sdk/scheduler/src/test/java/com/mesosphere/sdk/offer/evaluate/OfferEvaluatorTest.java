@@ -1,10 +1,14 @@
 package com.mesosphere.sdk.offer.evaluate;
 
+import com.codahale.metrics.MetricRegistry;
 import com.mesosphere.sdk.dcos.Capabilities;
 import com.mesosphere.sdk.dcos.ResourceRefinementCapabilityContext;
 import com.mesosphere.sdk.offer.*;
+import com.mesosphere.sdk.offer.history.OfferOutcomeTracker;
 import com.mesosphere.sdk.offer.taskdata.TaskLabelReader;
 import com.mesosphere.sdk.offer.taskdata.TaskLabelWriter;
+import com.mesosphere.sdk.scheduler.Metrics;
+import com.mesosphere.sdk.scheduler.SchedulerConfig;
 import com.mesosphere.sdk.scheduler.plan.*;
 import com.mesosphere.sdk.scheduler.recovery.FailureUtils;
 import com.mesosphere.sdk.scheduler.recovery.RecoveryType;
@@ -12,11 +16,13 @@ import com.mesosphere.sdk.specification.*;
 import com.mesosphere.sdk.state.PersistentLaunchRecorder;
 import com.mesosphere.sdk.testutils.OfferTestUtils;
 import com.mesosphere.sdk.testutils.ResourceTestUtils;
+import com.mesosphere.sdk.testutils.SchedulerConfigTestUtils;
 import com.mesosphere.sdk.testutils.TaskTestUtils;
 import com.mesosphere.sdk.testutils.TestConstants;
 import org.apache.mesos.Protos;
 import org.apache.mesos.Protos.*;
 import org.apache.mesos.Protos.Offer.Operation;
+import org.json.JSONArray;
 import org.junit.Assert;
 import org.junit.Test;
 import org.mockito.Mock;
@@ -25,6 +31,8 @@ import java.io.File;
 import java.util.*;
 import java.util.stream.Collectors;
 
+import static org.mockito.Mockito.when;
+
 @SuppressWarnings("deprecation")
 public class OfferEvaluatorTest extends OfferEvaluatorTestBase {
     @Mock ServiceSpec serviceSpec;
@@ -65,6 +73,35 @@ public class OfferEvaluatorTest extends OfferEvaluatorTestBase {
         Assert.assertEquals(prefix.length() + UUID.randomUUID().toString().length(), executorId.length());
     }
 
+    @Test
+    public void testConcurrentEvaluationSelectsFirstPassingOffer() throws Exception {
+        SchedulerConfig schedulerConfig = SchedulerConfigTestUtils.getTestSchedulerConfig();
+        when(schedulerConfig.getOfferEvaluationThreads()).thenReturn(4);
+        OfferOutcomeTracker offerOutcomeTracker = new OfferOutcomeTracker();
+        evaluator = new OfferEvaluator(
+                stateStore, offerOutcomeTracker, TestConstants.SERVICE_NAME, targetConfig, schedulerConfig, true);
+
+        PodInstanceRequirement podInstanceRequirement = PodInstanceRequirementTestUtils.getCpuRequirement(1.0);
+        List<Offer> offers = new ArrayList<>();
+        for (int i = 0; i < 10; ++i) {
+            // Only offers 3 and 7 have enough cpus:
+            double cpus = (i == 3 || i == 7) ? 2.0 : 0.5;
+            offers.add(OfferTestUtils.getCompleteOffer(ResourceTestUtils.getUnreservedCpus(cpus)).toBuilder()
+                    .setId(OfferID.newBuilder().setValue("offer-" + i))
+                    .build());
+        }
+
+        List<OfferRecommendation> recommendations = evaluator.evaluate(podInstanceRequirement, offers);
+        Assert.assertEquals(5, recommendations.size());
+        for (OfferRecommendation recommendation : recommendations) {
+            Assert.assertEquals("offer-3", recommendation.getOffer().getId().getValue());
+        }
+
+        // Outcomes are tracked in offer order, up to and including the selected offer:
+        JSONArray outcomes = offerOutcomeTracker.toJson().getJSONArray("outcomes");
+        Assert.assertEquals(4, outcomes.length());
+    }
+
     private Collection<Resource> getExpectedExecutorResources(ExecutorInfo executorInfo) {
         String executorCpuId = executorInfo.getResourcesList().stream()
                 .filter(r -> r.getName().equals("cpus"))
@@ -95,6 +132,34 @@ public class OfferEvaluatorTest extends OfferEvaluatorTestBase {
         return new ArrayList<>(Arrays.asList(expectedExecutorCpu, expectedExecutorMem, expectedExecutorDisk));
     }
 
+    @Test
+    public void testEvaluationTimers() throws Exception {
+        MetricRegistry registry = Metrics.getRegistry();
+        long stepCount = registry.timer("offers.evaluate.step").getCount();
+        long setupCount = registry.timer("offers.evaluate.setup").getCount();
+        long passCount = registry.timer("offers.evaluate.offer.pass").getCount();
+        long failCount = registry.timer("offers.evaluate.offer.fail").getCount();
+        long stagePassCount = registry.timer("offers.evaluate.stage.ResourceEvaluationStage.pass").getCount();
+        long stageFailCount = registry.timer("offers.evaluate.stage.ResourceEvaluationStage.fail").getCount();
+
+        PodInstanceRequirement podInstanceRequirement = PodInstanceRequirementTestUtils.getCpuRequirement(1.0);
+        List<OfferRecommendation> recommendations = evaluator.evaluate(
+                podInstanceRequirement,
+                Arrays.asList(
+                        OfferTestUtils.getCompleteOffer(ResourceTestUtils.getUnreservedCpus(0.5)),
+                        OfferTestUtils.getCompleteOffer(ResourceTestUtils.getUnreservedCpus(2.0))));
+        Assert.assertFalse(recommendations.isEmpty());
+
+        Assert.assertEquals(1, registry.timer("offers.evaluate.step").getCount() - stepCount);
+        Assert.assertEquals(1, registry.timer("offers.evaluate.setup").getCount() - setupCount);
+        Assert.assertEquals(1, registry.timer("offers.evaluate.offer.pass").getCount() - passCount);
+        Assert.assertEquals(1, registry.timer("offers.evaluate.offer.fail").getCount() - failCount);
+        Assert.assertTrue(
+                registry.timer("offers.evaluate.stage.ResourceEvaluationStage.pass").getCount() > stagePassCount);
+        Assert.assertTrue(
+                registry.timer("offers.evaluate.stage.ResourceEvaluationStage.fail").getCount() > stageFailCount);
+    }
+
     @Test
     public void testReserveLaunchScalarRefined() throws Exception {
         ResourceRefinementCapabilityContext context = new ResourceRefinementCapabilityContext(Capabilities.getInstance());
@@ -4,6 +4,7 @@ import com.mesosphere.sdk.offer.Constants;
 import com.mesosphere.sdk.offer.MesosResourcePool;
 import com.mesosphere.sdk.offer.TaskUtils;
 import com.mesosphere.sdk.offer.evaluate.placement.AgentRule;
+import com.mesosphere.sdk.offer.evaluate.placement.PlacementContext;
 import com.mesosphere.sdk.offer.evaluate.placement.PlacementRule;
 import com.mesosphere.sdk.scheduler.plan.DefaultPodInstance;
 import com.mesosphere.sdk.scheduler.plan.PodInstanceRequirement;
@@ -41,7 +42,7 @@ public class PlacementRuleEvaluationStageTest extends DefaultCapabilitiesTestSui
                 .build();
 
         PlacementRuleEvaluationStage placementRuleEvaluationStage = new PlacementRuleEvaluationStage(
-                Collections.emptyList(), rule);
+                PlacementContext.create(podInstance, Collections.emptyList()), rule);
         EvaluationOutcome outcome = placementRuleEvaluationStage.evaluate(
                 mesosResourcePool,
                 new PodInfoBuilder(
@@ -78,7 +79,7 @@ public class PlacementRuleEvaluationStageTest extends DefaultCapabilitiesTestSui
                 .build();
 
         PlacementRuleEvaluationStage placementRuleEvaluationStage =
-                new PlacementRuleEvaluationStage(Collections.emptyList(), rule);
+                new PlacementRuleEvaluationStage(PlacementContext.create(podInstance, Collections.emptyList()), rule);
         EvaluationOutcome outcome = placementRuleEvaluationStage.evaluate(
                 mesosResourcePool,
                 new PodInfoBuilder(
@@ -5,6 +5,7 @@ import com.mesosphere.sdk.offer.InvalidRequirementException;
 import com.mesosphere.sdk.offer.MesosResourcePool;
 import com.mesosphere.sdk.offer.evaluate.security.TLSArtifact;
 import com.mesosphere.sdk.offer.evaluate.security.TLSArtifactPaths;
+import com.mesosphere.sdk.offer.evaluate.security.TLSArtifactsProvisioner;
 import com.mesosphere.sdk.offer.evaluate.security.TLSArtifactsUpdater;
 import com.mesosphere.sdk.scheduler.plan.DefaultPodInstance;
 import com.mesosphere.sdk.scheduler.plan.PodInstanceRequirement;
@@ -31,6 +32,7 @@ import static org.mockito.Mockito.*;
 public class TLSEvaluationStageTest {
 
     @Mock private TLSArtifactsUpdater mockTLSArtifactsUpdater;
+    @Mock private TLSArtifactsProvisioner mockTLSArtifactsProvisioner;
 
     private TLSArtifactPaths tlsArtifactPaths;
     private TLSEvaluationStage tlsEvaluationStage;
@@ -197,6 +199,31 @@ public class TLSEvaluationStageTest {
         Assert.assertFalse(outcome.isPassing());
     }
 
+    @Test
+    public void testNotYetProvisioned() throws Exception {
+        when(mockTLSArtifactsProvisioner.isProvisioned(Matchers.any(), Matchers.any(), Matchers.any()))
+                .thenReturn(false);
+        TLSEvaluationStage asyncStage = new TLSEvaluationStage(
+                TestConstants.SERVICE_NAME, TestConstants.TASK_NAME, mockTLSArtifactsProvisioner);
+
+        ArrayList<TransportEncryptionSpec> transportEncryptionSpecs = new ArrayList<>();
+        transportEncryptionSpecs.add(new DefaultTransportEncryptionSpec
+                .Builder()
+                .name("test-tls")
+                .type(TransportEncryptionSpec.Type.TLS)
+                .build());
+
+        Protos.Offer offer = OfferTestUtils.getOffer(ResourceTestUtils.getUnreservedCpus(2.0));
+        PodInfoBuilder podInfoBuilder = getPodInfoBuilderForTransportEncryption(transportEncryptionSpecs);
+
+        EvaluationOutcome outcome = asyncStage.evaluate(
+                new MesosResourcePool(offer, Optional.of(Constants.ANY_ROLE)), podInfoBuilder);
+        Assert.assertFalse(outcome.isPassing());
+
+        // No secrets are mounted until the artifacts are ready:
+        Assert.assertEquals(0, podInfoBuilder.getTaskBuilder(TestConstants.TASK_NAME).getContainer().getVolumesCount());
+    }
+
     private void assertTLSArtifacts(Protos.ContainerInfo container, TLSArtifactPaths secretPaths, String encryptionSpecName) {
         Protos.Volume volume = findVolumeWithContainerPath(container, TLSArtifact.CERTIFICATE.getMountPath(encryptionSpecName)).get();
         Assert.assertEquals(
@@ -15,7 +15,9 @@ import javax.validation.ConstraintViolationException;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
@@ -235,6 +237,32 @@ public class MaxPerTest {
         assertTrue(rule.filter(offer, podInstance, Arrays.asList(taskInfo)).isPassing());
     }
 
+    /**
+     * The deployed tasks should only be tallied once when the rule is evaluated against multiple offers for the same
+     * context.
+     */
+    @Test
+    public void taskKeysCountedOncePerContext() {
+        AtomicInteger taskKeyCalls = new AtomicInteger();
+        MaxPerRule rule = new TestMaxPerRule(
+                2,
+                Arrays.asList("key"),
+                Arrays.asList("key"),
+                AnyMatcher.create()) {
+            @Override
+            public Collection<String> getKeys(Protos.TaskInfo taskInfo) {
+                taskKeyCalls.incrementAndGet();
+                return super.getKeys(taskInfo);
+            }
+        };
+
+        PlacementContext context = PlacementContext.create(podInstance, Arrays.asList(taskInfo));
+        for (int i = 0; i < 5; ++i) {
+            assertTrue(rule.filter(offer, context).isPassing());
+        }
+        assertEquals(1, taskKeyCalls.get());
+    }
+
     private static class TestMaxPerRule extends MaxPerRule {
         private final StringMatcher stringMatcher;
         private final Collection<String> taskKeys;
@@ -267,8 +295,8 @@ public class MaxPerTest {
         }
 
         @Override
-        public EvaluationOutcome filter(Protos.Offer offer, PodInstance podInstance, Collection<Protos.TaskInfo> tasks) {
-            if (isAcceptable(offer, podInstance, tasks)) {
+        public EvaluationOutcome filter(Protos.Offer offer, PlacementContext context) {
+            if (isAcceptable(offer, context)) {
                 return EvaluationOutcome.pass(this, "Offer is acceptable").build();
             } else {
                 return EvaluationOutcome.fail(this, "Offer is NOT acceptable").build();
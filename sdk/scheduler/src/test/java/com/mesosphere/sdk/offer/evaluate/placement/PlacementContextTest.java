@@ -0,0 +1,96 @@
+package com.mesosphere.sdk.offer.evaluate.placement;
+
+import com.mesosphere.sdk.offer.taskdata.TaskLabelWriter;
+import com.mesosphere.sdk.specification.PodInstance;
+import com.mesosphere.sdk.testutils.OfferTestUtils;
+import com.mesosphere.sdk.testutils.PodTestUtils;
+import com.mesosphere.sdk.testutils.TestConstants;
+import org.apache.mesos.Protos;
+import org.apache.mesos.Protos.Offer;
+import org.apache.mesos.Protos.TaskInfo;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+
+/**
+ * Tests for {@link PlacementContext}.
+ */
+public class PlacementContextTest {
+    private static final PodInstance POD_INSTANCE = PodTestUtils.getPodInstance(0);
+
+    @Test
+    public void testMatchingTasksExcludeStaleCopies() {
+        TaskInfo staleTask = getTask("stale", "host-1", POD_INSTANCE.getPod().getType(), POD_INSTANCE.getIndex());
+        TaskInfo otherTask = getTask("other", "host-2", "other-type", 0);
+        PlacementContext context = PlacementContext.create(POD_INSTANCE, Arrays.asList(staleTask, otherTask));
+
+        Assert.assertEquals(Arrays.asList(otherTask), context.getMatchingTasks(AnyMatcher.create()));
+        Assert.assertSame(
+                context.getMatchingTasks(AnyMatcher.create()), context.getMatchingTasks(AnyMatcher.create()));
+        Assert.assertTrue(context.getMatchingTasks(ExactMatcher.create("stale")).isEmpty());
+    }
+
+    @Test
+    public void testTaskKeysSharedAcrossRules() {
+        TaskInfo task = getTask("task", "host-1", "type", 1);
+        PlacementContext context = PlacementContext.create(POD_INSTANCE, Arrays.asList(task));
+
+        TaskKeys keys = context.getTaskKeys(task);
+        Assert.assertSame(keys, context.getTaskKeys(task));
+        Assert.assertEquals(Optional.of("host-1"), keys.getHostname());
+
+        // A distinct task with the same name doesn't reuse the keys of the first task:
+        TaskInfo sameName = getTask("task", "host-2", "type", 1);
+        Assert.assertEquals(Optional.of("host-2"), context.getTaskKeys(sameName).getHostname());
+        Assert.assertEquals(Optional.of("host-1"), context.getTaskKeys(task).getHostname());
+    }
+
+    @Test
+    public void testAttributeStringsInterned() {
+        PlacementContext context = PlacementContext.create(POD_INSTANCE, Collections.emptyList());
+        Offer offer1 = getOffer("offer-1", "host-1", "rack", "a");
+        Offer offer2 = getOffer("offer-2", "host-2", "rack", "a");
+
+        Assert.assertEquals(Arrays.asList("rack:a"), context.getOfferKeys(offer1).getAttributeStrings());
+        Assert.assertSame(
+                context.getOfferKeys(offer1).getAttributeStrings().get(0),
+                context.getOfferKeys(offer2).getAttributeStrings().get(0));
+        Assert.assertEquals(Optional.of("a"), context.getOfferKeys(offer1).getAttributeValue("RACK"));
+        Assert.assertEquals(Optional.empty(), context.getOfferKeys(offer1).getAttributeValue("zone"));
+
+        TaskInfo task = getTask("task", offer1, "type", 1);
+        Assert.assertSame(
+                context.getOfferKeys(offer1).getAttributeStrings().get(0),
+                context.getTaskKeys(task).getAttributeStrings().get(0));
+        Assert.assertEquals(Optional.of("a"), context.getTaskKeys(task).getAttributeValue("rack"));
+    }
+
+    private static Offer getOffer(String offerId, String hostname, String attributeName, String attributeValue) {
+        Offer.Builder offerBuilder = OfferTestUtils.getEmptyOfferBuilder()
+                .setId(Protos.OfferID.newBuilder().setValue(offerId))
+                .setHostname(hostname);
+        offerBuilder.addAttributesBuilder()
+                .setName(attributeName)
+                .setType(Protos.Value.Type.TEXT)
+                .getTextBuilder().setValue(attributeValue);
+        return offerBuilder.build();
+    }
+
+    private static TaskInfo getTask(String name, String hostname, String type, int index) {
+        return getTask(name, OfferTestUtils.getEmptyOfferBuilder().setHostname(hostname).build(), type, index);
+    }
+
+    private static TaskInfo getTask(String name, Offer launchOffer, String type, int index) {
+        TaskInfo.Builder taskBuilder = TestConstants.TASK_INFO.toBuilder().setName(name);
+        taskBuilder.setLabels(new TaskLabelWriter(taskBuilder)
+                .setHostname(launchOffer)
+                .setOfferAttributes(launchOffer)
+                .setType(type)
+                .setIndex(index)
+                .toProto());
+        return taskBuilder.build();
+    }
+}
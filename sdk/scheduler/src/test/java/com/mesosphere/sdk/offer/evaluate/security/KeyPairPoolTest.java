@@ -0,0 +1,81 @@
+package com.mesosphere.sdk.offer.evaluate.security;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPublicKey;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for {@link KeyPairPool}.
+ */
+public class KeyPairPoolTest {
+
+    @Test
+    public void testOnDemand() {
+        KeyPairPool pool = KeyPairPool.create("RSA", 512, 0);
+        Assert.assertEquals(0, pool.getDepth());
+
+        KeyPair keyPair = pool.take();
+        Assert.assertEquals("RSA", keyPair.getPrivate().getAlgorithm());
+        Assert.assertEquals(512, ((RSAPublicKey) keyPair.getPublic()).getModulus().bitLength());
+        Assert.assertNotEquals(keyPair.getPublic(), pool.take().getPublic());
+    }
+
+    @Test
+    public void testPreGenerated() throws Exception {
+        KeyPairPool pool = KeyPairPool.create("RSA", 512, 2);
+        awaitDepth(pool, 2);
+
+        KeyPair first = pool.take();
+        KeyPair second = pool.take();
+        Assert.assertNotEquals(first.getPublic(), second.getPublic());
+
+        // The pool is refilled in the background:
+        awaitDepth(pool, 2);
+    }
+
+    @Test
+    public void testConcurrentOnDemand() throws Exception {
+        KeyPair keyPair = KeyPairPool.create("RSA", 512, 0).take();
+        // Each generation waits for the other, which only completes if threads don't share a generator lock:
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        KeyPairPool pool = new KeyPairPool(() -> {
+            KeyPairGenerator keyPairGenerator = Mockito.mock(KeyPairGenerator.class);
+            Mockito.when(keyPairGenerator.generateKeyPair()).thenAnswer(invocation -> {
+                barrier.await(10, TimeUnit.SECONDS);
+                return keyPair;
+            });
+            return keyPairGenerator;
+        }, 0);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<KeyPair> first = executor.submit(pool::take);
+            Future<KeyPair> second = executor.submit(pool::take);
+            Assert.assertEquals(keyPair, first.get(10, TimeUnit.SECONDS));
+            Assert.assertEquals(keyPair, second.get(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnsupportedAlgorithm() {
+        KeyPairPool.create("not-an-algorithm", 0, 0);
+    }
+
+    private static void awaitDepth(KeyPairPool pool, int depth) throws InterruptedException {
+        for (int i = 0; i < 1000 && pool.getDepth() < depth; ++i) {
+            Thread.sleep(10);
+        }
+        Assert.assertEquals(depth, pool.getDepth());
+    }
+}
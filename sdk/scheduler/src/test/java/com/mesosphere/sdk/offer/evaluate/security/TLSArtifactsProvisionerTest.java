@@ -0,0 +1,128 @@
+package com.mesosphere.sdk.offer.evaluate.security;
+
+import com.mesosphere.sdk.testutils.TestConstants;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for {@link TLSArtifactsProvisioner}.
+ */
+public class TLSArtifactsProvisionerTest {
+
+    private static final String SPEC_NAME = "spec-name";
+
+    @Mock private TLSArtifactsUpdater mockTLSArtifactsUpdater;
+    @Mock private CertificateNamesGenerator mockCertificateNamesGenerator;
+
+    private TLSArtifactPaths tlsArtifactPaths;
+
+    @Before
+    public void init() {
+        MockitoAnnotations.initMocks(this);
+        tlsArtifactPaths = new TLSArtifactPaths("test-namespace", "pod-0-task", "sans-hash");
+    }
+
+    @Test
+    public void testInlineProvisioning() throws Exception {
+        TLSArtifactsProvisioner provisioner = createProvisioner(0, Duration.ZERO);
+        Assert.assertFalse(provisioner.isAsync());
+
+        Assert.assertTrue(provisioner.isProvisioned(tlsArtifactPaths, mockCertificateNamesGenerator, SPEC_NAME));
+        Assert.assertTrue(provisioner.isProvisioned(tlsArtifactPaths, mockCertificateNamesGenerator, SPEC_NAME));
+
+        // Artifacts are checked on every call:
+        verify(mockTLSArtifactsUpdater, times(2)).update(tlsArtifactPaths, mockCertificateNamesGenerator, SPEC_NAME);
+    }
+
+    @Test
+    public void testAsyncProvisioning() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch updated = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            release.await();
+            updated.countDown();
+            return null;
+        }).when(mockTLSArtifactsUpdater).update(any(), any(), any());
+
+        TLSArtifactsProvisioner provisioner = createProvisioner(1, Duration.ofHours(1));
+        Assert.assertTrue(provisioner.isAsync());
+
+        Assert.assertFalse(provisioner.isProvisioned(tlsArtifactPaths, mockCertificateNamesGenerator, SPEC_NAME));
+        Assert.assertFalse(provisioner.isProvisioned(tlsArtifactPaths, mockCertificateNamesGenerator, SPEC_NAME));
+
+        release.countDown();
+        Assert.assertTrue(updated.await(10, TimeUnit.SECONDS));
+        Assert.assertTrue(awaitProvisioned(provisioner));
+
+        // Artifacts are provisioned once, and are then assumed to be present until the verification interval passes:
+        Assert.assertTrue(provisioner.isProvisioned(tlsArtifactPaths, mockCertificateNamesGenerator, SPEC_NAME));
+        verify(mockTLSArtifactsUpdater, times(1)).update(tlsArtifactPaths, mockCertificateNamesGenerator, SPEC_NAME);
+    }
+
+    @Test
+    public void testAsyncProvisioningRetriedAfterFailure() throws Exception {
+        doThrow(new IOException("test")).doNothing()
+                .when(mockTLSArtifactsUpdater).update(any(), any(), any());
+
+        TLSArtifactsProvisioner provisioner = createProvisioner(1, Duration.ofHours(1));
+
+        try {
+            awaitProvisioned(provisioner);
+            Assert.fail("Expected provisioning failure");
+        } catch (IOException e) {
+            Assert.assertEquals("test", e.getMessage());
+        }
+
+        Assert.assertTrue(awaitProvisioned(provisioner));
+        verify(mockTLSArtifactsUpdater, times(2)).update(tlsArtifactPaths, mockCertificateNamesGenerator, SPEC_NAME);
+    }
+
+    @Test
+    public void testAsyncProvisioningVerifiedAgain() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        doNothing().doAnswer(invocation -> {
+            release.await();
+            return null;
+        }).when(mockTLSArtifactsUpdater).update(any(), any(), any());
+
+        TLSArtifactsProvisioner provisioner = createProvisioner(1, Duration.ZERO);
+        Assert.assertTrue(awaitProvisioned(provisioner));
+
+        // The artifacts are checked again in the background, and are assumed to be present in the meantime:
+        Assert.assertTrue(provisioner.isProvisioned(tlsArtifactPaths, mockCertificateNamesGenerator, SPEC_NAME));
+        verify(mockTLSArtifactsUpdater, timeout(10000).times(2))
+                .update(tlsArtifactPaths, mockCertificateNamesGenerator, SPEC_NAME);
+        Assert.assertTrue(provisioner.isProvisioned(tlsArtifactPaths, mockCertificateNamesGenerator, SPEC_NAME));
+        release.countDown();
+    }
+
+    private TLSArtifactsProvisioner createProvisioner(int provisioningThreads, Duration verificationInterval) {
+        return new TLSArtifactsProvisioner(
+                TestConstants.SERVICE_NAME,
+                "test-namespace",
+                mockTLSArtifactsUpdater,
+                provisioningThreads,
+                verificationInterval);
+    }
+
+    private boolean awaitProvisioned(TLSArtifactsProvisioner provisioner) throws Exception {
+        for (int i = 0; i < 1000; ++i) {
+            if (provisioner.isProvisioned(tlsArtifactPaths, mockCertificateNamesGenerator, SPEC_NAME)) {
+                return true;
+            }
+            Thread.sleep(10);
+        }
+        return false;
+    }
+}
@@ -3,6 +3,7 @@ package com.mesosphere.sdk.offer.evaluate.security;
 import com.mesosphere.sdk.dcos.clients.SecretsClient;
 import com.mesosphere.sdk.testutils.TestConstants;
 
+import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
@@ -15,6 +16,8 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Tests for {@link TLSArtifactsUpdater}.
@@ -117,6 +120,47 @@ public class TLSArtifactsUpdaterTest {
         verifyNoMoreInteractions(mockSecretsClient);
     }
 
+    @Test
+    public void testUpdateConcurrent() throws Exception {
+        when(mockSecretsClient.list(TestConstants.SERVICE_NAME)).thenReturn(Arrays.asList("secret1", "secret2"));
+        when(mockTLSArtifactsGenerator.generate(mockCertificateNamesGenerator)).thenReturn(GENERATED_ARTIFACTS);
+
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            new TLSArtifactsUpdater(TestConstants.SERVICE_NAME, mockSecretsClient, mockTLSArtifactsGenerator, executor)
+                    .update(mockTLSArtifactPaths, mockCertificateNamesGenerator, SPEC_NAME);
+        } finally {
+            executor.shutdown();
+        }
+
+        verify(mockSecretsClient).list(TestConstants.SERVICE_NAME);
+        verify(mockSecretsClient).delete(TestConstants.SERVICE_NAME + "/secret1");
+        verify(mockSecretsClient).delete(TestConstants.SERVICE_NAME + "/secret2");
+        verifyGeneratedSecretsAdded(mockSecretsClient);
+        verifyNoMoreInteractions(mockSecretsClient);
+    }
+
+    @Test
+    public void testUpdateConcurrentFailure() throws Exception {
+        when(mockSecretsClient.list(TestConstants.SERVICE_NAME)).thenReturn(Collections.emptyList());
+        when(mockTLSArtifactsGenerator.generate(mockCertificateNamesGenerator)).thenReturn(GENERATED_ARTIFACTS);
+        doThrow(new IOException("test")).when(mockSecretsClient).create(any(), any());
+
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            new TLSArtifactsUpdater(TestConstants.SERVICE_NAME, mockSecretsClient, mockTLSArtifactsGenerator, executor)
+                    .update(mockTLSArtifactPaths, mockCertificateNamesGenerator, SPEC_NAME);
+            Assert.fail("Expected update failure");
+        } catch (IOException e) {
+            Assert.assertEquals("test", e.getMessage());
+        } finally {
+            executor.shutdown();
+        }
+
+        // All creates are attempted even though some failed:
+        verifyGeneratedSecretsAdded(mockSecretsClient);
+    }
+
     private void verifyGeneratedSecretsAdded(SecretsClient mockSecretsClient) throws IOException {
         for (Map.Entry<TLSArtifact, String> entry : GENERATED_ARTIFACTS.entrySet()) {
             verify(mockSecretsClient).create(
@@ -6,6 +6,14 @@ import org.json.JSONObject;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
 public class OfferOutcomeTrackerTest {
 
     @Test
@@ -61,6 +69,44 @@ public class OfferOutcomeTrackerTest {
         verifyJson(tracker.toJson(), "pass", "fail");
     }
 
+    @Test
+    public void verifyConcurrentTracking() throws Exception {
+        final int threadCount = 8;
+        final int outcomesPerThread = 1000;
+        OfferOutcomeTracker tracker = new OfferOutcomeTracker(10);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount + 1);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threadCount; ++i) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < outcomesPerThread; ++j) {
+                        tracker.track(generateTestOutcome(j % 2 == 0));
+                    }
+                    return null;
+                }));
+            }
+            // Read the outcomes while they're being written, as the debug endpoint would:
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int j = 0; j < outcomesPerThread; ++j) {
+                    Assert.assertTrue(tracker.toJson().getJSONArray(OfferOutcomeTracker.OUTCOMES_FIELD).length() <= 10);
+                }
+                return null;
+            }));
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Assert.assertEquals(10, tracker.toJson().getJSONArray(OfferOutcomeTracker.OUTCOMES_FIELD).length());
+    }
+
     private OfferOutcome generateTestOutcome(boolean pass) {
         return new OfferOutcome("instance-name",
                 pass,
@@ -23,14 +23,17 @@ import org.slf4j.LoggerFactory;
 import org.apache.mesos.Protos;
 import org.apache.mesos.SchedulerDriver;
 
+import com.google.protobuf.ByteString;
 import com.mesosphere.sdk.dcos.clients.SecretsClient;
 import com.mesosphere.sdk.scheduler.plan.PlanCoordinator;
 import com.mesosphere.sdk.scheduler.plan.Step;
 import com.mesosphere.sdk.specification.ServiceSpec;
 import com.mesosphere.sdk.state.ConfigStore;
 import com.mesosphere.sdk.state.StateStore;
+import com.mesosphere.sdk.state.StateStoreException;
 import com.mesosphere.sdk.storage.MemPersister;
 import com.mesosphere.sdk.storage.PersisterException;
+import com.mesosphere.sdk.storage.StorageError.Reason;
 import com.mesosphere.sdk.testutils.SchedulerConfigTestUtils;
 import com.mesosphere.sdk.testutils.TestConstants;
 
@@ -90,6 +93,50 @@ public class AbstractSchedulerTest {
         verify(mockSchedulerDriver, never()).declineOffer(any(), any());
     }
 
+    @Test
+    public void testStopHandlesQueuedStatusUpdates() throws Exception {
+        SchedulerConfig schedulerConfig = SchedulerConfigTestUtils.getTestSchedulerConfig();
+        when(schedulerConfig.isStatusGroupCommitEnabled()).thenReturn(true);
+        when(schedulerConfig.getStatusGroupCommitLingerMs()).thenReturn(10L);
+        TestScheduler scheduler = getScheduler(schedulerConfig, false, true, -1);
+
+        final int statusCount = 20;
+        for (int i = 0; i < statusCount; ++i) {
+            scheduler.getMesosScheduler().get().statusUpdate(mockSchedulerDriver, TestConstants.TASK_STATUS);
+        }
+        scheduler.stop();
+        Assert.assertEquals(statusCount, scheduler.receivedStatuses.size());
+
+        // Status updates which arrive after stopping are dropped:
+        scheduler.getMesosScheduler().get().statusUpdate(mockSchedulerDriver, TestConstants.TASK_STATUS);
+        Assert.assertEquals(statusCount, scheduler.receivedStatuses.size());
+    }
+
+    @Test
+    public void testGroupCommitStatusAcknowledgedAfterStore() throws Exception {
+        SchedulerConfig schedulerConfig = SchedulerConfigTestUtils.getTestSchedulerConfig();
+        when(schedulerConfig.isStatusGroupCommitEnabled()).thenReturn(true);
+        TestScheduler scheduler = getScheduler(schedulerConfig, false, false, -1);
+        Protos.TaskStatus status = TestConstants.TASK_STATUS.toBuilder()
+                .setUuid(ByteString.copyFromUtf8("status-uuid"))
+                .build();
+
+        // A status which couldn't be stored is left unacknowledged, so that Mesos resends it:
+        scheduler.statusError = new StateStoreException(new PersisterException(Reason.STORAGE_ERROR, "failed"));
+        scheduler.getMesosScheduler().get().statusUpdate(mockSchedulerDriver, status);
+        verify(mockSchedulerDriver, never()).acknowledgeStatusUpdate(any());
+
+        // A status which was rejected for any other reason is acknowledged, as resending it wouldn't help:
+        scheduler.statusError = new StateStoreException(Reason.NOT_FOUND, "unknown task");
+        scheduler.getMesosScheduler().get().statusUpdate(mockSchedulerDriver, status);
+        verify(mockSchedulerDriver, times(1)).acknowledgeStatusUpdate(status);
+
+        scheduler.statusError = null;
+        scheduler.getMesosScheduler().get().statusUpdate(mockSchedulerDriver, status);
+        Assert.assertEquals(Arrays.asList(status), scheduler.receivedStatuses);
+        verify(mockSchedulerDriver, times(2)).acknowledgeStatusUpdate(status);
+    }
+
     private Set<String> sendOffers(AbstractScheduler scheduler, int threadCount, int offersPerThread)
             throws InterruptedException {
         // Hammer scheduler with offers, and check that they were all forwarded as expected
@@ -146,8 +193,14 @@ public class AbstractSchedulerTest {
 
     private TestScheduler getScheduler(boolean waitForApiServer, boolean multithreaded, int offerQueueSize)
             throws PersisterException {
-        TestScheduler scheduler = new TestScheduler(
-                stateStore, mockConfigStore, SchedulerConfigTestUtils.getTestSchedulerConfig());
+        return getScheduler(
+                SchedulerConfigTestUtils.getTestSchedulerConfig(), waitForApiServer, multithreaded, offerQueueSize);
+    }
+
+    private TestScheduler getScheduler(
+            SchedulerConfig schedulerConfig, boolean waitForApiServer, boolean multithreaded, int offerQueueSize)
+            throws PersisterException {
+        TestScheduler scheduler = new TestScheduler(stateStore, mockConfigStore, schedulerConfig);
         // Customize...
         if (!waitForApiServer) {
             scheduler.disableApiServer();
@@ -170,6 +223,8 @@ public class AbstractSchedulerTest {
         private final PlanCoordinator mockPlanCoordinator = mock(PlanCoordinator.class);
 
         private final Set<String> receivedOfferIds = new HashSet<>();
+        private final List<Protos.TaskStatus> receivedStatuses = new ArrayList<>();
+        private StateStoreException statusError;
 
         protected TestScheduler(
                 StateStore stateStore, ConfigStore<ServiceSpec> configStore, SchedulerConfig schedulerConfig) {
@@ -197,7 +252,10 @@ public class AbstractSchedulerTest {
 
         @Override
         protected void processStatusUpdate(Protos.TaskStatus status) throws Exception {
-            throw new UnsupportedOperationException();
+            if (statusError != null) {
+                throw statusError;
+            }
+            receivedStatuses.add(status);
         }
     }
 }
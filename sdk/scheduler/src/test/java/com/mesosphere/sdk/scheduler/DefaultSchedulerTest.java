@@ -2,8 +2,10 @@ package com.mesosphere.sdk.scheduler;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.protobuf.ByteString;
 import com.mesosphere.sdk.dcos.Capabilities;
 import com.mesosphere.sdk.dcos.DcosVersion;
+import com.mesosphere.sdk.offer.CommonIdUtils;
 import com.mesosphere.sdk.offer.Constants;
 import com.mesosphere.sdk.offer.evaluate.EvaluationOutcome;
 import com.mesosphere.sdk.offer.evaluate.placement.PlacementField;
@@ -324,6 +326,54 @@ public class DefaultSchedulerTest {
                 getStepStatuses(getDeploymentPlan()));
     }
 
+    @Test
+    public void testGroupCommitStatusUpdates() throws Exception {
+        SchedulerConfig schedulerConfig = SchedulerConfigTestUtils.getTestSchedulerConfig();
+        when(schedulerConfig.isStatusGroupCommitEnabled()).thenReturn(true);
+        defaultScheduler = getScheduler(getServiceSpec(podA, podB), schedulerConfig);
+
+        Plan plan = getDeploymentPlan();
+        Step stepTaskA0 = plan.getChildren().get(0).getChildren().get(0);
+        Protos.Offer offer1 = getSufficientOfferForTaskA();
+        defaultScheduler.getMesosScheduler().get()
+                .resourceOffers(mockSchedulerDriver, Arrays.asList(offer1));
+        verify(mockSchedulerDriver, times(1)).acceptOffers(
+                collectionThat(contains(offer1.getId())),
+                operationsCaptor.capture(),
+                any());
+        defaultScheduler.awaitOffersProcessed();
+        Protos.TaskID launchedTaskId = getTaskId(operationsCaptor.getValue());
+
+        // The status and its IP address are stored, and the plan is notified once they have been written. The status
+        // is only acknowledged after that:
+        Protos.TaskStatus runningStatus = getTaskStatus(launchedTaskId, Protos.TaskState.TASK_RUNNING).toBuilder()
+                .setUuid(ByteString.copyFromUtf8("running-uuid"))
+                .build();
+        defaultScheduler.getMesosScheduler().get().statusUpdate(mockSchedulerDriver, runningStatus);
+        Assert.assertTrue(stateStore.fetchStatuses().stream()
+                .anyMatch(status -> status.getTaskId().equals(launchedTaskId)
+                        && status.getState() == Protos.TaskState.TASK_RUNNING));
+        Assert.assertEquals(TASK_IP, StateStoreUtils.getTaskStatusFromProperty(
+                stateStore, TASK_A_POD_NAME + "-0-" + TASK_A_NAME).get()
+                .getContainerStatus().getNetworkInfos(0).getIpAddresses(0).getIpAddress());
+        Assert.assertTrue(stepTaskA0.isComplete());
+        verify(mockSchedulerDriver, times(1)).acknowledgeStatusUpdate(runningStatus);
+
+        // A status for an unknown task is dropped without affecting the plan, and is still acknowledged so that Mesos
+        // doesn't keep resending it:
+        Protos.TaskStatus unknownStatus = getTaskStatus(
+                CommonIdUtils.toTaskId("unknown-task"), Protos.TaskState.TASK_FAILED).toBuilder()
+                .setUuid(ByteString.copyFromUtf8("unknown-uuid"))
+                .build();
+        defaultScheduler.getMesosScheduler().get().statusUpdate(mockSchedulerDriver, unknownStatus);
+        Assert.assertTrue(stepTaskA0.isComplete());
+        verify(mockSchedulerDriver, times(1)).acknowledgeStatusUpdate(unknownStatus);
+
+        // A status without a UUID, as sent for reconciliation, isn't acknowledged:
+        statusUpdate(launchedTaskId, Protos.TaskState.TASK_RUNNING);
+        verify(mockSchedulerDriver, times(2)).acknowledgeStatusUpdate(any());
+    }
+
     @Test
     public void testLaunchAndRecovery() throws Exception {
         // Get first Step associated with Task A-0
@@ -887,8 +937,12 @@ public class DefaultSchedulerTest {
     }
 
     private DefaultScheduler getScheduler(ServiceSpec serviceSpec) throws PersisterException {
-        AbstractScheduler scheduler = DefaultScheduler.newBuilder(
-                serviceSpec, SchedulerConfigTestUtils.getTestSchedulerConfig(), new MemPersister())
+        return getScheduler(serviceSpec, SchedulerConfigTestUtils.getTestSchedulerConfig());
+    }
+
+    private DefaultScheduler getScheduler(ServiceSpec serviceSpec, SchedulerConfig schedulerConfig)
+            throws PersisterException {
+        AbstractScheduler scheduler = DefaultScheduler.newBuilder(serviceSpec, schedulerConfig, new MemPersister())
                 .setStateStore(stateStore)
                 .setConfigStore(configStore)
                 .build()
@@ -0,0 +1,105 @@
+package com.mesosphere.sdk.scheduler;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link GroupCommitter}.
+ */
+public class GroupCommitterTest {
+
+    @Test
+    public void testSubmitDoesNotWaitForHandler() {
+        List<Runnable> tasks = new ArrayList<>();
+        List<List<Integer>> batches = new ArrayList<>();
+        GroupCommitter<Integer> committer = new GroupCommitter<>(tasks::add, 0, batches::add);
+
+        committer.submit(0);
+        committer.submit(1);
+        committer.submit(2);
+        assertTrue(batches.isEmpty());
+        assertEquals(3, committer.getQueuedCount());
+
+        // The first task handles everything queued so far, leaving nothing for the others:
+        for (Runnable task : tasks) {
+            task.run();
+        }
+        assertEquals(Collections.singletonList(Arrays.asList(0, 1, 2)), batches);
+        assertEquals(0, committer.getQueuedCount());
+    }
+
+    @Test
+    public void testItemsQueuedDuringHandlerAreBatched() throws Exception {
+        CountDownLatch firstBatchStarted = new CountDownLatch(1);
+        CountDownLatch finishFirstBatch = new CountDownLatch(1);
+        List<List<Integer>> batches = Collections.synchronizedList(new ArrayList<>());
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            GroupCommitter<Integer> committer = new GroupCommitter<>(executor, 0, batch -> {
+                batches.add(batch);
+                if (batch.contains(0)) {
+                    firstBatchStarted.countDown();
+                    try {
+                        finishFirstBatch.await();
+                    } catch (InterruptedException e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+            });
+
+            committer.submit(0);
+            assertTrue(firstBatchStarted.await(10, TimeUnit.SECONDS));
+            for (int i = 1; i < 5; ++i) {
+                committer.submit(i);
+            }
+            assertEquals(4, committer.getQueuedCount());
+            finishFirstBatch.countDown();
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+
+        assertEquals(Arrays.asList(Arrays.asList(0), Arrays.asList(1, 2, 3, 4)), batches);
+    }
+
+    @Test
+    public void testItemsSubmittedAfterCloseAreDropped() {
+        List<Runnable> tasks = new ArrayList<>();
+        List<List<Integer>> batches = new ArrayList<>();
+        GroupCommitter<Integer> committer = new GroupCommitter<>(tasks::add, 0, batches::add);
+
+        committer.submit(0);
+        committer.close();
+        committer.submit(1);
+        assertEquals(1, tasks.size());
+
+        // Items submitted before closing are still handled:
+        tasks.get(0).run();
+        assertEquals(Collections.singletonList(Arrays.asList(0)), batches);
+    }
+
+    @Test
+    public void testHandlerExceptionDoesNotAffectLaterBatches() {
+        List<List<Integer>> batches = new ArrayList<>();
+        GroupCommitter<Integer> committer = new GroupCommitter<>(Runnable::run, 0, batch -> {
+            if (batch.contains(0)) {
+                throw new IllegalStateException("handler failed");
+            }
+            batches.add(batch);
+        });
+
+        committer.submit(0);
+        committer.submit(1);
+        assertEquals(Collections.singletonList(Arrays.asList(1)), batches);
+    }
+}
@@ -39,6 +39,33 @@ public class MetricsTest {
         Assert.assertEquals(1, timer.getCount() - val);
     }
 
+    @Test
+    public void recordEvaluateOfferDuration() {
+        Timer passTimer = Metrics.getRegistry().timer("offers.evaluate.offer.pass");
+        Timer failTimer = Metrics.getRegistry().timer("offers.evaluate.offer.fail");
+        long passVal = passTimer.getCount();
+        long failVal = failTimer.getCount();
+        Metrics.recordEvaluateOfferDuration(true, 1000);
+        Metrics.recordEvaluateOfferDuration(false, 1000);
+        Metrics.recordEvaluateOfferDuration(false, 1000);
+        Assert.assertEquals(1, passTimer.getCount() - passVal);
+        Assert.assertEquals(2, failTimer.getCount() - failVal);
+    }
+
+    @Test
+    public void recordEvaluationStageDuration() {
+        Timer passTimer = Metrics.getRegistry().timer("offers.evaluate.stage.MetricsTest.pass");
+        Timer failTimer = Metrics.getRegistry().timer("offers.evaluate.stage.MetricsTest.fail");
+        long passVal = passTimer.getCount();
+        long failVal = failTimer.getCount();
+        Metrics.recordEvaluationStageDuration(MetricsTest.class, true, 1000);
+        Metrics.recordEvaluationStageDuration(MetricsTest.class, true, 3000);
+        Metrics.recordEvaluationStageDuration(MetricsTest.class, false, 1000);
+        Assert.assertEquals(2, passTimer.getCount() - passVal);
+        Assert.assertEquals(1, failTimer.getCount() - failVal);
+        Assert.assertEquals(3000, passTimer.getSnapshot().getMax());
+    }
+
     @Test
     public void incrementRevives() {
         Counter counter = Metrics.getRegistry().counter(Metrics.REVIVES);
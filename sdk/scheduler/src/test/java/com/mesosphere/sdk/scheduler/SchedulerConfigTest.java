@@ -41,4 +41,22 @@ public class SchedulerConfigTest {
         environmentVariables.set("ALLOW_REGION_AWARENESS", "true");
         Assert.assertTrue(schedulerConfig.isregionAwarenessEnabled());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void offerEvaluationThreads() {
+        SchedulerConfig schedulerConfig = SchedulerConfig.fromEnv();
+        Assert.assertEquals(1, schedulerConfig.getOfferEvaluationThreads());
+
+        environmentVariables.set("OFFER_EVALUATION_THREADS", "8");
+        Assert.assertEquals(8, schedulerConfig.getOfferEvaluationThreads());
+    }
+
+    @Test
+    public void stepEvaluationThreads() {
+        SchedulerConfig schedulerConfig = SchedulerConfig.fromEnv();
+        Assert.assertEquals(1, schedulerConfig.getStepEvaluationThreads());
+
+        environmentVariables.set("STEP_EVALUATION_THREADS", "4");
+        Assert.assertEquals(4, schedulerConfig.getStepEvaluationThreads());
+    }
+}
@@ -48,6 +48,17 @@ public class SchedulerDriverFactoryTest {
         assertEquals(1, factory.createCalls);
         assertFalse(factory.lastCallHadCredential);
         assertFalse(factory.lastCallHadSecret);
+        assertTrue(factory.lastCallImplicitAcknowledgements);
+    }
+
+    @Test
+    public void testExplicitAcknowledgementsWithStatusGroupCommit() throws Exception {
+        when(mockSchedulerConfig.isStatusGroupCommitEnabled()).thenReturn(true);
+        CustomSchedulerDriverFactory factory = new CustomSchedulerDriverFactory();
+        assertNull(factory.create(
+                new NoOpScheduler(), FRAMEWORK_WITH_PRINCIPAL, MASTER_URL, mockSchedulerConfig));
+        assertEquals(1, factory.createCalls);
+        assertFalse(factory.lastCallImplicitAcknowledgements);
     }
 
     @Test
@@ -147,6 +158,7 @@ public class SchedulerDriverFactoryTest {
         public int createCalls = 0;
         public boolean lastCallHadCredential = false;
         public boolean lastCallHadSecret = false;
+        public boolean lastCallImplicitAcknowledgements = false;
 
         private CustomSchedulerDriverFactory() { }
 
@@ -160,8 +172,10 @@ public class SchedulerDriverFactoryTest {
                 final FrameworkInfo frameworkInfo,
                 final String masterUrl,
                 final Credential credential,
-                final String mesosAPIVersion) {
+                final String mesosAPIVersion,
+                final boolean implicitAcknowledgements) {
             createCalls++;
+            lastCallImplicitAcknowledgements = implicitAcknowledgements;
             if (credential != null) {
                 lastCallHadCredential = true;
                 lastCallHadSecret = credential.hasSecret();
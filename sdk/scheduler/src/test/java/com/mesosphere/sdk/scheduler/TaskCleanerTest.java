@@ -49,7 +49,8 @@ public class TaskCleanerTest {
 
     @Test
     public void dontKillExpectedTask() {
-        when(stateStore.fetchTasks()).thenReturn(Arrays.asList(TestConstants.TASK_INFO));
+        when(stateStore.fetchTaskNamesByTaskId(TestConstants.TASK_STATUS.getTaskId()))
+                .thenReturn(Arrays.asList(TestConstants.TASK_NAME));
 
         taskCleaner.statusUpdate(getNonTerminalStatus());
         verify(taskKiller, never()).killTask(any());
@@ -57,13 +58,15 @@ public class TaskCleanerTest {
 
     @Test
     public void killTaskNonEmptyStateStore() {
-        Protos.TaskInfo taskInfo = TestConstants.TASK_INFO.toBuilder()
-                .setTaskId(Protos.TaskID.newBuilder().setValue(UUID.randomUUID().toString()))
-                .build();
-        when(stateStore.fetchTasks()).thenReturn(Arrays.asList(taskInfo));
+        when(stateStore.fetchTaskNamesByTaskId(TestConstants.TASK_STATUS.getTaskId()))
+                .thenReturn(Arrays.asList(TestConstants.TASK_NAME));
 
+        // A status for the TaskID which the store knows about is left alone, while one for another TaskID is killed:
+        Protos.TaskID unknownTaskId = Protos.TaskID.newBuilder().setValue(UUID.randomUUID().toString()).build();
         taskCleaner.statusUpdate(getNonTerminalStatus());
-        verify(taskKiller, times(1)).killTask(any());
+        taskCleaner.statusUpdate(getNonTerminalStatus().toBuilder().setTaskId(unknownTaskId).build());
+        verify(taskKiller, never()).killTask(TestConstants.TASK_STATUS.getTaskId());
+        verify(taskKiller, times(1)).killTask(unknownTaskId);
     }
 
     private Protos.TaskStatus getTerminalStatus() {
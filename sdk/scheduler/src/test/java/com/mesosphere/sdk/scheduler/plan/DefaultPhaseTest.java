@@ -2,6 +2,7 @@ package com.mesosphere.sdk.scheduler.plan;
 
 import com.mesosphere.sdk.scheduler.plan.strategy.CanaryStrategy;
 import com.mesosphere.sdk.scheduler.plan.strategy.SerialStrategy;
+import com.mesosphere.sdk.scheduler.plan.strategy.Strategy;
 import org.junit.Assert;
 import org.junit.Test;
 import org.mockito.Mockito;
@@ -10,7 +11,10 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
+import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyCollectionOf;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class DefaultPhaseTest {
@@ -47,4 +51,87 @@ public class DefaultPhaseTest {
 
         Assert.assertEquals(Status.WAITING, canaryPhase.getStatus());
     }
+
+    @Test
+    public void testStatusCachedUntilStepChanges() {
+        TestStep step1 = new TestStep("step-1", null);
+        TestStep step2 = new TestStep("step-2", null);
+        Strategy<Step> strategy = Mockito.spy(new SerialStrategy<>());
+        final DefaultPhase phase = new DefaultPhase(
+                "serial-phase",
+                Arrays.asList(step1, step2),
+                strategy,
+                Collections.emptyList());
+
+        Assert.assertEquals(Status.PENDING, phase.getStatus());
+        Assert.assertEquals(Status.PENDING, phase.getStatus());
+        verify(strategy, times(1)).getCandidates(any(), any());
+
+        step1.setStatus(Status.COMPLETE);
+        Assert.assertEquals(Status.IN_PROGRESS, phase.getStatus());
+        step2.setStatus(Status.COMPLETE);
+        Assert.assertEquals(Status.COMPLETE, phase.getStatus());
+
+        phase.restart();
+        Assert.assertEquals(Status.PENDING, phase.getStatus());
+        phase.interrupt();
+        Assert.assertEquals(Status.WAITING, phase.getStatus());
+    }
+
+    @Test
+    public void testStatusCachedWhenStepStatusUnchanged() {
+        TestStep step = new TestStep("step", null);
+        Strategy<Step> strategy = Mockito.spy(new SerialStrategy<>());
+        final DefaultPhase phase = new DefaultPhase(
+                "serial-phase",
+                Arrays.asList(step),
+                strategy,
+                Collections.emptyList());
+
+        Assert.assertEquals(Status.PENDING, phase.getStatus());
+        step.setStatus(Status.PENDING);
+        step.proceed();
+        Assert.assertEquals(Status.PENDING, phase.getStatus());
+        verify(strategy, times(1)).getCandidates(any(), any());
+    }
+
+    @Test
+    public void testStepChangeOnlyInvalidatesContainingPlan() {
+        TestStep step1 = new TestStep("step-1", null);
+        TestStep step2 = new TestStep("step-2", null);
+        Strategy<Step> strategy1 = Mockito.spy(new SerialStrategy<>());
+        Strategy<Step> strategy2 = Mockito.spy(new SerialStrategy<>());
+        final DefaultPhase phase1 = new DefaultPhase(
+                "phase-1", Arrays.asList(step1), strategy1, Collections.emptyList());
+        final DefaultPhase phase2 = new DefaultPhase(
+                "phase-2", Arrays.asList(step2), strategy2, Collections.emptyList());
+        final Plan plan = new DefaultPlan("plan", Arrays.asList(phase1, phase2));
+
+        Assert.assertEquals(Status.PENDING, plan.getStatus());
+        verify(strategy1, times(1)).getCandidates(any(), any());
+        verify(strategy2, times(1)).getCandidates(any(), any());
+
+        step1.setStatus(Status.COMPLETE);
+        Assert.assertEquals(Status.IN_PROGRESS, plan.getStatus());
+        verify(strategy1, times(2)).getCandidates(any(), any());
+        verify(strategy2, times(1)).getCandidates(any(), any());
+        Assert.assertEquals(Status.COMPLETE, phase1.getStatus());
+        Assert.assertEquals(Status.PENDING, phase2.getStatus());
+    }
+
+    @Test
+    public void testStatusNotCachedForCustomSteps() {
+        Step step = Mockito.mock(Step.class);
+        when(step.isEligible(anyCollectionOf(PodInstanceRequirement.class))).thenReturn(true);
+        final DefaultPhase phase = new DefaultPhase(
+                "serial-phase",
+                Arrays.asList(step),
+                new SerialStrategy<>(),
+                Collections.emptyList());
+
+        when(step.getStatus()).thenReturn(Status.PENDING);
+        Assert.assertEquals(Status.PENDING, phase.getStatus());
+        when(step.getStatus()).thenReturn(Status.COMPLETE);
+        Assert.assertEquals(Status.COMPLETE, phase.getStatus());
+    }
 }
@@ -2,8 +2,11 @@ package com.mesosphere.sdk.scheduler.plan;
 
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.mesos.Protos;
+import com.mesosphere.sdk.offer.CommonIdUtils;
+import com.mesosphere.sdk.offer.TaskUtils;
 import com.mesosphere.sdk.reconciliation.Reconciler;
 import com.mesosphere.sdk.scheduler.plan.strategy.SerialStrategy;
+import com.mesosphere.sdk.testutils.PodTestUtils;
 import com.mesosphere.sdk.testutils.TestConstants;
 import org.junit.Assert;
 import org.junit.Before;
@@ -25,6 +28,8 @@ public class DefaultPlanManagerTest {
     private PlanManager planManager;
 
     @Mock Step mockStep;
+    @Mock DeploymentStep mockDeploymentStep0;
+    @Mock DeploymentStep mockDeploymentStep1;
     @Mock Reconciler reconciler;
     @Mock private PodInstanceRequirement podInstance0;
     @Mock private PodInstanceRequirement podInstance1;
@@ -184,6 +189,52 @@ public class DefaultPlanManagerTest {
         verify(mockStep, times(1)).update(any());
     }
 
+    @Test
+    public void testUpdateRoutedToOwningDeploymentStep() {
+        PodInstanceRequirement requirement0 = PodTestUtils.getPodInstanceRequirement(0);
+        PodInstanceRequirement requirement1 = PodTestUtils.getPodInstanceRequirement(1);
+        when(mockStep.getId()).thenReturn(UUID.randomUUID());
+        when(mockDeploymentStep0.getId()).thenReturn(UUID.randomUUID());
+        when(mockDeploymentStep0.getPodInstanceRequirement()).thenReturn(Optional.of(requirement0));
+        when(mockDeploymentStep1.getId()).thenReturn(UUID.randomUUID());
+        when(mockDeploymentStep1.getPodInstanceRequirement()).thenReturn(Optional.of(requirement1));
+
+        DefaultPhase phase0 = new DefaultPhase(
+                "phase-0",
+                Arrays.asList(mockDeploymentStep0, mockDeploymentStep1, mockStep),
+                new SerialStrategy<>(),
+                Collections.emptyList());
+
+        DefaultPlan plan = new DefaultPlan(
+                "test-plan",
+                Arrays.asList(phase0),
+                new SerialStrategy<>(),
+                Collections.emptyList());
+
+        PlanManager manager = DefaultPlanManager.createProceeding(plan);
+
+        String taskName = TaskUtils.getTaskNames(requirement1.getPodInstance()).get(0);
+        Protos.TaskStatus status = Protos.TaskStatus.newBuilder()
+                .setTaskId(CommonIdUtils.toTaskId(taskName))
+                .setState(Protos.TaskState.TASK_RUNNING)
+                .build();
+        manager.update(status);
+
+        verify(mockDeploymentStep0, times(0)).update(any());
+        verify(mockDeploymentStep1, times(1)).update(status);
+        verify(mockStep, times(1)).update(status);
+
+        // Statuses for unknown tasks still reach steps which may act on any status:
+        Protos.TaskStatus otherStatus = status.toBuilder()
+                .setTaskId(CommonIdUtils.toTaskId("other-task"))
+                .build();
+        manager.update(otherStatus);
+
+        verify(mockDeploymentStep0, times(0)).update(any());
+        verify(mockDeploymentStep1, times(1)).update(any());
+        verify(mockStep, times(1)).update(otherStatus);
+    }
+
     @Test
     public void testUpdateParameters() {
         when(mockStep.getId()).thenReturn(UUID.randomUUID());
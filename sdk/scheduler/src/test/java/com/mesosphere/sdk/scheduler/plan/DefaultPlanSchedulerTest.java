@@ -128,6 +128,84 @@ public class DefaultPlanSchedulerTest {
         assertTrue(step.isStarting());
     }
 
+    @Test
+    public void testConcurrentEvaluationOfIndependentSteps() throws InvalidRequirementException, IOException {
+        DefaultPlanScheduler concurrentScheduler =
+                new DefaultPlanScheduler(mockOfferAccepter, mockOfferEvaluator, mockStateStore, mockTaskKiller, 2);
+
+        PodInstance otherPodInstance = new DefaultPodInstance(podInstanceRequirement.getPodInstance().getPod(), 1);
+        PodInstanceRequirement otherPodInstanceRequirement = PodInstanceRequirement.newBuilder(
+                otherPodInstance,
+                TaskUtils.getTaskNames(otherPodInstance)).build();
+        TestOfferStep step = new TestOfferStep(podInstanceRequirement);
+        step.setStatus(Status.PENDING);
+        TestOfferStep otherStep = new TestOfferStep(otherPodInstanceRequirement);
+        otherStep.setStatus(Status.PENDING);
+
+        Offer offer = getOffer("offer-0", "agent-0");
+        Offer otherOffer = getOffer("offer-1", "agent-1");
+        List<OfferRecommendation> otherRecommendations = Arrays.asList(mock(OfferRecommendation.class));
+        when(mockOfferEvaluator.evaluate(podInstanceRequirement, Arrays.asList(offer)))
+                .thenReturn(mockRecommendations);
+        when(mockOfferEvaluator.evaluate(otherPodInstanceRequirement, Arrays.asList(otherOffer)))
+                .thenReturn(otherRecommendations);
+        when(mockOfferAccepter.accept(mockSchedulerDriver, mockRecommendations))
+                .thenReturn(Arrays.asList(offer.getId()));
+        when(mockOfferAccepter.accept(mockSchedulerDriver, otherRecommendations))
+                .thenReturn(Arrays.asList(otherOffer.getId()));
+
+        assertEquals(
+                Arrays.asList(offer.getId(), otherOffer.getId()),
+                concurrentScheduler.resourceOffers(
+                        mockSchedulerDriver, Arrays.asList(offer, otherOffer), Arrays.asList(step, otherStep)));
+        assertTrue(step.isStarting());
+        assertTrue(otherStep.isStarting());
+    }
+
+    @Test
+    public void testConcurrentEvaluationRetriesUnmatchedStep() throws InvalidRequirementException, IOException {
+        DefaultPlanScheduler concurrentScheduler =
+                new DefaultPlanScheduler(mockOfferAccepter, mockOfferEvaluator, mockStateStore, mockTaskKiller, 2);
+
+        PodInstance otherPodInstance = new DefaultPodInstance(podInstanceRequirement.getPodInstance().getPod(), 1);
+        PodInstanceRequirement otherPodInstanceRequirement = PodInstanceRequirement.newBuilder(
+                otherPodInstance,
+                TaskUtils.getTaskNames(otherPodInstance)).build();
+        TestOfferStep step = new TestOfferStep(podInstanceRequirement);
+        step.setStatus(Status.PENDING);
+        TestOfferStep otherStep = new TestOfferStep(otherPodInstanceRequirement);
+        otherStep.setStatus(Status.PENDING);
+
+        // Only a single agent: the second step receives no offers in the concurrent pass.
+        Offer offer = getOffer("offer-0", "agent-0");
+        Offer otherOffer = getOffer("offer-1", "agent-0");
+        when(mockOfferEvaluator.evaluate(podInstanceRequirement, Arrays.asList(offer, otherOffer)))
+                .thenReturn(mockRecommendations);
+        when(mockOfferEvaluator.evaluate(otherPodInstanceRequirement, Collections.emptyList()))
+                .thenReturn(Collections.emptyList());
+        when(mockOfferEvaluator.evaluate(otherPodInstanceRequirement, Arrays.asList(otherOffer)))
+                .thenReturn(Collections.emptyList());
+        when(mockOfferAccepter.accept(mockSchedulerDriver, mockRecommendations))
+                .thenReturn(Arrays.asList(offer.getId()));
+
+        assertEquals(
+                Arrays.asList(offer.getId()),
+                concurrentScheduler.resourceOffers(
+                        mockSchedulerDriver, Arrays.asList(offer, otherOffer), Arrays.asList(step, otherStep)));
+        verify(mockOfferEvaluator).evaluate(otherPodInstanceRequirement, Arrays.asList(otherOffer));
+        assertTrue(step.isStarting());
+        assertTrue(otherStep.isPrepared());
+    }
+
+    private static Offer getOffer(String offerId, String agentId) {
+        return Offer.newBuilder()
+                .setId(OfferID.newBuilder().setValue(offerId).build())
+                .setFrameworkId(FrameworkID.newBuilder().setValue("frameworkid").build())
+                .setSlaveId(SlaveID.newBuilder().setValue(agentId).build())
+                .setHostname("hello")
+                .build();
+    }
+
     private static class TestOfferStep extends TestStep {
         private final PodInstanceRequirement podInstanceRequirement;
         private Collection<OfferRecommendation> recommendations;
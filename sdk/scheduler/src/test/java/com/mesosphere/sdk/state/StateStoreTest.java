@@ -6,12 +6,17 @@ import org.apache.mesos.Protos;
 import com.mesosphere.sdk.offer.CommonIdUtils;
 import com.mesosphere.sdk.storage.MemPersister;
 import com.mesosphere.sdk.storage.Persister;
+import com.mesosphere.sdk.storage.PersisterException;
 import com.mesosphere.sdk.storage.PersisterUtils;
+import com.mesosphere.sdk.storage.StorageError.Reason;
 
 import org.junit.*;
 
 import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.Assert.*;
 
@@ -524,6 +529,198 @@ public class StateStoreTest {
         store.storeStatus(TestConstants.TASK_NAME, status);
     }
 
+    @Test
+    public void testStoreStatuses() {
+        List<Map.Entry<String, Protos.TaskStatus>> writes = new ArrayList<>();
+        List<Protos.TaskStatus> statuses = new ArrayList<>();
+        for (int i = 0; i < 10; ++i) {
+            String taskName = TestConstants.TASK_NAME + "-" + i;
+            Protos.TaskStatus status = TASK_STATUS.toBuilder().setTaskId(CommonIdUtils.toTaskId(taskName)).build();
+            statuses.add(status);
+            writes.add(new AbstractMap.SimpleImmutableEntry<>(taskName, status));
+        }
+
+        for (Optional<StateStoreException> result : store.storeStatuses(writes)) {
+            assertFalse(result.isPresent());
+        }
+        assertEquals(new HashSet<>(statuses), new HashSet<>(store.fetchStatuses()));
+        assertEquals(new HashSet<>(statuses), new HashSet<>(new StateStore(persister).fetchStatuses()));
+    }
+
+    @Test
+    public void testStoreStatusesAsProperties() {
+        String otherTaskName = TestConstants.TASK_NAME + "-other";
+        Protos.TaskStatus otherStatus = TASK_STATUS.toBuilder()
+                .setTaskId(CommonIdUtils.toTaskId(otherTaskName))
+                .build();
+
+        List<Optional<StateStoreException>> results = store.storeStatuses(
+                Arrays.asList(
+                        new AbstractMap.SimpleImmutableEntry<>(TestConstants.TASK_NAME, TestConstants.TASK_STATUS),
+                        new AbstractMap.SimpleImmutableEntry<>(otherTaskName, otherStatus)),
+                status -> status.equals(otherStatus));
+
+        assertFalse(results.get(0).isPresent());
+        assertFalse(results.get(1).isPresent());
+        StateStore reloadedStore = new StateStore(persister);
+        assertFalse(StateStoreUtils.getTaskStatusFromProperty(reloadedStore, TestConstants.TASK_NAME).isPresent());
+        assertEquals(otherStatus, StateStoreUtils.getTaskStatusFromProperty(reloadedStore, otherTaskName).get());
+    }
+
+    @Test
+    public void testReadsNotBlockedByStatusWrite() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        persister = new MemPersister() {
+            @Override
+            public void set(String path, byte[] bytes) throws PersisterException {
+                if (path.equals(StateStore.getTaskStatusPath(TestConstants.TASK_NAME))) {
+                    writing.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+                super.set(path, bytes);
+            }
+        };
+        store = new StateStore(persister);
+        Protos.TaskInfo task = StateStoreUtilsTest.createTask(TestConstants.TASK_NAME);
+        store.storeTasks(Arrays.asList(task));
+
+        CompletableFuture<Void> write = CompletableFuture.runAsync(() ->
+                store.storeStatus(TestConstants.TASK_NAME, TASK_STATUS));
+        assertTrue(writing.await(10, TimeUnit.SECONDS));
+
+        // The status isn't visible until the persister write has completed, but reads aren't blocked meanwhile:
+        assertEquals(Arrays.asList(task), store.fetchTasks());
+        assertFalse(store.fetchStatus(TestConstants.TASK_NAME).isPresent());
+
+        release.countDown();
+        write.get(10, TimeUnit.SECONDS);
+        assertEquals(TASK_STATUS, store.fetchStatus(TestConstants.TASK_NAME).get());
+    }
+
+    @Test
+    public void testStoreStatusesSkipsUnknownStatus() {
+        Protos.TaskStatus unknownStatus = TestConstants.TASK_STATUS.toBuilder()
+                .setTaskId(Protos.TaskID.newBuilder().setValue(UUID.randomUUID().toString()))
+                .build();
+        Protos.TaskStatus otherStatus = TASK_STATUS.toBuilder()
+                .setTaskId(CommonIdUtils.toTaskId(TestConstants.TASK_NAME + "-other"))
+                .build();
+
+        // The unknown status is validated against the earlier status for the same task in the batch:
+        List<Optional<StateStoreException>> results = store.storeStatuses(Arrays.asList(
+                new AbstractMap.SimpleImmutableEntry<>(TestConstants.TASK_NAME, TestConstants.TASK_STATUS),
+                new AbstractMap.SimpleImmutableEntry<>(TestConstants.TASK_NAME, unknownStatus),
+                new AbstractMap.SimpleImmutableEntry<>(TestConstants.TASK_NAME + "-other", otherStatus)));
+
+        assertEquals(3, results.size());
+        assertFalse(results.get(0).isPresent());
+        assertEquals(Reason.NOT_FOUND, results.get(1).get().getReason());
+        assertFalse(results.get(2).isPresent());
+        assertEquals(TestConstants.TASK_STATUS, store.fetchStatus(TestConstants.TASK_NAME).get());
+        assertEquals(otherStatus, new StateStore(persister).fetchStatus(TestConstants.TASK_NAME + "-other").get());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testFetchTasksIsImmutable() {
+        store.storeTasks(createTasks(TestConstants.TASK_NAME));
+        store.fetchTasks().clear();
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testFetchStatusesIsImmutable() {
+        store.storeStatus(TestConstants.TASK_NAME, TASK_STATUS);
+        store.fetchStatuses().clear();
+    }
+
+    @Test
+    public void testFetchTasksSnapshotUnaffectedByWrites() {
+        store.storeTasks(createTasks("a"));
+        Collection<Protos.TaskInfo> snapshot = store.fetchTasks();
+        assertEquals(1, snapshot.size());
+
+        store.storeTasks(createTasks("b"));
+        assertEquals(1, snapshot.size());
+        assertEquals(2, store.fetchTasks().size());
+
+        store.clearTask("a");
+        assertEquals(1, snapshot.size());
+        assertEquals(1, store.fetchTasks().size());
+        assertEquals("b", store.fetchTasks().iterator().next().getName());
+    }
+
+    @Test
+    public void testRefreshCacheAfterExternalWrite() throws Exception {
+        Protos.TaskInfo taskInfo = StateStoreUtilsTest.createTask(TestConstants.TASK_NAME);
+        persister.set(StateStore.getTaskInfoPath(taskInfo.getName()), taskInfo.toByteArray());
+        persister.set(StateStore.getTaskStatusPath(taskInfo.getName()),
+                TASK_STATUS.toBuilder().setTaskId(taskInfo.getTaskId()).build().toByteArray());
+
+        // External writes are not visible until the cache is refreshed:
+        assertTrue(store.fetchTasks().isEmpty());
+        assertTrue(store.fetchStatuses().isEmpty());
+
+        store.refreshCache();
+        assertEquals(taskInfo, store.fetchTask(taskInfo.getName()).get());
+        assertEquals(1, store.fetchTasks().size());
+        assertEquals(taskInfo.getTaskId(), store.fetchStatus(taskInfo.getName()).get().getTaskId());
+        assertEquals(1, store.fetchStatuses().size());
+    }
+
+    @Test
+    public void testClearAllDataClearsCache() {
+        store.storeTasks(createTasks(TestConstants.TASK_NAME));
+        store.storeStatus(TestConstants.TASK_NAME, TASK_STATUS);
+
+        store.clearAllData();
+
+        assertTrue(store.fetchTasks().isEmpty());
+        assertTrue(store.fetchStatuses().isEmpty());
+        assertFalse(store.fetchTask(TestConstants.TASK_NAME).isPresent());
+        assertFalse(store.fetchStatus(TestConstants.TASK_NAME).isPresent());
+    }
+
+    @Test
+    public void testFetchTaskNamesByTaskId() {
+        Protos.TaskInfo taskInfoA = StateStoreUtilsTest.createTask("a");
+        Protos.TaskInfo taskInfoB = StateStoreUtilsTest.createTask("b");
+        assertTrue(store.fetchTaskNamesByTaskId(taskInfoA.getTaskId()).isEmpty());
+
+        store.storeTasks(Arrays.asList(taskInfoA, taskInfoB));
+        assertEquals(Arrays.asList("a"), store.fetchTaskNamesByTaskId(taskInfoA.getTaskId()));
+        assertEquals(Arrays.asList("b"), store.fetchTaskNamesByTaskId(taskInfoB.getTaskId()));
+
+        // Replacing a task's TaskInfo with a new TaskID should drop the old TaskID from the index:
+        Protos.TaskInfo relaunchedTaskInfoA = StateStoreUtilsTest.createTask("a");
+        store.storeTasks(Arrays.asList(relaunchedTaskInfoA));
+        assertTrue(store.fetchTaskNamesByTaskId(taskInfoA.getTaskId()).isEmpty());
+        assertEquals(Arrays.asList("a"), store.fetchTaskNamesByTaskId(relaunchedTaskInfoA.getTaskId()));
+
+        store.clearTask("b");
+        assertTrue(store.fetchTaskNamesByTaskId(taskInfoB.getTaskId()).isEmpty());
+
+        // Index should be rebuilt on startup:
+        store = new StateStore(persister);
+        assertEquals(Arrays.asList("a"), store.fetchTaskNamesByTaskId(relaunchedTaskInfoA.getTaskId()));
+    }
+
+    @Test
+    public void testFetchTaskNamesByDuplicateTaskId() {
+        Protos.TaskInfo taskInfoA = StateStoreUtilsTest.createTask("a");
+        Protos.TaskInfo taskInfoB = StateStoreUtilsTest.createTask("b").toBuilder()
+                .setTaskId(taskInfoA.getTaskId())
+                .build();
+        store.storeTasks(Arrays.asList(taskInfoA, taskInfoB));
+        assertEquals(Arrays.asList("a", "b"), store.fetchTaskNamesByTaskId(taskInfoA.getTaskId()));
+
+        store.clearTask("a");
+        assertEquals(Arrays.asList("b"), store.fetchTaskNamesByTaskId(taskInfoA.getTaskId()));
+    }
+
     private static Collection<Protos.TaskInfo> createTasks(String... taskNames) {
         List<Protos.TaskInfo> taskInfos = new ArrayList<>();
         for (String taskName : taskNames) {
@@ -132,6 +132,29 @@ public class MemPersisterTest {
         checkChildren(Collections.emptyList(), persister, "d/1/a/1");
     }
 
+    @Test
+    public void testGetChildrenMany() throws Exception {
+        // Run the same test against a real ZK persister to validate that the MemPersister behavior matches real ZK:
+        when(mockServiceSpec.getName()).thenReturn(TestConstants.SERVICE_NAME);
+        when(mockServiceSpec.getZookeeperConnection()).thenReturn(testZk.getConnectString());
+        CuratorTestUtils.clear(testZk);
+        testGetChildrenManyForPersister(CuratorPersister.newBuilder(mockServiceSpec).build());
+        testGetChildrenManyForPersister(persister);
+    }
+
+    private static void testGetChildrenManyForPersister(Persister persister) throws PersisterException {
+        persister.set("/a/1", VAL);
+        persister.set("/a/2", VAL);
+        persister.set("/b/1/a", VAL);
+        Map<String, Collection<String>> children =
+                persister.getChildrenMany(Arrays.asList("a", "b", "b/1/a", "notfound"));
+        assertEquals(3, children.size());
+        assertEquals(Arrays.asList("1", "2"), new ArrayList<>(children.get("a")));
+        assertEquals(Arrays.asList("1"), new ArrayList<>(children.get("b")));
+        assertTrue(children.get("b/1/a").isEmpty());
+        assertFalse(children.containsKey("notfound"));
+    }
+
     @Test
     public void testDeleteChildren() throws Exception {
         // Run the same test against a real ZK persister to validate that the MemPersister behavior matches real ZK:
@@ -12,6 +12,8 @@ import com.mesosphere.sdk.storage.StorageError.Reason;
 
 import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.doThrow;
@@ -307,6 +309,202 @@ public class PersisterCacheTest {
         runThreads(threads);
     }
 
+    @Test
+    public void testReadsDontWaitForStorageWrites() throws Exception {
+        CountDownLatch writeStarted = new CountDownLatch(1);
+        CountDownLatch finishWrite = new CountDownLatch(1);
+        Persister slowPersister = new MemPersister() {
+            @Override
+            public void set(String path, byte[] bytes) throws PersisterException {
+                writeStarted.countDown();
+                try {
+                    finishWrite.await();
+                } catch (InterruptedException e) {
+                    throw new PersisterException(Reason.STORAGE_ERROR, e);
+                }
+                super.set(path, bytes);
+            }
+        };
+        slowPersister.setMany(Collections.singletonMap(KEY, VAL));
+        cache = new PersisterCache(slowPersister);
+        assertArrayEquals(VAL, cache.get(KEY));
+
+        Thread writer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    cache.set(KEY, VAL2);
+                } catch (PersisterException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        });
+        writer.start();
+        assertTrue(writeStarted.await(10, TimeUnit.SECONDS));
+
+        // While the write is stuck in storage, readers aren't blocked and continue to see the previous value:
+        assertArrayEquals(VAL, cache.get(KEY));
+        assertArrayEquals(VAL, cache.getMany(Arrays.asList(KEY)).get(KEY));
+        assertEquals(KEY_SET, PersisterUtils.getAllKeys(cache));
+
+        finishWrite.countDown();
+        writer.join();
+        assertArrayEquals(VAL2, cache.get(KEY));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWatchRequiresWatchablePersister() throws PersisterException {
+        new PersisterCache(persister, true);
+    }
+
+    @Test
+    public void testWatchInitialLoad() throws PersisterException {
+        TestWatchablePersister watchablePersister = new TestWatchablePersister();
+        watchablePersister.set(KEY, VAL);
+        watchablePersister.set(KEY2, VAL2);
+        cache = new PersisterCache(watchablePersister, true);
+        assertEquals(BOTH_KEYS_SET, PersisterUtils.getAllKeys(cache));
+        assertArrayEquals(VAL, cache.get(KEY));
+        assertArrayEquals(VAL2, cache.get(KEY2));
+    }
+
+    @Test
+    public void testWatchAppliesExternalChanges() throws PersisterException {
+        TestWatchablePersister watchablePersister = new TestWatchablePersister();
+        watchablePersister.set(KEY, VAL);
+        cache = new PersisterCache(watchablePersister, true);
+
+        watchablePersister.listener.onSet("/" + KEY2, VAL2, 0);
+        assertEquals(BOTH_KEYS_SET, PersisterUtils.getAllKeys(cache));
+        assertArrayEquals(VAL2, cache.get(KEY2));
+
+        watchablePersister.listener.onSet("/" + KEY, VAL2, 1);
+        assertArrayEquals(VAL2, cache.get(KEY));
+
+        watchablePersister.listener.onDelete("/" + KEY);
+        assertEquals(KEY2_SET, PersisterUtils.getAllKeys(cache));
+    }
+
+    @Test
+    public void testWatchIgnoresStaleUpdateAfterLocalWrite() throws PersisterException {
+        TestWatchablePersister watchablePersister = new TestWatchablePersister();
+        cache = new PersisterCache(watchablePersister, true);
+
+        cache.set(KEY, VAL);
+        cache.set(KEY, VAL2);
+        // Notification for the first write arrives after the second write was made: ignored
+        watchablePersister.listener.onSet("/" + KEY, VAL, 0);
+        assertArrayEquals(VAL2, cache.get(KEY));
+        // Notification for the second write arrives: caught up
+        watchablePersister.listener.onSet("/" + KEY, VAL2, 1);
+        assertArrayEquals(VAL2, cache.get(KEY));
+        // Subsequent external changes are applied
+        watchablePersister.listener.onSet("/" + KEY, VAL, 2);
+        assertArrayEquals(VAL, cache.get(KEY));
+    }
+
+    @Test
+    public void testWatchAppliesExternalUpdateWhichSkipsLocalWrite() throws PersisterException {
+        TestWatchablePersister watchablePersister = new TestWatchablePersister();
+        cache = new PersisterCache(watchablePersister, true);
+
+        cache.set(KEY, VAL);
+        // Another writer updates the path before the watch re-reads it, so the only notification has their data:
+        watchablePersister.listener.onSet("/" + KEY, VAL2, 1);
+        assertArrayEquals(VAL2, cache.get(KEY));
+        // Subsequent external changes are applied
+        watchablePersister.listener.onSet("/" + KEY, VAL, 2);
+        assertArrayEquals(VAL, cache.get(KEY));
+    }
+
+    @Test
+    public void testWatchUpdatesReceivedDuringLocalWrite() throws PersisterException {
+        TestWatchablePersister watchablePersister = new TestWatchablePersister();
+        cache = new PersisterCache(watchablePersister, true);
+        cache.set(KEY, VAL);
+        cache.set(KEY2, VAL);
+
+        // A stale notification which arrives while the write is in progress is ignored once the write completes:
+        watchablePersister.duringWrite = () -> watchablePersister.listener.onSet("/" + KEY, VAL, 0);
+        cache.set(KEY, VAL2);
+        assertArrayEquals(VAL2, cache.get(KEY));
+
+        // A later notification from another writer which arrives while the write is in progress is applied once the
+        // write completes:
+        watchablePersister.duringWrite = () -> watchablePersister.listener.onSet("/" + KEY2, VAL, 2);
+        cache.set(KEY2, VAL2);
+        assertArrayEquals(VAL, cache.get(KEY2));
+        watchablePersister.duringWrite = () -> { };
+        watchablePersister.listener.onSet("/" + KEY2, VAL2, 3);
+        assertArrayEquals(VAL2, cache.get(KEY2));
+    }
+
+    @Test
+    public void testWatchIgnoresStaleUpdateAfterLocalDelete() throws PersisterException {
+        TestWatchablePersister watchablePersister = new TestWatchablePersister();
+        watchablePersister.set(KEY, VAL);
+        cache = new PersisterCache(watchablePersister, true);
+
+        cache.recursiveDelete(KEY);
+        // Stale notification from before the delete: ignored
+        watchablePersister.listener.onSet("/" + KEY, VAL2, 1);
+        assertTrue(PersisterUtils.getAllKeys(cache).isEmpty());
+        // Notification for the delete arrives: caught up
+        watchablePersister.listener.onDelete("/" + KEY);
+        assertTrue(PersisterUtils.getAllKeys(cache).isEmpty());
+        // Subsequent external changes are applied
+        watchablePersister.listener.onSet("/" + KEY, VAL2, 0);
+        assertArrayEquals(VAL2, cache.get(KEY));
+    }
+
+    @Test
+    public void testWatchRefreshUsesWatchedData() throws PersisterException {
+        TestWatchablePersister watchablePersister = new TestWatchablePersister();
+        cache = new PersisterCache(watchablePersister, true);
+
+        watchablePersister.set(KEY, VAL);
+        assertTrue(PersisterUtils.getAllKeys(cache).isEmpty());
+        cache.refresh();
+        assertEquals(KEY_SET, PersisterUtils.getAllKeys(cache));
+        assertEquals(1, watchablePersister.watchedDataCalls);
+    }
+
+    /**
+     * A {@link WatchablePersister} whose notifications are sent manually by the test.
+     */
+    private static class TestWatchablePersister extends MemPersister implements WatchablePersister {
+        private final Map<String, Integer> versions = new HashMap<>();
+        private WatchablePersister.Listener listener;
+        private Runnable duringWrite = () -> { };
+        private int watchedDataCalls = 0;
+
+        @Override
+        public void watch(WatchablePersister.Listener listener) throws PersisterException {
+            this.listener = listener;
+            for (Map.Entry<String, byte[]> entry : PersisterUtils.getAllData(this).entrySet()) {
+                listener.onSet(entry.getKey(), entry.getValue(), 0);
+            }
+        }
+
+        @Override
+        public Map<String, Integer> setManyWithVersions(Map<String, byte[]> pathBytesMap) throws PersisterException {
+            setMany(pathBytesMap);
+            duringWrite.run();
+            Map<String, Integer> writtenVersions = new HashMap<>();
+            for (String path : pathBytesMap.keySet()) {
+                // Each write of a path increments its version, starting from 0:
+                writtenVersions.put(path, versions.merge(path, 1, Integer::sum) - 1);
+            }
+            return writtenVersions;
+        }
+
+        @Override
+        public Map<String, byte[]> getWatchedData() throws PersisterException {
+            ++watchedDataCalls;
+            return PersisterUtils.getAllData(this);
+        }
+    }
+
     private static void runThreads(Collection<Runnable> runnables) throws InterruptedException {
         final Object lock = new Object();
         final List<Throwable> errors = new ArrayList<>();
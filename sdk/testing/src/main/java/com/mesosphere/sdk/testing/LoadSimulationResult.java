@@ -0,0 +1,193 @@
+package com.mesosphere.sdk.testing;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+import com.codahale.metrics.Snapshot;
+
+/**
+ * The measurements taken during a {@link LoadSimulator} run.
+ */
+public class LoadSimulationResult {
+
+    private final int agentCount;
+    private final Optional<Duration> deployDuration;
+    private final Duration runDuration;
+    private final long offersSent;
+    private final long offersAccepted;
+    private final long offersDeclined;
+    private final long tasksLaunched;
+    private final long statusUpdatesSent;
+    private final Snapshot offerLatencyNanos;
+    private final Map<String, Snapshot> schedulerTimerNanos;
+    private final int maxOfferQueueDepth;
+    private final double meanOfferQueueDepth;
+    private final long peakHeapUsedBytes;
+    private final long retainedHeapUsedBytes;
+
+    LoadSimulationResult(
+            int agentCount,
+            Optional<Duration> deployDuration,
+            Duration runDuration,
+            long offersSent,
+            long offersAccepted,
+            long offersDeclined,
+            long tasksLaunched,
+            long statusUpdatesSent,
+            Snapshot offerLatencyNanos,
+            Map<String, Snapshot> schedulerTimerNanos,
+            int maxOfferQueueDepth,
+            double meanOfferQueueDepth,
+            long peakHeapUsedBytes,
+            long retainedHeapUsedBytes) {
+        this.agentCount = agentCount;
+        this.deployDuration = deployDuration;
+        this.runDuration = runDuration;
+        this.offersSent = offersSent;
+        this.offersAccepted = offersAccepted;
+        this.offersDeclined = offersDeclined;
+        this.tasksLaunched = tasksLaunched;
+        this.statusUpdatesSent = statusUpdatesSent;
+        this.offerLatencyNanos = offerLatencyNanos;
+        this.schedulerTimerNanos = schedulerTimerNanos;
+        this.maxOfferQueueDepth = maxOfferQueueDepth;
+        this.meanOfferQueueDepth = meanOfferQueueDepth;
+        this.peakHeapUsedBytes = peakHeapUsedBytes;
+        this.retainedHeapUsedBytes = retainedHeapUsedBytes;
+    }
+
+    /**
+     * Returns the number of agents in the simulated cluster.
+     */
+    public int getAgentCount() {
+        return agentCount;
+    }
+
+    /**
+     * Returns whether the deploy plan completed before the simulation timed out.
+     */
+    public boolean isDeployComplete() {
+        return deployDuration.isPresent();
+    }
+
+    /**
+     * Returns the time from the scheduler's registration to the completion of its deploy plan, or an empty
+     * {@link Optional} if the deploy plan didn't complete before the simulation timed out.
+     */
+    public Optional<Duration> getDeployDuration() {
+        return deployDuration;
+    }
+
+    /**
+     * Returns the total duration of the simulation.
+     */
+    public Duration getRunDuration() {
+        return runDuration;
+    }
+
+    public long getOffersSent() {
+        return offersSent;
+    }
+
+    public long getOffersAccepted() {
+        return offersAccepted;
+    }
+
+    public long getOffersDeclined() {
+        return offersDeclined;
+    }
+
+    public long getTasksLaunched() {
+        return tasksLaunched;
+    }
+
+    public long getStatusUpdatesSent() {
+        return statusUpdatesSent;
+    }
+
+    /**
+     * Returns the distribution of the time between each offer being sent to the scheduler and the scheduler accepting
+     * or declining it, in nanoseconds. This includes any time spent waiting in the scheduler's offer queue.
+     */
+    public Snapshot getOfferLatencyNanos() {
+        return offerLatencyNanos;
+    }
+
+    /**
+     * Returns the distributions of the scheduler's own {@code offers.*} timers, such as the per-stage offer evaluation
+     * timers, in nanoseconds. Note that these timers are shared by all schedulers in the JVM, and may therefore include
+     * samples from prior simulations.
+     */
+    public Map<String, Snapshot> getSchedulerTimerNanos() {
+        return schedulerTimerNanos;
+    }
+
+    /**
+     * Returns the largest number of offers which were found waiting in the scheduler's offer queue.
+     */
+    public int getMaxOfferQueueDepth() {
+        return maxOfferQueueDepth;
+    }
+
+    /**
+     * Returns the average number of offers which were found waiting in the scheduler's offer queue.
+     */
+    public double getMeanOfferQueueDepth() {
+        return meanOfferQueueDepth;
+    }
+
+    /**
+     * Returns the largest amount of heap which was found to be in use during the simulation.
+     */
+    public long getPeakHeapUsedBytes() {
+        return peakHeapUsedBytes;
+    }
+
+    /**
+     * Returns the amount of heap in use after a GC at the end of the simulation, while the scheduler is still
+     * reachable. This approximates the memory retained by the scheduler and its state.
+     */
+    public long getRetainedHeapUsedBytes() {
+        return retainedHeapUsedBytes;
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner rows = new StringJoiner("\n");
+        rows.add(String.format("Agents: %d", agentCount));
+        rows.add(String.format("Deploy duration: %s",
+                deployDuration.isPresent() ? format(deployDuration.get()) : "INCOMPLETE"));
+        rows.add(String.format("Run duration: %s", format(runDuration)));
+        rows.add(String.format("Offers: %d sent, %d accepted, %d declined",
+                offersSent, offersAccepted, offersDeclined));
+        rows.add(String.format("Tasks launched: %d, status updates sent: %d", tasksLaunched, statusUpdatesSent));
+        rows.add(String.format("Offer latency: %s", format(offerLatencyNanos)));
+        for (Map.Entry<String, Snapshot> entry : schedulerTimerNanos.entrySet()) {
+            rows.add(String.format("  %s: %s", entry.getKey(), format(entry.getValue())));
+        }
+        rows.add(String.format("Offer queue depth: max=%d mean=%.1f", maxOfferQueueDepth, meanOfferQueueDepth));
+        rows.add(String.format("Heap used: peak=%dMB retained=%dMB",
+                peakHeapUsedBytes / (1024 * 1024), retainedHeapUsedBytes / (1024 * 1024)));
+        return rows.toString();
+    }
+
+    private static String format(Duration duration) {
+        return String.format("%.3fs", duration.toMillis() / 1000.0);
+    }
+
+    private static String format(Snapshot snapshot) {
+        return String.format("p50=%.3fms p95=%.3fms p99=%.3fms max=%.3fms (%d samples)",
+                toMillis(snapshot.getMedian()),
+                toMillis(snapshot.get95thPercentile()),
+                toMillis(snapshot.get99thPercentile()),
+                toMillis(snapshot.getMax()),
+                snapshot.size());
+    }
+
+    private static double toMillis(double nanos) {
+        return nanos / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
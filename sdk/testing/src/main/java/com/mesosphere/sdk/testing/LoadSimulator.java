@@ -0,0 +1,559 @@
+package com.mesosphere.sdk.testing;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.mesos.Protos;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.codahale.metrics.MetricFilter;
+import com.codahale.metrics.Snapshot;
+import com.codahale.metrics.Timer;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.mesosphere.sdk.dcos.Capabilities;
+import com.mesosphere.sdk.dcos.DcosVersion;
+import com.mesosphere.sdk.offer.Constants;
+import com.mesosphere.sdk.scheduler.AbstractScheduler;
+import com.mesosphere.sdk.scheduler.DefaultScheduler;
+import com.mesosphere.sdk.scheduler.Metrics;
+import com.mesosphere.sdk.scheduler.SchedulerConfig;
+import com.mesosphere.sdk.scheduler.plan.Plan;
+import com.mesosphere.sdk.specification.DefaultServiceSpec;
+import com.mesosphere.sdk.specification.ServiceSpec;
+import com.mesosphere.sdk.specification.yaml.RawServiceSpec;
+import com.mesosphere.sdk.storage.MemPersister;
+import com.mesosphere.sdk.storage.Persister;
+import com.mesosphere.sdk.storage.PersisterCache;
+
+/**
+ * Deploys the service's Service Specification YAML file against a large synthetic cluster, and measures how the
+ * scheduler performs along the way. Unlike {@link ServiceTestRunner}, which steps a single-threaded scheduler through
+ * a scripted series of {@link SimulationTick}s, this runs the scheduler with all of its threads against a stream of
+ * offers and status updates arriving at configurable rates, until the deploy plan completes or the simulation times
+ * out.
+ *
+ * <p>For example, to profile a 1000-pod deployment against 2000 agents:
+ * <pre>
+ * LoadSimulationResult result = new LoadSimulator()
+ *         .setOptions("hello.count", "1000")
+ *         .setAgentCount(2000)
+ *         .run();
+ * </pre>
+ *
+ * <p>The scheduler is {@link AbstractScheduler#stop() stopped} once the simulation has finished, so that repeated
+ * simulations within a process don't accumulate scheduler threads. Simulations should be run one at a time, as the
+ * scheduler's timers are kept in a process-wide registry which is reset at the start of each run.
+ */
+public class LoadSimulator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LoadSimulator.class);
+
+    /**
+     * Selects the scheduler's offer processing timers, which are included in the result.
+     */
+    private static final MetricFilter OFFER_TIMERS =
+            (name, metric) -> name.startsWith("offers.") && metric instanceof Timer;
+
+    /**
+     * Scheduler environment values which would otherwise be provided by Marathon, or by the service's packaging. Any
+     * values rendered from the packaging, or provided via {@link #setSchedulerEnv(String...)}, take precedence.
+     */
+    private static final Map<String, String> DEFAULT_SCHEDULER_ENV;
+    static {
+        DEFAULT_SCHEDULER_ENV = new HashMap<>();
+        DEFAULT_SCHEDULER_ENV.put("EXECUTOR_URI", "test-executor-uri");
+        DEFAULT_SCHEDULER_ENV.put("LIBMESOS_URI", "test-libmesos-uri");
+        DEFAULT_SCHEDULER_ENV.put("JAVA_URI", "test-java-uri");
+        DEFAULT_SCHEDULER_ENV.put("BOOTSTRAP_URI", "bootstrap-uri");
+        DEFAULT_SCHEDULER_ENV.put("PORT_API", "8080");
+        DEFAULT_SCHEDULER_ENV.put("DCOS_SPACE", "test-space");
+    }
+
+    private final File specPath;
+    private File configTemplateDir;
+    private final Map<String, String> cosmosOptions = new HashMap<>();
+    private final Map<String, String> buildTemplateParams = new HashMap<>();
+    private final Map<String, String> customSchedulerEnv = new HashMap<>();
+
+    private int agentCount = 1000;
+    private List<String> regions = Arrays.asList("region-1");
+    private int zonesPerRegion = 3;
+    private final Map<String, List<String>> attributes = new LinkedHashMap<>();
+    private double agentCpus = 8;
+    private double agentMemoryMb = 32768;
+    private double agentDiskMb = 262144;
+    private long agentPortsBegin = 1025;
+    private long agentPortsEnd = 32000;
+
+    private int offersPerInterval = 100;
+    private long offerIntervalMs = 100;
+    private long taskLaunchDelayMs = 100;
+    private int statusUpdatesPerInterval = 0;
+    private long statusUpdateIntervalMs = 1000;
+    private Optional<Integer> offerQueueSize = Optional.empty();
+    private long sampleIntervalMs = 100;
+    private Duration timeout = Duration.ofMinutes(10);
+
+    /**
+     * Creates a new instance against the default {@code svc.yml} Service Specification YAML file.
+     *
+     * <p>WARNING: If you do not invoke the {@link #run()} method, your simulation will not run!
+     */
+    public LoadSimulator() {
+        this("svc.yml");
+    }
+
+    /**
+     * Creates a new instance against the provided Service Specification YAML filename within the service's
+     * {@code src/main/dist} directory.
+     *
+     * <p>WARNING: If you do not invoke the {@link #run()} method, your simulation will not run!
+     *
+     * @param specDistFilename path to the Service Specification YAML file, relative to the {@code src/main/dist}
+     *                         directory
+     */
+    public LoadSimulator(String specDistFilename) {
+        this(ServiceTestRunner.getDistFile(specDistFilename));
+    }
+
+    /**
+     * Creates a new instance against the provided Service Specification YAML path.
+     *
+     * <p>WARNING: If you do not invoke the {@link #run()} method, your simulation will not run!
+     *
+     * @param specPath path to the Service Specification YAML file
+     */
+    public LoadSimulator(File specPath) {
+        this.specPath = specPath;
+        this.configTemplateDir = specPath.getParentFile();
+        this.attributes.put("rack", Arrays.asList(
+                "rack-0", "rack-1", "rack-2", "rack-3", "rack-4", "rack-5", "rack-6", "rack-7", "rack-8", "rack-9"));
+    }
+
+    /**
+     * Configures the simulation with custom options as would be provided via an {@code options.json} file, in the
+     * same manner as {@link ServiceTestRunner#setOptions(String...)}.
+     *
+     * @return {@code this}
+     */
+    public LoadSimulator setOptions(String... optionKeyVals) {
+        this.cosmosOptions.clear();
+        this.cosmosOptions.putAll(toMap(optionKeyVals));
+        return this;
+    }
+
+    /**
+     * Configures the simulation with custom template parameters to be applied against the Universe packaging, in the
+     * same manner as {@link ServiceTestRunner#setBuildTemplateParams(String...)}.
+     *
+     * @return {@code this}
+     */
+    public LoadSimulator setBuildTemplateParams(String... paramKeyVals) {
+        this.buildTemplateParams.clear();
+        this.buildTemplateParams.putAll(toMap(paramKeyVals));
+        return this;
+    }
+
+    /**
+     * Configures the simulation with a custom configuration template location. By default config templates are
+     * expected to be in the same directory as the Service Specification YAML file.
+     *
+     * @return {@code this}
+     */
+    public LoadSimulator setConfigTemplateDir(File configTemplateDir) {
+        this.configTemplateDir = configTemplateDir;
+        return this;
+    }
+
+    /**
+     * Configures the simulation with additional environment variables in the Scheduler, in the same manner as
+     * {@link ServiceTestRunner#setSchedulerEnv(String...)}. These are also used to build the scheduler's
+     * {@link SchedulerConfig}, so this may be used to compare scheduler settings such as
+     * {@code OFFER_EVALUATION_THREADS} against the same deployment.
+     *
+     * @return {@code this}
+     */
+    public LoadSimulator setSchedulerEnv(String... schedulerEnvKeyVals) {
+        this.customSchedulerEnv.clear();
+        this.customSchedulerEnv.putAll(toMap(schedulerEnvKeyVals));
+        return this;
+    }
+
+    /**
+     * Configures the number of agents in the simulated cluster. The default is 1000.
+     *
+     * @return {@code this}
+     */
+    public LoadSimulator setAgentCount(int agentCount) {
+        this.agentCount = agentCount;
+        return this;
+    }
+
+    /**
+     * Configures the regions which agents are spread across, where the first region is local to the master. The
+     * default is a single region.
+     *
+     * @return {@code this}
+     */
+    public LoadSimulator setRegions(String... regions) {
+        this.regions = Arrays.asList(regions);
+        return this;
+    }
+
+    /**
+     * Configures the number of zones within each region which agents are spread across. The default is 3.
+     *
+     * @return {@code this}
+     */
+    public LoadSimulator setZonesPerRegion(int zonesPerRegion) {
+        this.zonesPerRegion = zonesPerRegion;
+        return this;
+    }
+
+    /**
+     * Configures a text attribute to be included in every agent's offers, with agents taking each of the provided
+     * values in turn. By default agents are spread across 10 values of a {@code rack} attribute.
+     *
+     * @param name the name of the attribute, replacing any prior attribute with the same name
+     * @param values the values to be assigned to agents, or no values to remove the attribute
+     * @return {@code this}
+     */
+    public LoadSimulator setAttribute(String name, String... values) {
+        if (values.length == 0) {
+            this.attributes.remove(name);
+        } else {
+            this.attributes.put(name, Arrays.asList(values));
+        }
+        return this;
+    }
+
+    /**
+     * Configures the unreserved resources of each agent. The default is 8 CPUs, 32GB of memory, and 256GB of disk.
+     *
+     * @return {@code this}
+     */
+    public LoadSimulator setAgentResources(double cpus, double memoryMb, double diskMb) {
+        this.agentCpus = cpus;
+        this.agentMemoryMb = memoryMb;
+        this.agentDiskMb = diskMb;
+        return this;
+    }
+
+    /**
+     * Configures the range of ports offered by each agent. The default is 1025 through 32000.
+     *
+     * @return {@code this}
+     */
+    public LoadSimulator setAgentPorts(long begin, long end) {
+        this.agentPortsBegin = begin;
+        this.agentPortsEnd = end;
+        return this;
+    }
+
+    /**
+     * Configures the rate at which offers are sent to the scheduler. At each interval, offers are sent for up to the
+     * provided number of agents which don't already have an offer outstanding and which haven't been filtered by a
+     * prior decline. The default is 100 offers every 100ms.
+     *
+     * @return {@code this}
+     */
+    public LoadSimulator setOfferRate(int offersPerInterval, long intervalMs) {
+        this.offersPerInterval = offersPerInterval;
+        this.offerIntervalMs = intervalMs;
+        return this;
+    }
+
+    /**
+     * Configures the delay between a task being launched and its being reported as running. Tasks whose goal state
+     * isn't {@code RUNNING} are then reported as finished after the same delay again. The default is 100ms.
+     *
+     * @return {@code this}
+     */
+    public LoadSimulator setTaskLaunchDelayMs(long taskLaunchDelayMs) {
+        this.taskLaunchDelayMs = taskLaunchDelayMs;
+        return this;
+    }
+
+    /**
+     * Configures the rate at which the latest status of already launched tasks is resent to the scheduler, in addition
+     * to the status updates which follow each launch. The default is to not resend any status updates.
+     *
+     * @return {@code this}
+     */
+    public LoadSimulator setStatusUpdateRate(int statusUpdatesPerInterval, long intervalMs) {
+        this.statusUpdatesPerInterval = statusUpdatesPerInterval;
+        this.statusUpdateIntervalMs = intervalMs;
+        return this;
+    }
+
+    /**
+     * Overrides the scheduler's offer queue size, as in {@link AbstractScheduler#setOfferQueueSize(int)}.
+     *
+     * @return {@code this}
+     */
+    public LoadSimulator setOfferQueueSize(int offerQueueSize) {
+        this.offerQueueSize = Optional.of(offerQueueSize);
+        return this;
+    }
+
+    /**
+     * Configures how often the offer queue depth, heap usage, and deploy plan are checked. The default is 100ms.
+     *
+     * @return {@code this}
+     */
+    public LoadSimulator setSampleIntervalMs(long sampleIntervalMs) {
+        this.sampleIntervalMs = sampleIntervalMs;
+        return this;
+    }
+
+    /**
+     * Configures how long to wait for the deploy plan to complete. The default is 10 minutes.
+     *
+     * @return {@code this}
+     */
+    public LoadSimulator setTimeout(Duration timeout) {
+        this.timeout = timeout;
+        return this;
+    }
+
+    /**
+     * Builds a scheduler for the service, then runs it against the simulated cluster until its deploy plan has
+     * completed or the timeout has passed.
+     *
+     * @return a {@link LoadSimulationResult} containing the measurements taken during the simulation
+     * @throws Exception if the scheduler couldn't be built
+     */
+    public LoadSimulationResult run() throws Exception {
+        Capabilities.overrideCapabilities(new Capabilities(new DcosVersion("1.11.0")));
+        try {
+            return runScheduler();
+        } finally {
+            // Reset Capabilities API to default behavior:
+            Capabilities.overrideCapabilities(null);
+        }
+    }
+
+    private LoadSimulationResult runScheduler() throws Exception {
+        Map<String, String> schedulerEnvironment = new HashMap<>(DEFAULT_SCHEDULER_ENV);
+        schedulerEnvironment.putAll(CosmosRenderer.renderSchedulerEnvironment(cosmosOptions, buildTemplateParams));
+        schedulerEnvironment.putAll(customSchedulerEnv);
+        SchedulerConfig schedulerConfig = SchedulerConfig.fromMap(schedulerEnvironment);
+
+        RawServiceSpec rawServiceSpec = RawServiceSpec.newBuilder(specPath)
+                .setEnv(schedulerEnvironment)
+                .build();
+        ServiceSpec serviceSpec = DefaultServiceSpec.newGenerator(
+                rawServiceSpec, schedulerConfig, schedulerEnvironment, configTemplateDir).build();
+
+        Persister persister = schedulerConfig.isStateCacheEnabled()
+                ? new PersisterCache(new MemPersister())
+                : new MemPersister();
+        AbstractScheduler scheduler = DefaultScheduler.newBuilder(serviceSpec, schedulerConfig, persister)
+                .setPlansFrom(rawServiceSpec)
+                .build()
+                .disableApiServer();
+        if (offerQueueSize.isPresent()) {
+            scheduler.setOfferQueueSize(offerQueueSize.get());
+        }
+
+        ScheduledExecutorService callbackExecutor = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat("simulated-driver-%d").setDaemon(true).build());
+        ScheduledExecutorService samplerExecutor = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat("simulation-sampler-%d").setDaemon(true).build());
+        try {
+            List<SimulatedCluster.Agent> agents = getAgents();
+            SimulatedCluster cluster = new SimulatedCluster(serviceSpec, agents, taskLaunchDelayMs, callbackExecutor);
+            Sampler sampler = new Sampler(scheduler);
+
+            // The timers are held in a process-wide registry. Clear any values left by earlier schedulers in this
+            // process, so that the result only reflects this run. The timers are recreated when they're next updated.
+            Metrics.getRegistry().removeMatching(OFFER_TIMERS);
+
+            LOGGER.info("Starting simulated deployment of {} against {} agents", serviceSpec.getName(), agentCount);
+            long startNanos = System.nanoTime();
+            scheduler.start();
+            callbackExecutor.submit(() -> cluster.register(scheduler.getMesosScheduler().get(), getMasterInfo()))
+                    .get();
+            callbackExecutor.scheduleAtFixedRate(
+                    logErrors(() -> cluster.sendOffers(offersPerInterval)),
+                    0, offerIntervalMs, TimeUnit.MILLISECONDS);
+            if (statusUpdatesPerInterval > 0) {
+                callbackExecutor.scheduleAtFixedRate(
+                        logErrors(() -> cluster.sendStatusUpdates(statusUpdatesPerInterval)),
+                        statusUpdateIntervalMs, statusUpdateIntervalMs, TimeUnit.MILLISECONDS);
+            }
+            samplerExecutor.scheduleAtFixedRate(
+                    logErrors(() -> sampler.sample(startNanos)), 0, sampleIntervalMs, TimeUnit.MILLISECONDS);
+
+            if (!sampler.deployed.await(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                LOGGER.warn("Deploy plan didn't complete within {}", timeout);
+            }
+            Duration runDuration = Duration.ofNanos(System.nanoTime() - startNanos);
+
+            callbackExecutor.shutdownNow();
+            samplerExecutor.shutdownNow();
+            callbackExecutor.awaitTermination(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            samplerExecutor.awaitTermination(timeout.toMillis(), TimeUnit.MILLISECONDS);
+
+            Map<String, Snapshot> schedulerTimers = new TreeMap<>();
+            for (Map.Entry<String, Timer> entry : Metrics.getRegistry().getTimers(OFFER_TIMERS).entrySet()) {
+                schedulerTimers.put(entry.getKey(), entry.getValue().getSnapshot());
+            }
+
+            // Measure what remains in use while the scheduler and its state are still reachable:
+            System.gc();
+            long retainedHeapUsedBytes = sampler.memoryBean.getHeapMemoryUsage().getUsed();
+
+            LoadSimulationResult result = new LoadSimulationResult(
+                    agentCount,
+                    sampler.deployNanos == 0 ? Optional.empty() : Optional.of(Duration.ofNanos(sampler.deployNanos)),
+                    runDuration,
+                    cluster.getOffersSent(),
+                    cluster.getOffersAccepted(),
+                    cluster.getOffersDeclined(),
+                    cluster.getTasksLaunched(),
+                    cluster.getStatusUpdatesSent(),
+                    cluster.getOfferLatencyNanos().getSnapshot(),
+                    schedulerTimers,
+                    sampler.maxQueueDepth,
+                    sampler.sampleCount == 0 ? 0 : (double) sampler.queueDepthSum / sampler.sampleCount,
+                    sampler.peakHeapUsedBytes,
+                    retainedHeapUsedBytes);
+            LOGGER.info("Simulation result:\n{}", result);
+            return result;
+        } finally {
+            // The executors were already shut down above unless the simulation failed part way through:
+            callbackExecutor.shutdownNow();
+            samplerExecutor.shutdownNow();
+            scheduler.stop();
+        }
+    }
+
+    /**
+     * Periodically records the scheduler's offer queue depth and the heap usage, and checks whether the deploy plan
+     * has completed. Fields are only written from the sampler thread, and are read after that thread has terminated.
+     */
+    private static class Sampler {
+        private final AbstractScheduler scheduler;
+        private final MemoryMXBean memoryBean = ManagementFactory.getMemoryMXBean();
+        private final CountDownLatch deployed = new CountDownLatch(1);
+
+        private long deployNanos = 0;
+        private int maxQueueDepth = 0;
+        private long queueDepthSum = 0;
+        private long sampleCount = 0;
+        private long peakHeapUsedBytes = 0;
+
+        private Sampler(AbstractScheduler scheduler) {
+            this.scheduler = scheduler;
+        }
+
+        private void sample(long startNanos) {
+            int queueDepth = scheduler.getOfferQueueSize();
+            maxQueueDepth = Math.max(maxQueueDepth, queueDepth);
+            queueDepthSum += queueDepth;
+            ++sampleCount;
+            peakHeapUsedBytes = Math.max(peakHeapUsedBytes, memoryBean.getHeapMemoryUsage().getUsed());
+
+            if (deployNanos == 0
+                    && scheduler.getPlans().stream().filter(Plan::isDeployPlan).anyMatch(Plan::isComplete)) {
+                deployNanos = System.nanoTime() - startNanos;
+                deployed.countDown();
+            }
+        }
+    }
+
+    private List<SimulatedCluster.Agent> getAgents() {
+        Map<String, Protos.Value> resources = new HashMap<>();
+        resources.put(Constants.CPUS_RESOURCE_TYPE, scalar(agentCpus));
+        resources.put(Constants.MEMORY_RESOURCE_TYPE, scalar(agentMemoryMb));
+        resources.put(Constants.DISK_RESOURCE_TYPE, scalar(agentDiskMb));
+        Protos.Value.Builder portsBuilder = Protos.Value.newBuilder().setType(Protos.Value.Type.RANGES);
+        portsBuilder.getRangesBuilder().addRangeBuilder().setBegin(agentPortsBegin).setEnd(agentPortsEnd);
+        resources.put(Constants.PORTS_RESOURCE_TYPE, portsBuilder.build());
+
+        List<SimulatedCluster.Agent> agents = new ArrayList<>(agentCount);
+        for (int i = 0; i < agentCount; ++i) {
+            String region = regions.get(i % regions.size());
+            String zone = String.format("%s-zone-%d", region, (i / regions.size()) % zonesPerRegion);
+
+            List<Protos.Attribute> agentAttributes = new ArrayList<>();
+            for (Map.Entry<String, List<String>> entry : attributes.entrySet()) {
+                List<String> values = entry.getValue();
+                agentAttributes.add(Protos.Attribute.newBuilder()
+                        .setName(entry.getKey())
+                        .setType(Protos.Value.Type.TEXT)
+                        .setText(Protos.Value.Text.newBuilder().setValue(values.get(i % values.size())))
+                        .build());
+            }
+
+            agents.add(new SimulatedCluster.Agent(
+                    String.format("agent-%d.simulated", i), getDomain(region, zone), agentAttributes, resources));
+        }
+        return agents;
+    }
+
+    private Protos.MasterInfo getMasterInfo() {
+        return Protos.MasterInfo.newBuilder()
+                .setId("simulated-master")
+                .setIp(0)
+                .setPort(5050)
+                .setDomain(getDomain(regions.get(0), String.format("%s-zone-0", regions.get(0))))
+                .build();
+    }
+
+    private static Protos.DomainInfo getDomain(String region, String zone) {
+        Protos.DomainInfo.FaultDomain.Builder faultDomain = Protos.DomainInfo.FaultDomain.newBuilder();
+        faultDomain.getRegionBuilder().setName(region);
+        faultDomain.getZoneBuilder().setName(zone);
+        return Protos.DomainInfo.newBuilder().setFaultDomain(faultDomain).build();
+    }
+
+    private static Protos.Value scalar(double val) {
+        Protos.Value.Builder builder = Protos.Value.newBuilder()
+                .setType(Protos.Value.Type.SCALAR);
+        builder.getScalarBuilder().setValue(val);
+        return builder.build();
+    }
+
+    /**
+     * Avoids silently cancelling periodic work if it throws.
+     */
+    private static Runnable logErrors(Runnable runnable) {
+        return () -> {
+            try {
+                runnable.run();
+            } catch (Throwable e) {
+                LOGGER.error("Simulation task failed", e);
+            }
+        };
+    }
+
+    private static Map<String, String> toMap(String... keyVals) {
+        Map<String, String> map = new HashMap<>();
+        if (keyVals.length % 2 != 0) {
+            throw new IllegalArgumentException(String.format(
+                    "Expected an even number of arguments [key, value, key, value, ...], got: %d",
+                    keyVals.length));
+        }
+        for (int i = 0; i < keyVals.length; i += 2) {
+            map.put(keyVals[i], keyVals[i + 1]);
+        }
+        return map;
+    }
+}
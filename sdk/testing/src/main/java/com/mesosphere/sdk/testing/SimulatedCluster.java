@@ -0,0 +1,452 @@
+package com.mesosphere.sdk.testing;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.mesos.Protos;
+import org.apache.mesos.Scheduler;
+import org.apache.mesos.SchedulerDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.UniformReservoir;
+import com.mesosphere.sdk.offer.TaskException;
+import com.mesosphere.sdk.offer.ValueUtils;
+import com.mesosphere.sdk.offer.taskdata.TaskLabelReader;
+import com.mesosphere.sdk.specification.GoalState;
+import com.mesosphere.sdk.specification.PodSpec;
+import com.mesosphere.sdk.specification.ServiceSpec;
+import com.mesosphere.sdk.specification.TaskSpec;
+import com.mesosphere.sdk.testutils.TestConstants;
+
+/**
+ * A synthetic cluster of agents which stands in for the Mesos master during a {@link LoadSimulator} run. It offers the
+ * agents' unreserved resources to the scheduler, applies any operations which the scheduler accepts, and reports
+ * launched tasks as running after a delay.
+ *
+ * <p>All callbacks into the scheduler are made from a single thread, as libmesos does, while calls from the scheduler
+ * into the {@link SchedulerDriver} may arrive from any of the scheduler's threads.
+ */
+class SimulatedCluster {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SimulatedCluster.class);
+
+    /**
+     * An agent in the simulated cluster, along with its remaining unreserved resources.
+     */
+    static class Agent {
+        private final Protos.SlaveID agentId;
+        private final String hostname;
+        private final Protos.DomainInfo domain;
+        private final List<Protos.Attribute> attributes;
+        private final Map<String, Protos.Value> unreserved;
+
+        // Access is guarded by the owning SimulatedCluster:
+        private Protos.OfferID outstandingOfferId;
+        private long refusedUntilNanos;
+
+        Agent(
+                String hostname,
+                Protos.DomainInfo domain,
+                List<Protos.Attribute> attributes,
+                Map<String, Protos.Value> resources) {
+            this.agentId = Protos.SlaveID.newBuilder().setValue(hostname).build();
+            this.hostname = hostname;
+            this.domain = domain;
+            this.attributes = attributes;
+            this.unreserved = new TreeMap<>(resources);
+        }
+
+        private Optional<Protos.Offer> toOffer(Protos.OfferID offerId) {
+            Protos.Offer.Builder offerBuilder = Protos.Offer.newBuilder()
+                    .setId(offerId)
+                    .setFrameworkId(TestConstants.FRAMEWORK_ID)
+                    .setSlaveId(agentId)
+                    .setHostname(hostname)
+                    .setDomain(domain)
+                    .addAllAttributes(attributes);
+            for (Map.Entry<String, Protos.Value> entry : unreserved.entrySet()) {
+                if (!isEmpty(entry.getValue())) {
+                    offerBuilder.addResources(toUnreservedResource(entry.getKey(), entry.getValue()));
+                }
+            }
+            return offerBuilder.getResourcesCount() == 0 ? Optional.empty() : Optional.of(offerBuilder.build());
+        }
+
+        private static boolean isEmpty(Protos.Value value) {
+            switch (value.getType()) {
+                case SCALAR:
+                    return value.getScalar().getValue() <= 0;
+                case RANGES:
+                    return value.getRanges().getRangeCount() == 0;
+                default:
+                    throw new IllegalArgumentException("Unsupported value type: " + value);
+            }
+        }
+
+        @SuppressWarnings("deprecation") // for Resource.setRole()
+        private static Protos.Resource toUnreservedResource(String name, Protos.Value value) {
+            Protos.Resource.Builder resourceBuilder = Protos.Resource.newBuilder()
+                    .setRole("*")
+                    .setName(name)
+                    .setType(value.getType());
+            if (value.getType() == Protos.Value.Type.SCALAR) {
+                resourceBuilder.setScalar(value.getScalar());
+            } else {
+                resourceBuilder.setRanges(value.getRanges());
+            }
+            return resourceBuilder.build();
+        }
+
+        private void reserve(Protos.Resource resource) {
+            Protos.Value remaining = unreserved.get(resource.getName());
+            if (remaining != null) {
+                unreserved.put(resource.getName(), ValueUtils.subtract(remaining, ValueUtils.getValue(resource)));
+            }
+        }
+
+        private void unreserve(Protos.Resource resource) {
+            Protos.Value remaining = unreserved.get(resource.getName());
+            if (remaining != null) {
+                unreserved.put(resource.getName(), ValueUtils.add(remaining, ValueUtils.getValue(resource)));
+            }
+        }
+    }
+
+    private static class OutstandingOffer {
+        private final Agent agent;
+        private final long sentNanos;
+
+        private OutstandingOffer(Agent agent, long sentNanos) {
+            this.agent = agent;
+            this.sentNanos = sentNanos;
+        }
+    }
+
+    private final ServiceSpec serviceSpec;
+    private final List<Agent> agents;
+    private final long taskLaunchDelayMs;
+    private final ScheduledExecutorService callbackExecutor;
+    private final SchedulerDriver driver;
+
+    private final Map<Protos.OfferID, OutstandingOffer> outstandingOffers = new HashMap<>();
+    private final Map<Protos.TaskID, Protos.TaskStatus> taskStatuses = new LinkedHashMap<>();
+    private final List<Protos.TaskID> statusRotation = new ArrayList<>();
+    private int nextAgentIndex = 0;
+    private int nextStatusIndex = 0;
+    private long nextOfferId = 0;
+    private boolean suppressed = false;
+
+    private final AtomicLong offersSent = new AtomicLong();
+    private final AtomicLong offersAccepted = new AtomicLong();
+    private final AtomicLong offersDeclined = new AtomicLong();
+    private final AtomicLong tasksLaunched = new AtomicLong();
+    private final AtomicLong statusUpdatesSent = new AtomicLong();
+    private final Histogram offerLatencyNanos = new Histogram(new UniformReservoir());
+
+    private volatile Scheduler scheduler;
+
+    /**
+     * Creates a new cluster containing the provided agents.
+     *
+     * @param serviceSpec the service being deployed, used to determine the goal state of launched tasks
+     * @param agents the agents to be offered to the scheduler
+     * @param taskLaunchDelayMs the delay between a task being launched and its being reported as running
+     * @param callbackExecutor the single thread which all calls into the scheduler should be made from
+     */
+    SimulatedCluster(
+            ServiceSpec serviceSpec,
+            List<Agent> agents,
+            long taskLaunchDelayMs,
+            ScheduledExecutorService callbackExecutor) {
+        this.serviceSpec = serviceSpec;
+        this.agents = agents;
+        this.taskLaunchDelayMs = taskLaunchDelayMs;
+        this.callbackExecutor = callbackExecutor;
+        // A Mockito mock would retain every invocation for later verification, which would dominate the memory usage
+        // being measured. Dispatch calls by hand instead.
+        this.driver = (SchedulerDriver) Proxy.newProxyInstance(
+                SchedulerDriver.class.getClassLoader(),
+                new Class<?>[] { SchedulerDriver.class },
+                (proxy, method, args) -> handleDriverCall(method, args));
+    }
+
+    /**
+     * Registers the provided scheduler with this cluster.
+     */
+    void register(Scheduler scheduler, Protos.MasterInfo masterInfo) {
+        this.scheduler = scheduler;
+        scheduler.registered(driver, TestConstants.FRAMEWORK_ID, masterInfo);
+    }
+
+    /**
+     * Sends offers for up to the provided number of agents which don't currently have an offer outstanding, and which
+     * haven't been filtered by a prior accept or decline. Agents are visited in round-robin order across calls.
+     */
+    void sendOffers(int maxOffers) {
+        List<Protos.Offer> offers = new ArrayList<>();
+        synchronized (this) {
+            if (suppressed) {
+                return;
+            }
+            long nowNanos = System.nanoTime();
+            for (int i = 0; i < agents.size() && offers.size() < maxOffers; ++i) {
+                Agent agent = agents.get(nextAgentIndex);
+                nextAgentIndex = (nextAgentIndex + 1) % agents.size();
+                if (agent.outstandingOfferId != null || agent.refusedUntilNanos - nowNanos > 0) {
+                    continue;
+                }
+                Optional<Protos.Offer> offer = agent.toOffer(
+                        Protos.OfferID.newBuilder().setValue(String.format("offer-%d", nextOfferId++)).build());
+                if (!offer.isPresent()) {
+                    continue;
+                }
+                agent.outstandingOfferId = offer.get().getId();
+                outstandingOffers.put(agent.outstandingOfferId, new OutstandingOffer(agent, nowNanos));
+                offers.add(offer.get());
+            }
+        }
+        if (!offers.isEmpty()) {
+            offersSent.addAndGet(offers.size());
+            scheduler.resourceOffers(driver, offers);
+        }
+    }
+
+    /**
+     * Resends the latest status of up to the provided number of tasks, in round-robin order across calls. This
+     * simulates the steady stream of status updates which a scheduler receives from a large deployment.
+     */
+    void sendStatusUpdates(int maxUpdates) {
+        List<Protos.TaskStatus> statuses = new ArrayList<>();
+        synchronized (this) {
+            for (int i = 0; i < statusRotation.size() && statuses.size() < maxUpdates; ++i) {
+                nextStatusIndex = nextStatusIndex % statusRotation.size();
+                statuses.add(taskStatuses.get(statusRotation.get(nextStatusIndex++)));
+            }
+        }
+        statuses.forEach(this::sendStatus);
+    }
+
+    long getOffersSent() {
+        return offersSent.get();
+    }
+
+    long getOffersAccepted() {
+        return offersAccepted.get();
+    }
+
+    long getOffersDeclined() {
+        return offersDeclined.get();
+    }
+
+    long getTasksLaunched() {
+        return tasksLaunched.get();
+    }
+
+    long getStatusUpdatesSent() {
+        return statusUpdatesSent.get();
+    }
+
+    /**
+     * Returns the latency between each offer being sent to the scheduler and the scheduler accepting or declining it.
+     */
+    Histogram getOfferLatencyNanos() {
+        return offerLatencyNanos;
+    }
+
+    private Object handleDriverCall(Method method, Object[] args) throws Exception {
+        if (method.getDeclaringClass() == Object.class) {
+            return method.invoke(this, args);
+        }
+        switch (method.getName()) {
+            case "acceptOffers":
+                acceptOffers(asCollection(args[0]), asCollection(args[1]), (Protos.Filters) args[2]);
+                break;
+            case "declineOffer":
+                declineOffer(
+                        (Protos.OfferID) args[0],
+                        args.length > 1 ? (Protos.Filters) args[1] : Protos.Filters.getDefaultInstance());
+                break;
+            case "reviveOffers":
+                reviveOffers();
+                break;
+            case "suppressOffers":
+                synchronized (this) {
+                    suppressed = true;
+                }
+                break;
+            case "killTask":
+                Protos.TaskID taskId = (Protos.TaskID) args[0];
+                callbackExecutor.execute(() -> sendStatus(getStatus(taskId, Protos.TaskState.TASK_KILLED)));
+                break;
+            case "reconcileTasks":
+                reconcileTasks(asCollection(args[0]));
+                break;
+            default:
+                LOGGER.debug("Ignoring simulated driver call: {}", method.getName());
+                break;
+        }
+        return method.getReturnType() == Protos.Status.class ? Protos.Status.DRIVER_RUNNING : null;
+    }
+
+    private void acceptOffers(
+            Collection<Protos.OfferID> offerIds,
+            Collection<Protos.Offer.Operation> operations,
+            Protos.Filters filters) {
+        List<Protos.TaskInfo> launchedTasks = new ArrayList<>();
+        synchronized (this) {
+            // Mesos requires that all offers in a single accept call are from the same agent.
+            Agent agent = null;
+            for (Protos.OfferID offerId : offerIds) {
+                Optional<Agent> offeredAgent = releaseOffer(offerId, filters);
+                if (offeredAgent.isPresent()) {
+                    agent = offeredAgent.get();
+                }
+            }
+            offersAccepted.addAndGet(offerIds.size());
+            if (agent == null) {
+                LOGGER.warn("Ignoring operations against unknown offers: {}", offerIds);
+                return;
+            }
+
+            for (Protos.Offer.Operation operation : operations) {
+                switch (operation.getType()) {
+                    case RESERVE:
+                        operation.getReserve().getResourcesList().forEach(agent::reserve);
+                        break;
+                    case UNRESERVE:
+                        operation.getUnreserve().getResourcesList().forEach(agent::unreserve);
+                        break;
+                    case LAUNCH:
+                        launchedTasks.addAll(operation.getLaunch().getTaskInfosList());
+                        break;
+                    case LAUNCH_GROUP:
+                        launchedTasks.addAll(operation.getLaunchGroup().getTaskGroup().getTasksList());
+                        break;
+                    default:
+                        // Volume creation and destruction doesn't affect the remaining unreserved resources.
+                        break;
+                }
+            }
+
+        }
+
+        tasksLaunched.addAndGet(launchedTasks.size());
+        for (Protos.TaskInfo task : launchedTasks) {
+            callbackExecutor.schedule(
+                    () -> sendStatus(getStatus(task.getTaskId(), Protos.TaskState.TASK_RUNNING)),
+                    taskLaunchDelayMs,
+                    TimeUnit.MILLISECONDS);
+            if (getGoalState(task) != GoalState.RUNNING) {
+                callbackExecutor.schedule(
+                        () -> sendStatus(getStatus(task.getTaskId(), Protos.TaskState.TASK_FINISHED)),
+                        2 * taskLaunchDelayMs,
+                        TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    private synchronized void declineOffer(Protos.OfferID offerId, Protos.Filters filters) {
+        releaseOffer(offerId, filters);
+        offersDeclined.incrementAndGet();
+    }
+
+    private synchronized void reviveOffers() {
+        suppressed = false;
+        for (Agent agent : agents) {
+            agent.refusedUntilNanos = 0;
+        }
+    }
+
+    private void reconcileTasks(Collection<Protos.TaskStatus> statuses) {
+        List<Protos.TaskStatus> reconciled = new ArrayList<>();
+        synchronized (this) {
+            if (statuses.isEmpty()) {
+                // Implicit reconciliation: send the latest status of every task.
+                reconciled.addAll(taskStatuses.values());
+            } else {
+                for (Protos.TaskStatus status : statuses) {
+                    Protos.TaskStatus latestStatus = taskStatuses.get(status.getTaskId());
+                    if (latestStatus != null) {
+                        reconciled.add(latestStatus);
+                    }
+                }
+            }
+        }
+        callbackExecutor.execute(() -> reconciled.forEach(this::sendStatus));
+    }
+
+    /**
+     * Marks the agent for the provided offer as available to be offered again, once any filter has expired.
+     */
+    private Optional<Agent> releaseOffer(Protos.OfferID offerId, Protos.Filters filters) {
+        OutstandingOffer outstandingOffer = outstandingOffers.remove(offerId);
+        if (outstandingOffer == null) {
+            return Optional.empty();
+        }
+        long nowNanos = System.nanoTime();
+        offerLatencyNanos.update(nowNanos - outstandingOffer.sentNanos);
+        outstandingOffer.agent.outstandingOfferId = null;
+        outstandingOffer.agent.refusedUntilNanos =
+                nowNanos + TimeUnit.MILLISECONDS.toNanos((long) (filters.getRefuseSeconds() * 1000));
+        return Optional.of(outstandingOffer.agent);
+    }
+
+    private void sendStatus(Protos.TaskStatus status) {
+        synchronized (this) {
+            if (taskStatuses.put(status.getTaskId(), status) == null) {
+                statusRotation.add(status.getTaskId());
+            }
+        }
+        statusUpdatesSent.incrementAndGet();
+        scheduler.statusUpdate(driver, status);
+    }
+
+    private GoalState getGoalState(Protos.TaskInfo task) {
+        try {
+            String podType = new TaskLabelReader(task).getType();
+            for (PodSpec podSpec : serviceSpec.getPods()) {
+                if (!podSpec.getType().equals(podType)) {
+                    continue;
+                }
+                for (TaskSpec taskSpec : podSpec.getTasks()) {
+                    if (task.getName().endsWith("-" + taskSpec.getName())) {
+                        return taskSpec.getGoal();
+                    }
+                }
+            }
+        } catch (TaskException e) {
+            LOGGER.warn(String.format("Unable to determine pod type of task %s", task.getName()), e);
+        }
+        return GoalState.RUNNING;
+    }
+
+    private static Protos.TaskStatus getStatus(Protos.TaskID taskId, Protos.TaskState state) {
+        Protos.TaskStatus.Builder statusBuilder = Protos.TaskStatus.newBuilder()
+                .setTaskId(taskId)
+                .setState(state)
+                .setMessage("Simulated status");
+        if (state == Protos.TaskState.TASK_RUNNING) {
+            // Pass any readiness check immediately.
+            statusBuilder.getCheckStatusBuilder().getCommandBuilder().setExitCode(0);
+        }
+        return statusBuilder.build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Collection<T> asCollection(Object arg) {
+        return (Collection<T>) arg;
+    }
+}